@@ -12,6 +12,7 @@ package org.eclipse.che.api.agent.server.launcher;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -19,6 +20,7 @@ import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ConflictException;
@@ -40,6 +42,10 @@ import org.slf4j.LoggerFactory;
  * Launch agent script asynchronously over target instance and wait when it run. The policy of
  * checking if agent is run might be different for agents.
  *
+ * <p>Agent state is checked with exponentially growing delay which starts from {@value
+ * #INITIAL_PING_DELAY_MS}ms and is limited by the configured ping delay. Any output of the agent
+ * triggers the check as well, since agents usually report when they are ready.
+ *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
  * @see AgentLaunchingChecker#DEFAULT
@@ -47,6 +53,7 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class AbstractAgentLauncher implements AgentLauncher {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractAgentLauncher.class);
+  private static final long INITIAL_PING_DELAY_MS = 25;
   private static final ExecutorService executor =
       Executors.newCachedThreadPool(
           new ThreadFactoryBuilder()
@@ -74,12 +81,14 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
       return;
     }
     ListLineConsumer agentLogger = new ListLineConsumer();
+    Semaphore agentOutput = new Semaphore(0);
     LineConsumer lineConsumer =
         new AbstractLineConsumer() {
           @Override
           public void writeLine(String line) throws IOException {
             machine.getLogger().writeLine(line);
             agentLogger.writeLine(line);
+            agentOutput.release();
           }
         };
     try {
@@ -89,13 +98,24 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
           agent.getId(),
           machine.getWorkspaceId());
 
+      final long minPingDelayMs = Math.min(INITIAL_PING_DELAY_MS, agentPingDelayMs);
       final long pingStartTimestamp = System.currentTimeMillis();
+      long pingDelayMs = minPingDelayMs;
       while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
         if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
           return;
-        } else {
-          Thread.sleep(agentPingDelayMs);
         }
+        final long checkTimestamp = System.currentTimeMillis();
+        if (agentOutput.tryAcquire(pingDelayMs, MILLISECONDS)) {
+          // agent produced output, check it earlier but not more often than half of the delay,
+          // as each check may execute a command in the machine
+          Thread.sleep(
+              Math.max(
+                  minPingDelayMs,
+                  checkTimestamp + pingDelayMs / 2 - System.currentTimeMillis()));
+          agentOutput.drainPermits();
+        }
+        pingDelayMs = Math.min(pingDelayMs * 2, agentPingDelayMs);
       }
       LOG.error(
           format(
@@ -15,6 +15,8 @@ import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -29,6 +31,7 @@ import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ServerException;
@@ -152,6 +155,106 @@ public class AbstractAgentLauncherTest {
         .isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class));
   }
 
+  @Test
+  public void shouldCheckAgentStateWithGrowingDelayLimitedByAgentCheckDelay() throws Exception {
+    // given
+    launcher = spy(new TestAgentLauncher(5000, 1000, agentChecker));
+    doReturn(process)
+        .when(launcher)
+        .start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+    when(agentChecker.isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class)))
+        .thenReturn(false)
+        .thenReturn(false)
+        .thenReturn(false)
+        .thenReturn(true);
+    long startTimestamp = System.currentTimeMillis();
+
+    // when
+    launcher.launch(machine, agent);
+
+    // then
+    // the first checks are done much earlier than the agent check delay
+    assertTrue(System.currentTimeMillis() - startTimestamp < 1000);
+    verify(agentChecker, times(4))
+        .isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class));
+  }
+
+  @Test
+  public void shouldNotCheckAgentStateOnEachLineOfOutput() throws Exception {
+    // given
+    launcher = spy(new TestAgentLauncher(10_000, 1000, agentChecker));
+    when(machine.getLogger()).thenReturn(LineConsumer.DEV_NULL);
+    AtomicBoolean launched = new AtomicBoolean();
+    doAnswer(
+            invocationOnMock -> {
+              LineConsumer agentOutput = (LineConsumer) invocationOnMock.getArguments()[2];
+              Thread agentThread =
+                  new Thread(
+                      () -> {
+                        try {
+                          for (int i = 0; i < 300; i++) {
+                            agentOutput.writeLine("installing " + i);
+                            Thread.sleep(5);
+                          }
+                          launched.set(true);
+                        } catch (Exception ignored) {
+                        }
+                      });
+              agentThread.setDaemon(true);
+              agentThread.start();
+              return process;
+            })
+        .when(launcher)
+        .start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+    when(agentChecker.isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class)))
+        .thenAnswer(invocationOnMock -> launched.get());
+
+    // when
+    launcher.launch(machine, agent);
+
+    // then
+    // the delay keeps growing while the agent writes a line each 5ms during 1.5s
+    verify(agentChecker, atMost(12))
+        .isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class));
+  }
+
+  @Test
+  public void shouldCheckAgentStateWhenAgentProducesOutput() throws Exception {
+    // given
+    launcher = spy(new TestAgentLauncher(10_000, 5000, agentChecker));
+    when(machine.getLogger()).thenReturn(LineConsumer.DEV_NULL);
+    AtomicBoolean launched = new AtomicBoolean();
+    doAnswer(
+            invocationOnMock -> {
+              LineConsumer agentOutput = (LineConsumer) invocationOnMock.getArguments()[2];
+              Thread agentThread =
+                  new Thread(
+                      () -> {
+                        try {
+                          Thread.sleep(1000);
+                          launched.set(true);
+                          agentOutput.writeLine("agent is started");
+                        } catch (Exception ignored) {
+                        }
+                      });
+              agentThread.setDaemon(true);
+              agentThread.start();
+              return process;
+            })
+        .when(launcher)
+        .start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+    when(agentChecker.isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class)))
+        .thenAnswer(invocationOnMock -> launched.get());
+    long startTimestamp = System.currentTimeMillis();
+
+    // when
+    launcher.launch(machine, agent);
+
+    // then
+    // without output the check would be done in 1575ms after the start
+    assertTrue(System.currentTimeMillis() - startTimestamp < 1500);
+  }
+
   @Test
   public void shouldNotCheckMoreFrequentThanAgentCheckDelay() throws Exception {
     // given
@@ -24,6 +24,9 @@
 
 [ -z "${UMASK}" ] && UMASK="022"
 
+#Idle keep-alive connections kept per host, the JDK reads it once so it must be set on start
+[ -z "${CHE_HTTP_MAX_CONNECTIONS}" ]  && CHE_HTTP_MAX_CONNECTIONS="10"
+
 #Tomcat options
 [ -z "${CATALINA_OPTS}" ]  && CATALINA_OPTS="-Dcom.sun.management.jmxremote  \
                                              -Dcom.sun.management.jmxremote.ssl=false \
@@ -34,7 +37,7 @@
 [ -z "${CLASSPATH}" ]  && CLASSPATH="${CATALINA_HOME}/conf/:${JAVA_HOME}/lib/tools.jar"
 
 
-export JAVA_OPTS="$JAVA_OPTS  -Dche.logs.dir=${CHE_LOGS_DIR} -Dche.logs.level=${CHE_LOGS_LEVEL} -Djuli-logback.configurationFile=file:$CATALINA_HOME/conf/tomcat-logger.xml"
+export JAVA_OPTS="$JAVA_OPTS  -Dche.logs.dir=${CHE_LOGS_DIR} -Dche.logs.level=${CHE_LOGS_LEVEL} -Djuli-logback.configurationFile=file:$CATALINA_HOME/conf/tomcat-logger.xml -Dhttp.maxConnections=${CHE_HTTP_MAX_CONNECTIONS}"
 
 [ -z "${SERVER_PORT}" ]  && SERVER_PORT=8080
 export SERVER_PORT
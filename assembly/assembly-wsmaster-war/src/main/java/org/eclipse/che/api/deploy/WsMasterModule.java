@@ -31,9 +31,11 @@ import org.eclipse.che.api.agent.WsAgent;
 import org.eclipse.che.api.agent.WsAgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.core.notification.EventServiceStatisticsProvider;
 import org.eclipse.che.api.core.rest.CheJsonProvider;
 import org.eclipse.che.api.core.rest.MessageBodyAdapter;
 import org.eclipse.che.api.core.rest.MessageBodyAdapterInterceptor;
+import org.eclipse.che.api.core.util.StatisticsProvider;
 import org.eclipse.che.api.factory.server.FactoryAcceptValidator;
 import org.eclipse.che.api.factory.server.FactoryCreateValidator;
 import org.eclipse.che.api.factory.server.FactoryEditValidator;
@@ -42,9 +44,11 @@ import org.eclipse.che.api.machine.server.recipe.RecipeLoader;
 import org.eclipse.che.api.machine.shared.Constants;
 import org.eclipse.che.api.user.server.TokenValidator;
 import org.eclipse.che.api.workspace.server.WorkspaceConfigMessageBodyAdapter;
+import org.eclipse.che.api.workspace.server.WorkspaceLocksStatisticsProvider;
 import org.eclipse.che.api.workspace.server.WorkspaceMessageBodyAdapter;
 import org.eclipse.che.api.workspace.server.stack.StackLoader;
 import org.eclipse.che.api.workspace.server.stack.StackMessageBodyAdapter;
+import org.eclipse.che.core.db.cache.EntityCacheStatisticsProvider;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.plugin.github.factory.resolver.GithubFactoryParametersResolver;
@@ -120,6 +124,7 @@ public class WsMasterModule extends AbstractModule {
     bind(org.eclipse.che.plugin.docker.machine.ext.DockerMachineTerminalChecker.class);
     bind(org.eclipse.che.everrest.EverrestDownloadFileResponseFilter.class);
     bind(org.eclipse.che.everrest.ETagResponseFilter.class);
+    bind(org.eclipse.che.everrest.VersionedResourceFilter.class);
     bind(org.eclipse.che.api.agent.server.AgentRegistryService.class);
 
     bind(org.eclipse.che.security.oauth.OAuthAuthenticatorProvider.class)
@@ -239,6 +244,12 @@ public class WsMasterModule extends AbstractModule {
     bind(org.eclipse.che.api.system.server.SystemEventsWebsocketBroadcaster.class)
         .asEagerSingleton();
 
+    Multibinder<StatisticsProvider> statisticsProviders =
+        Multibinder.newSetBinder(binder(), StatisticsProvider.class);
+    statisticsProviders.addBinding().to(EventServiceStatisticsProvider.class);
+    statisticsProviders.addBinding().to(EntityCacheStatisticsProvider.class);
+    statisticsProviders.addBinding().to(WorkspaceLocksStatisticsProvider.class);
+
     install(new org.eclipse.che.plugin.docker.machine.dns.DnsResolversModule());
     install(new org.eclipse.che.plugin.traefik.TraefikDockerModule());
 
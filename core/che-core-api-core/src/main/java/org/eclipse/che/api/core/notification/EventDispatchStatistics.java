@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatch statistics of a single event type collected by {@link EventService}. Counts published
+ * events, subscriber invocations, subscriber failures, events dropped by full queues of
+ * asynchronous subscribers and keeps the histogram of subscribers latency.
+ */
+public class EventDispatchStatistics {
+
+  /** Upper bounds(inclusive) of the latency histogram buckets in milliseconds. */
+  private static final long[] LATENCY_BUCKETS_MS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+  private final LongAdder published = new LongAdder();
+  private final LongAdder delivered = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0);
+  private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKETS_MS.length + 1];
+
+  EventDispatchStatistics() {
+    for (int i = 0; i < latencyBuckets.length; i++) {
+      latencyBuckets[i] = new LongAdder();
+    }
+  }
+
+  void onPublished() {
+    published.increment();
+  }
+
+  void onDelivered(long latencyNanos, boolean success) {
+    delivered.increment();
+    if (!success) {
+      failed.increment();
+    }
+    totalLatencyNanos.add(latencyNanos);
+    maxLatencyNanos.accumulate(latencyNanos);
+    final long latencyMs = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+    int bucket = 0;
+    while (bucket < LATENCY_BUCKETS_MS.length && latencyMs > LATENCY_BUCKETS_MS[bucket]) {
+      bucket++;
+    }
+    latencyBuckets[bucket].increment();
+  }
+
+  void onDropped() {
+    dropped.increment();
+  }
+
+  /** Returns the number of published events of this type. */
+  public long getPublished() {
+    return published.sum();
+  }
+
+  /** Returns the number of subscribers invocations for the events of this type. */
+  public long getDelivered() {
+    return delivered.sum();
+  }
+
+  /** Returns the number of subscribers invocations which failed with an exception. */
+  public long getFailed() {
+    return failed.sum();
+  }
+
+  /** Returns the number of events which were not delivered to full asynchronous subscribers. */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /** Returns the average subscriber latency in nanoseconds. */
+  public long getAverageLatencyNanos() {
+    final long count = delivered.sum();
+    return count == 0 ? 0 : totalLatencyNanos.sum() / count;
+  }
+
+  /** Returns the maximum subscriber latency in nanoseconds. */
+  public long getMaxLatencyNanos() {
+    return maxLatencyNanos.get();
+  }
+
+  /**
+   * Returns upper bounds of the latency histogram buckets in milliseconds, the last bucket of
+   * {@link #getLatencyHistogram()} has no upper bound.
+   */
+  public static long[] getLatencyBucketsMs() {
+    return LATENCY_BUCKETS_MS.clone();
+  }
+
+  /** Returns the number of subscribers invocations per latency bucket. */
+  public long[] getLatencyHistogram() {
+    final long[] histogram = new long[latencyBuckets.length];
+    for (int i = 0; i < latencyBuckets.length; i++) {
+      histogram[i] = latencyBuckets[i].sum();
+    }
+    return histogram;
+  }
+}
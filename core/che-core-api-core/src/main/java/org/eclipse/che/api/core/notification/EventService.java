@@ -13,16 +13,27 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +51,17 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Subscribers registered with {@link #subscribe(EventSubscriber)} are called synchronously in
+ * the publisher's thread. Subscribers registered with {@link #subscribeAsync(EventSubscriber)} get
+ * events through their own bounded queue which is drained by the service's thread pool, so such
+ * subscribers receive events in publishing order without blocking the publisher. When the queue
+ * of an asynchronous subscriber is full the publisher waits until there is a free space in it,
+ * unless the event is published while an asynchronous subscriber is being called. Such event is
+ * dropped, as waiting in a service thread may deadlock subscribers which publish to each other.
+ *
+ * <p>Dispatch statistics are collected per published event type, see {@link
+ * #getDispatchStatistics()}.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -50,12 +72,35 @@ public class EventService {
   private static final int CACHE_MASK = CACHE_NUM - 1;
   private static final int SEG_SIZE = 32;
 
+  static final int ASYNC_QUEUE_SIZE = 10_000;
+
+  /** Set while events of an asynchronous subscriber are being delivered by this thread. */
+  private static final ThreadLocal<Boolean> DRAINING = new ThreadLocal<>();
+
   private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final ConcurrentMap<EventSubscriber<?>, AsyncSubscriber> asyncSubscribers;
+  private final ConcurrentMap<Class<?>, EventDispatchStatistics> statistics;
+  private final ExecutorService asyncExecutor;
+  private final int asyncQueueSize;
 
-  @SuppressWarnings("unchecked")
   public EventService() {
+    this(ASYNC_QUEUE_SIZE);
+  }
+
+  @SuppressWarnings("unchecked")
+  EventService(int asyncQueueSize) {
+    this.asyncQueueSize = asyncQueueSize;
     subscribersByEventType = new ConcurrentHashMap<>();
+    asyncSubscribers = new ConcurrentHashMap<>();
+    statistics = new ConcurrentHashMap<>();
+    asyncExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("EventService-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
     typeCache = new LoadingCache[CACHE_NUM];
     for (int i = 0; i < CACHE_NUM; i++) {
       typeCache[i] =
@@ -98,15 +143,16 @@ public class EventService {
       throw new IllegalArgumentException("Null event.");
     }
     final Class<?> eventClass = event.getClass();
+    final EventDispatchStatistics eventStatistics = getStatistics(eventClass);
+    eventStatistics.onPublished();
     for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
       final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
       if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
         for (EventSubscriber eventSubscriber : eventSubscribers) {
-          try {
-            LOG.debug("Publish event {} for {}", event, eventSubscriber);
-            eventSubscriber.onEvent(event);
-          } catch (RuntimeException e) {
-            LOG.error(e.getMessage(), e);
+          if (eventSubscriber instanceof AsyncSubscriber) {
+            ((AsyncSubscriber) eventSubscriber).enqueue(event, eventStatistics);
+          } else {
+            deliver(eventSubscriber, event, eventStatistics);
           }
         }
       }
@@ -114,6 +160,47 @@ public class EventService {
     return event;
   }
 
+  /**
+   * Returns dispatch statistics grouped by the type of published events. Returned map is a live
+   * view which is updated while events are published.
+   */
+  public Map<Class<?>, EventDispatchStatistics> getDispatchStatistics() {
+    return Collections.unmodifiableMap(statistics);
+  }
+
+  /** Stops delivering events to asynchronous subscribers. */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    asyncExecutor.shutdown();
+    if (!asyncExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+      asyncExecutor.shutdownNow();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void deliver(
+      EventSubscriber subscriber, Object event, EventDispatchStatistics eventStatistics) {
+    final long start = System.nanoTime();
+    boolean success = false;
+    try {
+      LOG.debug("Publish event {} for {}", event, subscriber);
+      subscriber.onEvent(event);
+      success = true;
+    } catch (RuntimeException e) {
+      LOG.error(e.getMessage(), e);
+    } finally {
+      eventStatistics.onDelivered(System.nanoTime() - start, success);
+    }
+  }
+
+  private EventDispatchStatistics getStatistics(Class<?> eventClass) {
+    final EventDispatchStatistics eventStatistics = statistics.get(eventClass);
+    if (eventStatistics != null) {
+      return eventStatistics;
+    }
+    return statistics.computeIfAbsent(eventClass, k -> new EventDispatchStatistics());
+  }
+
   /**
    * Subscribe event listener. The event to subscribe to is inferred by checking the generic type
    * arguments of the given subscriber.
@@ -136,6 +223,30 @@ public class EventService {
     doSubscribe(subscriber, eventType);
   }
 
+  /**
+   * Subscribe event listener which receives events asynchronously, in the order of publishing. The
+   * event to subscribe to is inferred by checking the generic type arguments of the given
+   * subscriber.
+   *
+   * @param subscriber event subscriber
+   */
+  public void subscribeAsync(EventSubscriber<?> subscriber) {
+    final Class<?> eventType = getEventType(subscriber);
+    doSubscribe(asyncSubscribers.computeIfAbsent(subscriber, AsyncSubscriber::new), eventType);
+  }
+
+  /**
+   * Subscribe to an event asynchronously. The given subscriber will be called in one of the event
+   * service threads whenever an instance of the specified event is published, events are
+   * delivered to the subscriber in the order of publishing.
+   *
+   * @param subscriber The subscriber to call when an event is published.
+   * @param eventType The event to subscribe to.
+   */
+  public <T> void subscribeAsync(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
+    doSubscribe(asyncSubscribers.computeIfAbsent(subscriber, AsyncSubscriber::new), eventType);
+  }
+
   private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
     Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries == null) {
@@ -163,15 +274,23 @@ public class EventService {
   }
 
   private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+    final AsyncSubscriber asyncSubscriber = asyncSubscribers.get(subscriber);
     final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries != null && !entries.isEmpty()) {
       boolean changed = entries.remove(subscriber);
+      if (asyncSubscriber != null) {
+        changed |= entries.remove(asyncSubscriber);
+      }
       if (changed) {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
         }
       }
     }
+    if (asyncSubscriber != null
+        && subscribersByEventType.values().stream().noneMatch(s -> s.contains(asyncSubscriber))) {
+      asyncSubscribers.remove(subscriber, asyncSubscriber);
+    }
   }
 
   private Class<?> getEventType(EventSubscriber<?> subscriber) {
@@ -200,4 +319,79 @@ public class EventService {
     }
     return eventType;
   }
+
+  /**
+   * Delivers events to the wrapped subscriber through the bounded queue. Only one task drains the
+   * queue at a time, which guarantees that events are delivered in the order of publishing.
+   */
+  private class AsyncSubscriber implements EventSubscriber<Object> {
+    private final EventSubscriber<?> delegate;
+    private final BlockingQueue<Runnable> queue;
+    private final AtomicBoolean scheduled;
+
+    AsyncSubscriber(EventSubscriber<?> delegate) {
+      this.delegate = delegate;
+      this.queue = new LinkedBlockingQueue<>(asyncQueueSize);
+      this.scheduled = new AtomicBoolean();
+    }
+
+    @Override
+    public void onEvent(Object event) {
+      enqueue(event, getStatistics(event.getClass()));
+    }
+
+    void enqueue(Object event, EventDispatchStatistics eventStatistics) {
+      final Runnable delivery = () -> deliver(delegate, event, eventStatistics);
+      if (!queue.offer(delivery)) {
+        if (DRAINING.get() != null) {
+          // waiting in a service thread may never end if subscribers publish to each other
+          eventStatistics.onDropped();
+          LOG.error("Events queue of subscriber {} is full, event {} is dropped", delegate, event);
+          return;
+        }
+        LOG.warn("Events queue of subscriber {} is full, publisher is waiting", delegate);
+        try {
+          queue.put(delivery);
+        } catch (InterruptedException x) {
+          Thread.currentThread().interrupt();
+          LOG.error("Interrupted while publishing event {} for {}", event, delegate);
+          return;
+        }
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        try {
+          asyncExecutor.execute(this::drain);
+        } catch (RejectedExecutionException x) {
+          scheduled.set(false);
+          LOG.warn("Event service is stopped, events are not delivered to {}", delegate);
+        }
+      }
+    }
+
+    private void drain() {
+      DRAINING.set(true);
+      try {
+        Runnable delivery;
+        while ((delivery = queue.poll()) != null) {
+          delivery.run();
+        }
+      } finally {
+        DRAINING.remove();
+        scheduled.set(false);
+      }
+      // an event might be added after the queue was polled for the last time
+      if (!queue.isEmpty()) {
+        schedule();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "AsyncSubscriber{" + delegate + '}';
+    }
+  }
 }
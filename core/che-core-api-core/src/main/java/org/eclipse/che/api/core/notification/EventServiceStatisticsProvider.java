@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.util.StatisticsProvider;
+
+/**
+ * Reports {@link EventService#getDispatchStatistics() dispatch statistics} of each published event
+ * type, e.g. {@code <event class>.published} or {@code <event class>.latency_le_10ms}.
+ */
+@Singleton
+public class EventServiceStatisticsProvider implements StatisticsProvider {
+
+  private final EventService eventService;
+
+  @Inject
+  public EventServiceStatisticsProvider(EventService eventService) {
+    this.eventService = eventService;
+  }
+
+  @Override
+  public String getName() {
+    return "event_service";
+  }
+
+  @Override
+  public Map<String, Long> getStatistics() {
+    final long[] bucketsMs = EventDispatchStatistics.getLatencyBucketsMs();
+    final Map<String, Long> result = new LinkedHashMap<>();
+    for (Map.Entry<Class<?>, EventDispatchStatistics> entry :
+        eventService.getDispatchStatistics().entrySet()) {
+      final String prefix = entry.getKey().getName() + '.';
+      final EventDispatchStatistics statistics = entry.getValue();
+      result.put(prefix + "published", statistics.getPublished());
+      result.put(prefix + "delivered", statistics.getDelivered());
+      result.put(prefix + "failed", statistics.getFailed());
+      result.put(prefix + "dropped", statistics.getDropped());
+      result.put(
+          prefix + "latency_avg_ms", NANOSECONDS.toMillis(statistics.getAverageLatencyNanos()));
+      result.put(prefix + "latency_max_ms", NANOSECONDS.toMillis(statistics.getMaxLatencyNanos()));
+      final long[] histogram = statistics.getLatencyHistogram();
+      for (int i = 0; i < bucketsMs.length; i++) {
+        result.put(prefix + "latency_le_" + bucketsMs[i] + "ms", histogram[i]);
+      }
+      result.put(
+          prefix + "latency_gt_" + bucketsMs[bucketsMs.length - 1] + "ms",
+          histogram[bucketsMs.length]);
+    }
+    return result;
+  }
+}
@@ -28,6 +28,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.rest.annotations.OPTIONS;
+import org.eclipse.che.api.core.rest.annotations.VersionedResource;
 import org.eclipse.che.api.core.rest.shared.dto.ApiInfo;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -44,6 +45,12 @@ import org.slf4j.LoggerFactory;
 public class ApiInfoService {
   private static final Logger LOG = LoggerFactory.getLogger(ApiInfoService.class);
 
+  /**
+   * Key of the list of REST resources in {@link ResourceVersions}, never invalidated as resources
+   * are bound once on server start.
+   */
+  static final String RESOURCES_LIST_KEY = "api-resources";
+
   private volatile ApiInfo apiInfo;
 
   @OPTIONS
@@ -79,6 +86,7 @@ public class ApiInfoService {
 
   @GET
   @Produces({MediaType.APPLICATION_JSON})
+  @VersionedResource(RESOURCES_LIST_KEY)
   public RestServicesList.RootResourcesList listJSON(@Context ServletContext context) {
     ResourceBinder binder = (ResourceBinder) context.getAttribute(ResourceBinder.class.getName());
     return new RestServicesList.RootResourcesList(
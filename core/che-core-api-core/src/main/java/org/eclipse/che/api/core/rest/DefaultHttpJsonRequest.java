@@ -202,6 +202,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
     conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
     conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+    boolean responseConsumed = false;
     try {
       conn.setRequestMethod(method);
       //drop a hint for server side that we want to receive application/json
@@ -236,6 +237,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         try (Reader reader = new InputStreamReader(in)) {
           str = CharStreams.toString(reader);
         }
+        responseConsumed = true;
         final String contentType = conn.getContentType();
         if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
           final ServiceError serviceError =
@@ -270,14 +272,28 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         throw new IOException(conn.getResponseMessage());
       }
 
+      final String response;
       try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-        return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+        response = CharStreams.toString(reader);
       }
+      responseConsumed = true;
+      return new DefaultHttpJsonResponse(response, responseCode);
     } finally {
-      conn.disconnect();
+      // connection may be returned to the keep-alive cache only when the response is fully read
+      if (!responseConsumed || !isConnectionReusable()) {
+        conn.disconnect();
+      }
     }
   }
 
+  /**
+   * Returns true if the underlying connection may be kept alive and reused by subsequent requests
+   * to the same host after this request completes, otherwise the connection is closed.
+   */
+  protected boolean isConnectionReusable() {
+    return false;
+  }
+
   @Override
   public String toString() {
     return "DefaultHttpJsonRequest{"
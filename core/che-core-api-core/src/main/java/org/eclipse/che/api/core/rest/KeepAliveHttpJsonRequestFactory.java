@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates {@link HttpJsonRequest} instances which reuse persistent HTTP connections.
+ *
+ * <p>Unlike requests created by {@link DefaultHttpJsonRequestFactory} the requests created by this
+ * factory don't close connection after the response is read, so the connection is returned to the
+ * JDK keep-alive cache and reused by the next request to the same host, which saves connect and
+ * TLS handshake time for the frequent calls e.g. between workspace agent and workspace master.
+ *
+ * <p>The number of idle connections kept per host is limited by the JDK {@code http.maxConnections}
+ * system property (5 by default). The JDK reads it once, when the keep-alive cache is loaded, so it
+ * has to be passed to the JVM on start, e.g. {@code -Dhttp.maxConnections=10}.
+ *
+ * <p>To use this factory bind it in the guice module:
+ *
+ * <pre>
+ *   bind(HttpJsonRequestFactory.class).to(KeepAliveHttpJsonRequestFactory.class);
+ * </pre>
+ */
+@Singleton
+public class KeepAliveHttpJsonRequestFactory implements HttpJsonRequestFactory {
+  private static final Logger LOG = LoggerFactory.getLogger(KeepAliveHttpJsonRequestFactory.class);
+
+  static final String KEEP_ALIVE_PROPERTY = "http.keepAlive";
+
+  @Inject
+  public KeepAliveHttpJsonRequestFactory() {
+    if (!Boolean.parseBoolean(System.getProperty(KEEP_ALIVE_PROPERTY, "true"))) {
+      LOG.warn(
+          "HTTP keep-alive is disabled with '{}' system property, connections won't be reused",
+          KEEP_ALIVE_PROPERTY);
+    }
+  }
+
+  @Override
+  public HttpJsonRequest fromUrl(@NotNull String url) {
+    return new KeepAliveHttpJsonRequest(url);
+  }
+
+  @Override
+  public HttpJsonRequest fromLink(@NotNull Link link) {
+    return new KeepAliveHttpJsonRequest(link);
+  }
+
+  /** {@link DefaultHttpJsonRequest} which leaves the connection open for reuse. */
+  static class KeepAliveHttpJsonRequest extends DefaultHttpJsonRequest {
+    KeepAliveHttpJsonRequest(String url) {
+      super(url);
+    }
+
+    KeepAliveHttpJsonRequest(Link link) {
+      super(link);
+    }
+
+    @Override
+    protected boolean isConnectionReusable() {
+      return true;
+    }
+  }
+}
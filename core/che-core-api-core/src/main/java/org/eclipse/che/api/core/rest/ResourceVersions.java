@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Singleton;
+
+/**
+ * Keeps versions of the resources which are served by methods annotated with {@link
+ * org.eclipse.che.api.core.rest.annotations.VersionedResource}. Version of a resource is
+ * incremented each time it is {@link #invalidate(String) invalidated}, so entity tags computed
+ * from the versions change whenever the resource does.
+ *
+ * <p>Versions are kept in memory only, so they are combined with the {@link #getEpoch() epoch} of
+ * this instance to make sure that tags issued before server restart are never matched again.
+ */
+@Singleton
+public class ResourceVersions {
+  private final String epoch;
+  private final ConcurrentMap<String, AtomicLong> versions;
+
+  public ResourceVersions() {
+    this.epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    this.versions = new ConcurrentHashMap<>();
+  }
+
+  /** Returns identifier of this instance which is changed on each server start. */
+  public String getEpoch() {
+    return epoch;
+  }
+
+  /** Returns current version of the resource with the given key. */
+  public long getVersion(String key) {
+    final AtomicLong version = versions.get(key);
+    return version == null ? 0 : version.get();
+  }
+
+  /**
+   * Increments version of the resource with the given key. Should be called after modification of
+   * the resource is completed, so a concurrent read never gets new tag with stale content.
+   */
+  public void invalidate(String key) {
+    versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks GET method of RESTful service which response depends only on the state of the given
+ * resources (e.g. all stacks), current user and request URI. Such methods are handled by {@link
+ * org.eclipse.che.everrest.VersionedResourceFilter} which computes entity tag from the versions
+ * of resources registered in {@link org.eclipse.che.api.core.rest.ResourceVersions} and answers
+ * {@code 304 Not Modified} to conditional requests without invoking the method.
+ *
+ * <p>Service which uses this annotation is responsible for invalidating the version of each
+ * resource key after every modification of that resource.
+ *
+ * @see org.eclipse.che.api.core.rest.ResourceVersions
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VersionedResource {
+  /** Keys of the resources the response depends on. */
+  String[] value();
+}
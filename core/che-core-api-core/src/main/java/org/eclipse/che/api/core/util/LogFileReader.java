@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads ranges of lines from log files without loading the whole file.
+ *
+ * <p>The files are expected to be written in the default charset with '\n' line separator, as
+ * {@link FileLineConsumer} does.
+ */
+public class LogFileReader {
+
+  private static final int BLOCK_SIZE = 8 * 1024;
+
+  /**
+   * Reads lines of the file.
+   *
+   * @param file the file to read
+   * @param skip the number of lines to skip from the beginning of the file
+   * @param limit the maximum number of lines to read
+   * @return the read lines, an empty list if the file contains no more than {@code skip} lines
+   * @throws IOException when the file can't be read
+   */
+  public static List<String> readLines(File file, long skip, int limit) throws IOException {
+    final List<String> lines = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(file.toPath(), Charset.defaultCharset())) {
+      String line;
+      for (long i = 0; i < skip; i++) {
+        if (reader.readLine() == null) {
+          return lines;
+        }
+      }
+      while (lines.size() < limit && (line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  /**
+   * Reads the last lines of the file. The file is scanned from its end, so only the requested
+   * lines are read regardless of the file size.
+   *
+   * @param file the file to read
+   * @param count the number of lines to read
+   * @return the last {@code count} lines of the file or all its lines if there are fewer
+   * @throws IOException when the file can't be read
+   */
+  public static List<String> tail(File file, int count) throws IOException {
+    final List<String> lines = new ArrayList<>();
+    if (count <= 0) {
+      return lines;
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      final long start = findTailStart(raf, count);
+      raf.seek(start);
+      final BufferedReader reader =
+          new BufferedReader(Channels.newReader(raf.getChannel(), Charset.defaultCharset().name()));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  /** Returns the position of the first byte of the last {@code count} lines. */
+  private static long findTailStart(RandomAccessFile raf, int count) throws IOException {
+    final long length = raf.length();
+    final byte[] block = new byte[BLOCK_SIZE];
+    long position = length;
+    int separators = 0;
+    while (position > 0) {
+      final int size = (int) Math.min(BLOCK_SIZE, position);
+      position -= size;
+      raf.seek(position);
+      raf.readFully(block, 0, size);
+      for (int i = size - 1; i >= 0; i--) {
+        // the separator of the last line doesn't start a new line
+        if (block[i] == '\n' && position + i != length - 1 && ++separators == count) {
+          return position + i + 1;
+        }
+      }
+    }
+    return 0;
+  }
+
+  private LogFileReader() {}
+}
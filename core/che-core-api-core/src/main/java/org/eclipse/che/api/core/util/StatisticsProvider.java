@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util;
+
+import java.util.Map;
+
+/**
+ * Provides runtime statistics of a component, such as counters of cache hits or events. Providers
+ * are bound with {@code Multibinder} and reported together by the system statistics API.
+ */
+public interface StatisticsProvider {
+
+  /** Returns the name of the component, it is used as a prefix of the component statistics. */
+  String getName();
+
+  /** Returns the current values of the component statistics by their names. */
+  Map<String, Long> getStatistics();
+}
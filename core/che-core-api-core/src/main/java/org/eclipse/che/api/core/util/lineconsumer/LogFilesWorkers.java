@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Threads which run background tasks of {@link RotatingFileLineConsumer}: the flusher writes
+ * buffered lines to the files and the compressor compresses rotated segments. Compressor is
+ * separated from the flusher so slow compression doesn't delay flushing of the other files, single
+ * compressor thread keeps the order of rotations of each file.
+ */
+@Singleton
+public class LogFilesWorkers {
+  private static final Logger LOG = LoggerFactory.getLogger(LogFilesWorkers.class);
+
+  private final ScheduledExecutorService flusher;
+  private final ExecutorService compressor;
+
+  public LogFilesWorkers() {
+    flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("LogFilesFlusher")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    compressor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("LogFilesCompressor")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  ScheduledFuture<?> scheduleFlush(Runnable flush, long intervalMs) {
+    return flusher.scheduleWithFixedDelay(flush, intervalMs, intervalMs, MILLISECONDS);
+  }
+
+  Future<?> compress(Runnable compression) {
+    return compressor.submit(compression);
+  }
+
+  /**
+   * Stops the threads. Segments which are already rotated are compressed before the compressor is
+   * stopped, so they are not left partially written.
+   */
+  @PreDestroy
+  public void shutdown() {
+    flusher.shutdownNow();
+    compressor.shutdown();
+    try {
+      if (!compressor.awaitTermination(30, SECONDS)) {
+        LOG.warn("Compression of rotated log files isn't finished in 30 seconds, interrupting it");
+        compressor.shutdownNow();
+      }
+    } catch (InterruptedException x) {
+      compressor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
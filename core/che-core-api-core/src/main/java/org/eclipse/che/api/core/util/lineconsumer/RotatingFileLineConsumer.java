@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consumes logs and writes them into file. This implementation is thread safe.
+ *
+ * <p>Unlike {@link ConcurrentFileLineConsumer} lines are not flushed one by one, they are buffered
+ * and written to the file when the buffer is full or in background once per flush interval.
+ *
+ * <p>When the size of the file exceeds the limit the file is rotated: its content is moved to the
+ * compressed segment {@code <file>.1.gz}, previously rotated segments are shifted ({@code
+ * <file>.1.gz} becomes {@code <file>.2.gz} and so on) and the segments exceeding the retention
+ * limit are deleted. Segments are compressed in background, and the file itself always contains
+ * the latest lines, so readers of the file keep working. Background tasks are run by {@link
+ * LogFilesWorkers}.
+ */
+public class RotatingFileLineConsumer implements LineConsumer {
+  private static final Logger LOG = LoggerFactory.getLogger(RotatingFileLineConsumer.class);
+
+  /** Size of the lines buffer in bytes, the buffer is written to the file once it's full. */
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final File file;
+  private final Charset charset;
+  private final byte[] lineSeparator;
+  private final long maxFileSize;
+  private final int maxRotatedFiles;
+  private final LogFilesWorkers workers;
+  private final ScheduledFuture<?> flushTask;
+
+  private OutputStream output;
+  private long fileSize;
+  private boolean isOpen;
+  /** Compression of the last rotated segment, the earlier ones are compressed before it. */
+  private Future<?> compression;
+
+  /**
+   * Creates consumer which writes lines to the given file in the default charset.
+   *
+   * @param file the file to write lines to
+   * @param maxFileSize the size of the file in bytes after which it is rotated, the file is never
+   *     rotated if the value is not positive
+   * @param maxRotatedFiles the number of rotated segments to keep
+   * @param flushIntervalMs how often buffered lines are written to the file
+   * @param workers threads which flush the file and compress its rotated segments
+   * @throws IOException when the file can't be opened
+   */
+  public RotatingFileLineConsumer(
+      File file,
+      long maxFileSize,
+      int maxRotatedFiles,
+      long flushIntervalMs,
+      LogFilesWorkers workers)
+      throws IOException {
+    this(file, Charset.defaultCharset(), maxFileSize, maxRotatedFiles, flushIntervalMs, workers);
+  }
+
+  @VisibleForTesting
+  RotatingFileLineConsumer(
+      File file,
+      Charset charset,
+      long maxFileSize,
+      int maxRotatedFiles,
+      long flushIntervalMs,
+      LogFilesWorkers workers)
+      throws IOException {
+    this.file = file;
+    this.charset = charset;
+    this.lineSeparator = "\n".getBytes(charset);
+    this.maxFileSize = maxFileSize;
+    this.maxRotatedFiles = maxRotatedFiles;
+    this.workers = workers;
+    this.compression = Futures.immediateFuture(null);
+    output = openOutput();
+    isOpen = true;
+    flushTask = workers.scheduleFlush(this::flush, flushIntervalMs);
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public synchronized boolean isOpen() {
+    return isOpen;
+  }
+
+  @Override
+  public synchronized void writeLine(String line) throws IOException {
+    if (!isOpen) {
+      return;
+    }
+    if (line != null) {
+      // size is counted in bytes, as a char may take several of them
+      final byte[] bytes = line.getBytes(charset);
+      output.write(bytes);
+      fileSize += bytes.length;
+    }
+    output.write(lineSeparator);
+    fileSize += lineSeparator.length;
+    if (maxFileSize > 0 && fileSize >= maxFileSize) {
+      rotate();
+    }
+  }
+
+  /** Writes buffered lines to the file. */
+  public synchronized void flush() {
+    if (isOpen) {
+      try {
+        output.flush();
+      } catch (IOException x) {
+        LOG.warn("Unable to flush logs to file '{}', cause: {}", file, x.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (isOpen) {
+      isOpen = false;
+      flushTask.cancel(false);
+      output.close();
+    }
+  }
+
+  /**
+   * Waits until the segments rotated by this consumer are compressed, so the directory of the file
+   * may be safely removed once the consumer is closed.
+   *
+   * @return {@code false} if the compression isn't finished in the given time
+   */
+  public boolean awaitCompression(long timeout, TimeUnit unit) {
+    final Future<?> last;
+    synchronized (this) {
+      last = compression;
+    }
+    try {
+      Uninterruptibles.getUninterruptibly(last, timeout, unit);
+      return true;
+    } catch (ExecutionException x) {
+      // failure is logged by the compression itself
+      return true;
+    } catch (TimeoutException x) {
+      return false;
+    }
+  }
+
+  private OutputStream openOutput() throws IOException {
+    fileSize = 0;
+    final OutputStream out =
+        Files.newOutputStream(
+            file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    return new BufferedOutputStream(out, BUFFER_SIZE);
+  }
+
+  private void rotate() throws IOException {
+    output.close();
+    // the file is moved aside and compressed in background, so the writers are not blocked,
+    // the name is unique as another consumer of the same file may still compress its segments
+    final Path dir = file.getAbsoluteFile().getParentFile().toPath();
+    final File rotated = Files.createTempFile(dir, file.getName() + ".rotating-", "").toFile();
+    Files.move(file.toPath(), rotated.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    output = openOutput();
+    try {
+      compression = workers.compress(() -> compress(rotated));
+    } catch (RejectedExecutionException x) {
+      // workers are stopped on server shutdown, the segment is not left uncompressed though
+      compress(rotated);
+    }
+  }
+
+  private void compress(File rotated) {
+    try {
+      if (maxRotatedFiles <= 0) {
+        Files.delete(rotated.toPath());
+        return;
+      }
+      // the segment is compressed aside, so readers never see it partially written
+      final File compressed = new File(rotated.getPath() + ".gz");
+      try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed.toPath()))) {
+        Files.copy(rotated.toPath(), out);
+      }
+      Files.delete(rotated.toPath());
+      Files.deleteIfExists(segment(maxRotatedFiles).toPath());
+      for (int i = maxRotatedFiles - 1; i > 0; i--) {
+        final File segment = segment(i);
+        if (segment.exists()) {
+          Files.move(segment.toPath(), segment(i + 1).toPath());
+        }
+      }
+      Files.move(compressed.toPath(), segment(1).toPath());
+    } catch (IOException x) {
+      LOG.warn("Unable to rotate logs file '{}', cause: {}", file, x.getMessage());
+    }
+  }
+
+  private File segment(int index) {
+    return new File(file.getPath() + '.' + index + ".gz");
+  }
+}
@@ -10,19 +10,57 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.stream.Collectors.toSet;
+
+import com.google.inject.Binding;
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import javax.inject.Inject;
+import javax.websocket.Extension;
 import javax.websocket.server.ServerEndpointConfig;
 
 /**
- * Allows inject Guice instances on WEB SOCKET endpoint creation.
+ * Allows inject Guice instances on WEB SOCKET endpoint creation. Extensions are negotiated by the
+ * container, unless per-message deflate compression is switched off with {@code
+ * che.websocket.compression.enabled=false}.
  *
  * @author Dmitry Kuleshov
  */
 public class GuiceInjectorEndpointConfigurator extends ServerEndpointConfig.Configurator {
+  static final String PER_MESSAGE_DEFLATE = "permessage-deflate";
+  static final String COMPRESSION_ENABLED_PROPERTY = "che.websocket.compression.enabled";
+
   @Inject private static Injector injector;
 
   public <T> T getEndpointInstance(Class<T> endpointClass) {
     return injector.getInstance(endpointClass);
   }
+
+  @Override
+  public List<Extension> getNegotiatedExtensions(
+      List<Extension> installed, List<Extension> requested) {
+    if (!isCompressionDisabled()) {
+      return super.getNegotiatedExtensions(installed, requested);
+    }
+    final Set<String> installedNames = installed.stream().map(Extension::getName).collect(toSet());
+    final List<Extension> negotiated = new ArrayList<>();
+    for (Extension extension : requested) {
+      if (!PER_MESSAGE_DEFLATE.equals(extension.getName())
+          && installedNames.contains(extension.getName())) {
+        negotiated.add(extension);
+      }
+    }
+    return negotiated;
+  }
+
+  private static boolean isCompressionDisabled() {
+    final Binding<String> binding =
+        injector.getExistingBinding(
+            Key.get(String.class, Names.named(COMPRESSION_ENABLED_PROPERTY)));
+    return binding != null && !Boolean.parseBoolean(binding.getProvider().get());
+  }
 }
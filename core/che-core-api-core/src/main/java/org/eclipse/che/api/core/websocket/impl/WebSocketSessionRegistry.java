@@ -14,10 +14,13 @@ import static java.util.stream.Collectors.toSet;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.slf4j.Logger;
@@ -32,6 +35,15 @@ public class WebSocketSessionRegistry {
   private static final Logger LOG = getLogger(WebSocketSessionRegistry.class);
 
   private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
+  private final List<Consumer<String>> removalListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Adds the listener which is notified with the identifier of the endpoint once its session is
+   * removed, e.g. to release the resources held for the endpoint.
+   */
+  public void addRemovalListener(Consumer<String> listener) {
+    removalListeners.add(listener);
+  }
 
   public void add(String endpointId, Session session) {
     LOG.debug("Registering session with endpoint {}", session.getId(), endpointId);
@@ -42,11 +54,21 @@ public class WebSocketSessionRegistry {
   public Optional<Session> remove(String endpointId) {
     LOG.debug("Cancelling registration for session with endpoint {}", endpointId);
 
-    return Optional.ofNullable(sessionsMap.remove(endpointId));
+    final Optional<Session> removed = Optional.ofNullable(sessionsMap.remove(endpointId));
+    if (removed.isPresent()) {
+      for (Consumer<String> listener : removalListeners) {
+        try {
+          listener.accept(endpointId);
+        } catch (RuntimeException x) {
+          LOG.error("Session removal listener failed for endpoint " + endpointId, x);
+        }
+      }
+    }
+    return removed;
   }
 
   public Optional<Session> remove(Session session) {
-    return get(session).flatMap(id -> Optional.ofNullable(sessionsMap.remove(id)));
+    return get(session).flatMap(this::remove);
   }
 
   public Optional<Session> get(String endpointId) {
@@ -34,7 +34,8 @@ import org.everrest.core.ResponseFilter;
 /**
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for
  * clients that want to use conditional requests. It is applying on GET method and JSON content type
- * only.
+ * only. Responses of methods handled by {@link VersionedResourceFilter} get the tag computed by
+ * that filter regardless of their content type.
  *
  * @author Florent Benoit
  */
@@ -62,15 +63,28 @@ public class ETagResponseFilter implements ResponseFilter {
       return;
     }
 
+    // Get the request
+    ApplicationContext applicationContext = ApplicationContext.getCurrent();
+    Request request = applicationContext.getRequest();
+
+    // tag of versioned resource is already computed and checked, no need to hash the entity
+    Object versionTag =
+        applicationContext.getAttributes().get(VersionedResourceFilter.ENTITY_TAG_ATTRIBUTE);
+    if (versionTag instanceof EntityTag) {
+      if (containerResponse.getStatus() == Response.Status.OK.getStatusCode()) {
+        containerResponse.setResponse(
+            Response.fromResponse(containerResponse.getResponse())
+                .tag((EntityTag) versionTag)
+                .build());
+      }
+      return;
+    }
+
     // Only handle JSON content
     if (!MediaType.APPLICATION_JSON_TYPE.equals(containerResponse.getContentType())) {
       return;
     }
 
-    // Get the request
-    ApplicationContext applicationContext = ApplicationContext.getCurrent();
-    Request request = applicationContext.getRequest();
-
     // manage only GET requests
     if (!HttpMethod.GET.equals(request.getMethod())) {
       return;
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.everrest;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import org.eclipse.che.api.core.rest.ResourceVersions;
+import org.eclipse.che.api.core.rest.annotations.VersionedResource;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.Filter;
+import org.everrest.core.method.MethodInvokerFilter;
+import org.everrest.core.resource.GenericResourceMethod;
+
+/**
+ * Handles conditional GET requests to methods annotated with {@link VersionedResource}.
+ *
+ * <p>Entity tag is computed from the versions of the resources the method depends on, current user
+ * and request URI, so it is known before the method is invoked. If it matches {@code
+ * If-None-Match} header of the request, {@code 304 Not Modified} is sent back and the method isn't
+ * invoked at all, otherwise the tag is passed to {@link ETagResponseFilter} which adds it to the
+ * response instead of hashing serialized entity.
+ */
+@Filter
+@Singleton
+public class VersionedResourceFilter implements MethodInvokerFilter {
+  /** Name of the application context attribute which holds computed entity tag. */
+  public static final String ENTITY_TAG_ATTRIBUTE =
+      VersionedResourceFilter.class.getName() + ".tag";
+
+  private final ResourceVersions resourceVersions;
+
+  @Inject
+  public VersionedResourceFilter(ResourceVersions resourceVersions) {
+    this.resourceVersions = resourceVersions;
+  }
+
+  @Override
+  public void accept(GenericResourceMethod genericResourceMethod, Object[] params)
+      throws WebApplicationException {
+    final VersionedResource versionedResource =
+        genericResourceMethod.getMethod().getAnnotation(VersionedResource.class);
+    if (versionedResource == null) {
+      return;
+    }
+    final ApplicationContext applicationContext = ApplicationContext.getCurrent();
+    final Request request = applicationContext.getRequest();
+    if (!HttpMethod.GET.equals(request.getMethod())) {
+      return;
+    }
+
+    final EntityTag entityTag =
+        computeTag(versionedResource.value(), applicationContext.getRequestUri().toString());
+    final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+    if (notModified != null) {
+      throw new WebApplicationException(notModified.tag(entityTag).build());
+    }
+    applicationContext.getAttributes().put(ENTITY_TAG_ATTRIBUTE, entityTag);
+  }
+
+  private EntityTag computeTag(String[] keys, String requestUri) {
+    final Hasher hasher = Hashing.md5().newHasher();
+    hasher.putString(resourceVersions.getEpoch(), StandardCharsets.UTF_8);
+    for (String key : keys) {
+      hasher.putString(key, StandardCharsets.UTF_8).putLong(resourceVersions.getVersion(key));
+    }
+    hasher
+        .putString(EnvironmentContext.getCurrent().getSubject().getUserId(), StandardCharsets.UTF_8)
+        .putString(requestUri, StandardCharsets.UTF_8);
+    return new EntityTag(hasher.hash().toString());
+  }
+}
@@ -10,10 +10,16 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -26,6 +32,11 @@ public class EventServiceTest {
     bus = new EventService();
   }
 
+  @AfterMethod
+  public void tearDown() throws Exception {
+    bus.shutdown();
+  }
+
   @Test
   public void testSimpleEvent() {
     final List<Object> events = new ArrayList<>();
@@ -192,6 +203,159 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsToAsyncSubscriberInPublishingOrder() throws Exception {
+    final List<Long> events = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch latch = new CountDownLatch(100);
+    bus.subscribeAsync(
+        new EventSubscriber<Long>() {
+          @Override
+          public void onEvent(Long event) {
+            events.add(event);
+            latch.countDown();
+          }
+        });
+
+    for (long i = 0; i < 100; i++) {
+      bus.publish(i);
+    }
+
+    Assert.assertTrue(latch.await(10, SECONDS));
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(events.get(i), Long.valueOf(i));
+    }
+  }
+
+  @Test
+  public void shouldNotBlockPublisherBySlowAsyncSubscriber() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch delivered = new CountDownLatch(1);
+    final List<String> syncEvents = new ArrayList<>();
+    bus.subscribeAsync(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            try {
+              release.await();
+            } catch (InterruptedException x) {
+              Thread.currentThread().interrupt();
+            }
+            delivered.countDown();
+          }
+        });
+    bus.subscribe(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            syncEvents.add(event);
+          }
+        });
+
+    bus.publish("hello");
+
+    Assert.assertEquals(syncEvents.size(), 1);
+    Assert.assertEquals(delivered.getCount(), 1);
+    release.countDown();
+    Assert.assertTrue(delivered.await(10, SECONDS));
+  }
+
+  @Test
+  public void shouldUnsubscribeAsyncSubscriber() throws Exception {
+    final CustomEventSubscriber<CustomEventImpl> sb = new CustomEventSubscriber<>();
+    bus.subscribeAsync(sb, CustomEventImpl.class);
+    bus.unsubscribe(sb, CustomEventImpl.class);
+
+    bus.publish(new CustomEventImpl());
+    bus.shutdown();
+
+    Assert.assertTrue(sb.events.isEmpty());
+  }
+
+  @Test
+  public void shouldCollectDispatchStatistics() {
+    bus.subscribe(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            throw new IllegalStateException("expected");
+          }
+        });
+    bus.subscribe(
+        new EventSubscriber<CharSequence>() {
+          @Override
+          public void onEvent(CharSequence event) {}
+        });
+
+    bus.publish("hello");
+    bus.publish("world");
+
+    EventDispatchStatistics statistics = bus.getDispatchStatistics().get(String.class);
+    Assert.assertEquals(statistics.getPublished(), 2);
+    Assert.assertEquals(statistics.getDelivered(), 4);
+    Assert.assertEquals(statistics.getFailed(), 2);
+    long histogramTotal = 0;
+    for (long count : statistics.getLatencyHistogram()) {
+      histogramTotal += count;
+    }
+    Assert.assertEquals(histogramTotal, 4);
+  }
+
+  @Test
+  public void shouldDropEventsInsteadOfBlockingServiceThreadWhenAsyncQueueIsFull()
+      throws Exception {
+    final EventService eventService = new EventService(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch published = new CountDownLatch(1);
+    try {
+      eventService.subscribeAsync(
+          new EventSubscriber<Integer>() {
+            @Override
+            public void onEvent(Integer event) {
+              try {
+                release.await();
+              } catch (InterruptedException x) {
+                Thread.currentThread().interrupt();
+              }
+            }
+          });
+      eventService.subscribeAsync(
+          new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+              for (int i = 0; i < 10; i++) {
+                eventService.publish(i);
+              }
+              published.countDown();
+            }
+          });
+
+      eventService.publish("hello");
+
+      Assert.assertTrue(published.await(10, SECONDS));
+      Assert.assertTrue(eventService.getDispatchStatistics().get(Integer.class).getDropped() >= 8);
+    } finally {
+      release.countDown();
+      eventService.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldReportDispatchStatisticsOfEventTypes() {
+    bus.subscribe(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {}
+        });
+
+    bus.publish("hello");
+
+    Map<String, Long> statistics = new EventServiceStatisticsProvider(bus).getStatistics();
+    Assert.assertEquals(statistics.get("java.lang.String.published"), Long.valueOf(1));
+    Assert.assertEquals(statistics.get("java.lang.String.delivered"), Long.valueOf(1));
+    Assert.assertEquals(statistics.get("java.lang.String.dropped"), Long.valueOf(0));
+    Assert.assertEquals(statistics.get("java.lang.String.latency_gt_5000ms"), Long.valueOf(0));
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
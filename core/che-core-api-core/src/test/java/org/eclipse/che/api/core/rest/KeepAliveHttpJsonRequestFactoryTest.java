@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.everrest.assured.EverrestJetty;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.ITestContext;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests of {@link KeepAliveHttpJsonRequestFactory}. */
+@Listeners({MockitoTestNGListener.class, EverrestJetty.class})
+public class KeepAliveHttpJsonRequestFactoryTest {
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final TestService TEST_SERVICE = new TestService();
+
+  private KeepAliveHttpJsonRequestFactory factory;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    factory = new KeepAliveHttpJsonRequestFactory();
+  }
+
+  @Test
+  public void shouldCreateRequestsWhichKeepConnectionAlive() throws Exception {
+    final HttpJsonRequest request = factory.fromUrl("http://localhost:8080");
+
+    assertTrue(request instanceof DefaultHttpJsonRequest);
+    assertTrue(((DefaultHttpJsonRequest) request).isConnectionReusable());
+  }
+
+  @Test
+  public void shouldPerformSubsequentRequestsToTheSameHost(ITestContext ctx) throws Exception {
+    for (int i = 0; i < 10; i++) {
+      assertEquals(
+          factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request().asString(),
+          TestService.JSON_OBJECT);
+      factory.fromUrl(getUrl(ctx) + "/no-content").useDeleteMethod().request();
+    }
+  }
+
+  @Test
+  public void shouldPerformRequestAfterErrorResponse(ITestContext ctx) throws Exception {
+    try {
+      factory.fromUrl(getUrl(ctx) + "/404/response-code-test").useGetMethod().request();
+      fail("Expected NotFoundException");
+    } catch (NotFoundException ignored) {
+    }
+
+    assertEquals(
+        factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request().asString(),
+        TestService.JSON_OBJECT);
+  }
+
+  private String getUrl(ITestContext ctx) {
+    return "http://localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT) + "/rest/test";
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests {@link LogFileReader}. */
+public class LogFileReaderTest {
+
+  private File file;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    file = Files.createTempFile("process", ".logs").toFile();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    file.delete();
+  }
+
+  @Test
+  public void readsRangeOfLines() throws Exception {
+    write("line1\nline2\nline3\nline4\n");
+
+    assertEquals(LogFileReader.readLines(file, 1, 2), asList("line2", "line3"));
+    assertEquals(LogFileReader.readLines(file, 3, 10), asList("line4"));
+    assertEquals(LogFileReader.readLines(file, 10, 10), emptyList());
+  }
+
+  @DataProvider
+  public static Object[][] tails() {
+    return new Object[][] {
+      {"line1\nline2\nline3\n", 2, asList("line2", "line3")},
+      {"line1\nline2\nline3", 2, asList("line2", "line3")},
+      {"line1\nline2\n", 5, asList("line1", "line2")},
+      {"line1\n\nline3\n", 2, asList("", "line3")},
+      {"line1\n", 0, emptyList()},
+      {"", 3, emptyList()}
+    };
+  }
+
+  @Test(dataProvider = "tails")
+  public void readsLastLines(String content, int count, List<String> expected) throws Exception {
+    write(content);
+
+    assertEquals(LogFileReader.tail(file, count), expected);
+  }
+
+  @Test
+  public void readsLastLinesOfFileLargerThanReadBlock() throws Exception {
+    final StringBuilder content = new StringBuilder();
+    final List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      lines.add("line" + i);
+      content.append("line").append(i).append('\n');
+    }
+    write(content.toString());
+
+    assertEquals(LogFileReader.tail(file, 3_000), lines.subList(7_000, 10_000));
+  }
+
+  private void write(String content) throws Exception {
+    Files.write(file.toPath(), content.getBytes(Charset.defaultCharset()));
+  }
+}
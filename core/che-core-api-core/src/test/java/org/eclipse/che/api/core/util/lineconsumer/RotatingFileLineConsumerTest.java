@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link RotatingFileLineConsumer}. */
+public class RotatingFileLineConsumerTest {
+
+  private File dir;
+  private File file;
+  private LogFilesWorkers workers;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    dir = Files.createTempDirectory("logs").toFile();
+    file = new File(dir, "machine.logs");
+    workers = new LogFilesWorkers();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    workers.shutdown();
+    IoUtil.deleteRecursive(dir);
+  }
+
+  @Test
+  public void buffersLinesUntilFlush() throws Exception {
+    final RotatingFileLineConsumer consumer =
+        new RotatingFileLineConsumer(file, 0, 0, 60_000, workers);
+
+    consumer.writeLine("line1");
+    assertEquals(file.length(), 0);
+
+    consumer.flush();
+    assertEquals(read(file), "line1\n");
+    consumer.close();
+  }
+
+  @Test
+  public void flushesLinesInBackground() throws Exception {
+    final RotatingFileLineConsumer consumer = new RotatingFileLineConsumer(file, 0, 0, 10, workers);
+
+    consumer.writeLine("line1");
+
+    waitUntil(() -> file.length() > 0);
+    assertEquals(read(file), "line1\n");
+    consumer.close();
+  }
+
+  @Test
+  public void writesBufferedLinesOnClose() throws Exception {
+    final RotatingFileLineConsumer consumer =
+        new RotatingFileLineConsumer(file, 0, 0, 60_000, workers);
+    consumer.writeLine("line1");
+    consumer.writeLine(null);
+
+    consumer.close();
+    consumer.writeLine("line2");
+
+    assertFalse(consumer.isOpen());
+    assertEquals(read(file), "line1\n\n");
+  }
+
+  @Test
+  public void rotatesAndCompressesFileWhenItExceedsTheLimit() throws Exception {
+    final RotatingFileLineConsumer consumer =
+        new RotatingFileLineConsumer(file, 10, 2, 60_000, workers);
+
+    consumer.writeLine("0123456789");
+    consumer.writeLine("second");
+    consumer.flush();
+
+    final File segment = new File(dir, "machine.logs.1.gz");
+    waitUntil(segment::exists);
+    assertEquals(read(file), "second\n");
+    assertEquals(readCompressed(segment), "0123456789\n");
+    consumer.close();
+  }
+
+  @Test
+  public void countsBytesOfLinesTowardsTheLimit() throws Exception {
+    final RotatingFileLineConsumer consumer =
+        new RotatingFileLineConsumer(file, UTF_8, 10, 2, 60_000, workers);
+
+    // 6 chars, but 11 bytes with the line separator
+    consumer.writeLine("\u0436\u0436\u0436\u0436\u0436");
+    consumer.writeLine("second");
+    consumer.flush();
+
+    final File segment = new File(dir, "machine.logs.1.gz");
+    waitUntil(segment::exists);
+    assertEquals(read(file), "second\n");
+    assertEquals(readCompressed(segment), "\u0436\u0436\u0436\u0436\u0436\n");
+    consumer.close();
+  }
+
+  @Test
+  public void awaitsCompressionOfRotatedSegments() throws Exception {
+    final RotatingFileLineConsumer consumer =
+        new RotatingFileLineConsumer(file, 5, 2, 60_000, workers);
+    consumer.writeLine("line0");
+    consumer.writeLine("line1");
+    consumer.close();
+
+    assertTrue(consumer.awaitCompression(5, TimeUnit.SECONDS));
+    assertEquals(dir.list().length, 3);
+    assertEquals(readCompressed(new File(dir, "machine.logs.1.gz")), "line1\n");
+  }
+
+  @Test
+  public void compressesRotatedSegmentsBeforeWorkersAreStopped() throws Exception {
+    final RotatingFileLineConsumer consumer =
+        new RotatingFileLineConsumer(file, 5, 2, 60_000, workers);
+    consumer.writeLine("line0");
+
+    workers.shutdown();
+
+    assertEquals(readCompressed(new File(dir, "machine.logs.1.gz")), "line0\n");
+    consumer.close();
+  }
+
+  @Test
+  public void keepsOnlyConfiguredNumberOfRotatedFiles() throws Exception {
+    final RotatingFileLineConsumer consumer =
+        new RotatingFileLineConsumer(file, 5, 2, 60_000, workers);
+
+    for (int i = 0; i < 4; i++) {
+      consumer.writeLine("line" + i);
+    }
+
+    final File third = new File(dir, "machine.logs.3.gz");
+    final File second = new File(dir, "machine.logs.2.gz");
+    final File first = new File(dir, "machine.logs.1.gz");
+    waitUntil(() -> dir.list().length == 3 && first.exists() && second.exists());
+    assertFalse(third.exists());
+    assertEquals(readCompressed(first), "line3\n");
+    assertEquals(readCompressed(second), "line2\n");
+    consumer.close();
+  }
+
+  @Test
+  public void keepsSegmentsRotatedByPreviousConsumerOfTheSameFile() throws Exception {
+    final RotatingFileLineConsumer previous =
+        new RotatingFileLineConsumer(file, 5, 2, 60_000, workers);
+    previous.writeLine("line0");
+    previous.close();
+    final RotatingFileLineConsumer consumer =
+        new RotatingFileLineConsumer(file, 5, 2, 60_000, workers);
+
+    consumer.writeLine("line1");
+
+    final File second = new File(dir, "machine.logs.2.gz");
+    final File first = new File(dir, "machine.logs.1.gz");
+    waitUntil(() -> dir.list().length == 3 && first.exists() && second.exists());
+    assertEquals(readCompressed(first), "line1\n");
+    assertEquals(readCompressed(second), "line0\n");
+    consumer.close();
+  }
+
+  private static String read(File file) throws Exception {
+    return new String(Files.readAllBytes(file.toPath()), UTF_8);
+  }
+
+  private static String readCompressed(File file) throws Exception {
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+      return new String(ByteStreams.toByteArray(in), UTF_8);
+    }
+  }
+
+  private static void waitUntil(Condition condition) throws Exception {
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.test()) {
+      assertTrue(System.currentTimeMillis() < deadline, "Condition wasn't met in time");
+      Thread.sleep(10);
+    }
+  }
+
+  private interface Condition {
+    boolean test() throws Exception;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.core.websocket.impl.GuiceInjectorEndpointConfigurator.COMPRESSION_ENABLED_PROPERTY;
+import static org.eclipse.che.api.core.websocket.impl.GuiceInjectorEndpointConfigurator.PER_MESSAGE_DEFLATE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+import java.util.List;
+import javax.websocket.Extension;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GuiceInjectorEndpointConfigurator} */
+public class GuiceInjectorEndpointConfiguratorTest {
+  private GuiceInjectorEndpointConfigurator configurator;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    Guice.createInjector(
+        binder -> {
+          binder.requestStaticInjection(GuiceInjectorEndpointConfigurator.class);
+          binder
+              .bindConstant()
+              .annotatedWith(Names.named(COMPRESSION_ENABLED_PROPERTY))
+              .to("false");
+        });
+    configurator = new GuiceInjectorEndpointConfigurator();
+  }
+
+  @Test
+  public void shouldNotNegotiateDeflateWhenCompressionIsDisabled() {
+    Extension other = extension("x-other");
+
+    List<Extension> negotiated =
+        configurator.getNegotiatedExtensions(
+            asList(extension(PER_MESSAGE_DEFLATE), extension("x-other")),
+            asList(extension(PER_MESSAGE_DEFLATE), other));
+
+    assertEquals(negotiated, singletonList(other));
+  }
+
+  @Test
+  public void shouldNotNegotiateExtensionWhichIsNotInstalled() {
+    List<Extension> negotiated =
+        configurator.getNegotiatedExtensions(
+            singletonList(extension("x-other")), singletonList(extension("x-requested")));
+
+    assertTrue(negotiated.isEmpty());
+  }
+
+  @Test
+  public void shouldKeepClientPreferenceOrder() {
+    Extension first = extension("x-first");
+    Extension second = extension("x-second");
+
+    List<Extension> negotiated =
+        configurator.getNegotiatedExtensions(
+            asList(extension("x-second"), extension("x-first")), asList(first, second));
+
+    assertEquals(negotiated, asList(first, second));
+  }
+
+  private static Extension extension(String name) {
+    Extension extension = mock(Extension.class);
+    when(extension.getName()).thenReturn(name);
+    return extension;
+  }
+}
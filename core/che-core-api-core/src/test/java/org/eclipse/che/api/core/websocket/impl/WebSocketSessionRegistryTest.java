@@ -10,9 +10,12 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Collections.singletonList;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import javax.websocket.Session;
 import org.mockito.Mock;
@@ -70,6 +73,18 @@ public class WebSocketSessionRegistryTest {
     assertTrue(registry.getSessions().isEmpty());
   }
 
+  @Test
+  public void shouldNotifyListenersWhenSessionIsRemoved() {
+    final List<String> removed = new ArrayList<>();
+    registry.addRemovalListener(removed::add);
+    registry.add("0", session);
+
+    registry.remove(session);
+    registry.remove("0");
+
+    assertEquals(removed, singletonList("0"));
+  }
+
   @Test
   public void shouldGetAllSessions() {
     registry.add("0", session);
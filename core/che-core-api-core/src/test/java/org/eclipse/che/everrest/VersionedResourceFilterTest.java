@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.everrest;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
+import static javax.ws.rs.core.Response.Status.OK;
+import static org.everrest.core.ApplicationContext.anApplicationContext;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.EntityTag;
+import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.api.core.rest.ResourceVersions;
+import org.eclipse.che.api.core.rest.annotations.VersionedResource;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.impl.ApplicationProviderBinder;
+import org.everrest.core.impl.ContainerRequest;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.RequestDispatcher;
+import org.everrest.core.impl.RequestHandlerImpl;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.tools.ResourceLauncher;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link VersionedResourceFilter}.
+ */
+public class VersionedResourceFilterTest {
+
+  private static final String BASE_URI = "http://localhost/service";
+  private static final String SERVICE_PATH = BASE_URI + "/myservice";
+  private static final String RESOURCE = "members";
+
+  private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+  @Path("/myservice")
+  public static class MyJaxRSService {
+
+    @GET
+    @Path("/list")
+    @Produces(APPLICATION_JSON)
+    @VersionedResource(RESOURCE)
+    public List<String> getMembers() {
+      INVOCATIONS.incrementAndGet();
+      return Arrays.asList("a", "b", "c");
+    }
+  }
+
+  private ResourceVersions resourceVersions;
+  private ResourceLauncher resourceLauncher;
+
+  @BeforeMethod
+  public void before() throws Exception {
+    INVOCATIONS.set(0);
+    resourceVersions = new ResourceVersions();
+
+    final ResourceBinderImpl resources = new ResourceBinderImpl();
+    resources.addResource(MyJaxRSService.class, null);
+    final DependencySupplierImpl dependencies = new DependencySupplierImpl();
+    final ApplicationProviderBinder providers = new ApplicationProviderBinder();
+    providers.addExceptionMapper(ApiExceptionMapper.class);
+    providers.addResponseFilter(ETagResponseFilter.class);
+    providers.addMethodInvokerFilter(new VersionedResourceFilter(resourceVersions));
+    final URI uri = new URI(BASE_URI);
+    final ContainerRequest req = new ContainerRequest(null, uri, uri, null, null, null);
+    final ApplicationContext contextImpl =
+        anApplicationContext().withRequest(req).withProviders(providers).build();
+    contextImpl.setDependencySupplier(dependencies);
+    ApplicationContext.setCurrent(contextImpl);
+    final EverrestProcessor processor =
+        new EverrestProcessor(
+            new EverrestConfiguration(),
+            dependencies,
+            new RequestHandlerImpl(new RequestDispatcher(resources), providers),
+            null);
+    resourceLauncher = new ResourceLauncher(processor);
+  }
+
+  @Test
+  public void shouldAddVersionTagToResponse() throws Exception {
+    final ContainerResponse response = get(null);
+
+    assertEquals(response.getStatus(), OK.getStatusCode());
+    assertEquals(response.getEntity(), Arrays.asList("a", "b", "c"));
+    final List<Object> headerTags = response.getHttpHeaders().get("ETag");
+    assertNotNull(headerTags);
+    assertEquals(headerTags.size(), 1);
+    // tag is not the hash of the entity computed by ETagResponseFilter
+    assertNotEquals(headerTags.get(0), new EntityTag("900150983cd24fb0d6963f7d28e17f72"));
+  }
+
+  @Test
+  public void shouldNotInvokeMethodWhenResourceIsNotModified() throws Exception {
+    final Object entityTag = get(null).getHttpHeaders().getFirst("ETag");
+
+    final ContainerResponse response = get(entityTag);
+
+    assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+    assertNull(response.getEntity());
+    assertEquals(response.getHttpHeaders().getFirst("ETag"), entityTag);
+    assertEquals(INVOCATIONS.get(), 1);
+  }
+
+  @Test
+  public void shouldInvokeMethodWhenResourceIsInvalidated() throws Exception {
+    final Object entityTag = get(null).getHttpHeaders().getFirst("ETag");
+    resourceVersions.invalidate(RESOURCE);
+
+    final ContainerResponse response = get(entityTag);
+
+    assertEquals(response.getStatus(), OK.getStatusCode());
+    assertNotEquals(response.getHttpHeaders().getFirst("ETag"), entityTag);
+    assertEquals(INVOCATIONS.get(), 2);
+  }
+
+  private ContainerResponse get(Object entityTag) throws Exception {
+    Map<String, List<String>> headers = new HashMap<>();
+    if (entityTag != null) {
+      headers.put("If-None-Match", Collections.singletonList(entityTag.toString()));
+    }
+    return resourceLauncher.service(
+        HttpMethod.GET, SERVICE_PATH + "/list", BASE_URI, headers, null, null);
+  }
+}
@@ -117,6 +117,10 @@ abstract class DtoImpl {
     return "ensure" + getCamelCaseName(fieldName);
   }
 
+  protected String getTypeAdapterGetterName(String fieldName) {
+    return "get" + getCamelCaseName(fieldName) + "Adapter";
+  }
+
   /** Get the canonical name of the field by deriving it from a getter method's name. */
   protected String getFieldNameFromGetterName(String getterName) {
     String fieldName;
@@ -16,12 +16,14 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
+import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.DTOImpl;
 import org.eclipse.che.dto.shared.DelegateRule;
 import org.eclipse.che.dto.shared.DelegateTo;
@@ -32,6 +34,7 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 public class DtoImplServerTemplate extends DtoImpl {
   private static final String JSON_ARRAY_IMPL = JsonArrayImpl.class.getCanonicalName();
   private static final String JSON_MAP_IMPL = JsonStringMapImpl.class.getCanonicalName();
+  static final String STREAM_ADAPTER = "StreamAdapter";
   private static final String SERVER_DTO_MARKER =
       "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
@@ -68,6 +71,7 @@ public class DtoImplServerTemplate extends DtoImpl {
     emitSerializer(methods, builder);
     emitDeserializer(methods, builder);
     emitDeserializerShortcut(builder);
+    emitTypeAdapter(getAllDtoGetters(dtoInterface), builder);
     emitCopyConstructor(methods, builder);
     // Delegation DTO methods.
     emitDelegateMethods(builder);
@@ -373,6 +377,250 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append("    }\n\n");
   }
 
+  /**
+   * Generates a nested streaming {@code TypeAdapter} which reads and writes the fields of the DTO
+   * implementation directly with {@code JsonReader}/{@code JsonWriter}, so the DTO Gson doesn't
+   * fall back to the reflective adapter for generated implementations. Strings and the most common
+   * primitives are written inline, other field types are delegated to the adapters resolved lazily
+   * from the DTO Gson. Null lists and maps are written as empty ones, the same way the DTO Gson
+   * does it.
+   */
+  private void emitTypeAdapter(List<Method> getters, StringBuilder builder) {
+    final String implClassName = getImplClassName();
+    builder
+        .append("    public static class ")
+        .append(STREAM_ADAPTER)
+        .append(" extends com.google.gson.TypeAdapter<")
+        .append(implClassName)
+        .append("> {\n");
+    for (Method getter : getters) {
+      final String fieldName = getJavaFieldName(getter.getName());
+      if (!isWrittenInline(getter.getReturnType()) || !isReadInline(getter.getReturnType())) {
+        builder
+            .append("      private com.google.gson.TypeAdapter<")
+            .append(getAdapterTypeName(getter))
+            .append("> ")
+            .append(getAdapterFieldName(fieldName))
+            .append(";\n");
+      }
+    }
+    builder.append("\n");
+    emitTypeAdapterWrite(getters, builder);
+    emitTypeAdapterRead(getters, builder);
+    for (Method getter : getters) {
+      if (!isWrittenInline(getter.getReturnType()) || !isReadInline(getter.getReturnType())) {
+        emitTypeAdapterDelegateGetter(getter, builder);
+      }
+    }
+    builder.append("    }\n\n");
+  }
+
+  /**
+   * Returns getters of all the fields of DTO implementation including the fields declared by the
+   * super DTO implementations. When a getter is overridden the most specific one is returned.
+   */
+  private List<Method> getAllDtoGetters(Class<?> dto) {
+    final Map<String, Method> getters = new LinkedHashMap<>();
+    for (Method method : dto.getMethods()) {
+      // default methods of DTO interfaces are not backed by fields
+      if (!isDtoGetter(method)
+          || (method.isDefault() && method.getDeclaringClass().isAnnotationPresent(DTO.class))) {
+        continue;
+      }
+      final Method existing = getters.get(method.getName());
+      if (existing == null
+          || existing.getDeclaringClass().isAssignableFrom(method.getDeclaringClass())) {
+        getters.put(method.getName(), method);
+      }
+    }
+    return new ArrayList<>(getters.values());
+  }
+
+  private void emitTypeAdapterWrite(List<Method> getters, StringBuilder builder) {
+    builder
+        .append("      @Override\n")
+        .append("      public void write(com.google.gson.stream.JsonWriter out, ")
+        .append(getImplClassName())
+        .append(" value) throws java.io.IOException {\n");
+    builder.append("        if (value == null) {\n");
+    builder.append("          out.nullValue();\n");
+    builder.append("          return;\n");
+    builder.append("        }\n");
+    builder.append("        out.beginObject();\n");
+    for (Method getter : getters) {
+      final String fieldName = getJavaFieldName(getter.getName());
+      final String field = "value." + fieldName;
+      final Class<?> type = getter.getReturnType();
+      builder.append("        out.name(\"").append(getJsonFieldName(getter)).append("\");\n");
+      if (type == String.class || type == boolean.class) {
+        builder.append("        out.value(").append(field).append(");\n");
+      } else if (type == int.class || type == long.class) {
+        builder.append("        out.value((long) ").append(field).append(");\n");
+      } else if (type == Integer.class || type == Long.class) {
+        builder.append("        out.value((Number) ").append(field).append(");\n");
+      } else if (isList(type) || isMap(type)) {
+        builder.append("        if (").append(field).append(" == null) {\n");
+        if (isList(type)) {
+          builder.append("          out.beginArray();\n");
+          builder.append("          out.endArray();\n");
+        } else {
+          builder.append("          out.beginObject();\n");
+          builder.append("          out.endObject();\n");
+        }
+        builder.append("        } else {\n");
+        builder
+            .append("          ((com.google.gson.TypeAdapter) ")
+            .append(getTypeAdapterGetterName(fieldName))
+            .append("()).write(out, ")
+            .append(field)
+            .append(");\n");
+        builder.append("        }\n");
+      } else if (getEnclosingTemplate().isDtoInterface(type)) {
+        // dispatch on the runtime type, the value may be an implementation of a DTO subtype
+        builder.append("        if (").append(field).append(" == null) {\n");
+        builder.append("          out.nullValue();\n");
+        builder.append("        } else {\n");
+        builder
+            .append("          ((com.google.gson.TypeAdapter) gson.getAdapter(")
+            .append(field)
+            .append(".getClass())).write(out, ")
+            .append(field)
+            .append(");\n");
+        builder.append("        }\n");
+      } else {
+        builder
+            .append("        ((com.google.gson.TypeAdapter) ")
+            .append(getTypeAdapterGetterName(fieldName))
+            .append("()).write(out, ")
+            .append(field)
+            .append(");\n");
+      }
+    }
+    builder.append("        out.endObject();\n");
+    builder.append("      }\n\n");
+  }
+
+  private void emitTypeAdapterRead(List<Method> getters, StringBuilder builder) {
+    final String implClassName = getImplClassName();
+    builder
+        .append("      @Override\n")
+        .append("      public ")
+        .append(implClassName)
+        .append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+    builder.append("        if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+    builder.append("          in.nextNull();\n");
+    builder.append("          return null;\n");
+    builder.append("        }\n");
+    builder
+        .append("        ")
+        .append(implClassName)
+        .append(" value = new ")
+        .append(implClassName)
+        .append("();\n");
+    builder.append("        in.beginObject();\n");
+    builder.append("        while (in.hasNext()) {\n");
+    builder.append("          switch (in.nextName()) {\n");
+    for (Method getter : getters) {
+      final String fieldName = getJavaFieldName(getter.getName());
+      final String field = "value." + fieldName;
+      final Class<?> type = getter.getReturnType();
+      builder.append("            case \"").append(getJsonFieldName(getter)).append("\":\n");
+      if (type.isPrimitive()) {
+        builder.append("              if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+        builder.append("                in.nextNull();\n");
+        builder.append("              } else {\n");
+        builder.append("                ").append(field).append(" = ");
+        if (type == boolean.class) {
+          builder
+              .append("in.peek() == com.google.gson.stream.JsonToken.STRING")
+              .append(" ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean();\n");
+        } else if (type == int.class) {
+          builder.append("in.nextInt();\n");
+        } else if (type == long.class) {
+          builder.append("in.nextLong();\n");
+        } else if (type == double.class) {
+          builder.append("in.nextDouble();\n");
+        } else {
+          builder.append(getTypeAdapterGetterName(fieldName)).append("().read(in);\n");
+        }
+        builder.append("              }\n");
+      } else {
+        builder
+            .append("              ")
+            .append(field)
+            .append(" = ")
+            .append(getTypeAdapterGetterName(fieldName))
+            .append("().read(in);\n");
+      }
+      builder.append("              break;\n");
+    }
+    builder.append("            default:\n");
+    builder.append("              in.skipValue();\n");
+    builder.append("          }\n");
+    builder.append("        }\n");
+    builder.append("        in.endObject();\n");
+    builder.append("        return value;\n");
+    builder.append("      }\n\n");
+  }
+
+  /**
+   * Emits a getter which lazily resolves the delegate adapter of the field type. The adapters can't
+   * be resolved eagerly as the DTO providers may be not registered yet at the moment when this
+   * adapter is created.
+   */
+  private void emitTypeAdapterDelegateGetter(Method getter, StringBuilder builder) {
+    final String fieldName = getJavaFieldName(getter.getName());
+    final String adapterField = getAdapterFieldName(fieldName);
+    final String adapterType = getAdapterTypeName(getter);
+    final Type genericType = getter.getGenericReturnType();
+    builder
+        .append("      private com.google.gson.TypeAdapter<")
+        .append(adapterType)
+        .append("> ")
+        .append(getTypeAdapterGetterName(fieldName))
+        .append("() {\n");
+    builder.append("        if (").append(adapterField).append(" == null) {\n");
+    builder.append("          ").append(adapterField).append(" = gson.getAdapter(");
+    if (genericType instanceof ParameterizedType) {
+      builder
+          .append("new com.google.gson.reflect.TypeToken<")
+          .append(adapterType)
+          .append(">() {}");
+    } else {
+      builder.append(adapterType).append(".class");
+    }
+    builder.append(");\n");
+    builder.append("        }\n");
+    builder.append("        return ").append(adapterField).append(";\n");
+    builder.append("      }\n\n");
+  }
+
+  private String getAdapterTypeName(Method getter) {
+    final Class<?> type = getter.getReturnType();
+    if (type.isPrimitive()) {
+      return Primitives.wrap(type).getName();
+    }
+    return getImplName(getter.getGenericReturnType(), false);
+  }
+
+  private static String getAdapterFieldName(String fieldName) {
+    return (fieldName.charAt(0) == '$' ? fieldName.substring(1) : fieldName) + "Adapter";
+  }
+
+  private boolean isWrittenInline(Class<?> type) {
+    return type == String.class
+        || type == boolean.class
+        || type == int.class
+        || type == Integer.class
+        || type == long.class
+        || type == Long.class
+        || getEnclosingTemplate().isDtoInterface(type);
+  }
+
+  private static boolean isReadInline(Class<?> type) {
+    return type == boolean.class || type == int.class || type == long.class || type == double.class;
+  }
+
   private static StringBuilder appendNaiveCopyJsonExpression(
       String inValue, StringBuilder builder) {
     builder.append("((");
@@ -291,6 +291,14 @@ public class DtoTemplate {
             .append("(origin);\n");
         builder.append("        }\n");
         builder.append("    });\n");
+        builder
+            .append("    dtoFactory.registerTypeAdapter(")
+            .append(dto.getImplClassName())
+            .append(".class, new ")
+            .append(dto.getImplClassName())
+            .append(".")
+            .append(DtoImplServerTemplate.STREAM_ADAPTER)
+            .append("());\n");
       }
       builder.append("  }\n\n");
     }
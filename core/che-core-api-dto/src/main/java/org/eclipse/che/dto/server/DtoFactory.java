@@ -100,8 +100,11 @@ public final class DtoFactory {
   // Additional mapping for implementation of DTO interfaces.
   // It helps avoid reflection when need create copy of exited DTO instance.
   private final Map<Class<?>, DtoProvider<?>> dtoImpl2Providers = new ConcurrentHashMap<>();
+  // Streaming type adapters generated for DTO implementations.
+  private final Map<Class<?>, TypeAdapter<?>> dtoImpl2TypeAdapters = new ConcurrentHashMap<>();
   private final Gson dtoGson =
       new GsonBuilder()
+          .registerTypeAdapterFactory(new DtoImplTAF())
           .registerTypeAdapterFactory(
               new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
           .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
@@ -420,6 +423,19 @@ public final class DtoFactory {
     return dtoProvider;
   }
 
+  /**
+   * Registers streaming type adapter for DTO implementation class. Registered adapter is used by
+   * the DTO Gson instead of the reflective one. Adapters must be registered before the DTO Gson
+   * serializes or deserializes instances of the implementation class for the first time, which is
+   * guaranteed for adapters registered by {@link DtoFactoryVisitor}.
+   *
+   * @param dtoImpl DTO implementation class
+   * @param typeAdapter adapter for DTO implementation class
+   */
+  public <T> void registerTypeAdapter(Class<T> dtoImpl, TypeAdapter<T> typeAdapter) {
+    dtoImpl2TypeAdapters.put(dtoImpl, typeAdapter);
+  }
+
   /**
    * Test weather or not this DtoFactory has any DtoProvider which can provide implementation of DTO
    * interface.
@@ -447,6 +463,15 @@ public final class DtoFactory {
     }
   }
 
+  /** Provides generated streaming adapters for DTO implementation classes. */
+  private class DtoImplTAF implements TypeAdapterFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      return (TypeAdapter<T>) dtoImpl2TypeAdapters.get(type.getRawType());
+    }
+  }
+
   /**
    * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty
    * instead.
@@ -431,6 +431,66 @@ public class ServerDtoTest {
     assertEquals(childDto.getParentField(), "parent-field");
   }
 
+  @Test
+  public void shouldUseGeneratedStreamAdapterForDtoImplementation() throws Exception {
+    Object interfaceAdapter = dtoFactory.getGson().getAdapter(SimpleDto.class);
+
+    assertTrue(interfaceAdapter instanceof DtoServerImpls.SimpleDtoImpl.StreamAdapter);
+    assertTrue(
+        dtoFactory.getGson().getAdapter(DtoServerImpls.ComplicatedDtoImpl.class)
+            instanceof DtoServerImpls.ComplicatedDtoImpl.StreamAdapter);
+  }
+
+  @Test
+  public void shouldSerializeAndDeserializeComplicatedDto() throws Exception {
+    SimpleDto simpleDto =
+        dtoFactory.createDto(SimpleDto.class).withName("name").withId(1).withDefault("default");
+    Map<String, SimpleDto> mapDtos = new HashMap<>();
+    mapDtos.put("key", simpleDto);
+    ComplicatedDto dto =
+        dtoFactory
+            .createDto(ComplicatedDto.class)
+            .withStrings(asList("a", "b"))
+            .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+            .withMap(mapDtos)
+            .withSimpleDtos(asList(simpleDto, simpleDto))
+            .withArrayOfArrayOfEnum(
+                asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.THREE)));
+
+    ComplicatedDto parsed =
+        dtoFactory.createDtoFromJson(dtoFactory.toJson(dto), ComplicatedDto.class);
+
+    assertEquals(parsed, dto);
+  }
+
+  @Test
+  public void shouldSkipUnknownAndNullFieldsWhenDeserializing() throws Exception {
+    SimpleDto dto =
+        dtoFactory.createDtoFromJson(
+            "{\"unknown\":{\"a\":[1,2]},\"id\":null,\"name\":\"name\",\"default\":null}",
+            SimpleDto.class);
+
+    assertEquals(dto.getId(), 0);
+    assertEquals(dto.getName(), "name");
+    assertEquals(dto.getDefault(), null);
+  }
+
+  @Test
+  public void shouldSerializeFieldsInheritedFromParentDto() throws Exception {
+    DTOHierarchy.ChildDto dto =
+        dtoFactory
+            .createDto(GrandchildDto.class)
+            .withDtoField("dto-field")
+            .withChildField("child-field")
+            .withParentField("parent-field");
+
+    JsonObject json = new JsonParser().parse(dtoFactory.toJson(dto)).getAsJsonObject();
+
+    assertEquals(json.get("dtoField").getAsString(), "dto-field");
+    assertEquals(json.get("childField").getAsString(), "child-field");
+    assertEquals(json.get("parentField").getAsString(), "parent-field");
+  }
+
   @Test(
     expectedExceptions = IllegalArgumentException.class,
     expectedExceptionsMessageRegExp =
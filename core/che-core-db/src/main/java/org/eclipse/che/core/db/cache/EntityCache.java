@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import static java.util.Collections.emptySet;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Shared read-through cache of the entities which are frequently fetched by their identifiers.
+ *
+ * <p>The cache is disabled unless {@code db.entity_cache.max_size} is positive, when enabled it
+ * keeps at most that many entities of each type. Cached instances are never exposed, the cache
+ * stores and returns copies of the entities, so callers are free to modify fetched instances.
+ *
+ * <p>Components using the cache must {@link #invalidate(Class, String) invalidate} the entities
+ * they modified. Components caching entities which embed entities of other types must {@link
+ * #addDependency(Class, Class) register} the dependency (e.g. workspace namespace is the name of
+ * its account), then a modification of an embedded entity invalidates all the cached entities of
+ * the dependent type.
+ */
+@Singleton
+public class EntityCache {
+
+  @Inject(optional = true)
+  @Named("db.entity_cache.max_size")
+  private long maxSize;
+
+  private final ConcurrentMap<Class<?>, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, Set<Class<?>>> dependents = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+
+  /** Returns true if entities are cached, otherwise returns false. */
+  public boolean isEnabled() {
+    return maxSize > 0;
+  }
+
+  /**
+   * Returns a copy of the entity with given identifier, the entity is loaded with given {@code
+   * loader} only if it is not cached yet.
+   *
+   * @param type the type of the entity
+   * @param id the identifier of the entity
+   * @param loader loads the entity by its identifier, returns null if the entity doesn't exist
+   * @param copier creates a copy of the entity
+   * @param <T> the type of the entity
+   * @return a copy of the entity or null if the {@code loader} returned null
+   */
+  public <T> T get(
+      Class<T> type, String id, Function<String, ? extends T> loader, UnaryOperator<T> copier) {
+    if (!isEnabled()) {
+      final T entity = loader.apply(id);
+      return entity == null ? null : copier.apply(entity);
+    }
+    final Cache<String, Object> cache =
+        caches.computeIfAbsent(
+            type, t -> CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build());
+    final Object cached = cache.getIfPresent(id);
+    if (cached != null) {
+      return copier.apply(type.cast(cached));
+    }
+    final long loadVersion = version.get();
+    final T entity = loader.apply(id);
+    if (entity == null) {
+      return null;
+    }
+    final T copy = copier.apply(entity);
+    cache.put(id, copy);
+    // the entity might have been loaded before a concurrent modification was committed
+    if (version.get() != loadVersion) {
+      cache.invalidate(id);
+    }
+    return copier.apply(copy);
+  }
+
+  /**
+   * Registers that entities of {@code dependentType} embed entities of {@code type}, so all the
+   * cached entities of {@code dependentType} are dropped once any entity of {@code type} is
+   * invalidated.
+   */
+  public void addDependency(Class<?> type, Class<?> dependentType) {
+    dependents.computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet()).add(dependentType);
+  }
+
+  /**
+   * Drops the cached entity of given type with given identifier along with all the cached entities
+   * of the types depending on it.
+   */
+  public void invalidate(Class<?> type, String id) {
+    version.incrementAndGet();
+    final Cache<String, Object> cache = caches.get(type);
+    if (cache != null) {
+      cache.invalidate(id);
+    }
+    for (Class<?> dependentType : dependents.getOrDefault(type, emptySet())) {
+      invalidateAll(dependentType);
+    }
+  }
+
+  /** Drops all the cached entities of given type. */
+  public void invalidateAll(Class<?> type) {
+    version.incrementAndGet();
+    final Cache<String, Object> cache = caches.get(type);
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  /** Drops all the cached entities. */
+  public void invalidateAll() {
+    version.incrementAndGet();
+    caches.values().forEach(Cache::invalidateAll);
+  }
+
+  /** Returns hit/miss statistics of the cache per entity type. */
+  public Map<Class<?>, CacheStats> getStatistics() {
+    final Map<Class<?>, CacheStats> statistics = new HashMap<>();
+    caches.forEach((type, cache) -> statistics.put(type, cache.stats()));
+    return statistics;
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import com.google.common.cache.CacheStats;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.util.StatisticsProvider;
+
+/**
+ * Reports {@link EntityCache#getStatistics() statistics} of each cached entity type, e.g. {@code
+ * <entity class>.hits} or {@code <entity class>.evictions}.
+ */
+@Singleton
+public class EntityCacheStatisticsProvider implements StatisticsProvider {
+
+  private final EntityCache entityCache;
+
+  @Inject
+  public EntityCacheStatisticsProvider(EntityCache entityCache) {
+    this.entityCache = entityCache;
+  }
+
+  @Override
+  public String getName() {
+    return "entity_cache";
+  }
+
+  @Override
+  public Map<String, Long> getStatistics() {
+    final Map<String, Long> result = new LinkedHashMap<>();
+    for (Map.Entry<Class<?>, CacheStats> entry : entityCache.getStatistics().entrySet()) {
+      final String prefix = entry.getKey().getName() + '.';
+      final CacheStats stats = entry.getValue();
+      result.put(prefix + "hits", stats.hitCount());
+      result.put(prefix + "misses", stats.missCount());
+      result.put(prefix + "evictions", stats.evictionCount());
+    }
+    return result;
+  }
+}
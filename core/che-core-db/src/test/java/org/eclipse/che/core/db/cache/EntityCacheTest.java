@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.cache.CacheStats;
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link EntityCache}.
+ *
+ * <p>Entities are represented with string builders, so it is easy to check whether the cached
+ * instance is exposed or not.
+ */
+public class EntityCacheTest {
+
+  private EntityCache cache;
+  private AtomicInteger loads;
+  private Map<String, String> storage;
+  private Function<String, StringBuilder> loader;
+
+  @BeforeMethod
+  public void setUp() {
+    cache = createCache(10);
+    loads = new AtomicInteger();
+    storage = new HashMap<>();
+    storage.put("id1", "entity1");
+    loader =
+        id -> {
+          loads.incrementAndGet();
+          final String value = storage.get(id);
+          return value == null ? null : new StringBuilder(value);
+        };
+  }
+
+  @Test
+  public void loadsEntityWhenItIsNotCached() {
+    final StringBuilder entity = cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+
+    assertEquals(entity.toString(), "entity1");
+    assertEquals(loads.get(), 1);
+  }
+
+  @Test
+  public void returnsCopyOfCachedEntityWithoutLoadingIt() {
+    final StringBuilder first = cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+    first.append("-modified");
+
+    final StringBuilder second = cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+
+    assertEquals(second.toString(), "entity1");
+    assertNotSame(first, second);
+    assertEquals(loads.get(), 1);
+  }
+
+  @Test
+  public void doesNotCacheMissingEntities() {
+    assertNull(cache.get(StringBuilder.class, "id2", loader, StringBuilder::new));
+    storage.put("id2", "entity2");
+
+    final StringBuilder entity = cache.get(StringBuilder.class, "id2", loader, StringBuilder::new);
+
+    assertEquals(entity.toString(), "entity2");
+    assertEquals(loads.get(), 2);
+  }
+
+  @Test
+  public void reloadsEntitiesAfterInvalidation() {
+    cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+    storage.put("id1", "updated");
+
+    cache.invalidateAll();
+    final StringBuilder entity = cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+
+    assertEquals(entity.toString(), "updated");
+    assertEquals(loads.get(), 2);
+  }
+
+  @Test
+  public void invalidatesOnlyModifiedEntity() {
+    storage.put("id2", "entity2");
+    cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+    cache.get(StringBuilder.class, "id2", loader, StringBuilder::new);
+    storage.put("id1", "updated");
+
+    cache.invalidate(StringBuilder.class, "id1");
+    final StringBuilder entity = cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+    cache.get(StringBuilder.class, "id2", loader, StringBuilder::new);
+
+    assertEquals(entity.toString(), "updated");
+    assertEquals(loads.get(), 3);
+  }
+
+  @Test
+  public void invalidatesDependentTypesWhenEntityIsModified() {
+    final AtomicInteger dependentLoads = new AtomicInteger();
+    final Function<String, StringBuffer> dependentLoader =
+        id -> {
+          dependentLoads.incrementAndGet();
+          return new StringBuffer(id);
+        };
+    cache.addDependency(StringBuilder.class, StringBuffer.class);
+    cache.get(StringBuffer.class, "dependent", dependentLoader, StringBuffer::new);
+
+    cache.invalidate(StringBuilder.class, "id1");
+    cache.get(StringBuffer.class, "dependent", dependentLoader, StringBuffer::new);
+
+    assertEquals(dependentLoads.get(), 2);
+  }
+
+  @Test
+  public void doesNotKeepEntityLoadedConcurrentlyWithInvalidation() {
+    final Function<String, StringBuilder> invalidatingLoader =
+        id -> {
+          final StringBuilder entity = loader.apply(id);
+          cache.invalidateAll();
+          return entity;
+        };
+    cache.get(StringBuilder.class, "id1", invalidatingLoader, StringBuilder::new);
+
+    cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+
+    assertEquals(loads.get(), 2);
+  }
+
+  @Test
+  public void alwaysLoadsEntitiesWhenDisabled() {
+    cache = createCache(0);
+
+    cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+    cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+
+    assertFalse(cache.isEnabled());
+    assertEquals(loads.get(), 2);
+    assertTrue(cache.getStatistics().isEmpty());
+  }
+
+  @Test
+  public void collectsStatisticsPerEntityType() {
+    cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+    cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+    cache.get(StringBuilder.class, "id1", loader, StringBuilder::new);
+
+    final CacheStats stats = cache.getStatistics().get(StringBuilder.class);
+    assertEquals(stats.hitCount(), 2);
+    assertEquals(stats.missCount(), 1);
+  }
+
+  private static EntityCache createCache(long maxSize) {
+    return Guice.createInjector(
+            binder ->
+                binder
+                    .bindConstant()
+                    .annotatedWith(Names.named("db.entity_cache.max_size"))
+                    .to(maxSize))
+        .getInstance(EntityCache.class);
+  }
+}
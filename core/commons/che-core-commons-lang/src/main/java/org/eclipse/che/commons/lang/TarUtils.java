@@ -18,6 +18,7 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.LinkedList;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
@@ -76,8 +77,23 @@ public class TarUtils {
   }
 
   public static void tarFiles(File tar, long modTime, File... files) throws IOException {
+    tarFiles(new FileOutputStream(tar), modTime, files);
+  }
+
+  /**
+   * Writes tar archive of the given files to the stream, the stream is closed when the archive is
+   * written.
+   *
+   * @param out stream to write archive to
+   * @param modTime modification time that applied to all entries in archive instead modification
+   *     time provided by method {@link File#lastModified()}. This parameter should be {@code -1} if
+   *     don't need to set any specified time
+   * @param files files and directories to add in archive
+   * @throws IOException if i/o error occurs
+   */
+  public static void tarFiles(OutputStream out, long modTime, File... files) throws IOException {
     try (TarArchiveOutputStream tarOut =
-        new TarArchiveOutputStream(new BufferedOutputStream(new FileOutputStream(tar)))) {
+        new TarArchiveOutputStream(new BufferedOutputStream(out))) {
       tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
       for (File f : files) {
         if (f.isDirectory()) {
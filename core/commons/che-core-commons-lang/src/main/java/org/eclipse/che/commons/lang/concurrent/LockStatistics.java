@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention statistics of a single kind of lock operation collected by {@link StripedLocks}.
+ * Counts lock acquisitions, acquisitions which had to wait for another holder and keeps the total
+ * and the maximum wait and hold times.
+ */
+public class LockStatistics {
+
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder contended = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+  private final LongAdder released = new LongAdder();
+  private final LongAdder totalHoldNanos = new LongAdder();
+  private final LongAccumulator maxHoldNanos = new LongAccumulator(Long::max, 0);
+
+  LockStatistics() {}
+
+  void onAcquired(long waitNanos, boolean wasContended) {
+    acquired.increment();
+    if (wasContended) {
+      contended.increment();
+    }
+    totalWaitNanos.add(waitNanos);
+    maxWaitNanos.accumulate(waitNanos);
+  }
+
+  void onReleased(long holdNanos) {
+    released.increment();
+    totalHoldNanos.add(holdNanos);
+    maxHoldNanos.accumulate(holdNanos);
+  }
+
+  /** Returns the number of lock acquisitions. */
+  public long getAcquired() {
+    return acquired.sum();
+  }
+
+  /** Returns the number of lock acquisitions which waited for the lock to be released. */
+  public long getContended() {
+    return contended.sum();
+  }
+
+  /** Returns the average time in nanoseconds spent waiting for the lock. */
+  public long getAverageWaitNanos() {
+    final long count = acquired.sum();
+    return count == 0 ? 0 : totalWaitNanos.sum() / count;
+  }
+
+  /** Returns the maximum time in nanoseconds spent waiting for the lock. */
+  public long getMaxWaitNanos() {
+    return maxWaitNanos.get();
+  }
+
+  /** Returns the average time in nanoseconds the lock was held for. */
+  public long getAverageHoldNanos() {
+    final long count = released.sum();
+    return count == 0 ? 0 : totalHoldNanos.sum() / count;
+  }
+
+  /** Returns the maximum time in nanoseconds the lock was held for. */
+  public long getMaxHoldNanos() {
+    return maxHoldNanos.get();
+  }
+}
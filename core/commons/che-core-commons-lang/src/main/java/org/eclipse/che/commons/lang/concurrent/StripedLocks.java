@@ -10,9 +10,14 @@
  */
 package org.eclipse.che.commons.lang.concurrent;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.Striped;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Helper class to use striped locks in try-with-resources construction. Examples of usage:
@@ -34,39 +39,109 @@ import java.util.concurrent.locks.ReadWriteLock;
  * }
  * }</pre>
  *
+ * <p>Different keys may share the same stripe, which means that operations on unrelated keys may
+ * wait for each other. When the number of concurrently locked keys is high, {@link #perKey()}
+ * locks may be used instead, each locked key gets its own lock which is dropped once the key is
+ * unlocked. Note that per-key locks don't allow to acquire {@link #writeAllLock()} while holding a
+ * lock for a single key.
+ *
+ * <p>Wait and hold times of each kind of lock operation are collected and available through
+ * {@link #getStatistics()}.
+ *
  * @author Alexander Garagatyi
  * @author Sergii Leschenko
  * @author Yevhenii Voevodin
  */
 public class StripedLocks {
 
-  private final Striped<ReadWriteLock> striped;
+  /** The number of stripes used by auto-sized locks per available processor. */
+  private static final int STRIPES_PER_PROCESSOR = 16;
 
+  private final Striped<ReadWriteLock> striped;
+  private final ConcurrentMap<String, KeyLock> keyLocks;
+  private final ReadWriteLock allLock;
+  private final LockStatistics readStatistics = new LockStatistics();
+  private final LockStatistics writeStatistics = new LockStatistics();
+  private final LockStatistics writeAllStatistics = new LockStatistics();
+
+  /**
+   * Creates striped locks.
+   *
+   * @param stripesCount the number of stripes, if it is not positive then the number of stripes
+   *     is chosen according to the number of available processors
+   */
   public StripedLocks(int stripesCount) {
-    striped = Striped.readWriteLock(stripesCount);
+    this(stripesCount, false);
+  }
+
+  /**
+   * Creates locks.
+   *
+   * @param stripesCount the number of stripes, if it is not positive then the number of stripes
+   *     is chosen according to the number of available processors, ignored if {@code perKey} is
+   *     true
+   * @param perKey whether to use a separate lock for each key instead of stripes
+   */
+  public StripedLocks(int stripesCount, boolean perKey) {
+    if (perKey) {
+      striped = null;
+      keyLocks = new ConcurrentHashMap<>();
+      allLock = new ReentrantReadWriteLock();
+    } else {
+      if (stripesCount <= 0) {
+        stripesCount = Runtime.getRuntime().availableProcessors() * STRIPES_PER_PROCESSOR;
+      }
+      striped = Striped.readWriteLock(stripesCount);
+      keyLocks = null;
+      allLock = null;
+    }
+  }
+
+  /**
+   * Creates locks which use a separate lock for each key.
+   *
+   * @see #StripedLocks(int, boolean)
+   */
+  public static StripedLocks perKey() {
+    return new StripedLocks(0, true);
   }
 
   /** Acquire read lock for provided key. */
   public Unlocker readLock(String key) {
-    Lock lock = striped.get(key).readLock();
-    lock.lock();
-    return new LockUnlocker(lock);
+    if (striped != null) {
+      return acquire(readStatistics, null, striped.get(key).readLock());
+    }
+    return acquire(
+        readStatistics, () -> releaseKeyLock(key), allLock.readLock(), getKeyLock(key).readLock());
   }
 
   /** Acquire write lock for provided key. */
   public Unlocker writeLock(String key) {
-    Lock lock = striped.get(key).writeLock();
-    lock.lock();
-    return new LockUnlocker(lock);
+    if (striped != null) {
+      return acquire(writeStatistics, null, striped.get(key).writeLock());
+    }
+    return acquire(
+        writeStatistics,
+        () -> releaseKeyLock(key),
+        allLock.readLock(),
+        getKeyLock(key).writeLock());
   }
 
   /** Acquire write lock for all possible keys. */
   public Unlocker writeAllLock() {
-    Lock[] locks = getAllWriteLocks();
-    for (Lock lock : locks) {
-      lock.lock();
+    if (striped != null) {
+      return acquire(writeAllStatistics, null, getAllWriteLocks());
     }
-    return new LocksUnlocker(locks);
+    return acquire(writeAllStatistics, null, allLock.writeLock());
+  }
+
+  /**
+   * Returns contention statistics of the lock operations, the keys of the map are {@code read},
+   * {@code write} and {@code writeAll}.
+   */
+  public Map<String, LockStatistics> getStatistics() {
+    return ImmutableMap.of(
+        "read", readStatistics, "write", writeStatistics, "writeAll", writeAllStatistics);
   }
 
   private Lock[] getAllWriteLocks() {
@@ -77,33 +152,69 @@ public class StripedLocks {
     return locks;
   }
 
-  private static class LockUnlocker implements Unlocker {
+  /** Returns the lock of the key, the lock is kept until it is {@link #releaseKeyLock released}. */
+  private ReadWriteLock getKeyLock(String key) {
+    return keyLocks.compute(
+            key,
+            (k, keyLock) -> {
+              if (keyLock == null) {
+                keyLock = new KeyLock();
+              }
+              keyLock.holders++;
+              return keyLock;
+            })
+        .lock;
+  }
 
-    private final Lock lock;
+  private void releaseKeyLock(String key) {
+    keyLocks.computeIfPresent(key, (k, keyLock) -> --keyLock.holders == 0 ? null : keyLock);
+  }
 
-    private LockUnlocker(Lock lock) {
-      this.lock = lock;
+  private static Unlocker acquire(LockStatistics statistics, Runnable onUnlock, Lock... locks) {
+    final long start = System.nanoTime();
+    boolean contended = false;
+    for (Lock lock : locks) {
+      if (!lock.tryLock()) {
+        contended = true;
+        lock.lock();
+      }
     }
+    final long acquired = System.nanoTime();
+    statistics.onAcquired(acquired - start, contended);
+    return new LocksUnlocker(locks, onUnlock, statistics, acquired);
+  }
 
-    @Override
-    public void unlock() {
-      lock.unlock();
-    }
+  private static class KeyLock {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The number of threads holding or waiting for the lock, guarded by the locks map. */
+    private int holders;
   }
 
   private static class LocksUnlocker implements Unlocker {
 
     private final Lock[] locks;
+    private final Runnable onUnlock;
+    private final LockStatistics statistics;
+    private final long acquired;
 
-    private LocksUnlocker(Lock[] locks) {
+    private LocksUnlocker(
+        Lock[] locks, Runnable onUnlock, LockStatistics statistics, long acquired) {
       this.locks = locks;
+      this.onUnlock = onUnlock;
+      this.statistics = statistics;
+      this.acquired = acquired;
     }
 
     @Override
     public void unlock() {
-      for (Lock lock : locks) {
-        lock.unlock();
+      for (int i = locks.length - 1; i >= 0; i--) {
+        locks[i].unlock();
+      }
+      if (onUnlock != null) {
+        onUnlock.run();
       }
+      statistics.onReleased(System.nanoTime() - acquired);
     }
   }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests {@link StripedLocks}. */
+public class StripedLocksTest {
+
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @DataProvider
+  public static Object[][] locks() {
+    return new Object[][] {{new StripedLocks(16)}, {new StripedLocks(0)}, {StripedLocks.perKey()}};
+  }
+
+  @Test(dataProvider = "locks")
+  public void writeLockBlocksOtherWritersOfTheSameKey(StripedLocks locks) throws Exception {
+    final Future<?> future;
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock("key")) {
+      future = executor.submit(() -> locks.writeLock("key").unlock());
+      assertBlocked(future);
+    }
+
+    future.get(5, SECONDS);
+  }
+
+  @Test(dataProvider = "locks")
+  public void writeAllLockBlocksReaders(StripedLocks locks) throws Exception {
+    final Future<?> future;
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeAllLock()) {
+      future = executor.submit(() -> locks.readLock("key").unlock());
+      assertBlocked(future);
+    }
+
+    future.get(5, SECONDS);
+  }
+
+  @Test
+  public void perKeyLocksDoNotBlockDifferentKeys() throws Exception {
+    final StripedLocks locks = StripedLocks.perKey();
+
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock("key1")) {
+      executor.submit(() -> locks.writeLock("key2").unlock()).get(5, SECONDS);
+    }
+  }
+
+  @Test
+  public void perKeyLockIsReentrantWhileItIsHeld() throws Exception {
+    final StripedLocks locks = StripedLocks.perKey();
+
+    try (@SuppressWarnings("unused")
+            Unlocker u1 = locks.writeLock("key");
+        @SuppressWarnings("unused")
+            Unlocker u2 = locks.writeLock("key")) {
+      assertBlocked(executor.submit(() -> locks.readLock("key").unlock()));
+    }
+  }
+
+  @Test
+  public void collectsStatistics() throws Exception {
+    final StripedLocks locks = new StripedLocks(16);
+    final CountDownLatch waiting = new CountDownLatch(1);
+
+    final Future<?> future;
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock("key")) {
+      future =
+          executor.submit(
+              () -> {
+                waiting.countDown();
+                locks.writeLock("key").unlock();
+              });
+      waiting.await();
+      assertBlocked(future);
+    }
+    future.get(5, SECONDS);
+    locks.readLock("key").unlock();
+
+    final LockStatistics write = locks.getStatistics().get("write");
+    assertEquals(write.getAcquired(), 2);
+    assertEquals(write.getContended(), 1);
+    assertTrue(write.getMaxWaitNanos() > 0);
+    final LockStatistics read = locks.getStatistics().get("read");
+    assertEquals(read.getAcquired(), 1);
+    assertEquals(read.getContended(), 0);
+    assertEquals(locks.getStatistics().get("writeAll").getAcquired(), 0);
+  }
+
+  private static void assertBlocked(Future<?> future) throws Exception {
+    try {
+      future.get(200, MILLISECONDS);
+    } catch (TimeoutException expected) {
+      assertFalse(future.isDone());
+      return;
+    }
+    throw new AssertionError("Lock acquisition was expected to be blocked");
+  }
+}
@@ -10,11 +10,16 @@
  */
 package org.eclipse.che.plugin.activity;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +27,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Notifies master about activity in workspace, but not more often than once per given threshold.
  *
+ * <p>Notifications are sent in background, so recording of an activity never waits for the master
+ * to respond.
+ *
  * @author Mihail Kuznyetsov
  * @author Anton Korneta
  */
@@ -30,12 +38,14 @@ public class WorkspaceActivityNotifier {
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceActivityNotifier.class);
 
   private final AtomicBoolean activeDuringThreshold;
+  private final AtomicBoolean notificationPending;
+  private final ExecutorService executor;
   private final HttpJsonRequestFactory httpJsonRequestFactory;
   private final String apiEndpoint;
   private final String wsId;
   private final long threshold;
 
-  private long lastUpdateTime;
+  private volatile long lastUpdateTime;
 
   @Inject
   public WorkspaceActivityNotifier(
@@ -47,7 +57,15 @@ public class WorkspaceActivityNotifier {
     this.apiEndpoint = apiEndpoint;
     this.wsId = wsId;
     this.activeDuringThreshold = new AtomicBoolean(false);
+    this.notificationPending = new AtomicBoolean(false);
     this.threshold = threshold;
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("WorkspaceActivityNotifier")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
   }
 
   /**
@@ -62,15 +80,31 @@ public class WorkspaceActivityNotifier {
     if (currentTime < (lastUpdateTime + threshold)) {
       activeDuringThreshold.set(true);
     } else {
-      notifyActivity();
       lastUpdateTime = currentTime;
+      notifyActivityAsync();
     }
   }
 
   @ScheduleRate(periodParameterName = "workspace.activity.schedule_period_s")
   private void scheduleActivityNotification() {
     if (activeDuringThreshold.compareAndSet(true, false)) {
-      notifyActivity();
+      notifyActivityAsync();
+    }
+  }
+
+  @PreDestroy
+  private void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Sends the notification in background unless there is one which is not sent yet. */
+  private void notifyActivityAsync() {
+    if (notificationPending.compareAndSet(false, true)) {
+      executor.execute(
+          () -> {
+            notificationPending.set(false);
+            notifyActivity();
+          });
     }
   }
 
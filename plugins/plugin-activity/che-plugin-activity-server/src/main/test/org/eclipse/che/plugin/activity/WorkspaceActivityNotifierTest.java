@@ -17,7 +17,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -44,13 +44,13 @@ public class WorkspaceActivityNotifierTest {
     @Test
     public void shouldSendActivityRequest() {
         activityNotifier.onActivity();
-        verify(requestFactory).fromUrl("localhost:8081/api/activity/workspace123");
+        verify(requestFactory, timeout(1000)).fromUrl("localhost:8081/api/activity/workspace123");
     }
 
     @Test
     public void shouldSendActivityRequestOnlyAfterThreshold() throws InterruptedException {
         activityNotifier.onActivity();
-        verify(requestFactory).fromUrl("localhost:8081/api/activity/workspace123");
+        verify(requestFactory, timeout(1000)).fromUrl("localhost:8081/api/activity/workspace123");
 
         Thread.sleep(50L);
         activityNotifier.onActivity();
@@ -60,6 +60,7 @@ public class WorkspaceActivityNotifierTest {
         Thread.sleep(200L);
         activityNotifier.onActivity();
 
-        verify(requestFactory, times(2)).fromUrl("localhost:8081/api/activity/workspace123");
+        verify(requestFactory, timeout(1000).times(2))
+                .fromUrl("localhost:8081/api/activity/workspace123");
     }
 }
@@ -15,8 +15,13 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_B
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -41,6 +46,9 @@ import org.slf4j.LoggerFactory;
  * one minute rate. If workspace idle timeout is negative, then workspace would not be stopped
  * automatically.
  *
+ * <p>Expiration times are additionally kept ordered, so each check visits only the expired
+ * workspaces instead of all the active ones.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -49,7 +57,10 @@ public class WorkspaceActivityManager {
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceActivityManager.class);
 
   private final long timeout;
+  /** Expiration times of the active workspaces, guards {@link #expirations}. */
   private final Map<String, Long> activeWorkspaces;
+
+  private final NavigableSet<Expiration> expirations;
   private final EventService eventService;
   private final EventSubscriber<?> workspaceEventsSubscriber;
 
@@ -63,7 +74,8 @@ public class WorkspaceActivityManager {
     this.timeout = timeout;
     this.workspaceManager = workspaceManager;
     this.eventService = eventService;
-    this.activeWorkspaces = new ConcurrentHashMap<>();
+    this.activeWorkspaces = new HashMap<>();
+    this.expirations = new TreeSet<>();
     this.workspaceEventsSubscriber =
         new EventSubscriber<WorkspaceStatusEvent>() {
           @Override
@@ -83,7 +95,7 @@ public class WorkspaceActivityManager {
                 update(event.getWorkspaceId(), System.currentTimeMillis());
                 break;
               case STOPPED:
-                activeWorkspaces.remove(event.getWorkspaceId());
+                removeExpiration(event.getWorkspaceId());
                 break;
               default:
                 //do nothing
@@ -102,13 +114,26 @@ public class WorkspaceActivityManager {
     try {
       long timeout = getIdleTimeout(wsId);
       if (timeout > 0) {
-        activeWorkspaces.put(wsId, activityTime + timeout);
+        setExpiration(wsId, activityTime + timeout);
       }
     } catch (NotFoundException | ServerException e) {
       LOG.error(e.getLocalizedMessage(), e);
     }
   }
 
+  /**
+   * Updates the expiry period of each of the given workspaces.
+   *
+   * @param wsIds active workspaces identifiers
+   * @param activityTime moment in which the activity occurred
+   * @see #update(String, long)
+   */
+  public void update(Collection<String> wsIds, long activityTime) {
+    for (String wsId : wsIds) {
+      update(wsId, activityTime);
+    }
+  }
+
   protected long getIdleTimeout(String workspaceId) throws NotFoundException, ServerException {
     if (timeout > 0) {
       return timeout;
@@ -117,34 +142,78 @@ public class WorkspaceActivityManager {
     }
   }
 
+  @VisibleForTesting
   @ScheduleRate(periodParameterName = "che.workspace.activity_check_scheduler_period_s")
-  private void invalidate() {
-    final long currentTime = System.currentTimeMillis();
-    for (Map.Entry<String, Long> workspaceExpireEntry : activeWorkspaces.entrySet()) {
-      if (workspaceExpireEntry.getValue() <= currentTime) {
-        try {
-          String workspaceId = workspaceExpireEntry.getKey();
-          Workspace workspace = workspaceManager.getWorkspace(workspaceId);
-          workspace.getAttributes().put(WORKSPACE_STOPPED_BY, ACTIVITY_CHECKER);
-          workspaceManager.updateWorkspace(workspaceId, workspace);
-          workspaceManager.stopWorkspace(workspaceId);
-        } catch (NotFoundException ignored) {
-          // workspace no longer exists, no need to do anything
-        } catch (ConflictException e) {
-          LOG.warn(e.getLocalizedMessage());
-        } catch (Exception ex) {
-          LOG.error(ex.getLocalizedMessage());
-          LOG.debug(ex.getLocalizedMessage(), ex);
-        } finally {
-          activeWorkspaces.remove(workspaceExpireEntry.getKey());
-        }
+  void invalidate() {
+    for (String workspaceId : pollExpired(System.currentTimeMillis())) {
+      try {
+        Workspace workspace = workspaceManager.getWorkspace(workspaceId);
+        workspace.getAttributes().put(WORKSPACE_STOPPED_BY, ACTIVITY_CHECKER);
+        workspaceManager.updateWorkspace(workspaceId, workspace);
+        workspaceManager.stopWorkspace(workspaceId);
+      } catch (NotFoundException ignored) {
+        // workspace no longer exists, no need to do anything
+      } catch (ConflictException e) {
+        LOG.warn(e.getLocalizedMessage());
+      } catch (Exception ex) {
+        LOG.error(ex.getLocalizedMessage());
+        LOG.debug(ex.getLocalizedMessage(), ex);
+      }
+    }
+  }
+
+  private void setExpiration(String wsId, long expiration) {
+    synchronized (activeWorkspaces) {
+      final Long previous = activeWorkspaces.put(wsId, expiration);
+      if (previous != null) {
+        expirations.remove(new Expiration(wsId, previous));
       }
+      expirations.add(new Expiration(wsId, expiration));
     }
   }
 
+  private void removeExpiration(String wsId) {
+    synchronized (activeWorkspaces) {
+      final Long expiration = activeWorkspaces.remove(wsId);
+      if (expiration != null) {
+        expirations.remove(new Expiration(wsId, expiration));
+      }
+    }
+  }
+
+  /** Stops tracking the workspaces expired by the given time and returns their identifiers. */
+  private List<String> pollExpired(long currentTime) {
+    final List<String> expired = new ArrayList<>();
+    synchronized (activeWorkspaces) {
+      while (!expirations.isEmpty() && expirations.first().time <= currentTime) {
+        final Expiration expiration = expirations.pollFirst();
+        activeWorkspaces.remove(expiration.wsId);
+        expired.add(expiration.wsId);
+      }
+    }
+    return expired;
+  }
+
   @VisibleForTesting
   @PostConstruct
   public void subscribe() {
     eventService.subscribe(workspaceEventsSubscriber);
   }
+
+  /** Expiration of the workspace, expirations are ordered by time. */
+  private static final class Expiration implements Comparable<Expiration> {
+    private final String wsId;
+    private final long time;
+
+    private Expiration(String wsId, long time) {
+      this.wsId = wsId;
+      this.time = time;
+    }
+
+    @Override
+    public int compareTo(Expiration that) {
+      final int result = Long.compare(time, that.time);
+      return result != 0 ? result : wsId.compareTo(that.wsId);
+    }
+  }
 }
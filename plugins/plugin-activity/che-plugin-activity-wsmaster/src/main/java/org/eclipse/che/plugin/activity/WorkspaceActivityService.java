@@ -10,14 +10,18 @@
  */
 package org.eclipse.che.plugin.activity;
 
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import java.util.ArrayList;
+import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -66,4 +70,30 @@ public class WorkspaceActivityService extends Service {
       LOG.debug("Updated activity on workspace {}", wsId);
     }
   }
+
+  @PUT
+  @Consumes(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Notifies activity of several workspaces",
+    notes =
+        "Notifies activity of each of the given workspaces, workspaces which are not running "
+            + "or don't exist are ignored."
+  )
+  @ApiResponses(@ApiResponse(code = 204, message = "Activity counted"))
+  public void active(@ApiParam(value = "Workspaces ids") List<String> wsIds)
+      throws ServerException {
+    final long activityTime = System.currentTimeMillis();
+    final List<String> running = new ArrayList<>(wsIds.size());
+    for (String wsId : wsIds) {
+      try {
+        if (workspaceManager.getWorkspace(wsId).getStatus() == RUNNING) {
+          running.add(wsId);
+        }
+      } catch (NotFoundException ignored) {
+        // workspace no longer exists, no need to track its activity
+      }
+    }
+    workspaceActivityManager.update(running, activityTime);
+    LOG.debug("Updated activity on workspaces {}", running);
+  }
 }
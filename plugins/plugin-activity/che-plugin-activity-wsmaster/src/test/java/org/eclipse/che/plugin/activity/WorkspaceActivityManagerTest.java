@@ -10,13 +10,16 @@
  */
 package org.eclipse.che.plugin.activity;
 
+import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableSet;
 import java.lang.reflect.Field;
 import java.util.Map;
 import org.eclipse.che.account.api.AccountManager;
@@ -133,6 +136,23 @@ public class WorkspaceActivityManagerTest {
     assertTrue(activeWorkspaces.isEmpty());
   }
 
+  @Test
+  public void shouldStopOnlyExpiredWorkspaces() throws Exception {
+    final long currentTime = System.currentTimeMillis();
+    activityManager.update("expired", currentTime - EXPIRE_PERIOD_MS - 1);
+    activityManager.update("active", currentTime);
+    activityManager.update("renewed", currentTime - EXPIRE_PERIOD_MS - 1);
+    activityManager.update(singletonList("renewed"), currentTime);
+
+    activityManager.invalidate();
+
+    verify(workspaceManager).stopWorkspace("expired");
+    verify(workspaceManager, never()).stopWorkspace("active");
+    verify(workspaceManager, never()).stopWorkspace("renewed");
+    final Map<String, Long> activeWorkspaces = getActiveWorkspaces(activityManager);
+    assertEquals(activeWorkspaces.keySet(), ImmutableSet.of("active", "renewed"));
+  }
+
   @SuppressWarnings("unchecked")
   private Map<String, Long> getActiveWorkspaces(WorkspaceActivityManager workspaceActivityManager)
       throws Exception {
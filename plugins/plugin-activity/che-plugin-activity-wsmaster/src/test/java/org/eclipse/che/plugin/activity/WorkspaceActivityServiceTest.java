@@ -11,6 +11,9 @@
 package org.eclipse.che.plugin.activity;
 
 import static com.jayway.restassured.RestAssured.given;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -99,6 +102,25 @@ public class WorkspaceActivityServiceTest {
     verifyZeroInteractions(workspaceActivityManager);
   }
 
+  @Test
+  public void shouldUpdateActivityOfRunningWorkspacesInBatch() throws Exception {
+    when(workspaceManager.getWorkspace("running"))
+        .thenReturn(createWorkspace(USER_ID, WorkspaceStatus.RUNNING));
+    when(workspaceManager.getWorkspace("stopped"))
+        .thenReturn(createWorkspace(USER_ID, WorkspaceStatus.STOPPED));
+    when(workspaceManager.getWorkspace("removed")).thenThrow(new NotFoundException("not found"));
+
+    Response response =
+        given()
+            .contentType(APPLICATION_JSON)
+            .body(asList("running", "stopped", "removed"))
+            .when()
+            .put(SERVICE_PATH);
+
+    assertEquals(response.getStatusCode(), 204);
+    verify(workspaceActivityManager).update(eq(singletonList("running")), anyLong());
+  }
+
   @DataProvider(name = "wsStatus")
   public Object[][] getWorkspaceStatus() {
     return new Object[][] {
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.sun.jna.Library;
+import com.sun.jna.Platform;
 import com.sun.jna.Structure;
 import com.sun.jna.ptr.LongByReference;
 import java.util.Arrays;
@@ -46,6 +47,22 @@ public interface CLibrary extends Library {
     }
   }
 
+  // Defined in 'sys/epoll.h', see http://man7.org/linux/man-pages/man2/epoll_ctl.2.html
+  // The structure is packed on x86_64, so 'data' isn't aligned there.
+  class EpollEvent extends Structure {
+    public int events;
+    public long data;
+
+    public EpollEvent() {
+      super(Platform.isIntel() ? ALIGN_NONE : ALIGN_DEFAULT);
+    }
+
+    @Override
+    protected List getFieldOrder() {
+      return Arrays.asList("events", "data");
+    }
+  }
+
   int socket(int domain, int type, int protocol);
 
   int connect(int fd, SockAddrUn sock_addr, int addr_len);
@@ -68,6 +85,18 @@ public interface CLibrary extends Library {
 
   int open(String path, int mode);
 
+  int epoll_create1(int flags);
+
+  int epoll_ctl(int epfd, int op, int fd, EpollEvent event);
+
+  int epoll_wait(int epfd, EpollEvent[] events, int maxEvents, int timeout);
+
   int O_RDONLY = 0x00;
   int O_WRONLY = 0x01;
+
+  int EFD_NONBLOCK = 0x800; // Defined in 'sys/eventfd.h'
+  int EINTR = 4; // Defined in 'errno.h'
+  int EPOLLIN = 0x001; // Defined in 'sys/epoll.h'
+  int EPOLL_CTL_ADD = 1;
+  int EPOLL_CTL_DEL = 2;
 }
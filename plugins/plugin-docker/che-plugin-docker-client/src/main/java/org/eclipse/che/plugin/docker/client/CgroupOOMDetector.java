@@ -10,9 +10,9 @@
  */
 package org.eclipse.che.plugin.docker.client;
 
-import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
-
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.jna.Native;
 import com.sun.jna.ptr.LongByReference;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -24,8 +24,12 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.util.SystemInfo;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.Size;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
@@ -34,16 +38,29 @@ import org.slf4j.LoggerFactory;
 /**
  * Docker container OOM detector based on cgroup usage
  *
+ * <p>OOM event file descriptors of all the containers are watched with a single epoll instance, so
+ * the detector uses one thread regardless of the number of containers.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class CgroupOOMDetector implements DockerOOMDetector {
   private static final Logger LOG = LoggerFactory.getLogger(CgroupOOMDetector.class);
 
+  private static final int MAX_EVENTS = 64;
+  private static final int SELECT_TIMEOUT_MS = 1000;
+
   private final Map<String, OOMDetector> oomDetectors;
+  private final Map<Integer, OOMDetector> oomDetectorsByEventFd;
   private final URI dockerDaemonUri;
   private final DockerConnector dockerConnector;
+  private final Supplier<CLibrary> cLibrary;
+  private final String cgroupRoot;
+  private final boolean systemdCgroups;
   private final ExecutorService executor;
 
+  private int epollFd = -1;
+
   @Inject
   public CgroupOOMDetector(
       DockerConnectorConfiguration connectorConfiguration, DockerConnectorProvider dockerProvider) {
@@ -51,11 +68,30 @@ public class CgroupOOMDetector implements DockerOOMDetector {
   }
 
   public CgroupOOMDetector(URI dockerDaemonUri, DockerConnectorProvider dockerConnectorProvider) {
+    this(
+        dockerDaemonUri,
+        dockerConnectorProvider,
+        CLibraryFactory::getCLibrary,
+        cgroupMount,
+        systemd);
+  }
+
+  @VisibleForTesting
+  CgroupOOMDetector(
+      URI dockerDaemonUri,
+      DockerConnectorProvider dockerConnectorProvider,
+      Supplier<CLibrary> cLibrary,
+      @Nullable String cgroupRoot,
+      boolean systemdCgroups) {
     this.dockerDaemonUri = dockerDaemonUri;
     this.dockerConnector = dockerConnectorProvider.get();
+    this.cLibrary = cLibrary;
+    this.cgroupRoot = cgroupRoot;
+    this.systemdCgroups = systemdCgroups;
     this.oomDetectors = new ConcurrentHashMap<>();
+    this.oomDetectorsByEventFd = new ConcurrentHashMap<>();
     this.executor =
-        Executors.newCachedThreadPool(
+        Executors.newSingleThreadExecutor(
             new ThreadFactoryBuilder()
                 .setNameFormat("CgroupOOMDetector-%d")
                 .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
@@ -74,23 +110,36 @@ public class CgroupOOMDetector implements DockerOOMDetector {
   @Override
   public void startDetection(String container, MessageProcessor<LogMessage> containerLogProcessor) {
     if (needStartOOMDetector(container)) {
-      if (cgroupMount == null) {
+      if (cgroupRoot == null) {
         LOG.warn("System doesn't support OOM events");
         return;
       }
       try {
         final long memory =
             dockerConnector.inspectContainer(container).getConfig().getHostConfig().getMemory();
-        OOMDetector oomDetector = new OOMDetector(container, containerLogProcessor, memory);
-        oomDetectors.putIfAbsent(container, oomDetector);
-        oomDetector = oomDetectors.get(container);
-        oomDetector.start();
+        final OOMDetector oomDetector = new OOMDetector(container, containerLogProcessor, memory);
+        // epoll instance is closed under the same lock when the waiting thread stops,
+        // so the detector is either registered in the live instance or stopped with it
+        synchronized (this) {
+          if (oomDetectors.putIfAbsent(container, oomDetector) == null) {
+            final int epfd = getEpollFd();
+            if (epfd == -1 || !oomDetector.start(epfd)) {
+              oomDetectors.remove(container, oomDetector);
+            }
+          }
+        }
       } catch (IOException e) {
         LOG.error(e.getLocalizedMessage(), e);
       }
     }
   }
 
+  /** Stops the thread which waits for OOM events. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
   private boolean needStartOOMDetector(String container) {
     if (!oomDetectors.containsKey(container)) {
       if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
@@ -106,6 +155,56 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     return false;
   }
 
+  /** Creates epoll instance and starts the thread which waits for its events on the first call. */
+  private synchronized int getEpollFd() {
+    if (epollFd == -1) {
+      final CLibrary cLib = cLibrary.get();
+      final int epfd = cLib.epoll_create1(0);
+      if (epfd == -1) {
+        LOG.error("Unable create epoll instance, errno {}", Native.getLastError());
+        return -1;
+      }
+      executor.execute(() -> waitForEvents(cLib, epfd));
+      epollFd = epfd;
+    }
+    return epollFd;
+  }
+
+  private void waitForEvents(CLibrary cLib, int epfd) {
+    final CLibrary.EpollEvent[] events =
+        (CLibrary.EpollEvent[]) new CLibrary.EpollEvent().toArray(MAX_EVENTS);
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        final int ready = cLib.epoll_wait(epfd, events, events.length, SELECT_TIMEOUT_MS);
+        if (ready == -1) {
+          final int errno = Native.getLastError();
+          if (errno == CLibrary.EINTR) {
+            continue;
+          }
+          LOG.error("Waiting for OOM events failed, errno {}", errno);
+          return;
+        }
+        for (int i = 0; i < ready; i++) {
+          final OOMDetector oomDetector = oomDetectorsByEventFd.get((int) events[i].data);
+          if (oomDetector != null) {
+            try {
+              oomDetector.onEvent();
+            } catch (RuntimeException e) {
+              LOG.error(e.getLocalizedMessage(), e);
+            }
+          }
+        }
+      }
+    } finally {
+      synchronized (this) {
+        oomDetectors.values().forEach(OOMDetector::stop);
+        oomDetectors.clear();
+        cLib.close(epfd);
+        epollFd = -1;
+      }
+    }
+  }
+
   /*
    * Need detect OOM errors and notify users about them. Without such notification if application is killed by oom-killer client often can
    * see message "Killed" and there is no any why to see why. Unfortunately for now docker doesn't provide clear mechanism how to control
@@ -172,94 +271,106 @@ public class CgroupOOMDetector implements DockerOOMDetector {
    *
    * <p>https://access.redhat.com/documentation/en-US/Red_Hat_Enterprise_Linux/6/html/Resource_Management_Guide/sec-Using_the_Notification_API.html
    */
-  private class OOMDetector implements Runnable {
+  private class OOMDetector {
     private final String container;
     private final MessageProcessor<LogMessage> containerLogProcessor;
     private final long memory;
     private final CLibrary cLib;
     private final String containerCgroup;
 
-    private volatile boolean stopped = false;
-    private boolean started = false;
+    private int epfd = -1;
+    private int efd = -1;
+    private int oomfd = -1;
+    private boolean stopped = false;
 
     OOMDetector(String container, MessageProcessor<LogMessage> containerLogProcessor, long memory) {
       this.container = container;
       this.containerLogProcessor = containerLogProcessor;
       this.memory = memory;
-      cLib = getCLibrary();
+      cLib = cLibrary.get();
 
-      if (systemd) {
-        containerCgroup = cgroupMount + "/memory/system.slice/docker-" + container + ".scope/";
+      if (systemdCgroups) {
+        containerCgroup = cgroupRoot + "/memory/system.slice/docker-" + container + ".scope/";
       } else {
-        containerCgroup = cgroupMount + "/memory/docker/" + container + "/";
+        containerCgroup = cgroupRoot + "/memory/docker/" + container + "/";
       }
     }
 
-    @Override
-    public void run() {
+    /**
+     * Subscribes to OOM events of the container cgroup and adds the event file descriptor to the
+     * given epoll instance.
+     *
+     * @return {@code true} if detection is started, {@code false} otherwise
+     */
+    synchronized boolean start(int epfd) {
       final String cf = containerCgroup + "cgroup.event_control";
       final String oomf = containerCgroup + "memory.oom_control";
-      int efd = -1;
-      int oomfd = -1;
+      if ((efd = cLib.eventfd(0, CLibrary.EFD_NONBLOCK)) == -1) {
+        LOG.error("Unable create a file descriptor for event notification");
+        stop();
+        return false;
+      }
+      int cfd;
+      if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
+        LOG.error("Unable open event control file '{}' for write", cf);
+        stop();
+        return false;
+      }
       try {
-        if ((efd = cLib.eventfd(0, 1)) == -1) {
-          LOG.error("Unable create a file descriptor for event notification");
-          return;
-        }
-        int cfd;
-        if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
-          LOG.error("Unable open event control file '{}' for write", cf);
-          return;
-        }
         if ((oomfd = cLib.open(oomf, CLibrary.O_RDONLY)) == -1) {
           LOG.error("Unable open OOM event file '{}' for read", oomf);
-          return;
+          stop();
+          return false;
         }
         final byte[] data = String.format("%d %d", efd, oomfd).getBytes();
         if (cLib.write(cfd, data, data.length) != data.length) {
           LOG.error("Unable write event control data to file '{}'", cf);
-          return;
+          stop();
+          return false;
         }
+      } finally {
         if (cLib.close(cfd) == -1) {
           LOG.error("Error closing of event control file '{}'", cf);
-          return;
         }
-        final LongByReference eventHolder = new LongByReference();
-        if (cLib.eventfd_read(efd, eventHolder) == 0) {
-          if (stopped) {
-            return;
-          }
-          LOG.warn("OOM event received for container '{}'", container);
-          if (readCgroupValue("memory.failcnt") > 0) {
-            try {
-              containerLogProcessor.process(
-                  new LogMessage(
-                      LogMessage.Type.DOCKER,
-                      "[ERROR] The processes in this machine need more RAM. This machine started with "
-                          + Size.toHumanSize(memory)));
-              containerLogProcessor.process(
-                  new LogMessage(
-                      LogMessage.Type.DOCKER,
-                      "[ERROR] Create a new machine configuration that allocates additional RAM or increase"
-                          + " the workspace RAM limit in the user dashboard."));
-            } catch (/*IOException*/ Exception e) {
-              LOG.warn(e.getMessage(), e);
-            }
-          }
-        }
-      } finally {
-        if (!stopped) {
-          stopDetection(container);
-        }
-        close(oomfd);
-        close(efd);
       }
+      oomDetectorsByEventFd.put(efd, this);
+      final CLibrary.EpollEvent event = new CLibrary.EpollEvent();
+      event.events = CLibrary.EPOLLIN;
+      event.data = efd;
+      if (cLib.epoll_ctl(epfd, CLibrary.EPOLL_CTL_ADD, efd, event) == -1) {
+        LOG.error("Unable watch OOM events of container '{}'", container);
+        stop();
+        return false;
+      }
+      this.epfd = epfd;
+      return true;
     }
 
-    private void close(int fd) {
-      if (fd != -1) {
-        cLib.close(fd);
+    /** Handles notification received through the event file descriptor of this detector. */
+    synchronized void onEvent() {
+      // event file descriptor is non-blocking, read fails if notification was already consumed
+      if (stopped || cLib.eventfd_read(efd, new LongByReference()) != 0) {
+        return;
       }
+      // cgroup notifies about its removal with the same event, so check whether OOM occurred
+      LOG.warn("OOM event received for container '{}'", container);
+      if (readCgroupValue("memory.failcnt") > 0) {
+        try {
+          containerLogProcessor.process(
+              new LogMessage(
+                  LogMessage.Type.DOCKER,
+                  "[ERROR] The processes in this machine need more RAM. This machine started with "
+                      + Size.toHumanSize(memory)));
+          containerLogProcessor.process(
+              new LogMessage(
+                  LogMessage.Type.DOCKER,
+                  "[ERROR] Create a new machine configuration that allocates additional RAM or increase"
+                      + " the workspace RAM limit in the user dashboard."));
+        } catch (/*IOException*/ Exception e) {
+          LOG.warn(e.getMessage(), e);
+        }
+      }
+      stopDetection(container);
     }
 
     long readCgroupValue(String cgroupFile) {
@@ -275,15 +386,26 @@ public class CgroupOOMDetector implements DockerOOMDetector {
       return 0;
     }
 
-    synchronized void start() {
-      if (!started) {
-        started = true;
-        executor.execute(this);
+    /** Removes event file descriptor from epoll instance and releases file descriptors. */
+    synchronized void stop() {
+      if (stopped) {
+        return;
       }
+      stopped = true;
+      if (efd != -1) {
+        oomDetectorsByEventFd.remove(efd, this);
+        if (epfd != -1) {
+          cLib.epoll_ctl(epfd, CLibrary.EPOLL_CTL_DEL, efd, new CLibrary.EpollEvent());
+        }
+      }
+      close(oomfd);
+      close(efd);
     }
 
-    void stop() {
-      stopped = true;
+    private void close(int fd) {
+      if (fd != -1) {
+        cLib.close(fd);
+      }
     }
   }
 }
@@ -26,27 +26,25 @@ import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.core.MediaType;
-import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.TarUtils;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
@@ -127,6 +125,7 @@ import org.slf4j.LoggerFactory;
 @Singleton
 public class DockerConnector {
   private static final Logger LOG = LoggerFactory.getLogger(DockerConnector.class);
+  private static final int BUILD_CONTEXT_BUFFER_SIZE = 64 * 1024;
   // Docker uses uppercase in first letter in names of json objects, e.g. {"Id":"123"} instead of {"id":"123"}
   protected static final Gson GSON =
       new GsonBuilder()
@@ -700,25 +699,15 @@ public class DockerConnector {
   /**
    * Puts files into specified container.
    *
-   * @throws IOException when a problem occurs with docker api calls, or during file system
-   *     operations
+   * <p>Source stream is sent to docker daemon with chunked transfer coding as it is read, so it is
+   * neither stored in a temporary file nor buffered in memory. The stream is closed afterwards.
+   *
+   * @throws IOException when a problem occurs with docker api calls, or during reading of the
+   *     source stream
    * @apiNote this method implements 1.20 docker API and requires docker not less than 1.8 version
    */
   public void putResource(final PutResourceParams params) throws IOException {
-    File tarFile;
-    long length;
-    try (InputStream sourceData = params.getSourceStream()) {
-      // TODO according to http spec http://www.w3.org/Protocols/rfc2616/rfc2616-sec4.html#sec4.4,
-      // it is possible to send request without specifying content length if chunked encoding header is set
-      // Investigate is it possible to write the stream to request directly
-
-      // we save stream to file, because we have to know its length
-      Path tarFilePath = Files.createTempFile("compressed-resources", ".tar");
-      tarFile = tarFilePath.toFile();
-      length = Files.copy(sourceData, tarFilePath, StandardCopyOption.REPLACE_EXISTING);
-    }
-
-    try (InputStream tarStream = new BufferedInputStream(new FileInputStream(tarFile));
+    try (InputStream sourceData = params.getSourceStream();
         DockerConnection connection =
             connectionFactory
                 .openConnection(dockerDaemonUri)
@@ -726,15 +715,12 @@ public class DockerConnector {
                 .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/archive")
                 .query("path", params.getTargetPath())
                 .header("Content-Type", ExtMediaType.APPLICATION_X_TAR)
-                .header("Content-Length", length)
-                .entity(tarStream)) {
+                .entity(sourceData)) {
       addQueryParamIfNotNull(connection, "noOverwriteDirNonDir", params.isNoOverwriteDirNonDir());
       final DockerResponse response = connection.request();
       if (response.getStatus() != OK.getStatusCode()) {
         throw getDockerException(response);
       }
-    } finally {
-      FileCleaner.addFile(tarFile);
     }
   }
 
@@ -796,23 +782,60 @@ public class DockerConnector {
       return buildImage(dockerConnection, params, progressMonitor);
     }
 
-    // build context is set of files
-    final File tar = Files.createTempFile(null, ".tar").toFile();
-    try {
-      File[] files = new File[params.getFiles().size()];
-      files = params.getFiles().toArray(files);
-      createTarArchive(tar, files);
-      try (InputStream tarInput = new FileInputStream(tar)) {
-        DockerConnection dockerConnection =
-            connectionFactory
-                .openConnection(dockerDaemonUri)
-                .header("Content-Type", "application/x-compressed-tar")
-                .header("Content-Length", tar.length())
-                .entity(tarInput);
-        return buildImage(dockerConnection, params, progressMonitor);
+    // build context is set of files, it is archived while being sent to docker
+    final File[] files = params.getFiles().toArray(new File[params.getFiles().size()]);
+    final PipedOutputStream tarOutput = new PipedOutputStream();
+    final AtomicBoolean buildFailed = new AtomicBoolean();
+    final Future<?> archiving;
+    final String imageId;
+    try (InputStream tarInput = new PipedInputStream(tarOutput, BUILD_CONTEXT_BUFFER_SIZE)) {
+      archiving =
+          executor.submit(
+              () -> {
+                try {
+                  createTarArchive(tarOutput, files);
+                } catch (IOException e) {
+                  // writes fail when docker stops reading the context of failed build
+                  if (!buildFailed.get()) {
+                    throw e;
+                  }
+                } finally {
+                  // docker reads build context until the end of stream
+                  tarOutput.close();
+                }
+                return null;
+              });
+      DockerConnection dockerConnection =
+          connectionFactory
+              .openConnection(dockerDaemonUri)
+              .header("Content-Type", "application/x-compressed-tar")
+              .entity(tarInput);
+      try {
+        imageId = buildImage(dockerConnection, params, progressMonitor);
+      } catch (IOException e) {
+        buildFailed.set(true);
+        // closed pipe fails further writes, so archiving doesn't wait for a reader forever
+        tarInput.close();
+        // docker rejects incomplete build context, so the archiving error explains the failure
+        awaitArchiving(archiving);
+        throw e;
       }
-    } finally {
-      FileCleaner.addFile(tar);
+    }
+    awaitArchiving(archiving);
+    return imageId;
+  }
+
+  /** Waits until the build context is archived, throws the error of archiving if it failed. */
+  private void awaitArchiving(Future<?> archiving) throws IOException {
+    try {
+      archiving.get();
+    } catch (ExecutionException e) {
+      throw new IOException(
+          "Unable to archive build context. " + e.getCause().getLocalizedMessage(), e.getCause());
+    } catch (InterruptedException e) {
+      archiving.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new DockerException("Docker image build was interrupted", 500);
     }
   }
 
@@ -1438,7 +1461,7 @@ public class DockerConnector {
     }
   }
 
-  private void createTarArchive(File tar, File... files) throws IOException {
+  private void createTarArchive(OutputStream tar, File... files) throws IOException {
     TarUtils.tarFiles(tar, 0, files);
   }
 
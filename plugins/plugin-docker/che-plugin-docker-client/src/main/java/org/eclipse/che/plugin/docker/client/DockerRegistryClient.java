@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.plugin.docker.client.DockerRegistryAuthResolver.DEFAULT_REGISTRY_SYNONYMS;
+
+import com.google.common.net.UrlEscapers;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+
+/**
+ * Client of docker registry HTTP API V2, talks to registry directly without docker daemon.
+ *
+ * <p>Registry is addressed by its host and optional port, e.g. {@code
+ * docker-registry.company.com:5000}, https is used for it unless registry is given with {@code
+ * http://} prefix. Default registry synonyms address Docker Hub. Anonymous, basic and bearer token
+ * authentication is supported, credentials are resolved by {@link DockerRegistryAuthResolver}.
+ */
+@Singleton
+public class DockerRegistryClient {
+  static final String DOCKER_HUB_API_URL = "https://registry-1.docker.io";
+  static final String DIGEST_HEADER = "Docker-Content-Digest";
+  static final String MANIFEST_MEDIA_TYPES =
+      "application/vnd.docker.distribution.manifest.list.v2+json,"
+          + " application/vnd.docker.distribution.manifest.v2+json,"
+          + " application/vnd.oci.image.index.v1+json,"
+          + " application/vnd.oci.image.manifest.v1+json";
+
+  private static final int CONNECTION_TIMEOUT_MS = 10_000;
+  private static final int READ_TIMEOUT_MS = 10_000;
+  private static final Pattern CHALLENGE_PARAM = Pattern.compile("(\\w+)=\"([^\"]*)\"");
+
+  private final DockerRegistryAuthResolver authResolver;
+
+  @Inject
+  public DockerRegistryClient(DockerRegistryAuthResolver authResolver) {
+    this.authResolver = authResolver;
+  }
+
+  /**
+   * Resolves digest of the manifest which given tag currently points to. Only HEAD request is sent
+   * to the registry, manifest itself is not downloaded.
+   *
+   * @param registry registry of the image, {@code null} for Docker Hub
+   * @param repository repository of the image, e.g. {@code eclipse/ubuntu_jdk8}
+   * @param tag tag of the image
+   * @param authConfigs credentials to use in addition to the configured ones
+   * @return digest of the manifest, e.g. {@code sha256:2b7a...}, or {@code null} if registry
+   *     doesn't report it
+   * @throws ImageNotFoundException when registry doesn't know given image
+   * @throws DockerException when registry responds with an error
+   * @throws IOException when registry can't be reached
+   */
+  @Nullable
+  public String getManifestDigest(
+      @Nullable String registry,
+      String repository,
+      String tag,
+      @Nullable AuthConfigs authConfigs)
+      throws IOException {
+    final String name =
+        isDockerHub(registry) && repository.indexOf('/') == -1
+            ? "library/" + repository
+            : repository;
+    final URL url =
+        new URL(
+            apiUrl(registry)
+                + "/v2/"
+                + name
+                + "/manifests/"
+                + UrlEscapers.urlPathSegmentEscaper().escape(tag));
+
+    HttpURLConnection conn = openManifestHead(url, null);
+    try {
+      if (conn.getResponseCode() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+        final String authorization =
+            authorize(conn.getHeaderField("WWW-Authenticate"), registry, name, authConfigs);
+        conn.disconnect();
+        conn = openManifestHead(url, authorization);
+      }
+      final int status = conn.getResponseCode();
+      if (status == HttpURLConnection.HTTP_NOT_FOUND) {
+        throw new ImageNotFoundException(
+            String.format("Image '%s:%s' is not found in registry", repository, tag));
+      }
+      if (status != HttpURLConnection.HTTP_OK) {
+        throw new DockerException(
+            String.format(
+                "Registry responded with status %d to manifest request of '%s:%s'",
+                status, repository, tag),
+            status);
+      }
+      return conn.getHeaderField(DIGEST_HEADER);
+    } finally {
+      conn.disconnect();
+    }
+  }
+
+  private HttpURLConnection openManifestHead(URL url, @Nullable String authorization)
+      throws IOException {
+    final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    conn.setConnectTimeout(CONNECTION_TIMEOUT_MS);
+    conn.setReadTimeout(READ_TIMEOUT_MS);
+    conn.setRequestMethod("HEAD");
+    conn.setInstanceFollowRedirects(true);
+    conn.setRequestProperty("Accept", MANIFEST_MEDIA_TYPES);
+    if (!isNullOrEmpty(authorization)) {
+      conn.setRequestProperty("Authorization", authorization);
+    }
+    return conn;
+  }
+
+  /** Returns value of Authorization header which answers the given challenge. */
+  private String authorize(
+      @Nullable String challenge,
+      @Nullable String registry,
+      String name,
+      @Nullable AuthConfigs authConfigs)
+      throws IOException {
+    final String basicAuth = authResolver.getBasicAuthHeaderValue(registry, authConfigs);
+    if (challenge == null || !challenge.regionMatches(true, 0, "Bearer ", 0, 7)) {
+      if (basicAuth.isEmpty()) {
+        throw new DockerException("Registry requires credentials which are not configured", 401);
+      }
+      return basicAuth;
+    }
+
+    final Map<String, String> params = new HashMap<>();
+    final Matcher matcher = CHALLENGE_PARAM.matcher(challenge);
+    while (matcher.find()) {
+      params.put(matcher.group(1), matcher.group(2));
+    }
+    final String realm = params.get("realm");
+    if (isNullOrEmpty(realm)) {
+      throw new DockerException("Registry sent bearer challenge without realm", 401);
+    }
+    final StringBuilder tokenUrl = new StringBuilder(realm);
+    tokenUrl.append(realm.indexOf('?') == -1 ? '?' : '&');
+    if (params.containsKey("service")) {
+      tokenUrl.append("service=").append(escape(params.get("service"))).append('&');
+    }
+    tokenUrl
+        .append("scope=")
+        .append(escape(params.getOrDefault("scope", "repository:" + name + ":pull")));
+
+    final HttpURLConnection conn =
+        (HttpURLConnection) new URL(tokenUrl.toString()).openConnection();
+    try {
+      conn.setConnectTimeout(CONNECTION_TIMEOUT_MS);
+      conn.setReadTimeout(READ_TIMEOUT_MS);
+      if (!basicAuth.isEmpty()) {
+        conn.setRequestProperty("Authorization", basicAuth);
+      }
+      final int status = conn.getResponseCode();
+      if (status != HttpURLConnection.HTTP_OK) {
+        throw new DockerException(
+            String.format("Registry auth service responded with status %d", status), status);
+      }
+      try (InputStream in = conn.getInputStream();
+          Reader reader = new InputStreamReader(in, UTF_8)) {
+        final JsonObject response = new JsonParser().parse(reader).getAsJsonObject();
+        JsonElement token = response.get("token");
+        if (token == null) {
+          token = response.get("access_token");
+        }
+        if (token == null) {
+          throw new DockerException("Registry auth service didn't provide token", 401);
+        }
+        return "Bearer " + token.getAsString();
+      }
+    } finally {
+      conn.disconnect();
+    }
+  }
+
+  private static String apiUrl(@Nullable String registry) {
+    if (isDockerHub(registry)) {
+      return DOCKER_HUB_API_URL;
+    }
+    if (registry.startsWith("http://") || registry.startsWith("https://")) {
+      return registry.endsWith("/") ? registry.substring(0, registry.length() - 1) : registry;
+    }
+    return "https://" + registry;
+  }
+
+  private static boolean isDockerHub(@Nullable String registry) {
+    return DEFAULT_REGISTRY_SYNONYMS.contains(registry);
+  }
+
+  private static String escape(String value) {
+    return UrlEscapers.urlFormParameterEscaper().escape(value);
+  }
+}
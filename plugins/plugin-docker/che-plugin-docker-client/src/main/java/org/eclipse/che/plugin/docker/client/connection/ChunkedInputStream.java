@@ -12,39 +12,67 @@ package org.eclipse.che.plugin.docker.client.connection;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
-/** @author andrew00x */
+/**
+ * Decodes HTTP/1.1 chunked transfer coding.
+ *
+ * <p>Data is read from the underlying stream into an internal buffer, chunk headers are parsed
+ * right from that buffer and chunk data is copied out of it in bulk. Reads which are larger than
+ * the buffer go directly to the underlying stream. Chunk extensions and trailer fields are skipped.
+ *
+ * <p>As data is read ahead into the buffer, bytes which follow the last chunk may be consumed from
+ * the underlying stream as well, so the underlying stream must not be read once this stream is
+ * used. That holds for HTTP/1.1 responses of docker daemon, which sends the next response only
+ * after it receives the next request.
+ *
+ * <p>Stream is not thread safe.
+ *
+ * @author andrew00x
+ */
 public class ChunkedInputStream extends InputStream {
+  static final int DEFAULT_BUFFER_SIZE = 8192;
+  /** Limits length of chunk header and trailer lines, protects from reading garbage forever. */
+  static final int MAX_LINE_LENGTH = 4096;
+  /** Chunk size must fit into 15 hex digits, that is far beyond any real chunk. */
+  private static final int MAX_CHUNK_SIZE_DIGITS = 15;
+
   private final InputStream input;
-  private StringBuilder chunkSizeBuf;
-  private int chunkSize;
-  private int chunkPos;
+  private final byte[] buffer;
+
+  private int bufferPos;
+  private int bufferLimit;
+  /** Number of bytes of the current chunk which are not read yet. */
+  private long chunkRemaining;
+  /** Whether CRLF which terminates data of the current chunk is not read yet. */
+  private boolean chunkEndPending;
+
   private boolean eof;
 
   ChunkedInputStream(InputStream input) {
-    this.input = input;
-    chunkSizeBuf = new StringBuilder();
+    this(input, DEFAULT_BUFFER_SIZE);
   }
 
-  @Override
-  public synchronized int read() throws IOException {
-    final byte[] b = new byte[1];
-    if (doRead(b, 0, 1) == -1) {
-      return -1;
+  ChunkedInputStream(InputStream input, int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive");
     }
-    return b[0];
+    this.input = input;
+    this.buffer = new byte[bufferSize];
   }
 
   @Override
-  public synchronized int read(byte[] b) throws IOException {
-    if (b == null) {
-      throw new NullPointerException();
+  public int read() throws IOException {
+    if (!ensureChunkData()) {
+      return -1;
     }
-    return doRead(b, 0, b.length);
+    final int b = nextByte();
+    chunkRemaining--;
+    return b;
   }
 
   @Override
-  public synchronized int read(byte[] b, int off, int len) throws IOException {
+  public int read(byte[] b, int off, int len) throws IOException {
     if (b == null) {
       throw new NullPointerException();
     }
@@ -54,62 +82,184 @@ public class ChunkedInputStream extends InputStream {
     if (len == 0) {
       return 0;
     }
+    if (!ensureChunkData()) {
+      return -1;
+    }
+    final int toRead = (int) Math.min(len, chunkRemaining);
+    final int n;
+    if (bufferPos == bufferLimit && toRead >= buffer.length) {
+      // nothing is buffered and the caller wants a lot, don't copy data twice
+      n = input.read(b, off, toRead);
+      if (n == -1) {
+        throw new IOException("Unexpected end of chunked stream");
+      }
+    } else {
+      if (bufferPos == bufferLimit) {
+        fill();
+      }
+      n = Math.min(toRead, bufferLimit - bufferPos);
+      System.arraycopy(buffer, bufferPos, b, off, n);
+      bufferPos += n;
+    }
+    chunkRemaining -= n;
+    return n;
+  }
+
+  /**
+   * Reads decoded bytes into the given buffer, which may be either a heap or a direct one.
+   *
+   * @return number of bytes read or -1 if the last chunk is already read
+   */
+  public int read(ByteBuffer target) throws IOException {
+    if (target.hasArray()) {
+      final int n =
+          read(target.array(), target.arrayOffset() + target.position(), target.remaining());
+      if (n > 0) {
+        target.position(target.position() + n);
+      }
+      return n;
+    }
+    if (!target.hasRemaining()) {
+      return 0;
+    }
+    if (!ensureChunkData()) {
+      return -1;
+    }
+    if (bufferPos == bufferLimit) {
+      fill();
+    }
+    final int n =
+        (int) Math.min(Math.min(target.remaining(), chunkRemaining), bufferLimit - bufferPos);
+    target.put(buffer, bufferPos, n);
+    bufferPos += n;
+    chunkRemaining -= n;
+    return n;
+  }
 
-    return doRead(b, 0, len);
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = 0;
+    while (skipped < n && ensureChunkData()) {
+      if (bufferPos == bufferLimit) {
+        fill();
+      }
+      final int k = (int) Math.min(Math.min(n - skipped, chunkRemaining), bufferLimit - bufferPos);
+      bufferPos += k;
+      chunkRemaining -= k;
+      skipped += k;
+    }
+    return skipped;
   }
 
   @Override
-  public synchronized int available() {
-    return (chunkSize - chunkPos);
+  public int available() {
+    return (int) Math.min(chunkRemaining, bufferLimit - bufferPos);
   }
 
-  private int doRead(byte[] b, int off, int len) throws IOException {
-    if (eof) {
-      return -1;
-    }
-    if (chunkSize == 0) {
-      chunkPos = 0;
-      for (; ; ) {
-        int i = input.read();
-        if (i < 0) {
-          throw new IOException("Can't read size of chunk");
+  /** Returns {@code true} when the last chunk and trailer are read. */
+  boolean isEof() {
+    return eof;
+  }
+
+  /**
+   * Moves to the next chunk if data of the current one is read.
+   *
+   * @return {@code false} if the last chunk is reached
+   */
+  private boolean ensureChunkData() throws IOException {
+    while (chunkRemaining == 0) {
+      if (eof) {
+        return false;
+      }
+      if (chunkEndPending) {
+        if (nextByte() != '\r') {
+          throw new IOException("CR character is missing");
         }
-        if (i == '\n') {
-          break;
+        if (nextByte() != '\n') {
+          throw new IOException("LF character is missing");
         }
-        chunkSizeBuf.append((char) i);
+        chunkEndPending = false;
+      }
+      final long chunkSize = readChunkSize();
+      if (chunkSize == 0) {
+        skipTrailer();
+        eof = true;
+        return false;
       }
+      chunkRemaining = chunkSize;
+      chunkEndPending = true;
+    }
+    return true;
+  }
 
-      int l = chunkSizeBuf.length();
-      int endSize = 0;
-      while (endSize < l && Character.digit(chunkSizeBuf.charAt(endSize), 16) != -1) {
-        endSize++;
+  /** Parses chunk header line {@code chunk-size [ chunk-ext ] CRLF}. */
+  private long readChunkSize() throws IOException {
+    long size = 0;
+    int digits = 0;
+    boolean sizeEnd = false;
+    for (int lineLength = 0; ; lineLength++) {
+      if (lineLength > MAX_LINE_LENGTH) {
+        throw new IOException("Chunk header is too long");
+      }
+      final int c = nextByte();
+      if (c == '\n') {
+        break;
+      }
+      if (sizeEnd || c == '\r') {
+        continue;
       }
-      try {
-        chunkSize = Integer.parseInt(chunkSizeBuf.substring(0, endSize), 16);
-      } catch (NumberFormatException e) {
+      if (c == ';' || c == ' ' || c == '\t') {
+        // extensions and whitespaces after the size are ignored
+        sizeEnd = digits > 0 || c == ';';
+        continue;
+      }
+      final int digit = Character.digit(c, 16);
+      if (digit == -1) {
         throw new IOException("Invalid chunk size");
       }
-      chunkSizeBuf.setLength(0);
-      if (chunkSize == 0) {
-        eof = true;
+      if (++digits > MAX_CHUNK_SIZE_DIGITS) {
+        throw new IOException("Chunk size is too large");
       }
+      size = (size << 4) | digit;
     }
-    final int n = input.read(b, 0, Math.min(len - off, chunkSize - chunkPos));
-    chunkPos += n;
-    if (chunkPos == chunkSize) {
-      if ('\r' != input.read()) { // skip '\r'
-        throw new IOException("CR character is missing");
-      }
-      if ('\n' != input.read()) { // skip '\n'
-        throw new IOException("LF character is missing");
+    if (digits == 0) {
+      throw new IOException("Invalid chunk size");
+    }
+    return size;
+  }
+
+  /** Skips trailer fields which follow the last chunk up to the empty line. */
+  private void skipTrailer() throws IOException {
+    int lineLength = 0;
+    for (; ; ) {
+      final int c = nextByte();
+      if (c == '\n') {
+        if (lineLength == 0) {
+          return;
+        }
+        lineLength = 0;
+      } else if (c != '\r' && ++lineLength > MAX_LINE_LENGTH) {
+        throw new IOException("Trailer field is too long");
       }
-      chunkSize = 0;
-      chunkPos = 0;
     }
-    if (eof) {
-      return -1;
+  }
+
+  private int nextByte() throws IOException {
+    if (bufferPos == bufferLimit) {
+      fill();
     }
-    return n;
+    return buffer[bufferPos++] & 0xFF;
+  }
+
+  private void fill() throws IOException {
+    int n;
+    do {
+      n = input.read(buffer, 0, buffer.length);
+    } while (n == 0);
+    if (n == -1) {
+      throw new IOException("Unexpected end of chunked stream");
+    }
+    bufferPos = 0;
+    bufferLimit = n;
   }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Encodes HTTP/1.1 request body with chunked transfer coding, so a stream of unknown length can be
+ * sent without buffering it to find out its length.
+ *
+ * <p>Each write goes to the underlying stream as a separate chunk, so writers should use large
+ * buffers. {@link #finish()} writes the last chunk, underlying stream is never closed by this
+ * stream as it belongs to the connection.
+ */
+class ChunkedOutputStream extends FilterOutputStream {
+  private static final byte[] CRLF = {'\r', '\n'};
+  private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+  private boolean finished;
+
+  ChunkedOutputStream(OutputStream out) {
+    super(out);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (finished) {
+      throw new IOException("Chunked stream is already finished");
+    }
+    if (len == 0) {
+      // empty chunk would be taken as the last one
+      return;
+    }
+    out.write(Integer.toHexString(len).getBytes(US_ASCII));
+    out.write(CRLF);
+    out.write(b, off, len);
+    out.write(CRLF);
+  }
+
+  /** Writes the last chunk and flushes the underlying stream, does nothing if already finished. */
+  void finish() throws IOException {
+    if (!finished) {
+      finished = true;
+      out.write(LAST_CHUNK);
+      out.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    finish();
+  }
+}
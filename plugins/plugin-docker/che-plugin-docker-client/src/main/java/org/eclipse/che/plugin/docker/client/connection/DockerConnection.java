@@ -10,7 +10,6 @@
  */
 package org.eclipse.che.plugin.docker.client.connection;
 
-import com.google.common.io.ByteStreams;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -70,6 +69,10 @@ public abstract class DockerConnection implements Closeable {
     return this;
   }
 
+  /**
+   * Sets stream as the request body. Unless {@code Content-Length} header is set, the stream is
+   * sent with chunked transfer coding as it is read, so its length doesn't have to be known.
+   */
   public DockerConnection entity(InputStream entity) {
     this.entity = new StreamEntity(entity);
     return this;
@@ -97,6 +100,21 @@ public abstract class DockerConnection implements Closeable {
 
   public abstract void close();
 
+  /** Returns true if the entity is a stream of unknown length which has to be sent in chunks. */
+  static boolean isChunked(Entity<?> entity, List<Pair<String, ?>> headers) {
+    return entity instanceof StreamEntity && getHeader(headers, "Content-Length") == null;
+  }
+
+  /** Returns value of the header with the given name, or null if there is no such header. */
+  static Object getHeader(List<Pair<String, ?>> headers, String name) {
+    for (Pair<String, ?> header : headers) {
+      if (name.equalsIgnoreCase(header.first)) {
+        return header.second;
+      }
+    }
+    return null;
+  }
+
   abstract static class Entity<T> {
     final T entity;
 
@@ -108,6 +126,9 @@ public abstract class DockerConnection implements Closeable {
   }
 
   static class StreamEntity extends Entity<InputStream> {
+    /** Large buffer keeps the number of chunks and native socket calls low for big archives. */
+    static final int BUFFER_SIZE = 64 * 1024;
+
     StreamEntity(InputStream entity) {
       super(entity);
     }
@@ -115,7 +136,12 @@ public abstract class DockerConnection implements Closeable {
     @Override
     public void writeTo(OutputStream output) throws IOException {
       try {
-        ByteStreams.copy(entity, output);
+        // each write blocks until the socket accepts the data,
+        // so the source is read no faster than docker daemon consumes it
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        for (int n; (n = entity.read(buffer)) != -1; ) {
+          output.write(buffer, 0, n);
+        }
         output.flush();
       } finally {
         entity.close();
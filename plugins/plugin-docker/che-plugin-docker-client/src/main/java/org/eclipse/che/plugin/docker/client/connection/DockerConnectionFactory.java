@@ -12,7 +12,11 @@ package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.inject.Inject;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
@@ -21,13 +25,24 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Connections keep sockets to docker daemon alive between requests. For unix socket at most
+ * {@value #CONNECTION_POOL_MAX_IDLE_PROPERTY} idle sockets are kept per daemon and closed after
+ * being idle for {@value #CONNECTION_POOL_IDLE_TIMEOUT_MS_PROPERTY} milliseconds. TCP connections
+ * are kept by the JDK keep-alive cache which is configured with {@code http.maxConnections} system
+ * property. Zero pool size disables keep-alive for both transports.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
   public static final String CONNECTION_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_timeout_ms";
   public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_read_timeout_ms";
+  public static final String CONNECTION_POOL_MAX_IDLE_PROPERTY =
+      "che.docker.connection_pool.max_idle";
+  public static final String CONNECTION_POOL_IDLE_TIMEOUT_MS_PROPERTY =
+      "che.docker.connection_pool.idle_timeout_ms";
 
   @Inject(optional = true)
   @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,19 +52,46 @@ public class DockerConnectionFactory {
   @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
   private int connectionReadTimeoutMs = 60000;
 
+  @Inject(optional = true)
+  @Named(CONNECTION_POOL_MAX_IDLE_PROPERTY)
+  private int maxIdleConnections = 10;
+
+  @Inject(optional = true)
+  @Named(CONNECTION_POOL_IDLE_TIMEOUT_MS_PROPERTY)
+  private long idleConnectionTimeoutMs = 30000;
+
   private final DockerCertificates dockerCertificates;
+  private final ConcurrentMap<String, KeepAliveSocketPool> unixSocketPools;
 
   @Inject
   public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
     this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+    this.unixSocketPools = new ConcurrentHashMap<>();
   }
 
   public DockerConnection openConnection(URI dockerDaemonUri) {
     if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-      return new UnixSocketConnection(dockerDaemonUri.getPath());
+      return new UnixSocketConnection(
+          unixSocketPools.computeIfAbsent(
+              dockerDaemonUri.getPath(),
+              path ->
+                  new KeepAliveSocketPool(
+                      UnixSocketConnection.socketFactory(path),
+                      maxIdleConnections,
+                      idleConnectionTimeoutMs)));
     } else {
       return new TcpConnection(
-          dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+          dockerDaemonUri,
+          dockerCertificates,
+          connectionTimeoutMs,
+          connectionReadTimeoutMs,
+          maxIdleConnections > 0);
     }
   }
+
+  /** Closes sockets which are kept alive. */
+  @PreDestroy
+  public void closeIdleConnections() {
+    unixSocketPools.values().forEach(KeepAliveSocketPool::closeIdle);
+  }
 }
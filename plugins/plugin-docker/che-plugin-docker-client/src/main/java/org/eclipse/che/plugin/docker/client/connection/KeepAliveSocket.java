@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Stream socket to docker daemon which may be kept open between HTTP/1.1 requests and reused with
+ * help of {@link KeepAliveSocketPool}.
+ */
+public abstract class KeepAliveSocket {
+  private long idleSince;
+  private int requests;
+
+  /** Returns stream of bytes received from docker daemon. */
+  public abstract InputStream getInputStream();
+
+  /** Returns stream of bytes sent to docker daemon. */
+  public abstract OutputStream getOutputStream();
+
+  /** Closes socket, it can't be used after this call. */
+  public abstract void close();
+
+  /** Returns {@code true} if this socket has already served at least one request. */
+  boolean isReused() {
+    return requests > 0;
+  }
+
+  void markIdle(long now) {
+    requests++;
+    idleSince = now;
+  }
+
+  long getIdleSince() {
+    return idleSince;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Keeps idle sockets to docker daemon open between HTTP/1.1 requests, so consecutive docker API
+ * calls don't pay for a new connection each time.
+ *
+ * <p>Socket is returned to the pool only when the previous response was read completely and
+ * daemon didn't ask to close the connection. At most {@code maxIdle} sockets are kept, the most
+ * recently used socket is reused first and sockets idle for longer than {@code idleTimeoutMs} are
+ * closed on the next access to the pool. Pool with {@code maxIdle} equal to zero doesn't keep
+ * sockets at all.
+ */
+public class KeepAliveSocketPool {
+
+  /** Opens new sockets to docker daemon. */
+  public interface SocketFactory {
+    KeepAliveSocket open() throws IOException;
+  }
+
+  private final SocketFactory socketFactory;
+  private final int maxIdle;
+  private final long idleTimeoutMs;
+  private final Deque<KeepAliveSocket> idle;
+
+  public KeepAliveSocketPool(SocketFactory socketFactory, int maxIdle, long idleTimeoutMs) {
+    if (maxIdle < 0) {
+      throw new IllegalArgumentException("Max number of idle sockets must not be negative");
+    }
+    this.socketFactory = socketFactory;
+    this.maxIdle = maxIdle;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.idle = new ArrayDeque<>();
+  }
+
+  /** Returns idle socket if there is any, otherwise opens a new one. */
+  public KeepAliveSocket acquire() throws IOException {
+    final List<KeepAliveSocket> expired;
+    final KeepAliveSocket socket;
+    synchronized (this) {
+      expired = evictExpired();
+      socket = idle.pollFirst();
+    }
+    expired.forEach(KeepAliveSocket::close);
+    return socket != null ? socket : open();
+  }
+
+  /** Opens new socket bypassing idle ones. */
+  public KeepAliveSocket open() throws IOException {
+    return socketFactory.open();
+  }
+
+  /** Returns socket which finished its exchange to the pool, or closes it if the pool is full. */
+  public void release(KeepAliveSocket socket) {
+    final List<KeepAliveSocket> toClose = new ArrayList<>();
+    synchronized (this) {
+      toClose.addAll(evictExpired());
+      if (idle.size() < maxIdle) {
+        socket.markIdle(System.currentTimeMillis());
+        idle.addFirst(socket);
+      } else {
+        toClose.add(socket);
+      }
+    }
+    toClose.forEach(KeepAliveSocket::close);
+  }
+
+  /** Returns number of idle sockets kept by this pool. */
+  public synchronized int getIdleCount() {
+    return idle.size();
+  }
+
+  /** Closes all the idle sockets. */
+  public void closeIdle() {
+    final List<KeepAliveSocket> toClose;
+    synchronized (this) {
+      toClose = new ArrayList<>(idle);
+      idle.clear();
+    }
+    toClose.forEach(KeepAliveSocket::close);
+  }
+
+  private List<KeepAliveSocket> evictExpired() {
+    final List<KeepAliveSocket> expired = new ArrayList<>();
+    final long expiredBefore = System.currentTimeMillis() - idleTimeoutMs;
+    // sockets are ordered from the most to the least recently used one
+    for (Iterator<KeepAliveSocket> it = idle.descendingIterator(); it.hasNext(); ) {
+      final KeepAliveSocket socket = it.next();
+      if (socket.getIdleSince() > expiredBefore) {
+        break;
+      }
+      it.remove();
+      expired.add(socket);
+    }
+    return expired;
+  }
+}
@@ -13,7 +13,14 @@ package org.eclipse.che.plugin.docker.client.connection;
 import java.io.IOException;
 import java.io.InputStream;
 
-/** @author andrew00x */
+/**
+ * Reads not more than {@code limit} bytes from the underlying stream, e.g. body of HTTP response
+ * with known content length.
+ *
+ * <p>Stream is not thread safe.
+ *
+ * @author andrew00x
+ */
 public class LimitedInputStream extends InputStream {
   private final InputStream input;
   private final int limit;
@@ -26,24 +33,19 @@ public class LimitedInputStream extends InputStream {
   }
 
   @Override
-  public synchronized int read() throws IOException {
-    final byte[] b = new byte[1];
-    if (doRead(b, 0, 1) == -1) {
+  public int read() throws IOException {
+    if (pos >= limit) {
       return -1;
     }
-    return b[0];
-  }
-
-  @Override
-  public synchronized int read(byte[] b) throws IOException {
-    if (b == null) {
-      throw new NullPointerException();
+    final int b = input.read();
+    if (b != -1) {
+      pos++;
     }
-    return doRead(b, 0, b.length);
+    return b;
   }
 
   @Override
-  public synchronized int read(byte[] b, int off, int len) throws IOException {
+  public int read(byte[] b, int off, int len) throws IOException {
     if (b == null) {
       throw new NullPointerException();
     }
@@ -53,16 +55,35 @@ public class LimitedInputStream extends InputStream {
     if (len == 0) {
       return 0;
     }
-
-    return doRead(b, 0, len);
-  }
-
-  private int doRead(byte[] b, int off, int len) throws IOException {
     if (pos >= limit) {
       return -1;
     }
-    int n = input.read(b, 0, Math.min(len - off, limit - pos));
-    pos += n;
+    final int n = input.read(b, off, Math.min(len, limit - pos));
+    if (n > 0) {
+      pos += n;
+    }
     return n;
   }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0 || pos >= limit) {
+      return 0;
+    }
+    final long skipped = input.skip(Math.min(n, limit - pos));
+    if (skipped > 0) {
+      pos += (int) skipped;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return Math.min(input.available(), limit - pos);
+  }
+
+  /** Returns {@code true} when all the {@code limit} bytes are read. */
+  boolean isEof() {
+    return pos >= limit;
+  }
 }
@@ -22,6 +22,11 @@ import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
 /**
+ * HTTP connection to docker daemon over TCP.
+ *
+ * <p>If keep-alive is enabled {@link #close()} doesn't disconnect, so the underlying socket stays
+ * in the JDK keep-alive cache and the next request to the same daemon reuses it.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
@@ -30,11 +35,22 @@ public class TcpConnection extends DockerConnection {
   private final DockerCertificates certificates;
   private final int connectionTimeout;
   private final int readTimeout;
+  private final boolean keepAlive;
 
   private HttpURLConnection connection;
+  private TcpDockerResponse response;
 
   public TcpConnection(
       URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+    this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, false);
+  }
+
+  public TcpConnection(
+      URI baseUri,
+      DockerCertificates certificates,
+      int connectionTimeoutMs,
+      int readTimeoutMs,
+      boolean keepAlive) {
     if ("https".equals(baseUri.getScheme())) {
       if (certificates == null) {
         throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,6 +63,7 @@ public class TcpConnection extends DockerConnection {
     this.certificates = certificates;
     this.connectionTimeout = connectionTimeoutMs;
     this.readTimeout = readTimeoutMs;
+    this.keepAlive = keepAlive;
   }
 
   @Override
@@ -64,8 +81,10 @@ public class TcpConnection extends DockerConnection {
           .setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
     }
     connection.setRequestMethod(method);
-    // needed to fix bug https://github.com/docker/docker/issues/12845
-    connection.setRequestProperty("Connection", "close");
+    if (!keepAlive) {
+      // needed to fix bug https://github.com/docker/docker/issues/12845
+      connection.setRequestProperty("Connection", "close");
+    }
     for (Pair<String, ?> header : headers) {
       connection.setRequestProperty(header.first, String.valueOf(header.second));
     }
@@ -75,19 +94,31 @@ public class TcpConnection extends DockerConnection {
     }
     // Host header is mandatory in HTTP 1.1
     connection.setRequestProperty("Host", host);
+    if (entity instanceof StreamEntity) {
+      // stream the entity, otherwise it is buffered in memory to find out its length
+      final Object length = getHeader(headers, "Content-Length");
+      if (length == null) {
+        connection.setChunkedStreamingMode(StreamEntity.BUFFER_SIZE);
+      } else {
+        connection.setFixedLengthStreamingMode(Long.parseLong(String.valueOf(length)));
+      }
+    }
     if (entity != null) {
       connection.setDoOutput(true);
       try (OutputStream output = connection.getOutputStream()) {
         entity.writeTo(output);
       }
     }
-    return new TcpDockerResponse(connection);
+    return response = new TcpDockerResponse(connection);
   }
 
   @Override
   public void close() {
     if (connection != null) {
-      connection.disconnect();
+      // disconnect closes the socket even if it is kept alive
+      if (!keepAlive || response == null || !response.releaseConnection()) {
+        connection.disconnect();
+      }
     }
   }
 }
@@ -59,4 +59,19 @@ public class TcpDockerResponse implements DockerResponse {
     }
     return entityStream;
   }
+
+  /**
+   * Closes entity stream, so JDK returns the connection to its keep-alive cache if the rest of the
+   * response can be skipped, or closes it otherwise.
+   *
+   * @return {@code true} if the connection is released, {@code false} if it has to be disconnected
+   */
+  boolean releaseConnection() {
+    try {
+      getInputStream().close();
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
 }
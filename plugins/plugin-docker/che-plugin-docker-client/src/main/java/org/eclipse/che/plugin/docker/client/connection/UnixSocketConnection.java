@@ -16,8 +16,10 @@ import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 import com.google.common.base.Strings;
+import com.google.common.io.CountingOutputStream;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -29,39 +31,133 @@ import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.CLibrary;
 
 /**
+ * HTTP/1.1 connection to docker daemon over unix socket.
+ *
+ * <p>Sockets are taken from {@link KeepAliveSocketPool}, when response is read completely the
+ * socket is returned to the pool on {@link #close()} and reused by the next request.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-  private final String dockerSocketPath;
+  private final KeepAliveSocketPool socketPool;
 
-  private int fd = -1;
+  private KeepAliveSocket socket;
+  private UnixSocketDockerResponse response;
 
+  /** Creates connection which opens a new socket for each request. */
   public UnixSocketConnection(String dockerSocketPath) {
-    this.dockerSocketPath = dockerSocketPath;
+    this(new KeepAliveSocketPool(socketFactory(dockerSocketPath), 0, 0));
+  }
+
+  /** Creates connection which reuses sockets kept by given pool. */
+  public UnixSocketConnection(KeepAliveSocketPool socketPool) {
+    this.socketPool = socketPool;
+  }
+
+  /** Returns factory which opens sockets to docker daemon listening on given unix socket. */
+  public static KeepAliveSocketPool.SocketFactory socketFactory(String dockerSocketPath) {
+    return () -> new UnixSocket(connect(dockerSocketPath));
   }
 
   @Override
   protected DockerResponse request(
       String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
       throws IOException {
-    fd = connect();
-    final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-    writeHttpHeaders(output, method, path, query, headers);
-    if (entity != null) {
-      entity.writeTo(output);
+    releaseSocket();
+    // stream entity can't be sent twice, so it never goes to socket which might be already closed
+    final KeepAliveSocket socket =
+        entity instanceof StreamEntity ? socketPool.open() : socketPool.acquire();
+    if (socket.isReused()) {
+      try {
+        return exchange(socket, method, path, query, headers, entity, true);
+      } catch (StaleSocketException e) {
+        // daemon closed idle connection before receiving the request, repeat it with a new one
+        releaseSocket();
+        return exchange(socketPool.open(), method, path, query, headers, entity, false);
+      }
     }
-    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    return exchange(socket, method, path, query, headers, entity, false);
   }
 
   @Override
   public void close() {
-    if (fd != -1) {
-      getCLibrary().close(fd);
+    releaseSocket();
+  }
+
+  /**
+   * Sends the request over the given socket. If the socket is reused, the response headers are read
+   * as well, and {@link StaleSocketException} is thrown when the socket turns out to be closed by
+   * the daemon before it received the request: either no request bytes could be written or the
+   * response ended before its first byte. In any other case the request might have been already
+   * processed by the daemon, so it is not safe to repeat it.
+   */
+  private DockerResponse exchange(
+      KeepAliveSocket socket,
+      String method,
+      String path,
+      String query,
+      List<Pair<String, ?>> headers,
+      Entity<?> entity,
+      boolean reused)
+      throws IOException {
+    final ResponseInputStream input = new ResponseInputStream(socket.getInputStream());
+    final UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(new BufferedInputStream(input));
+    synchronized (this) {
+      this.socket = socket;
+      this.response = response;
+    }
+    final CountingOutputStream sent = new CountingOutputStream(socket.getOutputStream());
+    try {
+      final OutputStream output = new BufferedOutputStream(sent);
+      final boolean chunked = isChunked(entity, headers);
+      writeHttpHeaders(output, method, path, query, headers, chunked);
+      if (chunked) {
+        final ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output);
+        entity.writeTo(chunkedOutput);
+        chunkedOutput.finish();
+      } else if (entity != null) {
+        entity.writeTo(output);
+      }
+    } catch (IOException e) {
+      if (reused && sent.getCount() == 0) {
+        throw new StaleSocketException(e);
+      }
+      throw e;
+    }
+    if (reused) {
+      try {
+        response.getInputStream();
+      } catch (IOException e) {
+        if (input.isEndReachedBeforeData()) {
+          throw new StaleSocketException(e);
+        }
+        throw e;
+      }
+    }
+    return response;
+  }
+
+  private void releaseSocket() {
+    final KeepAliveSocket socket;
+    final UnixSocketDockerResponse response;
+    synchronized (this) {
+      socket = this.socket;
+      response = this.response;
+      this.socket = null;
+      this.response = null;
+    }
+    if (socket != null) {
+      if (response.isReusable()) {
+        socketPool.release(socket);
+      } else {
+        socket.close();
+      }
     }
   }
 
-  private int connect() throws IOException {
+  private static int connect(String dockerSocketPath) throws IOException {
     final CLibrary cLib = getCLibrary();
     int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
     if (fd == -1) {
@@ -71,6 +167,7 @@ public class UnixSocketConnection extends DockerConnection {
     final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
     int c = cLib.connect(fd, sockAddr, sockAddr.size());
     if (c == -1) {
+      cLib.close(fd);
       throw new ConnectException(
           String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
     }
@@ -78,7 +175,12 @@ public class UnixSocketConnection extends DockerConnection {
   }
 
   private void writeHttpHeaders(
-      OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
+      OutputStream output,
+      String method,
+      String path,
+      String query,
+      List<Pair<String, ?>> headers,
+      boolean chunked)
       throws IOException {
     final Writer writer = new OutputStreamWriter(output);
     writer.write(method);
@@ -95,16 +197,86 @@ public class UnixSocketConnection extends DockerConnection {
       writer.write(String.valueOf(header.second));
       writer.write("\r\n");
     }
+    if (chunked) {
+      writer.write("Transfer-Encoding: chunked\r\n");
+    }
     // Host header is mandatory in HTTP 1.1
     writer.write("Host: \r\n\r\n");
     writer.flush();
   }
 
-  private InputStream openInputStream(int fd) {
-    return new UnixSocketInputStream(fd);
+  /** Thrown when the reused socket is found closed by the daemon before the request was sent. */
+  private static class StaleSocketException extends IOException {
+    StaleSocketException(IOException cause) {
+      super(cause.getMessage(), cause);
+    }
+  }
+
+  /** Remembers whether the stream ended before any byte of the response was read. */
+  private static class ResponseInputStream extends FilterInputStream {
+    private boolean dataRead;
+    private boolean endReachedBeforeData;
+
+    ResponseInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int b = super.read();
+      onRead(b == -1 ? -1 : 1);
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final int n = super.read(b, off, len);
+      onRead(n);
+      return n;
+    }
+
+    boolean isEndReachedBeforeData() {
+      return endReachedBeforeData;
+    }
+
+    private void onRead(int n) {
+      if (n == -1 && !dataRead) {
+        endReachedBeforeData = true;
+      } else if (n > 0) {
+        dataRead = true;
+      }
+    }
   }
 
-  private OutputStream openOutputStream(int fd) {
-    return new UnixSocketOutputStream(fd);
+  private static class UnixSocket extends KeepAliveSocket {
+    private final int fd;
+    private final InputStream input;
+    private final OutputStream output;
+
+    private boolean closed;
+
+    UnixSocket(int fd) {
+      this.fd = fd;
+      this.input = new UnixSocketInputStream(fd);
+      this.output = new UnixSocketOutputStream(fd);
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return input;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+      return output;
+    }
+
+    @Override
+    public synchronized void close() {
+      if (!closed) {
+        closed = true;
+        getCLibrary().close(fd);
+      }
+    }
   }
 }
@@ -30,6 +30,7 @@ public class UnixSocketDockerResponse implements DockerResponse {
   private InputStream data;
   private String[] headersFields;
   private int status;
+  private volatile boolean keepAlive;
 
   UnixSocketDockerResponse(InputStream input) {
     rawData = input;
@@ -142,16 +143,38 @@ public class UnixSocketDockerResponse implements DockerResponse {
       }
     }
     this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+    final int status = getStatus();
     final int contentLength = getContentLength();
-    if (contentLength == 0) {
-      return data = EMPTY;
+    if (contentLength == 0 || status == 204 || status == 304) {
+      data = EMPTY;
+    } else if (contentLength > 0) {
+      data = new LimitedInputStream(rawData, contentLength);
+    } else if ("chunked".equals(getHeader("Transfer-Encoding"))) {
+      data = new ChunkedInputStream(rawData);
+    } else {
+      return data = rawData;
     }
-    if (contentLength > 0) {
-      return data = new LimitedInputStream(rawData, contentLength);
+    keepAlive =
+        headersFields[0].startsWith("HTTP/1.1")
+            && !"close".equalsIgnoreCase(getHeader("Connection"));
+    return data;
+  }
+
+  /**
+   * Returns {@code true} when the body of this response is completely read and the connection may
+   * be used for the next request.
+   */
+  boolean isReusable() {
+    if (!keepAlive) {
+      return false;
+    }
+    final InputStream body = data;
+    if (body instanceof LimitedInputStream) {
+      return ((LimitedInputStream) body).isEof();
+    }
+    if (body instanceof ChunkedInputStream) {
+      return ((ChunkedInputStream) body).isEof();
     }
-    return data =
-        "chunked".equals(getHeader("Transfer-Encoding"))
-            ? new ChunkedInputStream(rawData)
-            : rawData;
+    return body == EMPTY;
   }
 }
@@ -15,6 +15,7 @@ import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 import com.sun.jna.LastErrorException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 import org.eclipse.che.plugin.docker.client.CLibrary;
 
 /** @author andrew00x */
@@ -37,14 +38,27 @@ public class UnixSocketOutputStream extends OutputStream {
 
   @Override
   public void write(byte[] b, int off, int len) throws IOException {
-    int n;
-    try {
-      n = cLib.send(fd, b, len, 0);
-    } catch (LastErrorException e) {
-      throw new IOException("error: " + cLib.strerror(e.getErrorCode()));
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
     }
-    if (n != len) {
-      throw new IOException(String.format("Failed writing %d bytes", len));
+    // native call always starts from the beginning of the array
+    byte[] buffer = off == 0 ? b : Arrays.copyOfRange(b, off, off + len);
+    int remaining = len;
+    while (remaining > 0) {
+      int n;
+      try {
+        n = cLib.send(fd, buffer, remaining, 0);
+      } catch (LastErrorException e) {
+        throw new IOException("error: " + cLib.strerror(e.getErrorCode()));
+      }
+      if (n <= 0) {
+        throw new IOException(String.format("Failed writing %d bytes", len));
+      }
+      remaining -= n;
+      if (remaining > 0) {
+        // socket accepted only a part of the data, send the rest
+        buffer = Arrays.copyOfRange(buffer, n, n + remaining);
+      }
     }
   }
 }
@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.plugin.docker.client.json;
 
+import java.util.Arrays;
+
 /** @author andrew00x */
 public class ImageInfo {
   private String architecture;
@@ -26,6 +28,7 @@ public class ImageInfo {
   private long virtualSize;
   private String container;
   private ContainerConfig containerConfig;
+  private String[] repoDigests;
 
   public String getArchitecture() {
     return architecture;
@@ -123,6 +126,15 @@ public class ImageInfo {
     this.containerConfig = containerConfig;
   }
 
+  /** Returns digests of the manifests this image was pulled by, e.g. {@code repo@sha256:...}. */
+  public String[] getRepoDigests() {
+    return repoDigests;
+  }
+
+  public void setRepoDigests(String[] repoDigests) {
+    this.repoDigests = repoDigests;
+  }
+
   public long getVirtualSize() {
     return virtualSize;
   }
@@ -169,6 +181,8 @@ public class ImageInfo {
         + '\''
         + ", containerConfig="
         + containerConfig
+        + ", repoDigests="
+        + Arrays.toString(repoDigests)
         + '}';
   }
 }
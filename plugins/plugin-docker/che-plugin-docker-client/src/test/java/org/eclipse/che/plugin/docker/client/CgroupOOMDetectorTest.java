@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.jna.Platform;
+import com.sun.jna.ptr.LongByReference;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
+import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.HostConfig;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link CgroupOOMDetector}. */
+@Listeners(MockitoTestNGListener.class)
+public class CgroupOOMDetectorTest {
+  private static final String CONTAINER = "container123";
+  private static final int EPOLL_FD = 5;
+  private static final int EVENT_FD = 10;
+
+  @Mock private DockerConnectorProvider dockerConnectorProvider;
+  @Mock private DockerConnector docker;
+  @Mock private CLibrary cLib;
+  @Mock private MessageProcessor<LogMessage> logProcessor;
+
+  private Path cgroupRoot;
+  private Path containerCgroup;
+  private CountDownLatch watched;
+  private CountDownLatch notified;
+  private CgroupOOMDetector detector;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    cgroupRoot = Files.createTempDirectory("cgroup");
+    containerCgroup = Files.createDirectories(cgroupRoot.resolve("memory/docker/" + CONTAINER));
+    watched = new CountDownLatch(1);
+    notified = new CountDownLatch(1);
+
+    when(dockerConnectorProvider.get()).thenReturn(docker);
+    ContainerInfo containerInfo = new ContainerInfo();
+    containerInfo.setConfig(
+        new ContainerConfig().withHostConfig(new HostConfig().withMemory(1024 * 1024 * 1024)));
+    when(docker.inspectContainer(CONTAINER)).thenReturn(containerInfo);
+
+    when(cLib.epoll_create1(0)).thenReturn(EPOLL_FD);
+    when(cLib.eventfd(0, CLibrary.EFD_NONBLOCK)).thenReturn(EVENT_FD);
+    when(cLib.open(anyString(), anyInt())).thenReturn(11, 12);
+    when(cLib.write(anyInt(), any(byte[].class), anyInt()))
+        .thenAnswer(invocation -> invocation.getArguments()[2]);
+    when(cLib.epoll_ctl(eq(EPOLL_FD), eq(CLibrary.EPOLL_CTL_ADD), eq(EVENT_FD), any()))
+        .thenAnswer(
+            invocation -> {
+              watched.countDown();
+              return 0;
+            });
+    when(cLib.eventfd_read(eq(EVENT_FD), any(LongByReference.class))).thenReturn(0);
+
+    detector =
+        new CgroupOOMDetector(
+            new URI("unix:///var/run/docker.sock"),
+            dockerConnectorProvider,
+            () -> cLib,
+            cgroupRoot.toString(),
+            false);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    detector.shutdown();
+    IoUtil.deleteRecursive(cgroupRoot.toFile());
+  }
+
+  @Test
+  public void reportsOOMOfContainerWhenItsEventIsReceived() throws Exception {
+    writeFailCount(1);
+    notifyOnceWhenWatched(EVENT_FD);
+
+    detector.startDetection(CONTAINER, logProcessor);
+
+    verify(logProcessor, timeout(5000).times(2)).process(any(LogMessage.class));
+    verify(cLib, timeout(5000))
+        .epoll_ctl(eq(EPOLL_FD), eq(CLibrary.EPOLL_CTL_DEL), eq(EVENT_FD), any());
+    verify(cLib, timeout(5000)).close(EVENT_FD);
+  }
+
+  @Test
+  public void stopsDetectionWithoutReportWhenCgroupIsRemoved() throws Exception {
+    writeFailCount(0);
+    notifyOnceWhenWatched(EVENT_FD);
+
+    detector.startDetection(CONTAINER, logProcessor);
+
+    verify(cLib, timeout(5000)).close(EVENT_FD);
+    verify(logProcessor, never()).process(any(LogMessage.class));
+  }
+
+  @Test
+  public void ignoresEventsOfUnknownDescriptors() throws Exception {
+    writeFailCount(1);
+    notifyOnceWhenWatched(EVENT_FD + 100);
+
+    detector.startDetection(CONTAINER, logProcessor);
+
+    assertTrue(notified.await(5, TimeUnit.SECONDS));
+    TimeUnit.MILLISECONDS.sleep(100);
+    verify(cLib, never()).eventfd_read(anyInt(), any(LongByReference.class));
+    verify(logProcessor, never()).process(any(LogMessage.class));
+  }
+
+  @Test
+  public void epollEventHasLayoutOfNativeStructure() {
+    // structure is packed on x86_64, 'data' follows 'events' without padding
+    final int dataOffset = Platform.isIntel() ? 4 : 8;
+    CLibrary.EpollEvent event = new CLibrary.EpollEvent();
+    event.events = CLibrary.EPOLLIN;
+    event.data = 0x0102030405060708L;
+
+    event.write();
+
+    assertEquals(event.size(), dataOffset + 8);
+    assertEquals(event.getPointer().getInt(0), CLibrary.EPOLLIN);
+    assertEquals(event.getPointer().getLong(dataOffset), 0x0102030405060708L);
+  }
+
+  /** Makes epoll report an event of the given descriptor once the container is watched. */
+  private void notifyOnceWhenWatched(int fd) {
+    when(cLib.epoll_wait(eq(EPOLL_FD), any(), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              try {
+                if (watched.await(10, TimeUnit.MILLISECONDS) && notified.getCount() > 0) {
+                  ((CLibrary.EpollEvent[]) invocation.getArguments()[1])[0].data = fd;
+                  notified.countDown();
+                  return 1;
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+              } catch (InterruptedException x) {
+                Thread.currentThread().interrupt();
+              }
+              return 0;
+            });
+  }
+
+  private void writeFailCount(int failCount) throws Exception {
+    Files.write(containerCgroup.resolve("memory.failcnt"), String.valueOf(failCount).getBytes());
+  }
+}
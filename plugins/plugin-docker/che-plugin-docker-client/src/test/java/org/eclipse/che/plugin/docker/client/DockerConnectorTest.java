@@ -19,6 +19,7 @@ import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -28,6 +29,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.FieldNamingPolicy;
@@ -41,12 +43,15 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.ws.rs.core.MediaType;
 import org.eclipse.che.commons.json.JsonParseException;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.TarUtils;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.eclipse.che.commons.test.mockito.answer.SelfReturningAnswer;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -1064,8 +1069,8 @@ public class DockerConnectorTest {
     verify(dockerConnection).path("/containers/" + putResourceParams.getContainer() + "/archive");
     verify(dockerConnection).query(eq("path"), eq(PATH_TO_FILE));
     verify(dockerConnection).header("Content-Type", ExtMediaType.APPLICATION_X_TAR);
-    verify(dockerConnection).header(eq("Content-Length"), anyInt());
-    verify(dockerConnection).entity(any(InputStream.class));
+    verify(dockerConnection, never()).header(eq("Content-Length"), any());
+    verify(dockerConnection).entity(source);
     verify(dockerConnection).request();
     verify(dockerResponse).getStatus();
   }
@@ -1147,7 +1152,7 @@ public class DockerConnectorTest {
     verify(dockerConnection).path("/build");
 
     verify(dockerConnection).header("Content-Type", "application/x-compressed-tar");
-    verify(dockerConnection).header(eq("Content-Length"), anyInt());
+    verify(dockerConnection, never()).header(eq("Content-Length"), any());
     verify(dockerConnection).entity(any(InputStream.class));
     verify(dockerConnection, never()).header(eq("remote"), anyString());
 
@@ -1159,6 +1164,73 @@ public class DockerConnectorTest {
     assertEquals(returnedImageId, imageId);
   }
 
+  @Test
+  public void shouldStreamArchiveOfBuildContextFiles() throws Exception {
+    final File context = Files.createTempDirectory("context").toFile();
+    final File extracted = new File(context, "extracted");
+    try {
+      final File dockerfile = new File(context, "Dockerfile");
+      Files.write(dockerfile.toPath(), "FROM busybox".getBytes());
+      final InputStream[] entity = new InputStream[1];
+      doAnswer(
+              invocation -> {
+                entity[0] = (InputStream) invocation.getArguments()[0];
+                return dockerConnection;
+              })
+          .when(dockerConnection)
+          .entity(any(InputStream.class));
+      when(dockerConnection.request())
+          .thenAnswer(
+              invocation -> {
+                // context is read while the request is sent, as docker does
+                TarUtils.untar(entity[0], extracted);
+                return dockerResponse;
+              });
+      doReturn(new ByteArrayInputStream("{\"stream\":\"Successfully built abc\"}".getBytes()))
+          .when(dockerResponse)
+          .getInputStream();
+
+      dockerConnector.buildImage(BuildImageParams.create(dockerfile), progressMonitor);
+
+      assertEquals(
+          new String(Files.readAllBytes(new File(extracted, "Dockerfile").toPath())),
+          "FROM busybox");
+    } finally {
+      IoUtil.deleteRecursive(context);
+    }
+  }
+
+  @Test(
+    expectedExceptions = IOException.class,
+    expectedExceptionsMessageRegExp = "Unable to archive build context\\..*"
+  )
+  public void shouldReportArchivingErrorWhenBuildContextIsRejected() throws Exception {
+    // file which disappears before it is archived
+    final File dockerfile =
+        new File("/non/existing/Dockerfile") {
+          @Override
+          public boolean isFile() {
+            return true;
+          }
+        };
+    final InputStream[] entity = new InputStream[1];
+    doAnswer(
+            invocation -> {
+              entity[0] = (InputStream) invocation.getArguments()[0];
+              return dockerConnection;
+            })
+        .when(dockerConnection)
+        .entity(any(InputStream.class));
+    when(dockerConnection.request())
+        .thenAnswer(
+            invocation -> {
+              ByteStreams.exhaust(entity[0]);
+              throw new IOException("Error processing tar file: unexpected EOF");
+            });
+
+    dockerConnector.buildImage(BuildImageParams.create(dockerfile), progressMonitor);
+  }
+
   @Test
   public void shouldBeAbleToBuildImageWithRemoteContext() throws IOException, InterruptedException {
     AuthConfigs authConfigs = DtoFactory.newDto(AuthConfigs.class);
@@ -1255,7 +1327,7 @@ public class DockerConnectorTest {
     verify(dockerConnection).path("/build");
 
     verify(dockerConnection).header("Content-Type", "application/x-compressed-tar");
-    verify(dockerConnection).header(eq("Content-Length"), anyInt());
+    verify(dockerConnection, never()).header(eq("Content-Length"), any());
     verify(dockerConnection).entity(any(InputStream.class));
 
     verify(dockerConnection).header(eq("X-Registry-Config"), any(byte[].class));
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link DockerRegistryClient} against a local registry stand-in. */
+@Listeners(MockitoTestNGListener.class)
+public class DockerRegistryClientTest {
+  private static final String DIGEST = "sha256:0123456789abcdef";
+  private static final String MANIFEST_ACCEPT = DockerRegistryClient.MANIFEST_MEDIA_TYPES;
+
+  @Mock private DockerRegistryAuthResolver authResolver;
+
+  private HttpServer server;
+  private String registry;
+  private List<String> requests;
+  private DockerRegistryClient client;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(authResolver.getBasicAuthHeaderValue(anyString(), any(AuthConfigs.class))).thenReturn("");
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.start();
+    registry = "http://127.0.0.1:" + server.getAddress().getPort();
+    requests = new CopyOnWriteArrayList<>();
+    client = new DockerRegistryClient(authResolver);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void shouldResolveManifestDigestWithHeadRequest() throws Exception {
+    server.createContext(
+        "/v2/stack/node/manifests/6",
+        exchange -> {
+          record(exchange);
+          exchange.getResponseHeaders().add(DockerRegistryClient.DIGEST_HEADER, DIGEST);
+          respond(exchange, 200, null);
+        });
+
+    String digest = client.getManifestDigest(registry, "stack/node", "6", null);
+
+    assertEquals(digest, DIGEST);
+    assertEquals(
+        requests, singletonList("HEAD /v2/stack/node/manifests/6 " + MANIFEST_ACCEPT + " null"));
+  }
+
+  @Test
+  public void shouldAuthenticateWithBearerToken() throws Exception {
+    server.createContext(
+        "/token",
+        exchange -> {
+          record(exchange);
+          respond(exchange, 200, "{\"token\":\"secret\"}");
+        });
+    server.createContext(
+        "/v2/stack/node/manifests/6",
+        exchange -> {
+          record(exchange);
+          if ("Bearer secret".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            exchange.getResponseHeaders().add(DockerRegistryClient.DIGEST_HEADER, DIGEST);
+            respond(exchange, 200, null);
+          } else {
+            exchange
+                .getResponseHeaders()
+                .add(
+                    "WWW-Authenticate",
+                    "Bearer realm=\""
+                        + registry
+                        + "/token\",service=\"registry\",scope=\"repository:stack/node:pull\"");
+            respond(exchange, 401, null);
+          }
+        });
+
+    String digest = client.getManifestDigest(registry, "stack/node", "6", null);
+
+    assertEquals(digest, DIGEST);
+    assertEquals(requests.size(), 3);
+    assertTrue(requests.get(1).startsWith("GET /token "));
+    assertTrue(requests.get(1).endsWith(" null"));
+    assertEquals(
+        requests.get(2), "HEAD /v2/stack/node/manifests/6 " + MANIFEST_ACCEPT + " Bearer secret");
+  }
+
+  @Test(expectedExceptions = ImageNotFoundException.class)
+  public void shouldThrowImageNotFoundExceptionWhenRegistryDoesNotKnowImage() throws Exception {
+    server.createContext("/v2/", exchange -> respond(exchange, 404, null));
+
+    client.getManifestDigest(registry, "stack/node", "6", null);
+  }
+
+  private void record(HttpExchange exchange) {
+    requests.add(
+        exchange.getRequestMethod()
+            + ' '
+            + exchange.getRequestURI().getPath()
+            + ' '
+            + exchange.getRequestHeaders().getFirst("Accept")
+            + ' '
+            + exchange.getRequestHeaders().getFirst("Authorization"));
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    if (body == null) {
+      exchange.sendResponseHeaders(status, -1);
+    } else {
+      byte[] bytes = body.getBytes(UTF_8);
+      exchange.sendResponseHeaders(status, bytes.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    }
+    exchange.close();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests of {@link ChunkedInputStream}. */
+public class ChunkedInputStreamTest {
+
+  @Test
+  public void shouldDecodeChunks() throws Exception {
+    ChunkedInputStream chunked = chunked("5\r\nhello\r\n1\r\n \r\n5\r\nworld\r\n0\r\n\r\n");
+
+    assertEquals(readAll(chunked), "hello world");
+    assertTrue(chunked.isEof());
+    assertEquals(chunked.read(), -1);
+  }
+
+  @Test
+  public void shouldDecodeChunksByteByByte() throws Exception {
+    byte[] data = {(byte) 0xff, 0x00, (byte) 0x80};
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    encoded.write("3\r\n".getBytes(US_ASCII));
+    encoded.write(data);
+    encoded.write("\r\n0\r\n\r\n".getBytes(US_ASCII));
+    ChunkedInputStream chunked =
+        new ChunkedInputStream(new ByteArrayInputStream(encoded.toByteArray()), 2);
+
+    assertEquals(chunked.read(), 0xff);
+    assertEquals(chunked.read(), 0x00);
+    assertEquals(chunked.read(), 0x80);
+    assertEquals(chunked.read(), -1);
+  }
+
+  @Test
+  public void shouldWriteDataAtGivenOffset() throws Exception {
+    ChunkedInputStream chunked = chunked("3\r\nabc\r\n0\r\n\r\n");
+    byte[] target = "-----".getBytes(US_ASCII);
+
+    int n = chunked.read(target, 2, 3);
+
+    assertEquals(n, 3);
+    assertEquals(new String(target, US_ASCII), "--abc");
+  }
+
+  @Test
+  public void shouldReadChunksLargerThanBuffer() throws Exception {
+    char[] data = new char[100];
+    Arrays.fill(data, 'x');
+    String body = new String(data);
+    ChunkedInputStream chunked =
+        new ChunkedInputStream(
+            new ByteArrayInputStream(("64\r\n" + body + "\r\n0\r\n\r\n").getBytes(US_ASCII)), 8);
+
+    assertEquals(readAll(chunked), body);
+  }
+
+  @Test
+  public void shouldIgnoreChunkExtensionsAndTrailer() throws Exception {
+    ChunkedInputStream chunked =
+        chunked("4;name=value\r\ntest\r\nA \r\n0123456789\r\n0\r\nExpires: never\r\n\r\n");
+
+    assertEquals(readAll(chunked), "test0123456789");
+    assertTrue(chunked.isEof());
+  }
+
+  @Test
+  public void shouldStopAtLastChunkWhenOtherDataFollowsIt() throws Exception {
+    ChunkedInputStream chunked = chunked("2\r\nok\r\n0\r\n\r\nHTTP/1.1 200 OK");
+
+    assertEquals(readAll(chunked), "ok");
+    assertTrue(chunked.isEof());
+    assertEquals(chunked.read(), -1);
+  }
+
+  @Test
+  public void shouldNotBeEofUntilLastChunkIsRead() throws Exception {
+    ChunkedInputStream chunked = chunked("2\r\nok\r\n0\r\n\r\n");
+
+    assertEquals(chunked.read(new byte[2], 0, 2), 2);
+
+    assertFalse(chunked.isEof());
+    assertEquals(chunked.read(), -1);
+    assertTrue(chunked.isEof());
+  }
+
+  @Test
+  public void shouldSkipAcrossChunks() throws Exception {
+    ChunkedInputStream chunked = chunked("3\r\nabc\r\n3\r\ndef\r\n0\r\n\r\n");
+
+    assertEquals(chunked.skip(4), 4);
+    assertEquals(readAll(chunked), "ef");
+    assertEquals(chunked.skip(1), 0);
+  }
+
+  @Test
+  public void shouldReadIntoDirectByteBuffer() throws Exception {
+    ChunkedInputStream chunked = chunked("3\r\nabc\r\n2\r\nde\r\n0\r\n\r\n");
+    ByteBuffer target = ByteBuffer.allocateDirect(16);
+
+    while (chunked.read(target) != -1) {}
+    target.flip();
+    byte[] result = new byte[target.remaining()];
+    target.get(result);
+
+    assertEquals(new String(result, US_ASCII), "abcde");
+  }
+
+  @Test
+  public void shouldReadIntoHeapByteBuffer() throws Exception {
+    ChunkedInputStream chunked = chunked("3\r\nabc\r\n0\r\n\r\n");
+    ByteBuffer target = ByteBuffer.allocate(16);
+    target.position(1);
+
+    assertEquals(chunked.read(target), 3);
+    assertEquals(target.position(), 4);
+    assertEquals(new String(target.array(), 1, 3, US_ASCII), "abc");
+  }
+
+  @DataProvider
+  public Object[][] malformedStreams() {
+    return new Object[][] {
+      {"zz\r\nhello\r\n0\r\n\r\n"},
+      {"\r\nhello\r\n0\r\n\r\n"},
+      {"-5\r\nhello\r\n0\r\n\r\n"},
+      {"5\r\nhello0\r\n\r\n"},
+      {"5\r\nhello\r0\r\n\r\n"},
+      {"5\r\nhel"},
+      {"5"},
+      {"5\r\nhello\r\n"},
+      {"5\r\nhello\r\n0\r\n"},
+      {"10000000000000000\r\n"},
+      {new String(new char[ChunkedInputStream.MAX_LINE_LENGTH + 2]).replace('\0', '0') + "\r\n"},
+      {"0\r\n" + new String(new char[ChunkedInputStream.MAX_LINE_LENGTH + 2]).replace('\0', 'x')}
+    };
+  }
+
+  @Test(dataProvider = "malformedStreams", expectedExceptions = IOException.class)
+  public void shouldFailOnMalformedStream(String encoded) throws Exception {
+    readAll(chunked(encoded));
+  }
+
+  private static ChunkedInputStream chunked(String encoded) {
+    return new ChunkedInputStream(new ByteArrayInputStream(encoded.getBytes(US_ASCII)));
+  }
+
+  private static String readAll(InputStream input) throws IOException {
+    return new String(ByteStreams.toByteArray(input), US_ASCII);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.testng.annotations.Test;
+
+/** Tests of {@link ChunkedOutputStream}. */
+public class ChunkedOutputStreamTest {
+
+  @Test
+  public void shouldEncodeEachWriteAsChunk() throws Exception {
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    ChunkedOutputStream chunked = new ChunkedOutputStream(encoded);
+
+    chunked.write("hello world!".getBytes(US_ASCII), 0, 5);
+    chunked.write(' ');
+    chunked.write(new byte[0]);
+    chunked.write("hello world!".getBytes(US_ASCII), 6, 6);
+    chunked.finish();
+
+    assertEquals(
+        new String(encoded.toByteArray(), US_ASCII),
+        "5\r\nhello\r\n1\r\n \r\n6\r\nworld!\r\n0\r\n\r\n");
+  }
+
+  @Test
+  public void shouldBeDecodedByChunkedInputStream() throws Exception {
+    byte[] data = new byte[100_000];
+    new Random(1).nextBytes(data);
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+    try (ChunkedOutputStream chunked = new ChunkedOutputStream(encoded)) {
+      for (int off = 0; off < data.length; off += 7_000) {
+        chunked.write(data, off, Math.min(7_000, data.length - off));
+      }
+    }
+
+    assertEquals(
+        ByteStreams.toByteArray(
+            new ChunkedInputStream(new ByteArrayInputStream(encoded.toByteArray()))),
+        data);
+  }
+
+  @Test
+  public void shouldNotCloseUnderlyingStream() throws Exception {
+    ClosingAwareStream underlying = new ClosingAwareStream();
+    ChunkedOutputStream chunked = new ChunkedOutputStream(underlying);
+
+    chunked.close();
+    chunked.close();
+
+    assertFalse(underlying.closed);
+    assertEquals(new String(underlying.toByteArray(), US_ASCII), "0\r\n\r\n");
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldFailToWriteAfterFinish() throws Exception {
+    ChunkedOutputStream chunked = new ChunkedOutputStream(new ByteArrayOutputStream());
+    chunked.finish();
+
+    chunked.write(new byte[] {1}, 0, 1);
+  }
+
+  private static class ClosingAwareStream extends ByteArrayOutputStream {
+    boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.connection.StandInDockerDaemon.Mode;
+
+/**
+ * Measures docker API calls per second served by {@link UnixSocketConnection} with and without
+ * keep-alive against {@link StandInDockerDaemon}. It is not a part of test suite, run it manually:
+ *
+ * <pre>
+ *   java -cp ... org.eclipse.che.plugin.docker.client.connection.DockerConnectionBenchmark [calls]
+ * </pre>
+ */
+public class DockerConnectionBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    final int calls = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+    try (StandInDockerDaemon daemon = new StandInDockerDaemon(Mode.KEEP_ALIVE)) {
+      // warm up JIT before measuring
+      run(new KeepAliveSocketPool(daemon.socketFactory(), 0, 0), calls / 10);
+      run(new KeepAliveSocketPool(daemon.socketFactory(), 10, 30_000), calls / 10);
+
+      final double newConnections =
+          run(new KeepAliveSocketPool(daemon.socketFactory(), 0, 0), calls);
+      final double keepAlive =
+          run(new KeepAliveSocketPool(daemon.socketFactory(), 10, 30_000), calls);
+      System.out.printf("connection per call: %10.0f calls/s%n", newConnections);
+      System.out.printf("keep-alive pool:     %10.0f calls/s%n", keepAlive);
+    }
+  }
+
+  private static double run(KeepAliveSocketPool pool, int calls) throws Exception {
+    final long start = System.nanoTime();
+    for (int i = 0; i < calls; i++) {
+      UnixSocketConnectionTest.inspect(pool, true);
+    }
+    final long elapsed = System.nanoTime() - start;
+    pool.closeIdle();
+    return calls * 1e9 / elapsed;
+  }
+}
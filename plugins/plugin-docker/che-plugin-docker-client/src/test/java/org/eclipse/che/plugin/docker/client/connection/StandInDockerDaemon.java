@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.ByteStreams;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal HTTP/1.1 server which answers every request with the same small JSON body, as docker
+ * daemon does for inspect calls. Request bodies, either Content-Length delimited or chunked, are
+ * read and the last one is kept. It listens on TCP port of the loopback interface and sockets to
+ * it are opened with {@link #socketFactory()}.
+ */
+class StandInDockerDaemon implements AutoCloseable {
+  static final String BODY = "{\"Id\":\"0123456789ab\",\"State\":{\"Running\":true}}";
+
+  private static final int CHUNKED = -2;
+
+  enum Mode {
+    /** Content-Length delimited responses, connection is kept alive. */
+    KEEP_ALIVE,
+    /** Chunked responses, connection is kept alive. */
+    CHUNKED,
+    /** Responses with 'Connection: close' header. */
+    CLOSE,
+    /**
+     * Connection is closed after each response without telling the client, as the daemon does
+     * with idle connections. Requests received after that are ignored.
+     */
+    DROP,
+    /** Connection is dropped in the middle of the response, after the request is served. */
+    BREAK
+  }
+
+  private final ServerSocket serverSocket;
+  private final ExecutorService executor;
+  private final AtomicInteger accepted;
+  private final AtomicInteger requests;
+
+  private volatile Mode mode;
+  private volatile byte[] lastRequestBody;
+
+  StandInDockerDaemon(Mode mode) throws IOException {
+    this.mode = mode;
+    this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    this.executor = Executors.newCachedThreadPool();
+    this.accepted = new AtomicInteger();
+    this.requests = new AtomicInteger();
+    executor.execute(this::acceptConnections);
+  }
+
+  void setMode(Mode mode) {
+    this.mode = mode;
+  }
+
+  /** Returns number of accepted connections. */
+  int getAcceptedConnections() {
+    return accepted.get();
+  }
+
+  /** Returns body of the last served request. */
+  byte[] getLastRequestBody() {
+    return lastRequestBody;
+  }
+
+  /** Returns number of served requests. */
+  int getRequests() {
+    return requests.get();
+  }
+
+  KeepAliveSocketPool.SocketFactory socketFactory() {
+    return () ->
+        new TcpSocket(new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort()));
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    executor.shutdownNow();
+  }
+
+  private void acceptConnections() {
+    while (!serverSocket.isClosed()) {
+      try {
+        final Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        accepted.incrementAndGet();
+        executor.execute(() -> serve(socket));
+      } catch (IOException ignored) {
+        // server socket is closed
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (Socket s = socket) {
+      final InputStream input = new BufferedInputStream(s.getInputStream());
+      final OutputStream output = s.getOutputStream();
+      int contentLength;
+      while ((contentLength = readRequestHeaders(input)) != -1) {
+        if (contentLength == CHUNKED) {
+          lastRequestBody = ByteStreams.toByteArray(new ChunkedInputStream(input));
+        } else {
+          final byte[] body = new byte[contentLength];
+          ByteStreams.readFully(input, body);
+          lastRequestBody = body;
+        }
+        requests.incrementAndGet();
+        final Mode mode = this.mode;
+        if (mode == Mode.BREAK) {
+          output.write("HTTP/1.1 200".getBytes(UTF_8));
+          output.flush();
+          return;
+        }
+        output.write(response(mode).getBytes(UTF_8));
+        output.flush();
+        if (mode == Mode.DROP) {
+          s.shutdownOutput();
+          ByteStreams.exhaust(input);
+          return;
+        }
+        if (mode == Mode.CLOSE) {
+          return;
+        }
+      }
+    } catch (IOException ignored) {
+      // client closed connection
+    }
+  }
+
+  /**
+   * Reads request headers and returns length of request body, {@link #CHUNKED} if the body is
+   * chunked or -1 if connection is closed.
+   */
+  private static int readRequestHeaders(InputStream input) throws IOException {
+    final StringBuilder line = new StringBuilder();
+    int contentLength = 0;
+    boolean empty = true;
+    for (int c; (c = input.read()) != -1; ) {
+      if (c == '\n') {
+        if (line.length() == 0) {
+          return contentLength;
+        }
+        final String header = line.toString().toLowerCase();
+        if (header.startsWith("content-length:")) {
+          contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+        } else if (header.startsWith("transfer-encoding:") && header.endsWith("chunked")) {
+          contentLength = CHUNKED;
+        }
+        line.setLength(0);
+      } else if (c != '\r') {
+        line.append((char) c);
+        empty = false;
+      }
+    }
+    if (!empty) {
+      throw new IOException("Unexpected end of request");
+    }
+    return -1;
+  }
+
+  private static String response(Mode mode) {
+    final StringBuilder sb = new StringBuilder("HTTP/1.1 200 OK\r\n");
+    sb.append("Content-Type: application/json\r\n");
+    if (mode == Mode.CLOSE) {
+      sb.append("Connection: close\r\n");
+    }
+    if (mode == Mode.CHUNKED) {
+      sb.append("Transfer-Encoding: chunked\r\n\r\n");
+      sb.append(Integer.toHexString(BODY.length())).append("\r\n").append(BODY).append("\r\n");
+      sb.append("0\r\n\r\n");
+    } else {
+      sb.append("Content-Length: ").append(BODY.length()).append("\r\n\r\n").append(BODY);
+    }
+    return sb.toString();
+  }
+
+  private static class TcpSocket extends KeepAliveSocket {
+    private final Socket socket;
+
+    TcpSocket(Socket socket) throws IOException {
+      this.socket = socket;
+      socket.setTcpNoDelay(true);
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      try {
+        return socket.getInputStream();
+      } catch (IOException e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+      try {
+        return socket.getOutputStream();
+      } catch (IOException e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        socket.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.eclipse.che.plugin.docker.client.connection.StandInDockerDaemon.Mode;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link UnixSocketConnection} and {@link KeepAliveSocketPool}. */
+public class UnixSocketConnectionTest {
+
+  private StandInDockerDaemon daemon;
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    if (daemon != null) {
+      daemon.close();
+    }
+  }
+
+  @Test
+  public void shouldReuseSocketWhenResponseIsReadCompletely() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.KEEP_ALIVE, 5);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(inspect(pool, true), StandInDockerDaemon.BODY);
+    }
+
+    assertEquals(daemon.getAcceptedConnections(), 1);
+    assertEquals(pool.getIdleCount(), 1);
+  }
+
+  @Test
+  public void shouldReuseSocketWhenChunkedResponseIsReadCompletely() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.CHUNKED, 5);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(inspect(pool, true), StandInDockerDaemon.BODY);
+    }
+
+    assertEquals(daemon.getAcceptedConnections(), 1);
+  }
+
+  @Test
+  public void shouldNotReuseSocketWhenResponseIsNotReadCompletely() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.KEEP_ALIVE, 5);
+
+    inspect(pool, false);
+    inspect(pool, false);
+
+    assertEquals(daemon.getAcceptedConnections(), 2);
+    assertEquals(pool.getIdleCount(), 0);
+  }
+
+  @Test
+  public void shouldNotReuseSocketWhenDaemonAsksToCloseConnection() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.CLOSE, 5);
+
+    inspect(pool, true);
+    inspect(pool, true);
+
+    assertEquals(daemon.getAcceptedConnections(), 2);
+    assertEquals(pool.getIdleCount(), 0);
+  }
+
+  @Test
+  public void shouldRepeatRequestWithNewSocketWhenIdleSocketIsClosedByDaemon() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.DROP, 5);
+
+    assertEquals(inspect(pool, true), StandInDockerDaemon.BODY);
+    assertEquals(inspect(pool, true), StandInDockerDaemon.BODY);
+
+    assertEquals(daemon.getRequests(), 2);
+    assertEquals(daemon.getAcceptedConnections(), 2);
+  }
+
+  @Test
+  public void shouldNotRepeatRequestWhenDaemonFailsAfterReceivingIt() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.KEEP_ALIVE, 5);
+    inspect(pool, true);
+    daemon.setMode(Mode.BREAK);
+
+    try {
+      inspect(pool, true);
+      fail("Broken response is expected to fail the request");
+    } catch (IOException expected) {
+      // the request might have been already processed by the daemon
+    }
+
+    assertEquals(daemon.getRequests(), 2);
+    assertEquals(daemon.getAcceptedConnections(), 1);
+  }
+
+  @Test
+  public void shouldNotKeepSocketsWhenPoolSizeIsZero() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.KEEP_ALIVE, 0);
+
+    inspect(pool, true);
+    inspect(pool, true);
+
+    assertEquals(daemon.getAcceptedConnections(), 2);
+    assertEquals(pool.getIdleCount(), 0);
+  }
+
+  @Test
+  public void shouldNotKeepMoreThanMaxIdleSockets() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.KEEP_ALIVE, 1);
+    KeepAliveSocket first = pool.acquire();
+    KeepAliveSocket second = pool.acquire();
+
+    pool.release(first);
+    pool.release(second);
+
+    assertEquals(pool.getIdleCount(), 1);
+  }
+
+  @Test
+  public void shouldCloseSocketsIdleForLongerThanTimeout() throws Exception {
+    daemon = new StandInDockerDaemon(Mode.KEEP_ALIVE);
+    KeepAliveSocketPool pool = new KeepAliveSocketPool(daemon.socketFactory(), 5, 0);
+
+    inspect(pool, true);
+    Thread.sleep(5);
+    inspect(pool, true);
+
+    assertEquals(daemon.getAcceptedConnections(), 2);
+  }
+
+  @Test
+  public void shouldSendStreamOfUnknownLengthInChunks() throws Exception {
+    KeepAliveSocketPool pool = startDaemon(Mode.KEEP_ALIVE, 5);
+    byte[] archive = new byte[200_000];
+    new Random(1).nextBytes(archive);
+
+    try (DockerConnection connection =
+        new UnixSocketConnection(pool)
+            .method("PUT")
+            .path("/containers/abc/archive")
+            .entity(new ByteArrayInputStream(archive))) {
+      final DockerResponse response = connection.request();
+      assertEquals(response.getStatus(), 200);
+      ByteStreams.toByteArray(response.getInputStream());
+    }
+
+    assertEquals(daemon.getLastRequestBody(), archive);
+    // socket is kept alive after the chunked request
+    assertEquals(inspect(pool, true), StandInDockerDaemon.BODY);
+    assertEquals(daemon.getAcceptedConnections(), 1);
+  }
+
+  private KeepAliveSocketPool startDaemon(Mode mode, int maxIdle) throws IOException {
+    daemon = new StandInDockerDaemon(mode);
+    return new KeepAliveSocketPool(daemon.socketFactory(), maxIdle, 60_000);
+  }
+
+  /** Sends inspect request and optionally reads response body. */
+  static String inspect(KeepAliveSocketPool pool, boolean readBody) throws IOException {
+    try (DockerConnection connection =
+        new UnixSocketConnection(pool).method("GET").path("/containers/abc/json")) {
+      final DockerResponse response = connection.request();
+      assertEquals(response.getStatus(), 200);
+      if (!readBody) {
+        return null;
+      }
+      return new String(ByteStreams.toByteArray(response.getInputStream()), UTF_8);
+    }
+  }
+}
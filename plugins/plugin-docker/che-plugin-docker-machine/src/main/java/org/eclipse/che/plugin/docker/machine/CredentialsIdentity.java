@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static com.google.common.base.Strings.nullToEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.util.Map;
+import java.util.TreeMap;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfig;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+
+/**
+ * Computes identity of registry credentials, so that results of registry operations performed with
+ * credentials of one user are not reused for a user with different credentials.
+ *
+ * <p>Identity is a hash of all the registries, user names and passwords, it is empty when there
+ * are no credentials.
+ */
+final class CredentialsIdentity {
+
+  static String of(@Nullable AuthConfigs authConfigs) {
+    if (authConfigs == null
+        || authConfigs.getConfigs() == null
+        || authConfigs.getConfigs().isEmpty()) {
+      return "";
+    }
+    final Hasher hasher = Hashing.sha256().newHasher();
+    for (Map.Entry<String, AuthConfig> entry :
+        new TreeMap<>(authConfigs.getConfigs()).entrySet()) {
+      hasher.putString(nullToEmpty(entry.getKey()), UTF_8).putByte((byte) 0);
+      final AuthConfig authConfig = entry.getValue();
+      if (authConfig != null) {
+        hasher
+            .putString(nullToEmpty(authConfig.getUsername()), UTF_8)
+            .putByte((byte) 0)
+            .putString(nullToEmpty(authConfig.getPassword()), UTF_8);
+      }
+      hasher.putByte((byte) 0);
+    }
+    return hasher.hash().toString();
+  }
+
+  private CredentialsIdentity() {}
+}
@@ -11,15 +11,20 @@
 package org.eclipse.che.plugin.docker.machine;
 
 import static java.lang.String.format;
+import static org.eclipse.che.plugin.docker.client.DockerRegistryAuthResolver.DEFAULT_REGISTRY_SYNONYMS;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHINE_SNAPSHOT_PREFIX;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.assistedinject.Assisted;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -52,6 +57,7 @@ import org.eclipse.che.plugin.docker.client.params.PutResourceParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
+import org.eclipse.che.plugin.docker.client.params.StopContainerParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -93,6 +99,7 @@ public class DockerInstance extends AbstractInstance {
   private final DockerMachineFactory dockerMachineFactory;
   private final String container;
   private final DockerConnector docker;
+  private final DockerStateCache stateCache;
   private final String image;
   private final LineConsumer outputConsumer;
   private final String registry;
@@ -102,6 +109,8 @@ public class DockerInstance extends AbstractInstance {
   private final DockerInstanceProcessesCleaner processesCleaner;
   private final ConcurrentHashMap<Integer, InstanceProcess> machineProcesses;
   private final boolean snapshotUseRegistry;
+  private final boolean layeredSnapshots;
+  private final long stopGracePeriodSec;
   private final MachineRuntimeInfoImpl machineRuntime;
 
   @Inject
@@ -117,12 +126,16 @@ public class DockerInstance extends AbstractInstance {
       @Assisted LineConsumer outputConsumer,
       DockerInstanceStopDetector dockerInstanceStopDetector,
       DockerInstanceProcessesCleaner processesCleaner,
-      @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry)
+      DockerStateCache stateCache,
+      @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry,
+      @Named("che.docker.registry_for_snapshots.layered") boolean layeredSnapshots,
+      @Named("che.docker.stop_grace_period_sec") long stopGracePeriodSec)
       throws MachineException {
     super(machine);
     this.dockerMachineFactory = dockerMachineFactory;
     this.container = container;
     this.docker = dockerProvider.get();
+    this.stateCache = stateCache;
     this.image = image;
     this.outputConsumer = outputConsumer;
     this.registry = registry;
@@ -133,6 +146,9 @@ public class DockerInstance extends AbstractInstance {
     this.machineProcesses = new ConcurrentHashMap<>();
     processesCleaner.trackProcesses(this);
     this.snapshotUseRegistry = snapshotUseRegistry;
+    // docker hub API removes snapshots by repository, so each of them needs its own repository
+    this.layeredSnapshots = layeredSnapshots && !DEFAULT_REGISTRY_SYNONYMS.contains(registry);
+    this.stopGracePeriodSec = stopGracePeriodSec;
     this.machineRuntime = doGetRuntime();
   }
 
@@ -207,16 +223,29 @@ public class DockerInstance extends AbstractInstance {
   @Override
   public MachineSource saveToSnapshot() throws MachineException {
     try {
-      String image = generateRepository();
       if (!snapshotUseRegistry) {
+        String image = generateRepository();
         commitContainer(image, LATEST_TAG);
         return new DockerMachineSource(image).withTag(LATEST_TAG);
       }
 
-      PushParams pushParams = PushParams.create(image).withRegistry(registry).withTag(LATEST_TAG);
+      // Commit adds the changes made since the container was started from the previous snapshot
+      // as a single layer on top of it. When all the snapshots of the workspace are pushed to the
+      // same repository, registry already has the layers of the previous snapshot, so only the
+      // new layer is uploaded and then downloaded on restore.
+      final String image;
+      final String tag;
+      if (layeredSnapshots) {
+        image = generateWorkspaceRepository();
+        tag = NameGenerator.generate(null, 16);
+      } else {
+        image = generateRepository();
+        tag = LATEST_TAG;
+      }
+      PushParams pushParams = PushParams.create(image).withRegistry(registry).withTag(tag);
 
       final String fullRepo = pushParams.getFullRepo();
-      commitContainer(fullRepo, LATEST_TAG);
+      commitContainer(fullRepo, tag);
       //TODO fix this workaround. Docker image is not visible after commit when using swarm
       Thread.sleep(2000);
       final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
@@ -229,11 +258,11 @@ public class DockerInstance extends AbstractInstance {
                 } catch (IOException ignored) {
                 }
               });
-      docker.removeImage(RemoveImageParams.create(fullRepo).withForce(false));
+      docker.removeImage(RemoveImageParams.create(fullRepo + ':' + tag).withForce(false));
       return new DockerMachineSource(image)
           .withRegistry(registry)
           .withDigest(digest)
-          .withTag(LATEST_TAG);
+          .withTag(tag);
     } catch (IOException ioEx) {
       throw new MachineException(ioEx);
     } catch (InterruptedException e) {
@@ -263,6 +292,16 @@ public class DockerInstance extends AbstractInstance {
     return MACHINE_SNAPSHOT_PREFIX + NameGenerator.generate(null, 16);
   }
 
+  /** Returns repository shared by all the snapshots of the workspace of this machine. */
+  private String generateWorkspaceRepository() {
+    final String repository =
+        MACHINE_SNAPSHOT_PREFIX + getWorkspaceId().toLowerCase().replaceAll("[^a-z0-9]", "");
+    if (registryNamespace != null) {
+      return registryNamespace + '/' + repository;
+    }
+    return repository;
+  }
+
   @Override
   public void destroy() throws MachineException {
     try {
@@ -278,6 +317,9 @@ public class DockerInstance extends AbstractInstance {
         node.unbindWorkspace();
       }
 
+      if (stopGracePeriodSec > 0) {
+        stopContainer();
+      }
       // kill container is not needed here, because we removing container with force flag
       docker.removeContainer(
           RemoveContainerParams.create(container).withRemoveVolumes(true).withForce(true));
@@ -293,6 +335,16 @@ public class DockerInstance extends AbstractInstance {
     }
   }
 
+  /** Lets processes of the container finish before it is killed by forced removal. */
+  private void stopContainer() {
+    try {
+      docker.stopContainer(
+          StopContainerParams.create(container).withTimeout(stopGracePeriodSec, TimeUnit.SECONDS));
+    } catch (IOException e) {
+      LOG.warn("Unable to stop container '{}'. Error: {}", container, e.getLocalizedMessage());
+    }
+  }
+
   @Override
   public DockerNode getNode() {
     return node;
@@ -347,6 +399,16 @@ public class DockerInstance extends AbstractInstance {
     return content;
   }
 
+  /**
+   * Copies files from the source machine into this one.
+   *
+   * <p>Archive of the files is streamed from one container to another without storing it, and the
+   * source container is read no faster than the target one accepts the data. Progress of large
+   * copies is written to the output of this machine. Copying is cancelled by interruption of the
+   * calling thread.
+   *
+   * <p>{@inheritDoc}
+   */
   @Override
   public void copy(
       Instance sourceMachine, String sourcePath, String targetPath, boolean overwriteDirNonDir)
@@ -355,13 +417,14 @@ public class DockerInstance extends AbstractInstance {
       throw new MachineException("Unsupported copying between not docker machines");
     }
     try {
+      final InputStream archive =
+          new CopyProgressInputStream(
+              docker.getResource(
+                  GetResourceParams.create(((DockerInstance) sourceMachine).container, sourcePath)),
+              format("Copying '%s' from machine '%s'", sourcePath, sourceMachine.getId()),
+              outputConsumer);
       docker.putResource(
-          PutResourceParams.create(
-                  container,
-                  targetPath,
-                  docker.getResource(
-                      GetResourceParams.create(
-                          ((DockerInstance) sourceMachine).container, sourcePath)))
+          PutResourceParams.create(container, targetPath, archive)
               .withNoOverwriteDirNonDir(overwriteDirNonDir));
     } catch (IOException e) {
       throw new MachineException(e.getLocalizedMessage());
@@ -392,11 +455,66 @@ public class DockerInstance extends AbstractInstance {
     return container;
   }
 
+  /** Reports progress of copying and stops it when the copying thread is interrupted. */
+  private static class CopyProgressInputStream extends FilterInputStream {
+    private static final long REPORT_STEP_BYTES = 64 * 1024 * 1024;
+
+    private final String description;
+    private final LineConsumer output;
+
+    private long copied;
+    private long nextReport;
+
+    CopyProgressInputStream(InputStream in, String description, LineConsumer output) {
+      super(in);
+      this.description = description;
+      this.output = output;
+      this.nextReport = REPORT_STEP_BYTES;
+    }
+
+    @Override
+    public int read() throws IOException {
+      checkInterrupted();
+      final int b = super.read();
+      if (b != -1) {
+        copied(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      checkInterrupted();
+      final int n = super.read(b, off, len);
+      if (n > 0) {
+        copied(n);
+      }
+      return n;
+    }
+
+    private void checkInterrupted() throws InterruptedIOException {
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedIOException(description + " was interrupted");
+      }
+    }
+
+    private void copied(int bytes) {
+      copied += bytes;
+      if (copied >= nextReport) {
+        nextReport += REPORT_STEP_BYTES;
+        try {
+          output.writeLine(format("%s: %d MB copied", description, copied >> 20));
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
   private MachineRuntimeInfoImpl doGetRuntime() throws MachineException {
     try {
       return new MachineRuntimeInfoImpl(
           dockerMachineFactory.createMetadata(
-              docker.inspectContainer(container), getConfig(), node.getHost()));
+              stateCache.inspectContainer(container), getConfig(), node.getHost()));
     } catch (IOException x) {
       throw new MachineException(x.getMessage(), x);
     }
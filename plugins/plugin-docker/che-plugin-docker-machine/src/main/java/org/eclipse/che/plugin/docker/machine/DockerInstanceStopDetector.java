@@ -36,7 +36,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Track docker containers events to detect containers stop or failure.
+ * Track docker containers events to detect containers stop or failure. Also passes the events of
+ * containers, images and networks to {@link DockerStateCache} to keep it up to date.
  *
  * @author Alexander Garagatyi
  */
@@ -44,8 +45,15 @@ import org.slf4j.LoggerFactory;
 public class DockerInstanceStopDetector {
   private static final Logger LOG = LoggerFactory.getLogger(DockerInstanceStopDetector.class);
 
+  /** Events which change state of containers, images and networks, including die and oom. */
+  private static final String[] EVENTS = {
+    "create", "start", "die", "oom", "destroy", "rename", "pause", "unpause", "update",
+    "pull", "tag", "untag", "delete", "import", "load", "connect", "disconnect"
+  };
+
   private final EventService eventService;
   private final DockerConnector dockerConnector;
+  private final DockerStateCache stateCache;
   private final ExecutorService executorService;
   private final Map<String, Pair<String, String>> instances;
   /*
@@ -66,9 +74,12 @@ public class DockerInstanceStopDetector {
 
   @Inject
   public DockerInstanceStopDetector(
-      EventService eventService, DockerConnectorProvider dockerConnectorProvider) {
+      EventService eventService,
+      DockerConnectorProvider dockerConnectorProvider,
+      DockerStateCache stateCache) {
     this.eventService = eventService;
     this.dockerConnector = dockerConnectorProvider.get();
+    this.stateCache = stateCache;
     this.instances = new ConcurrentHashMap<>();
     this.containersOomTimestamps =
         CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).build();
@@ -111,12 +122,14 @@ public class DockerInstanceStopDetector {
               dockerConnector.getEvents(
                   GetEventsParams.create()
                       .withSinceSecond(lastProcessedEventDate)
-                      .withFilters(new Filters().withFilter("event", "die", "oom")),
+                      .withFilters(new Filters().withFilter("event", EVENTS)),
                   new EventsProcessor());
             } catch (IOException e) {
               // usually connection timeout
               LOG.debug(e.getLocalizedMessage(), e);
             }
+            // events might be missed until the stream is reopened
+            stateCache.invalidateAll();
           }
         });
   }
@@ -124,6 +137,7 @@ public class DockerInstanceStopDetector {
   private class EventsProcessor implements MessageProcessor<Event> {
     @Override
     public void process(Event message) {
+      stateCache.onEvent(message);
       if (message.getType() != null && !"container".equals(message.getType())) {
         // this check is added because of bug in the docker swarm which do not filter events
         // in case of new response format of 'get events' we should skip all not filtered by swarm event types
@@ -17,6 +17,7 @@ import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 import java.util.Set;
 import org.eclipse.che.api.core.model.machine.ServerConf;
+import org.eclipse.che.api.core.util.StatisticsProvider;
 import org.eclipse.che.api.environment.server.TypeSpecificEnvironmentParser;
 import org.eclipse.che.plugin.docker.machine.cleaner.AppStatesPreferenceCleaner;
 import org.eclipse.che.plugin.docker.machine.parser.DockerImageEnvironmentParser;
@@ -35,6 +36,7 @@ public class DockerMachineModule extends AbstractModule {
         org.eclipse.che.plugin.docker.machine.cleaner
             .RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber.class);
     bind(AppStatesPreferenceCleaner.class);
+    bind(WarmImagePool.class);
 
     @SuppressWarnings("unused")
     Multibinder<String> devMachineEnvVars =
@@ -98,5 +100,9 @@ public class DockerMachineModule extends AbstractModule {
         .addBinding()
         .toProvider(
             org.eclipse.che.plugin.docker.machine.DockerExtraHostsFromPropertyProvider.class);
+
+    Multibinder.newSetBinder(binder(), StatisticsProvider.class)
+        .addBinding()
+        .to(DockerStatisticsProvider.class);
   }
 }
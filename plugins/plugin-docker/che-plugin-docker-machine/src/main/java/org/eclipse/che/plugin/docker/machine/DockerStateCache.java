@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+
+/**
+ * Node-local cache of the inspections of docker containers and images, which lets frequent reads of
+ * that state be served from memory instead of docker daemon.
+ *
+ * <p>The state is loaded from docker daemon on the first read and kept until docker reports a
+ * change of it. Events of docker daemon are delivered by {@link DockerInstanceStopDetector}, which
+ * already listens to them: an event of a container drops the inspection of the container, an event
+ * of an image drops all the inspected images and an event of a network drops the inspection of the
+ * connected container. A state loaded while an event of the same kind was being processed is not
+ * cached, as it may predate the event. Everything is dropped when the events stream is interrupted,
+ * as the events may be missed.
+ *
+ * <p>Events are delivered asynchronously, so a state changed by docker may be read from this cache
+ * until the event of the change arrives. Reads which must see the result of an operation that was
+ * just performed should go to docker daemon directly. In addition, any cached state is reloaded
+ * after {@code che.docker.state_cache.max_age_sec} seconds, zero disables the cache.
+ *
+ * <p>Lists of containers and networks are not cached and the cache isn't filled up front by list
+ * calls. Lists are read only by periodic cleanups, which should see the actual state rather than
+ * a state which may be that old, and list entries are summaries which can't serve inspections.
+ */
+@Singleton
+public class DockerStateCache {
+
+  private final DockerConnector docker;
+  private final Store<String, ContainerInfo> containers;
+  private final Store<String, ImageInfo> images;
+  private final LongAdder hits;
+  private final LongAdder misses;
+
+  @Inject
+  public DockerStateCache(
+      DockerConnectorProvider dockerProvider,
+      @Named("che.docker.state_cache.max_age_sec") long maxAgeSec) {
+    this.docker = dockerProvider.get();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.containers = new Store<>(maxAgeSec, 1000);
+    this.images = new Store<>(maxAgeSec, 1000);
+  }
+
+  /**
+   * Returns detailed information about the container.
+   *
+   * @param container id or name of the container
+   * @throws IOException when docker daemon fails to inspect the container
+   * @see DockerConnector#inspectContainer(String)
+   */
+  public ContainerInfo inspectContainer(String container) throws IOException {
+    return containers.get(container, () -> docker.inspectContainer(container));
+  }
+
+  /**
+   * Returns detailed information about the image.
+   *
+   * @param image id or reference of the image
+   * @throws IOException when docker daemon fails to inspect the image
+   * @see DockerConnector#inspectImage(String)
+   */
+  public ImageInfo inspectImage(String image) throws IOException {
+    return images.get(image, () -> docker.inspectImage(image));
+  }
+
+  /** Drops the state which is changed by the given docker event. */
+  public void onEvent(Event event) {
+    final String action = firstNonNull(event.getAction(), firstNonNull(event.getStatus(), ""));
+    final Map<String, String> attributes =
+        event.getActor() == null || event.getActor().getAttributes() == null
+            ? Collections.emptyMap()
+            : event.getActor().getAttributes();
+    final String id = event.getActor() == null ? event.getId() : event.getActor().getId();
+    String type = event.getType();
+    if (type == null) {
+      // events of the old format are sent for containers and images only,
+      // only events of containers have the image they were created from
+      type = event.getFrom() != null ? "container" : "image";
+    }
+    switch (type) {
+      case "container":
+        if (!"oom".equals(action)) {
+          invalidateContainer(id);
+        }
+        break;
+      case "image":
+        images.invalidateAll();
+        break;
+      case "network":
+        invalidateContainer(attributes.get("container"));
+        break;
+      default:
+        // other objects are not cached
+    }
+  }
+
+  /** Drops all the cached state. */
+  public void invalidateAll() {
+    containers.invalidateAll();
+    images.invalidateAll();
+  }
+
+  /** Returns number of reads served from memory. */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /** Returns number of reads which went to docker daemon. */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  private void invalidateContainer(String id) {
+    if (id != null) {
+      // container may be inspected by its name too
+      containers.invalidateIf((key, info) -> id.equals(key) || id.equals(info.getId()));
+    }
+  }
+
+  private interface Loader<V> {
+    V load() throws IOException;
+  }
+
+  /** Cached state of one kind, see {@link DockerStateCache} for the invalidation rules. */
+  private class Store<K, V> {
+    private final Cache<K, V> entries;
+    private final AtomicLong generation;
+    private final boolean enabled;
+
+    Store(long maxAgeSec, long maxSize) {
+      this.entries =
+          CacheBuilder.newBuilder()
+              .expireAfterWrite(maxAgeSec, TimeUnit.SECONDS)
+              .maximumSize(maxSize)
+              .build();
+      this.generation = new AtomicLong();
+      this.enabled = maxAgeSec > 0;
+    }
+
+    V get(K key, Loader<V> loader) throws IOException {
+      final V cached = entries.getIfPresent(key);
+      if (cached != null) {
+        hits.increment();
+        return cached;
+      }
+      misses.increment();
+      final long loadGeneration = generation.get();
+      final V loaded = loader.load();
+      if (enabled && loaded != null) {
+        entries.put(key, loaded);
+        // the state might be changed while it was loaded, drop it then
+        if (generation.get() != loadGeneration) {
+          entries.invalidate(key);
+        }
+      }
+      return loaded;
+    }
+
+    void invalidateIf(BiPredicate<K, V> predicate) {
+      generation.incrementAndGet();
+      entries.asMap().entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue()));
+    }
+
+    void invalidateAll() {
+      generation.incrementAndGet();
+      entries.invalidateAll();
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.util.StatisticsProvider;
+
+/**
+ * Reports statistics of docker machines infrastructure, e.g. {@code pulls.avoided} which is the
+ * number of pulls skipped by {@link ImageDigestPullPolicy} or {@code pulls.joined} which is the
+ * number of requests which shared a pull started by {@link ImagePullCoordinator}, or {@code
+ * state_cache.hits} which is the number of reads served by {@link DockerStateCache}.
+ */
+@Singleton
+public class DockerStatisticsProvider implements StatisticsProvider {
+
+  private final ImageDigestPullPolicy pullPolicy;
+  private final ImagePullCoordinator pullCoordinator;
+  private final DockerStateCache stateCache;
+
+  @Inject
+  public DockerStatisticsProvider(
+      ImageDigestPullPolicy pullPolicy,
+      ImagePullCoordinator pullCoordinator,
+      DockerStateCache stateCache) {
+    this.pullPolicy = pullPolicy;
+    this.pullCoordinator = pullCoordinator;
+    this.stateCache = stateCache;
+  }
+
+  @Override
+  public String getName() {
+    return "docker";
+  }
+
+  @Override
+  public Map<String, Long> getStatistics() {
+    final Map<String, Long> result = new LinkedHashMap<>();
+    result.put("pulls.avoided", pullPolicy.getPullsAvoided());
+    result.put("pulls.required", pullPolicy.getPullsRequired());
+    result.put("pulls.digest_checks_failed", pullPolicy.getChecksFailed());
+    result.put("pulls.started", pullCoordinator.getPullsStarted());
+    result.put("pulls.joined", pullCoordinator.getPullsJoined());
+    result.put("state_cache.hits", stateCache.getHits());
+    result.put("state_cache.misses", stateCache.getMisses());
+    return result;
+  }
+}
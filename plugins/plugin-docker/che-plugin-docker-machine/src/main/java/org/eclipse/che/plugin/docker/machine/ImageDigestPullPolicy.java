@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.plugin.docker.client.DockerRegistryClient;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides whether an image which exists locally has to be pulled again, when {@code
+ * che.docker.always_pull_image} is enabled.
+ *
+ * <p>Local image is up to date when its {@code RepoDigests} contain the digest of the manifest
+ * which the tag points to in the registry. The digest is resolved with a HEAD request to the
+ * registry with the credentials of the caller and cached per image, tag and {@link
+ * CredentialsIdentity credentials} for {@code che.docker.always_pull_image.digest_ttl_sec} seconds,
+ * so a digest resolved for one user never lets a pull be skipped for a user whose credentials
+ * weren't checked by the registry. Image referenced by digest is up to date as soon as it exists
+ * locally. If anything goes wrong, the image is considered outdated, so it is pulled as before.
+ */
+@Singleton
+public class ImageDigestPullPolicy {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ImageDigestPullPolicy.class);
+
+  private final DockerStateCache stateCache;
+  private final DockerRegistryClient registryClient;
+  private final boolean enabled;
+  private final Cache<String, String> remoteDigests;
+  private final LongAdder pullsAvoided;
+  private final LongAdder pullsRequired;
+  private final LongAdder checksFailed;
+
+  @Inject
+  public ImageDigestPullPolicy(
+      DockerStateCache stateCache,
+      DockerRegistryClient registryClient,
+      @Named("che.docker.always_pull_image.check_digest") boolean enabled,
+      @Named("che.docker.always_pull_image.digest_ttl_sec") long digestTtlSec) {
+    this.stateCache = stateCache;
+    this.registryClient = registryClient;
+    this.enabled = enabled;
+    this.remoteDigests =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(digestTtlSec, TimeUnit.SECONDS)
+            .maximumSize(1000)
+            .build();
+    this.pullsAvoided = new LongAdder();
+    this.pullsRequired = new LongAdder();
+    this.checksFailed = new LongAdder();
+  }
+
+  /**
+   * Returns true if the local copy of the given image matches the image in the registry, so it
+   * doesn't have to be pulled.
+   *
+   * @param source image to check
+   * @param authConfigs credentials for the registry of the image
+   */
+  public boolean isUpToDate(DockerMachineSource source, @Nullable AuthConfigs authConfigs) {
+    if (!enabled) {
+      return false;
+    }
+    final String image = source.getLocation();
+    try {
+      final String expectedDigest;
+      if (source.getDigest() != null) {
+        expectedDigest = source.getDigest();
+      } else {
+        final String tag = firstNonNull(source.getTag(), LATEST_TAG);
+        final String key =
+            (source.getTag() == null ? image + ':' + tag : image)
+                + '#'
+                + CredentialsIdentity.of(authConfigs);
+        expectedDigest =
+            remoteDigests.get(key, () -> resolveRemoteDigest(source, tag, authConfigs));
+      }
+      if (hasDigest(stateCache.inspectImage(image), expectedDigest)) {
+        pullsAvoided.increment();
+        LOG.debug("Image '{}' matches registry digest '{}', pull skipped", image, expectedDigest);
+        return true;
+      }
+      pullsRequired.increment();
+      return false;
+    } catch (ImageNotFoundException x) {
+      pullsRequired.increment();
+      return false;
+    } catch (ExecutionException x) {
+      checksFailed.increment();
+      LOG.warn(
+          "Failed to check digest of image '{}'. Error: {}", image, x.getCause().getMessage());
+      return false;
+    } catch (IOException | RuntimeException x) {
+      checksFailed.increment();
+      LOG.warn("Failed to check digest of image '{}'. Error: {}", image, x.getMessage());
+      return false;
+    }
+  }
+
+  /** Returns number of pulls which were skipped because local image matched the registry one. */
+  public long getPullsAvoided() {
+    return pullsAvoided.sum();
+  }
+
+  /** Returns number of pulls which were performed because local image was outdated. */
+  public long getPullsRequired() {
+    return pullsRequired.sum();
+  }
+
+  /** Returns number of checks which failed, each of them caused a pull. */
+  public long getChecksFailed() {
+    return checksFailed.sum();
+  }
+
+  private String resolveRemoteDigest(
+      DockerMachineSource source, String tag, @Nullable AuthConfigs authConfigs)
+      throws IOException {
+    final String digest =
+        registryClient.getManifestDigest(
+            source.getRegistry(), source.getRepository(), tag, authConfigs);
+    if (digest == null) {
+      throw new IOException("Registry didn't report manifest digest");
+    }
+    return digest;
+  }
+
+  private static boolean hasDigest(ImageInfo imageInfo, String digest) {
+    if (imageInfo.getRepoDigests() != null) {
+      for (String repoDigest : imageInfo.getRepoDigests()) {
+        if (repoDigest.endsWith('@' + digest)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps at most one pull of each image in progress, so concurrent starts of workspaces which use
+ * the same image don't make docker daemon pull it several times.
+ *
+ * <p>The first request for an image starts the pull, requests for the same image which come while
+ * it is in progress join it. Each joined request receives the latest status of every layer and
+ * then all the further progress, and completes or fails together with the pull. The pull runs in a
+ * separate thread, so interruption of one request doesn't affect the others.
+ *
+ * <p>Pull is identified by registry, repository and tag of the image and by the {@link
+ * CredentialsIdentity credentials} of the request, so only requests with the same credentials
+ * share a pull and nobody gets an image which the registry wouldn't give them.
+ */
+@Singleton
+public class ImagePullCoordinator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ImagePullCoordinator.class);
+
+  private final DockerConnector docker;
+  private final ExecutorService executor;
+  private final ConcurrentMap<String, InFlightPull> pulls;
+  private final LongAdder pullsStarted;
+  private final LongAdder pullsJoined;
+
+  @Inject
+  public ImagePullCoordinator(DockerConnectorProvider dockerProvider) {
+    this.docker = dockerProvider.get();
+    this.pulls = new ConcurrentHashMap<>();
+    this.pullsStarted = new LongAdder();
+    this.pullsJoined = new LongAdder();
+    this.executor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("ImagePullCoordinator-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Pulls the image, or waits for the pull of the same image which is already in progress.
+   *
+   * @param params parameters of the pull
+   * @param progressMonitor receives progress of the pull
+   * @throws IOException when the pull fails or waiting for it is interrupted
+   */
+  public void pull(PullParams params, ProgressMonitor progressMonitor) throws IOException {
+    final String image = params.getFullRepo() + ':' + firstNonNull(params.getTag(), LATEST_TAG);
+    final String key = pullKey(params);
+    final InFlightPull newPull = new InFlightPull();
+    InFlightPull pull = pulls.putIfAbsent(key, newPull);
+    if (pull == null) {
+      pull = newPull;
+      pull.subscribe(progressMonitor);
+      pullsStarted.increment();
+      executor.execute(() -> doPull(key, newPull, params));
+    } else {
+      pullsJoined.increment();
+      LOG.debug("Joining pull of image '{}' which is already in progress", image);
+      pull.subscribe(progressMonitor);
+    }
+    try {
+      pull.await();
+    } finally {
+      pull.unsubscribe(progressMonitor);
+    }
+  }
+
+  /** Returns number of pulls started by this coordinator. */
+  public long getPullsStarted() {
+    return pullsStarted.sum();
+  }
+
+  /** Returns number of requests which joined a pull already in progress. */
+  public long getPullsJoined() {
+    return pullsJoined.sum();
+  }
+
+  @VisibleForTesting
+  boolean isPullInProgress(PullParams params) {
+    return pulls.containsKey(pullKey(params));
+  }
+
+  @PreDestroy
+  private void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static String pullKey(PullParams params) {
+    return params.getFullRepo()
+        + ':'
+        + firstNonNull(params.getTag(), LATEST_TAG)
+        + '#'
+        + CredentialsIdentity.of(params.getAuthConfigs());
+  }
+
+  private void doPull(String key, InFlightPull pull, PullParams params) {
+    Throwable error = null;
+    try {
+      docker.pull(params, pull);
+    } catch (IOException | RuntimeException x) {
+      error = x;
+    } finally {
+      // requests which come after this point start a new pull
+      pulls.remove(key, pull);
+    }
+    if (error == null) {
+      pull.result.complete(null);
+    } else {
+      pull.result.completeExceptionally(error);
+    }
+  }
+
+  /** Pull in progress, it passes progress to all the subscribed monitors. */
+  private static class InFlightPull implements ProgressMonitor {
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    private final List<ProgressMonitor> subscribers = new CopyOnWriteArrayList<>();
+    private final Map<String, ProgressStatus> layerStatuses = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void updateProgress(ProgressStatus status) {
+      if (status.getId() != null) {
+        layerStatuses.put(status.getId(), status);
+      }
+      for (ProgressMonitor subscriber : subscribers) {
+        notify(subscriber, status);
+      }
+    }
+
+    synchronized void subscribe(ProgressMonitor subscriber) {
+      for (ProgressStatus status : layerStatuses.values()) {
+        notify(subscriber, status);
+      }
+      subscribers.add(subscriber);
+    }
+
+    void unsubscribe(ProgressMonitor subscriber) {
+      subscribers.remove(subscriber);
+    }
+
+    void await() throws IOException {
+      try {
+        result.get();
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+        throw new DockerException("Docker image pulling was interrupted", 500);
+      } catch (ExecutionException x) {
+        final Throwable cause = x.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new IOException(cause.getMessage(), cause);
+      }
+    }
+
+    private static void notify(ProgressMonitor subscriber, ProgressStatus status) {
+      try {
+        subscriber.updateProgress(status);
+      } catch (RuntimeException x) {
+        // one broken monitor must not break the pull for the others
+        LOG.warn("Failed to pass progress of image pull. Error: {}", x.getMessage());
+      }
+    }
+  }
+}
@@ -12,18 +12,27 @@ package org.eclipse.che.plugin.docker.machine;
 
 import static java.lang.String.format;
 import static java.lang.Thread.sleep;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.CONTAINER_CREATE;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.CONTAINER_START;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.IMAGE_PREPARE;
 import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.FileWriter;
@@ -36,12 +45,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Pattern;
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
@@ -65,6 +78,7 @@ import org.eclipse.che.api.machine.server.model.impl.MachineLimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineLogMessageImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.Size;
@@ -75,6 +89,7 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.exception.ContainerNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.NetworkNotFoundException;
@@ -82,8 +97,10 @@ import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
 import org.eclipse.che.plugin.docker.client.json.Filters;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
+import org.eclipse.che.plugin.docker.client.json.Image;
 import org.eclipse.che.plugin.docker.client.json.ImageConfig;
 import org.eclipse.che.plugin.docker.client.json.PortBinding;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.eclipse.che.plugin.docker.client.json.Volume;
 import org.eclipse.che.plugin.docker.client.json.container.NetworkingConfig;
 import org.eclipse.che.plugin.docker.client.json.network.ConnectContainer;
@@ -109,6 +126,7 @@ import org.slf4j.Logger;
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class MachineProviderImpl implements MachineInstanceProvider {
   private static final Logger LOG = getLogger(MachineProviderImpl.class);
 
@@ -118,6 +136,11 @@ public class MachineProviderImpl implements MachineInstanceProvider {
   public static final Pattern SNAPSHOT_LOCATION_PATTERN =
       Pattern.compile("(.+/)?" + MACHINE_SNAPSHOT_PREFIX + ".+");
 
+  /** Repository of the images kept to be reused by the builds with the same inputs. */
+  static final String BUILD_CACHE_REPOSITORY = "eclipse-che/build-cache";
+
+  private static final int BUILD_CACHE_MAX_SIZE = 100;
+
   static final String CONTAINER_EXITED_ERROR =
       "We detected that a machine exited unexpectedly. "
           + "This may be caused by a container in interactive mode "
@@ -150,6 +173,10 @@ public class MachineProviderImpl implements MachineInstanceProvider {
   private final DockerInstanceStopDetector dockerInstanceStopDetector;
   private final RequestTransmitter transmitter;
   private final JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder;
+  private final StartTimelineRecorder timelineRecorder;
+  private final WarmImagePool warmImagePool;
+  private final ImageDigestPullPolicy digestPullPolicy;
+  private final ImagePullCoordinator pullCoordinator;
   private final boolean doForcePullImage;
   private final boolean privilegedMode;
   private final int pidsLimit;
@@ -172,6 +199,8 @@ public class MachineProviderImpl implements MachineInstanceProvider {
   private final WindowsPathEscaper windowsPathEscaper;
   private final String[] dnsResolvers;
   private final Map<String, String> buildArgs;
+  private final boolean buildCacheEnabled;
+  private final Cache<String, String> builtImages;
 
   @Inject
   public MachineProviderImpl(
@@ -181,6 +210,10 @@ public class MachineProviderImpl implements MachineInstanceProvider {
       DockerInstanceStopDetector dockerInstanceStopDetector,
       RequestTransmitter transmitter,
       JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder,
+      StartTimelineRecorder timelineRecorder,
+      WarmImagePool warmImagePool,
+      ImageDigestPullPolicy digestPullPolicy,
+      ImagePullCoordinator pullCoordinator,
       @Named("machine.docker.dev_machine.machine_servers") Set<ServerConf> devMachineServers,
       @Named("machine.docker.machine_servers") Set<ServerConf> allMachinesServers,
       @Named("machine.docker.dev_machine.machine_volumes") Set<String> devMachineSystemVolumes,
@@ -201,7 +234,8 @@ public class MachineProviderImpl implements MachineInstanceProvider {
       WindowsPathEscaper windowsPathEscaper,
       @Named("che.docker.extra_hosts") Set<Set<String>> additionalHosts,
       @Nullable @Named("che.docker.dns_resolvers") String[] dnsResolvers,
-      @Named("che.docker.build_args") Map<String, String> buildArgs)
+      @Named("che.docker.build_args") Map<String, String> buildArgs,
+      @Named("che.docker.build_cache.max_age_min") long buildCacheMaxAgeMin)
       throws IOException {
     this.docker = dockerProvider.get();
     this.dockerCredentials = dockerCredentials;
@@ -221,6 +255,10 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     //  we calculate this field as memorySwap=memory * (1 + multiplier) so we just add 1 to multiplier
     this.memorySwapMultiplier = memorySwapMultiplier == -1 ? -1 : memorySwapMultiplier + 1;
     this.jsonRpcEndpointToMachineNameHolder = jsonRpcEndpointToMachineNameHolder;
+    this.timelineRecorder = timelineRecorder;
+    this.warmImagePool = warmImagePool;
+    this.digestPullPolicy = digestPullPolicy;
+    this.pullCoordinator = pullCoordinator;
     this.networkDriver = networkDriver;
     this.parentCgroup = parentCgroup;
     this.cpusetCpus = cpusetCpus;
@@ -230,6 +268,18 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     this.pidsLimit = pidsLimit;
     this.dnsResolvers = dnsResolvers;
     this.buildArgs = buildArgs;
+    this.buildCacheEnabled = buildCacheMaxAgeMin > 0;
+    this.builtImages =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(Math.max(buildCacheMaxAgeMin, 0), TimeUnit.MINUTES)
+            .maximumSize(BUILD_CACHE_MAX_SIZE)
+            .removalListener(
+                (RemovalNotification<String, String> notification) -> {
+                  if (notification.wasEvicted()) {
+                    removeBuildCacheImage(notification.getKey());
+                  }
+                })
+            .build();
 
     allMachinesSystemVolumes = removeEmptyAndNullValues(allMachinesSystemVolumes);
     devMachineSystemVolumes = removeEmptyAndNullValues(devMachineSystemVolumes);
@@ -347,15 +397,28 @@ public class MachineProviderImpl implements MachineInstanceProvider {
 
     String container = null;
     try {
-      String image = prepareImage(machineName, service, progressMonitor);
+      String image;
+      try (@SuppressWarnings("unused")
+          StartTimelineRecorder.Phase p =
+              timelineRecorder.phase(workspaceId, IMAGE_PREPARE, machineName)) {
+        image = prepareImage(machineName, service, progressMonitor);
+      }
 
-      container = createContainer(workspaceId, machineName, isDev, image, networkName, service);
+      try (@SuppressWarnings("unused")
+          StartTimelineRecorder.Phase p =
+              timelineRecorder.phase(workspaceId, CONTAINER_CREATE, machineName)) {
+        container = createContainer(workspaceId, machineName, isDev, image, networkName, service);
+      }
 
-      connectContainerToAdditionalNetworks(container, service);
+      try (@SuppressWarnings("unused")
+          StartTimelineRecorder.Phase p =
+              timelineRecorder.phase(workspaceId, CONTAINER_START, machineName)) {
+        connectContainerToAdditionalNetworks(container, service);
 
-      docker.startContainer(StartContainerParams.create(container));
+        docker.startContainer(StartContainerParams.create(container));
 
-      checkContainerIsRunning(container);
+        checkContainerIsRunning(container);
+      }
 
       readContainerLogsInSeparateThread(container, workspaceId, service.getId(), logger);
 
@@ -455,6 +518,22 @@ public class MachineProviderImpl implements MachineInstanceProvider {
 
     File workDir = null;
     try {
+      Map<String, String> buildArgs;
+      if (service.getBuild().getArgs() == null || service.getBuild().getArgs().isEmpty()) {
+        buildArgs = this.buildArgs;
+      } else {
+        buildArgs = new HashMap<>(this.buildArgs);
+        buildArgs.putAll(service.getBuild().getArgs());
+      }
+      final AuthConfigs credentials = dockerCredentials.getCredentials();
+      final String buildCacheTag = getBuildCacheTag(service, buildArgs, credentials);
+      if (buildCacheTag != null && reuseBuiltImage(buildCacheTag, machineImageName)) {
+        final ProgressStatus status = new ProgressStatus();
+        status.setStream("Recipe is not changed since the last build, reusing the built image\n");
+        progressMonitor.updateProgress(status);
+        return;
+      }
+
       BuildImageParams buildImageParams;
       if (service.getBuild() != null && service.getBuild().getDockerfileContent() != null) {
 
@@ -470,17 +549,10 @@ public class MachineProviderImpl implements MachineInstanceProvider {
             BuildImageParams.create(service.getBuild().getContext())
                 .withDockerfile(service.getBuild().getDockerfilePath());
       }
-      Map<String, String> buildArgs;
-      if (service.getBuild().getArgs() == null || service.getBuild().getArgs().isEmpty()) {
-        buildArgs = this.buildArgs;
-      } else {
-        buildArgs = new HashMap<>(this.buildArgs);
-        buildArgs.putAll(service.getBuild().getArgs());
-      }
       buildImageParams
           .withForceRemoveIntermediateContainers(true)
           .withRepository(machineImageName)
-          .withAuthConfigs(dockerCredentials.getCredentials())
+          .withAuthConfigs(credentials)
           .withDoForcePull(doForcePullOnBuild)
           .withMemoryLimit(service.getMemLimit())
           .withMemorySwapLimit(-1)
@@ -489,7 +561,10 @@ public class MachineProviderImpl implements MachineInstanceProvider {
           .withCpuQuota(cpuQuota)
           .withBuildArgs(buildArgs);
 
-      docker.buildImage(buildImageParams, progressMonitor);
+      final String imageId = docker.buildImage(buildImageParams, progressMonitor);
+      if (buildCacheTag != null) {
+        cacheBuiltImage(buildCacheTag, imageId);
+      }
     } catch (IOException e) {
       throw new MachineException(e.getLocalizedMessage(), e);
     } finally {
@@ -499,6 +574,102 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     }
   }
 
+  /**
+   * Returns tag of the build cache image which is a hash of the recipe, the build arguments and the
+   * registry credentials, or null if the build cache is disabled or the build context isn't known
+   * to Che, e.g. it is a remote repository. Credentials are a part of the tag as they are per user,
+   * so the image built from base images of one user's private registry is not reused for the user
+   * who has no access to them.
+   */
+  private String getBuildCacheTag(
+      CheServiceImpl service, Map<String, String> buildArgs, AuthConfigs credentials) {
+    if (!buildCacheEnabled || service.getBuild().getDockerfileContent() == null) {
+      return null;
+    }
+    final Hasher hasher =
+        Hashing.sha256().newHasher().putString(service.getBuild().getDockerfileContent(), UTF_8);
+    for (Map.Entry<String, String> buildArg : new TreeMap<>(buildArgs).entrySet()) {
+      hasher
+          .putByte((byte) 0)
+          .putString(buildArg.getKey(), UTF_8)
+          .putByte((byte) 0)
+          .putString(Strings.nullToEmpty(buildArg.getValue()), UTF_8);
+    }
+    hasher.putByte((byte) 0).putString(CredentialsIdentity.of(credentials), UTF_8);
+    return hasher.hash().toString();
+  }
+
+  /** Tags image built with the same inputs as the machine image, returns false if there is none. */
+  private boolean reuseBuiltImage(String buildCacheTag, String machineImageName) {
+    final String imageId = builtImages.getIfPresent(buildCacheTag);
+    if (imageId == null) {
+      return false;
+    }
+    try {
+      docker.tag(TagParams.create(imageId, machineImageName));
+      return true;
+    } catch (ImageNotFoundException e) {
+      builtImages.invalidate(buildCacheTag);
+    } catch (IOException e) {
+      LOG.warn("Unable to reuse built image '{}'. Error: {}", imageId, e.getLocalizedMessage());
+    }
+    return false;
+  }
+
+  /** Keeps built image under the build cache tag, so it outlives the machine it is built for. */
+  private void cacheBuiltImage(String buildCacheTag, String imageId) {
+    try {
+      docker.tag(TagParams.create(imageId, BUILD_CACHE_REPOSITORY).withTag(buildCacheTag));
+      builtImages.put(buildCacheTag, imageId);
+    } catch (IOException e) {
+      LOG.warn("Unable to cache built image '{}'. Error: {}", imageId, e.getLocalizedMessage());
+    }
+  }
+
+  /**
+   * Removes build cache images left by the previous run of Che. Built images are tracked in memory
+   * only, so age of those images isn't known after restart and nothing would remove them otherwise.
+   * It is done even if the build cache is disabled, as it might have been enabled before.
+   */
+  @PostConstruct
+  @VisibleForTesting
+  void removeBuildCacheImagesOfPreviousRun() {
+    final List<Image> images;
+    try {
+      images =
+          docker.listImages(
+              ListImagesParams.create()
+                  .withFilters(
+                      new Filters().withFilter("reference", BUILD_CACHE_REPOSITORY + ":*")));
+    } catch (IOException e) {
+      LOG.warn("Unable to list build cache images. Error: {}", e.getLocalizedMessage());
+      return;
+    }
+    final String prefix = BUILD_CACHE_REPOSITORY + ':';
+    for (Image image : images) {
+      if (image.getRepoTags() == null) {
+        continue;
+      }
+      for (String repoTag : image.getRepoTags()) {
+        if (repoTag.startsWith(prefix)) {
+          removeBuildCacheImage(repoTag.substring(prefix.length()));
+        }
+      }
+    }
+  }
+
+  private void removeBuildCacheImage(String buildCacheTag) {
+    try {
+      docker.removeImage(
+          RemoveImageParams.create(BUILD_CACHE_REPOSITORY + ':' + buildCacheTag).withForce(false));
+    } catch (IOException e) {
+      LOG.warn(
+          "Unable to remove build cache image '{}'. Error: {}",
+          buildCacheTag,
+          e.getLocalizedMessage());
+    }
+  }
+
   /**
    * Pulls docker image for container creation.
    *
@@ -524,14 +695,22 @@ public class MachineProviderImpl implements MachineInstanceProvider {
       boolean isSnapshot =
           SNAPSHOT_LOCATION_PATTERN.matcher(dockerMachineSource.getLocation()).matches();
       boolean isImageExistLocally = isDockerImageExistLocally(dockerMachineSource.getRepository());
-      if ((!isSnapshot && (doForcePullImage || !isImageExistLocally))
+      AuthConfigs authConfigs = dockerCredentials.getCredentials();
+      // images of the warm pool are kept up to date in background
+      boolean doForcePull = doForcePullImage && !warmImagePool.isWarm(dockerMachineSource);
+      if (doForcePull && !isSnapshot && isImageExistLocally) {
+        // local image which matches the one in the registry doesn't need to be pulled again
+        doForcePull = !digestPullPolicy.isUpToDate(dockerMachineSource, authConfigs);
+      }
+      if ((!isSnapshot && (doForcePull || !isImageExistLocally))
           || (isSnapshot && snapshotUseRegistry)) {
         PullParams pullParams =
             PullParams.create(dockerMachineSource.getRepository())
                 .withTag(MoreObjects.firstNonNull(dockerMachineSource.getTag(), LATEST_TAG))
                 .withRegistry(dockerMachineSource.getRegistry())
-                .withAuthConfigs(dockerCredentials.getCredentials());
-        docker.pull(pullParams, progressMonitor);
+                .withAuthConfigs(authConfigs);
+        // concurrent starts of the same image share a single pull
+        pullCoordinator.pull(pullParams, progressMonitor);
       }
 
       String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
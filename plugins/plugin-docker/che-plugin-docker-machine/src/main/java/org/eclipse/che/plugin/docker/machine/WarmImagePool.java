@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps images of the popular stacks pulled and up to date in background, so starts of the
+ * workspaces which use them don't have to wait for the pull even if {@code
+ * che.docker.always_pull_image} is enabled.
+ *
+ * <p>The images of the pool are configured with {@code che.docker.warm_pool.images} and are
+ * re-pulled every {@code che.docker.warm_pool.refresh_period_min} minutes. An image is considered
+ * warm only if its last refresh succeeded and happened within two refresh periods, an image which
+ * failed to refresh is drained from the pool until the next successful refresh, so its next start
+ * pulls it as usual.
+ *
+ * <p>Images are pulled with the credentials configured for the server, not with the credentials of
+ * any particular user.
+ */
+@Singleton
+public class WarmImagePool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WarmImagePool.class);
+
+  private final ImagePullCoordinator pullCoordinator;
+  private final Map<String, DockerMachineSource> images;
+  private final long maxAgeMs;
+  private final ConcurrentMap<String, Long> refreshed;
+
+  @Inject
+  public WarmImagePool(
+      ImagePullCoordinator pullCoordinator,
+      @Nullable @Named("che.docker.warm_pool.images") String[] images,
+      @Named("che.docker.warm_pool.refresh_period_min") long refreshPeriodMin) {
+    this.pullCoordinator = pullCoordinator;
+    this.maxAgeMs = TimeUnit.MINUTES.toMillis(refreshPeriodMin) * 2;
+    this.refreshed = new ConcurrentHashMap<>();
+    final Map<String, DockerMachineSource> sources = new LinkedHashMap<>();
+    if (images != null) {
+      for (String image : images) {
+        if (image.trim().isEmpty()) {
+          continue;
+        }
+        try {
+          final DockerMachineSource source =
+              new DockerMachineSource(new MachineSourceImpl("image").setLocation(image.trim()));
+          sources.put(key(source), source);
+        } catch (MachineException x) {
+          LOG.warn("Image '{}' is ignored by warm pool. Error: {}", image, x.getMessage());
+        }
+      }
+    }
+    this.images = Collections.unmodifiableMap(sources);
+  }
+
+  /** Returns the names of the images kept by this pool. */
+  public Set<String> getImages() {
+    return images.keySet();
+  }
+
+  /**
+   * Returns true if the given image belongs to this pool and it was successfully refreshed
+   * recently, so there is no need to pull it again.
+   */
+  public boolean isWarm(DockerMachineSource source) {
+    final Long refreshTime = refreshed.get(key(source));
+    return refreshTime != null && System.currentTimeMillis() - refreshTime <= maxAgeMs;
+  }
+
+  /** Pulls all the images of the pool, images which can't be pulled are drained from the pool. */
+  @ScheduleRate(
+    periodParameterName = "che.docker.warm_pool.refresh_period_min",
+    initialDelay = 0L,
+    unit = TimeUnit.MINUTES
+  )
+  @VisibleForTesting
+  void refresh() {
+    for (Map.Entry<String, DockerMachineSource> entry : images.entrySet()) {
+      final DockerMachineSource source = entry.getValue();
+      try {
+        pullCoordinator.pull(
+            PullParams.create(source.getRepository())
+                .withTag(firstNonNull(source.getTag(), LATEST_TAG))
+                .withRegistry(source.getRegistry()),
+            ProgressMonitor.DEV_NULL);
+        refreshed.put(entry.getKey(), System.currentTimeMillis());
+      } catch (IOException | RuntimeException x) {
+        refreshed.remove(entry.getKey());
+        LOG.warn(
+            "Failed to refresh image '{}' of warm pool. Error: {}", entry.getKey(), x.getMessage());
+      }
+    }
+  }
+
+  /** Returns registry, repository and tag of the image, which identify it in the pool. */
+  private static String key(DockerMachineSource source) {
+    final String location = source.getLocation(false);
+    return source.getTag() == null ? location + ':' + LATEST_TAG : location;
+  }
+}
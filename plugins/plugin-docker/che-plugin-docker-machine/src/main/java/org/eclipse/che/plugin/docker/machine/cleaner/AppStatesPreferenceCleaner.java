@@ -56,7 +56,7 @@ public class AppStatesPreferenceCleaner implements EventSubscriber<WorkspaceRemo
 
   @PostConstruct
   public void subscribe() {
-    eventService.subscribe(this);
+    eventService.subscribeAsync(this);
   }
 
   @Override
@@ -11,16 +11,23 @@
 package org.eclipse.che.plugin.docker.machine;
 
 import static java.lang.String.format;
+import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHINE_SNAPSHOT_PREFIX;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
@@ -40,9 +47,15 @@ import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
+import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
+import org.eclipse.che.plugin.docker.client.params.PutResourceParams;
+import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
+import org.eclipse.che.plugin.docker.client.params.StopContainerParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -176,6 +189,29 @@ public class DockerInstanceTest {
     verify(outputConsumer).close();
   }
 
+  @Test
+  public void shouldStopContainerWithGracePeriodBeforeRemovalOnDestroy() throws Exception {
+    dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, false, false, 5);
+
+    dockerInstance.destroy();
+
+    final InOrder inOrder = inOrder(dockerConnectorMock);
+    final ArgumentCaptor<StopContainerParams> captor =
+        ArgumentCaptor.forClass(StopContainerParams.class);
+    inOrder.verify(dockerConnectorMock).stopContainer(captor.capture());
+    inOrder.verify(dockerConnectorMock).removeContainer(any(RemoveContainerParams.class));
+    assertEquals(captor.getValue().getContainer(), CONTAINER);
+    assertEquals(captor.getValue().getTimeunit().toSeconds(captor.getValue().getTimeout()), 5);
+  }
+
+  @Test
+  public void shouldRemoveContainerWithoutStopOnDestroyIfGracePeriodIsNotSet() throws Exception {
+    dockerInstance.destroy();
+
+    verify(dockerConnectorMock, never()).stopContainer(any(StopContainerParams.class));
+    verify(dockerConnectorMock).removeContainer(any(RemoveContainerParams.class));
+  }
+
   @Test
   public void shouldSaveDockerInstanceStateIntoRepository() throws Exception {
     final String digest = "image12";
@@ -192,6 +228,94 @@ public class DockerInstanceTest {
     assertEquals(dockerMachineSource.getRegistry(), REGISTRY);
   }
 
+  @Test
+  public void shouldPushLayeredSnapshotsOfWorkspaceIntoTheSameRepository() throws Exception {
+    dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true, true);
+    when(dockerConnectorMock.push(any(PushParams.class), any(ProgressMonitor.class)))
+        .thenReturn("digest1", "digest2");
+
+    final DockerMachineSource first = (DockerMachineSource) dockerInstance.saveToSnapshot();
+    final DockerMachineSource second = (DockerMachineSource) dockerInstance.saveToSnapshot();
+
+    assertEquals(first.getRepository(), MACHINE_SNAPSHOT_PREFIX + WORKSPACE_ID);
+    assertEquals(second.getRepository(), first.getRepository());
+    assertNotEquals(first.getTag(), TAG);
+    assertNotEquals(second.getTag(), first.getTag());
+    assertEquals(second.getDigest(), "digest2");
+    final ArgumentCaptor<PushParams> pushCaptor = ArgumentCaptor.forClass(PushParams.class);
+    verify(dockerConnectorMock, times(2)).push(pushCaptor.capture(), any(ProgressMonitor.class));
+    assertEquals(pushCaptor.getAllValues().get(1).getTag(), second.getTag());
+    final ArgumentCaptor<CommitParams> commitCaptor = ArgumentCaptor.forClass(CommitParams.class);
+    verify(dockerConnectorMock, times(2)).commit(commitCaptor.capture());
+    assertEquals(
+        commitCaptor.getAllValues().get(1).getRepository(),
+        REGISTRY + '/' + MACHINE_SNAPSHOT_PREFIX + WORKSPACE_ID);
+    assertEquals(commitCaptor.getAllValues().get(1).getTag(), second.getTag());
+  }
+
+  @Test
+  public void shouldNotShareRepositoryBetweenSnapshotsInDockerHub() throws Exception {
+    dockerInstance = getDockerInstance(getMachine(), "docker.io", CONTAINER, IMAGE, true, true);
+
+    final DockerMachineSource result = (DockerMachineSource) dockerInstance.saveToSnapshot();
+
+    assertEquals(result.getTag(), TAG);
+    assertNotEquals(result.getRepository(), MACHINE_SNAPSHOT_PREFIX + WORKSPACE_ID);
+  }
+
+  @Test
+  public void shouldStreamFilesFromSourceMachine() throws Exception {
+    final byte[] archive = "archive of files".getBytes();
+    final DockerInstance sourceInstance =
+        getDockerInstance(getMachine(), REGISTRY, "source12", IMAGE, false);
+    when(dockerConnectorMock.getResource(any(GetResourceParams.class)))
+        .thenReturn(new ByteArrayInputStream(archive));
+    final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+    doAnswer(
+            invocation -> {
+              ByteStreams.copy(
+                  ((PutResourceParams) invocation.getArguments()[0]).getSourceStream(), copied);
+              return null;
+            })
+        .when(dockerConnectorMock)
+        .putResource(any(PutResourceParams.class));
+
+    dockerInstance.copy(sourceInstance, "/projects/a", "/projects", false);
+
+    assertEquals(copied.toByteArray(), archive);
+    final ArgumentCaptor<GetResourceParams> getCaptor =
+        ArgumentCaptor.forClass(GetResourceParams.class);
+    verify(dockerConnectorMock).getResource(getCaptor.capture());
+    assertEquals(getCaptor.getValue().getContainer(), "source12");
+    final ArgumentCaptor<PutResourceParams> putCaptor =
+        ArgumentCaptor.forClass(PutResourceParams.class);
+    verify(dockerConnectorMock).putResource(putCaptor.capture());
+    assertEquals(putCaptor.getValue().getContainer(), CONTAINER);
+  }
+
+  @Test(expectedExceptions = MachineException.class)
+  public void shouldStopCopyingWhenThreadIsInterrupted() throws Exception {
+    final DockerInstance sourceInstance =
+        getDockerInstance(getMachine(), REGISTRY, "source12", IMAGE, false);
+    when(dockerConnectorMock.getResource(any(GetResourceParams.class)))
+        .thenReturn(new ByteArrayInputStream(new byte[1024]));
+    doAnswer(
+            invocation -> {
+              ByteStreams.toByteArray(
+                  ((PutResourceParams) invocation.getArguments()[0]).getSourceStream());
+              return null;
+            })
+        .when(dockerConnectorMock)
+        .putResource(any(PutResourceParams.class));
+
+    Thread.currentThread().interrupt();
+    try {
+      dockerInstance.copy(sourceInstance, "/projects/a", "/projects", false);
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
   @Test(expectedExceptions = MachineException.class)
   public void shouldThrowMachineExceptionWhenDockerCommitFailed() throws Exception {
     when(dockerConnectorMock.commit(any(CommitParams.class))).thenThrow(new IOException("err"));
@@ -215,6 +339,30 @@ public class DockerInstanceTest {
   private DockerInstance getDockerInstance(
       Machine machine, String registry, String container, String image, boolean snapshotUseRegistry)
       throws MachineException {
+    return getDockerInstance(machine, registry, container, image, snapshotUseRegistry, false);
+  }
+
+  private DockerInstance getDockerInstance(
+      Machine machine,
+      String registry,
+      String container,
+      String image,
+      boolean snapshotUseRegistry,
+      boolean layeredSnapshots)
+      throws MachineException {
+    return getDockerInstance(
+        machine, registry, container, image, snapshotUseRegistry, layeredSnapshots, 0);
+  }
+
+  private DockerInstance getDockerInstance(
+      Machine machine,
+      String registry,
+      String container,
+      String image,
+      boolean snapshotUseRegistry,
+      boolean layeredSnapshots,
+      long stopGracePeriodSec)
+      throws MachineException {
     DockerMachineFactory machineFactory = mock(DockerMachineFactory.class);
     when(machineFactory.createMetadata(any(), any(), any()))
         .thenReturn(mock(DockerInstanceRuntimeInfo.class));
@@ -230,7 +378,10 @@ public class DockerInstanceTest {
         outputConsumer,
         dockerInstanceStopDetectorMock,
         mock(DockerInstanceProcessesCleaner.class),
-        snapshotUseRegistry);
+        new DockerStateCache(dockerConnectorProviderMock, 0),
+        snapshotUseRegistry,
+        layeredSnapshots,
+        stopGracePeriodSec);
   }
 
   private Machine getMachine() {
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static java.util.Collections.singletonMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.json.Actor;
+import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link DockerStateCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class DockerStateCacheTest {
+  private static final String CONTAINER_ID = "container123";
+
+  @Mock private DockerConnectorProvider dockerConnectorProvider;
+  @Mock private DockerConnector docker;
+
+  private DockerStateCache cache;
+  private ContainerInfo containerInfo;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(dockerConnectorProvider.get()).thenReturn(docker);
+    cache = new DockerStateCache(dockerConnectorProvider, 300);
+    containerInfo = new ContainerInfo();
+    containerInfo.setId(CONTAINER_ID);
+    when(docker.inspectContainer(anyString())).thenReturn(containerInfo);
+    when(docker.inspectImage(anyString())).thenReturn(new ImageInfo());
+  }
+
+  @Test
+  public void servesRepeatedReadsFromMemory() throws Exception {
+    assertSame(cache.inspectContainer(CONTAINER_ID), containerInfo);
+    assertSame(cache.inspectContainer(CONTAINER_ID), containerInfo);
+    cache.inspectImage("eclipse/ubuntu_jdk8");
+    cache.inspectImage("eclipse/ubuntu_jdk8");
+
+    verify(docker).inspectContainer(CONTAINER_ID);
+    verify(docker).inspectImage("eclipse/ubuntu_jdk8");
+    assertEquals(cache.getHits(), 2);
+    assertEquals(cache.getMisses(), 2);
+  }
+
+  @Test
+  public void containerEventDropsContainerInspectedByIdAndName() throws Exception {
+    cache.inspectContainer(CONTAINER_ID);
+    cache.inspectContainer("name");
+
+    cache.onEvent(new Event().withId(CONTAINER_ID).withFrom("image").withStatus("die"));
+    cache.inspectContainer(CONTAINER_ID);
+    cache.inspectContainer("name");
+
+    verify(docker, times(2)).inspectContainer(CONTAINER_ID);
+    verify(docker, times(2)).inspectContainer("name");
+  }
+
+  @Test
+  public void imageEventDropsImages() throws Exception {
+    cache.inspectImage("eclipse/ubuntu_jdk8");
+    cache.inspectContainer(CONTAINER_ID);
+
+    cache.onEvent(new Event().withId("eclipse/ubuntu_jdk8:latest").withStatus("pull"));
+    cache.inspectImage("eclipse/ubuntu_jdk8");
+    cache.inspectContainer(CONTAINER_ID);
+
+    verify(docker, times(2)).inspectImage("eclipse/ubuntu_jdk8");
+    verify(docker).inspectContainer(CONTAINER_ID);
+  }
+
+  @Test
+  public void networkEventDropsConnectedContainer() throws Exception {
+    cache.inspectContainer(CONTAINER_ID);
+
+    cache.onEvent(
+        new Event()
+            .withType("network")
+            .withAction("connect")
+            .withActor(
+                new Actor()
+                    .withId("network123")
+                    .withAttributes(singletonMap("container", CONTAINER_ID))));
+    cache.inspectContainer(CONTAINER_ID);
+
+    verify(docker, times(2)).inspectContainer(CONTAINER_ID);
+  }
+
+  @Test
+  public void doesNotCacheStateLoadedWhileEventWasProcessed() throws Exception {
+    doAnswer(
+            invocation -> {
+              cache.onEvent(
+                  new Event().withId(CONTAINER_ID).withFrom("image").withStatus("start"));
+              return containerInfo;
+            })
+        .when(docker)
+        .inspectContainer(CONTAINER_ID);
+
+    cache.inspectContainer(CONTAINER_ID);
+    cache.inspectContainer(CONTAINER_ID);
+
+    verify(docker, times(2)).inspectContainer(CONTAINER_ID);
+  }
+
+  @Test
+  public void invalidationDropsEverything() throws Exception {
+    cache.inspectContainer(CONTAINER_ID);
+    cache.inspectImage("eclipse/ubuntu_jdk8");
+
+    cache.invalidateAll();
+    cache.inspectContainer(CONTAINER_ID);
+    cache.inspectImage("eclipse/ubuntu_jdk8");
+
+    verify(docker, times(2)).inspectContainer(CONTAINER_ID);
+    verify(docker, times(2)).inspectImage("eclipse/ubuntu_jdk8");
+  }
+
+  @Test
+  public void zeroMaxAgeDisablesCache() throws Exception {
+    cache = new DockerStateCache(dockerConnectorProvider, 0);
+
+    cache.inspectContainer(CONTAINER_ID);
+    cache.inspectContainer(CONTAINER_ID);
+
+    verify(docker, times(2)).inspectContainer(CONTAINER_ID);
+  }
+}
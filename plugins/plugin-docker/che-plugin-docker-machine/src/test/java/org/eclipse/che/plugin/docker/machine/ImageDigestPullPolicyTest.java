@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.DockerRegistryClient;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfig;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ImageDigestPullPolicy}. */
+@Listeners(MockitoTestNGListener.class)
+public class ImageDigestPullPolicyTest {
+  private static final String DIGEST = "sha256:0123456789abcdef";
+
+  @Mock private DockerConnectorProvider dockerConnectorProvider;
+  @Mock private DockerConnector docker;
+  @Mock private DockerRegistryClient registryClient;
+
+  private ImageDigestPullPolicy policy;
+
+  @BeforeMethod
+  public void setUp() {
+    when(dockerConnectorProvider.get()).thenReturn(docker);
+    policy =
+        new ImageDigestPullPolicy(
+            new DockerStateCache(dockerConnectorProvider, 0), registryClient, true, 60);
+  }
+
+  @Test
+  public void imageIsUpToDateWhenLocalRepoDigestsContainRegistryDigest() throws Exception {
+    when(registryClient.getManifestDigest("registry.com:5000", "stack/node", "6", null))
+        .thenReturn(DIGEST);
+    when(docker.inspectImage("registry.com:5000/stack/node:6"))
+        .thenReturn(imageInfo("registry.com:5000/stack/node@" + DIGEST));
+
+    assertTrue(policy.isUpToDate(source("registry.com:5000/stack/node:6"), null));
+    assertEquals(policy.getPullsAvoided(), 1);
+  }
+
+  @Test
+  public void imageIsOutdatedWhenRegistryDigestDiffers() throws Exception {
+    when(registryClient.getManifestDigest(null, "eclipse/ubuntu_jdk8", "latest", null))
+        .thenReturn(DIGEST);
+    when(docker.inspectImage("eclipse/ubuntu_jdk8"))
+        .thenReturn(imageInfo("eclipse/ubuntu_jdk8@sha256:fedcba9876543210"));
+
+    assertFalse(policy.isUpToDate(source("eclipse/ubuntu_jdk8"), null));
+    assertEquals(policy.getPullsRequired(), 1);
+  }
+
+  @Test
+  public void registryDigestIsCachedPerImageAndTag() throws Exception {
+    when(registryClient.getManifestDigest(null, "eclipse/ubuntu_jdk8", "latest", null))
+        .thenReturn(DIGEST);
+    when(docker.inspectImage(anyString())).thenReturn(imageInfo("eclipse/ubuntu_jdk8@" + DIGEST));
+
+    policy.isUpToDate(source("eclipse/ubuntu_jdk8"), null);
+    policy.isUpToDate(source("eclipse/ubuntu_jdk8:latest"), null);
+
+    verify(registryClient, times(1))
+        .getManifestDigest(null, "eclipse/ubuntu_jdk8", "latest", null);
+    assertEquals(policy.getPullsAvoided(), 2);
+  }
+
+  @Test
+  public void registryDigestIsNotSharedBetweenDifferentCredentials() throws Exception {
+    AuthConfigs alice = authConfigs("alice", "secret");
+    AuthConfigs bob = authConfigs("bob", "password");
+    when(registryClient.getManifestDigest(null, "private/stack", "latest", alice))
+        .thenReturn(DIGEST);
+    when(registryClient.getManifestDigest(null, "private/stack", "latest", bob))
+        .thenThrow(new IOException("unauthorized"));
+    when(docker.inspectImage(anyString())).thenReturn(imageInfo("private/stack@" + DIGEST));
+
+    assertTrue(policy.isUpToDate(source("private/stack"), alice));
+    assertFalse(policy.isUpToDate(source("private/stack"), bob));
+    assertEquals(policy.getChecksFailed(), 1);
+  }
+
+  @Test
+  public void imageReferencedByDigestIsCheckedWithoutRegistry() throws Exception {
+    when(docker.inspectImage("eclipse/ubuntu_jdk8@" + DIGEST))
+        .thenReturn(imageInfo("eclipse/ubuntu_jdk8@" + DIGEST));
+
+    assertTrue(policy.isUpToDate(source("eclipse/ubuntu_jdk8@" + DIGEST), null));
+    verify(registryClient, never()).getManifestDigest(any(), any(), any(), any());
+  }
+
+  @Test
+  public void imageIsOutdatedWhenItDoesNotExistLocally() throws Exception {
+    when(registryClient.getManifestDigest(null, "eclipse/ubuntu_jdk8", "latest", null))
+        .thenReturn(DIGEST);
+    when(docker.inspectImage(anyString())).thenThrow(new ImageNotFoundException("not found"));
+
+    assertFalse(policy.isUpToDate(source("eclipse/ubuntu_jdk8"), null));
+    assertEquals(policy.getPullsRequired(), 1);
+  }
+
+  @Test
+  public void imageIsOutdatedWhenRegistryCanNotBeReached() throws Exception {
+    when(registryClient.getManifestDigest(null, "eclipse/ubuntu_jdk8", "latest", null))
+        .thenThrow(new IOException("connection refused"));
+
+    assertFalse(policy.isUpToDate(source("eclipse/ubuntu_jdk8"), null));
+    assertEquals(policy.getChecksFailed(), 1);
+    verify(docker, never()).inspectImage(anyString());
+  }
+
+  @Test
+  public void imageIsOutdatedWhenCheckIsDisabled() throws Exception {
+    policy =
+        new ImageDigestPullPolicy(
+            new DockerStateCache(dockerConnectorProvider, 0), registryClient, false, 60);
+
+    assertFalse(policy.isUpToDate(source("eclipse/ubuntu_jdk8"), null));
+    verify(registryClient, never()).getManifestDigest(any(), any(), any(), any());
+  }
+
+  private static ImageInfo imageInfo(String... repoDigests) {
+    ImageInfo imageInfo = new ImageInfo();
+    imageInfo.setRepoDigests(repoDigests);
+    return imageInfo;
+  }
+
+  private static AuthConfigs authConfigs(String username, String password) {
+    AuthConfig authConfig = mock(AuthConfig.class);
+    when(authConfig.getUsername()).thenReturn(username);
+    when(authConfig.getPassword()).thenReturn(password);
+    AuthConfigs authConfigs = mock(AuthConfigs.class);
+    when(authConfigs.getConfigs()).thenReturn(ImmutableMap.of("registry.com", authConfig));
+    return authConfigs;
+  }
+
+  private static DockerMachineSource source(String location) throws Exception {
+    return new DockerMachineSource(new MachineSourceImpl("image").setLocation(location));
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfig;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ImagePullCoordinator}. */
+@Listeners(MockitoTestNGListener.class)
+public class ImagePullCoordinatorTest {
+  @Mock private DockerConnectorProvider dockerConnectorProvider;
+  @Mock private DockerConnector docker;
+
+  private ImagePullCoordinator coordinator;
+  private ExecutorService callers;
+  private CountDownLatch pullStarted;
+  private CountDownLatch pullReleased;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(dockerConnectorProvider.get()).thenReturn(docker);
+    coordinator = new ImagePullCoordinator(dockerConnectorProvider);
+    callers = Executors.newCachedThreadPool();
+    pullStarted = new CountDownLatch(1);
+    pullReleased = new CountDownLatch(1);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  public void concurrentPullsOfTheSameImageShareSinglePull() throws Exception {
+    blockPull(null);
+
+    Future<?> first = callers.submit(() -> pull(imageParams(), ProgressMonitor.DEV_NULL));
+    assertTrue(pullStarted.await(10, TimeUnit.SECONDS));
+    Future<?> second = callers.submit(() -> pull(imageParams(), ProgressMonitor.DEV_NULL));
+    awaitJoined(1);
+    pullReleased.countDown();
+
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+    verify(docker, times(1)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    assertEquals(coordinator.getPullsStarted(), 1);
+    assertFalse(coordinator.isPullInProgress(imageParams()));
+  }
+
+  @Test
+  public void pullsWithDifferentCredentialsAreNotShared() throws Exception {
+    blockPull(null);
+    PullParams aliceParams = imageParams().withAuthConfigs(authConfigs("alice", "secret"));
+    PullParams bobParams = imageParams().withAuthConfigs(authConfigs("bob", "password"));
+
+    Future<?> first = callers.submit(() -> pull(aliceParams, ProgressMonitor.DEV_NULL));
+    Future<?> second = callers.submit(() -> pull(bobParams, ProgressMonitor.DEV_NULL));
+    final long deadline = System.currentTimeMillis() + 10_000;
+    while (coordinator.getPullsStarted() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    pullReleased.countDown();
+
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+    verify(docker, times(2)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    assertEquals(coordinator.getPullsJoined(), 0);
+  }
+
+  @Test
+  public void pullsImageAgainAfterPreviousPullCompleted() throws Exception {
+    coordinator.pull(imageParams(), ProgressMonitor.DEV_NULL);
+    coordinator.pull(imageParams(), ProgressMonitor.DEV_NULL);
+
+    verify(docker, times(2)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    assertEquals(coordinator.getPullsJoined(), 0);
+  }
+
+  @Test
+  public void failureOfPullIsPropagatedToAllTheWaiters() throws Exception {
+    IOException error = new IOException("registry is unavailable");
+    blockPull(error);
+
+    Future<?> first = callers.submit(() -> pull(imageParams(), ProgressMonitor.DEV_NULL));
+    assertTrue(pullStarted.await(10, TimeUnit.SECONDS));
+    Future<?> second = callers.submit(() -> pull(imageParams(), ProgressMonitor.DEV_NULL));
+    awaitJoined(1);
+    pullReleased.countDown();
+
+    for (Future<?> caller : new Future<?>[] {first, second}) {
+      try {
+        caller.get(10, TimeUnit.SECONDS);
+        fail("Pull is expected to fail");
+      } catch (ExecutionException x) {
+        assertSame(x.getCause().getCause(), error);
+      }
+    }
+    assertFalse(coordinator.isPullInProgress(imageParams()));
+  }
+
+  @Test
+  public void lateJoinerReceivesLatestStatusOfEachLayer() throws Exception {
+    doAnswer(
+            invocation -> {
+              ProgressMonitor monitor = (ProgressMonitor) invocation.getArguments()[1];
+              monitor.updateProgress(status("layer1", "Downloading"));
+              monitor.updateProgress(status("layer1", "Pull complete"));
+              monitor.updateProgress(status("layer2", "Downloading"));
+              pullStarted.countDown();
+              pullReleased.await();
+              monitor.updateProgress(status("layer2", "Pull complete"));
+              return null;
+            })
+        .when(docker)
+        .pull(any(PullParams.class), any(ProgressMonitor.class));
+    ProgressMonitor lateJoiner = mock(ProgressMonitor.class);
+
+    Future<?> first = callers.submit(() -> pull(imageParams(), ProgressMonitor.DEV_NULL));
+    assertTrue(pullStarted.await(10, TimeUnit.SECONDS));
+    Future<?> second = callers.submit(() -> pull(imageParams(), lateJoiner));
+    awaitJoined(1);
+    pullReleased.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+
+    verify(lateJoiner, times(3)).updateProgress(any(ProgressStatus.class));
+  }
+
+  @Test
+  public void brokenMonitorDoesNotBreakPull() throws Exception {
+    doAnswer(
+            invocation -> {
+              ((ProgressMonitor) invocation.getArguments()[1])
+                  .updateProgress(status("layer1", "Downloading"));
+              return null;
+            })
+        .when(docker)
+        .pull(any(PullParams.class), any(ProgressMonitor.class));
+    ProgressMonitor monitor = mock(ProgressMonitor.class);
+    doAnswer(
+            invocation -> {
+              throw new IllegalStateException("closed");
+            })
+        .when(monitor)
+        .updateProgress(any(ProgressStatus.class));
+
+    coordinator.pull(imageParams(), monitor);
+
+    verify(monitor).updateProgress(any(ProgressStatus.class));
+  }
+
+  private void blockPull(IOException error) throws Exception {
+    doAnswer(
+            invocation -> {
+              pullStarted.countDown();
+              pullReleased.await();
+              if (error != null) {
+                throw error;
+              }
+              return null;
+            })
+        .when(docker)
+        .pull(any(PullParams.class), any(ProgressMonitor.class));
+  }
+
+  private void awaitJoined(long joined) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 10_000;
+    while (coordinator.getPullsJoined() < joined && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(coordinator.getPullsJoined(), joined);
+  }
+
+  private Void pull(PullParams params, ProgressMonitor monitor) throws IOException {
+    coordinator.pull(params, monitor);
+    return null;
+  }
+
+  private static AuthConfigs authConfigs(String username, String password) {
+    AuthConfig authConfig = mock(AuthConfig.class);
+    when(authConfig.getUsername()).thenReturn(username);
+    when(authConfig.getPassword()).thenReturn(password);
+    AuthConfigs authConfigs = mock(AuthConfigs.class);
+    when(authConfigs.getConfigs()).thenReturn(ImmutableMap.of("registry.com:5000", authConfig));
+    return authConfigs;
+  }
+
+  private static PullParams imageParams() {
+    return PullParams.create("stack/node").withTag("6").withRegistry("registry.com:5000");
+  }
+
+  private static ProgressStatus status(String id, String status) {
+    ProgressStatus progressStatus = new ProgressStatus();
+    progressStatus.setId(id);
+    progressStatus.setStatus(status);
+    return progressStatus;
+  }
+}
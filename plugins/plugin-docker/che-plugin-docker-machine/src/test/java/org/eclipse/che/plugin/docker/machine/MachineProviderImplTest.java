@@ -14,6 +14,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.DOCKER_FILE_TYPE;
@@ -24,8 +25,10 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -53,9 +56,11 @@ import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.ServerConf;
 import org.eclipse.che.api.core.util.JsonRpcEndpointToMachineNameHolder;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.environment.server.model.CheServiceBuildContextImpl;
 import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerConfImpl;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.api.machine.server.util.RecipeRetriever;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.os.WindowsPathEscaper;
@@ -65,15 +70,20 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfig;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
 import org.eclipse.che.plugin.docker.client.json.ContainerState;
+import org.eclipse.che.plugin.docker.client.json.Image;
 import org.eclipse.che.plugin.docker.client.json.ImageConfig;
 import org.eclipse.che.plugin.docker.client.json.ImageInfo;
 import org.eclipse.che.plugin.docker.client.json.Volume;
+import org.eclipse.che.plugin.docker.client.params.BuildImageParams;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
 import org.eclipse.che.plugin.docker.client.params.InspectContainerParams;
+import org.eclipse.che.plugin.docker.client.params.ListImagesParams;
 import org.eclipse.che.plugin.docker.client.params.PullParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
@@ -131,6 +141,9 @@ public class MachineProviderImplTest {
 
   @Mock private WindowsPathEscaper pathEscaper;
 
+  @Mock private WarmImagePool warmImagePool;
+  @Mock private ImageDigestPullPolicy digestPullPolicy;
+
   private MachineProviderImpl provider;
 
   private class MockConnectorProvider extends DockerConnectorProvider {
@@ -212,6 +225,51 @@ public class MachineProviderImplTest {
     verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
   }
 
+  @Test
+  public void shouldNotPullDockerImageIfAlwaysPullIsTrueButImageIsWarm() throws Exception {
+    provider = new MachineProviderBuilder().setDoForcePullImage(true).build();
+    doReturn(true).when(provider).isDockerImageExistLocally(anyString());
+    when(warmImagePool.isWarm(any(DockerMachineSource.class))).thenReturn(true);
+
+    createInstanceFromRecipe();
+
+    verify(dockerConnector, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldNotPullDockerImageIfAlwaysPullIsTrueButLocalImageMatchesRegistryDigest()
+      throws Exception {
+    provider = new MachineProviderBuilder().setDoForcePullImage(true).build();
+    doReturn(true).when(provider).isDockerImageExistLocally(anyString());
+    when(digestPullPolicy.isUpToDate(any(DockerMachineSource.class), any())).thenReturn(true);
+
+    createInstanceFromRecipe();
+
+    verify(dockerConnector, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldNotCheckRegistryDigestIfImageDoesNotExistLocally() throws Exception {
+    provider = new MachineProviderBuilder().setDoForcePullImage(true).build();
+    doReturn(false).when(provider).isDockerImageExistLocally(anyString());
+
+    createInstanceFromRecipe();
+
+    verify(digestPullPolicy, never()).isUpToDate(any(DockerMachineSource.class), any());
+    verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldPullWarmDockerImageIfItDoesNotExistLocally() throws Exception {
+    provider = new MachineProviderBuilder().setDoForcePullImage(true).build();
+    doReturn(false).when(provider).isDockerImageExistLocally(anyString());
+    when(warmImagePool.isWarm(any(DockerMachineSource.class))).thenReturn(true);
+
+    createInstanceFromRecipe();
+
+    verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
+  }
+
   @Test
   public void shouldPullDockerImageIfAlwaysPullIsFalseButImageDoesNotExist() throws Exception {
     provider = new MachineProviderBuilder().setDoForcePullImage(false).build();
@@ -314,6 +372,92 @@ public class MachineProviderImplTest {
     assertFalse(imageParams.isForce());
   }
 
+  @Test
+  public void shouldReuseImageBuiltFromTheSameRecipe() throws Exception {
+    provider = new MachineProviderBuilder().setBuildCacheMaxAgeMin(60).build();
+    when(dockerConnector.buildImage(any(BuildImageParams.class), any(ProgressMonitor.class)))
+        .thenReturn("builtImageId");
+
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM codenvy/ubuntu_jdk8"));
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM codenvy/ubuntu_jdk8"));
+
+    verify(dockerConnector).buildImage(any(BuildImageParams.class), any(ProgressMonitor.class));
+    ArgumentCaptor<TagParams> captor = ArgumentCaptor.forClass(TagParams.class);
+    verify(dockerConnector, times(2)).tag(captor.capture());
+    TagParams cacheTag = captor.getAllValues().get(0);
+    assertEquals(cacheTag.getImage(), "builtImageId");
+    assertEquals(cacheTag.getRepository(), MachineProviderImpl.BUILD_CACHE_REPOSITORY);
+    assertEquals(cacheTag.getTag().length(), 64);
+    TagParams machineTag = captor.getAllValues().get(1);
+    assertEquals(machineTag.getImage(), "builtImageId");
+    assertEquals(machineTag.getRepository(), "eclipse-che/cont_name");
+  }
+
+  @Test
+  public void shouldBuildImageAgainIfRecipeIsChanged() throws Exception {
+    provider = new MachineProviderBuilder().setBuildCacheMaxAgeMin(60).build();
+    when(dockerConnector.buildImage(any(BuildImageParams.class), any(ProgressMonitor.class)))
+        .thenReturn("builtImageId");
+    CheServiceImpl changedArgs = createServiceFromDockerfile("FROM codenvy/ubuntu_jdk8");
+    changedArgs.getBuild().setArgs(singletonMap("key", "value"));
+
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM codenvy/ubuntu_jdk8"));
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM codenvy/debian_jdk8"));
+    createInstanceFromSnapshot(changedArgs);
+
+    verify(dockerConnector, times(3))
+        .buildImage(any(BuildImageParams.class), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldNotReuseImageBuiltWithCredentialsOfAnotherUser() throws Exception {
+    provider = new MachineProviderBuilder().setBuildCacheMaxAgeMin(60).build();
+    when(dockerConnector.buildImage(any(BuildImageParams.class), any(ProgressMonitor.class)))
+        .thenReturn("builtImageId");
+    AuthConfigs alice = authConfigs("alice", "secret");
+    AuthConfigs bob = authConfigs("bob", "password");
+    when(credentialsReader.getCredentials()).thenReturn(alice, bob, alice);
+
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM private.registry.com/stack"));
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM private.registry.com/stack"));
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM private.registry.com/stack"));
+
+    ArgumentCaptor<BuildImageParams> captor = ArgumentCaptor.forClass(BuildImageParams.class);
+    verify(dockerConnector, times(2)).buildImage(captor.capture(), any(ProgressMonitor.class));
+    assertEquals(captor.getAllValues().get(0).getAuthConfigs(), alice);
+    assertEquals(captor.getAllValues().get(1).getAuthConfigs(), bob);
+  }
+
+  @Test
+  public void shouldRemoveBuildCacheImagesOfPreviousRun() throws Exception {
+    Image cached = new Image();
+    cached.setRepoTags(
+        new String[] {MachineProviderImpl.BUILD_CACHE_REPOSITORY + ":abc", "eclipse-che/other"});
+    when(dockerConnector.listImages(any(ListImagesParams.class)))
+        .thenReturn(singletonList(cached));
+
+    provider.removeBuildCacheImagesOfPreviousRun();
+
+    ArgumentCaptor<RemoveImageParams> captor = ArgumentCaptor.forClass(RemoveImageParams.class);
+    verify(dockerConnector).removeImage(captor.capture());
+    assertEquals(
+        captor.getValue().getImage(), MachineProviderImpl.BUILD_CACHE_REPOSITORY + ":abc");
+    assertFalse(captor.getValue().isForce());
+  }
+
+  @Test
+  public void shouldNotReuseBuiltImageIfBuildCacheIsDisabled() throws Exception {
+    when(dockerConnector.buildImage(any(BuildImageParams.class), any(ProgressMonitor.class)))
+        .thenReturn("builtImageId");
+
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM codenvy/ubuntu_jdk8"));
+    createInstanceFromSnapshot(createServiceFromDockerfile("FROM codenvy/ubuntu_jdk8"));
+
+    verify(dockerConnector, times(2))
+        .buildImage(any(BuildImageParams.class), any(ProgressMonitor.class));
+    verify(dockerConnector, never()).tag(any(TagParams.class));
+  }
+
   @Test
   public void shouldCreateContainerOnInstanceCreationFromRecipe() throws Exception {
     // when
@@ -1791,6 +1935,22 @@ public class MachineProviderImplTest {
         LineConsumer.DEV_NULL);
   }
 
+  private CheServiceImpl createServiceFromDockerfile(String dockerfileContent) {
+    CheServiceImpl service = createService();
+    service.setImage(null);
+    service.setBuild(new CheServiceBuildContextImpl().withDockerfileContent(dockerfileContent));
+    return service;
+  }
+
+  private static AuthConfigs authConfigs(String username, String password) {
+    AuthConfig authConfig = mock(AuthConfig.class);
+    when(authConfig.getUsername()).thenReturn(username);
+    when(authConfig.getPassword()).thenReturn(password);
+    AuthConfigs authConfigs = mock(AuthConfigs.class);
+    when(authConfigs.getConfigs()).thenReturn(singletonMap("private.registry.com", authConfig));
+    return authConfigs;
+  }
+
   private CheServiceImpl createService() {
     CheServiceImpl service = new CheServiceImpl();
     service.setId("testId");
@@ -1830,6 +1990,7 @@ public class MachineProviderImplTest {
     private long cpuPeriod;
     private long cpuQuota;
     private String[] dnsResolvers;
+    private long buildCacheMaxAgeMin;
 
     public MachineProviderBuilder() {
       devMachineEnvVars = emptySet();
@@ -1937,6 +2098,11 @@ public class MachineProviderImplTest {
       return this;
     }
 
+    public MachineProviderBuilder setBuildCacheMaxAgeMin(long buildCacheMaxAgeMin) {
+      this.buildCacheMaxAgeMin = buildCacheMaxAgeMin;
+      return this;
+    }
+
     MachineProviderImpl build() throws IOException {
       MachineProviderImpl provider =
           spy(
@@ -1947,6 +2113,10 @@ public class MachineProviderImplTest {
                   dockerInstanceStopDetector,
                   transmitter,
                   jsonRpcEndpointToMachineNameHolder,
+                  new StartTimelineRecorder(100),
+                  warmImagePool,
+                  digestPullPolicy,
+                  new ImagePullCoordinator(new MockConnectorProvider()),
                   devMachineServers,
                   allMachineServers,
                   devMachineVolumes,
@@ -1967,7 +2137,8 @@ public class MachineProviderImplTest {
                   pathEscaper,
                   extraHosts,
                   dnsResolvers,
-                  emptyMap()));
+                  emptyMap(),
+                  buildCacheMaxAgeMin));
       doNothing()
           .when(provider)
           .readContainerLogsInSeparateThread(
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link WarmImagePool}. */
+@Listeners(MockitoTestNGListener.class)
+public class WarmImagePoolTest {
+
+  @Mock private DockerConnectorProvider dockerConnectorProvider;
+  @Mock private DockerConnector docker;
+
+  private WarmImagePool pool;
+
+  @BeforeMethod
+  public void setUp() {
+    when(dockerConnectorProvider.get()).thenReturn(docker);
+    pool =
+        new WarmImagePool(
+            new ImagePullCoordinator(dockerConnectorProvider),
+            new String[] {"eclipse/ubuntu_jdk8", " registry.com:5000/stack/node:6 ", ""},
+            60);
+  }
+
+  @Test
+  public void normalizesConfiguredImages() {
+    assertEquals(
+        pool.getImages(),
+        ImmutableSet.of("eclipse/ubuntu_jdk8:latest", "registry.com:5000/stack/node:6"));
+  }
+
+  @Test
+  public void imagesAreWarmOnlyAfterSuccessfulRefresh() throws Exception {
+    assertFalse(pool.isWarm(source("eclipse/ubuntu_jdk8")));
+
+    pool.refresh();
+
+    verify(docker, times(2)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    assertTrue(pool.isWarm(source("eclipse/ubuntu_jdk8")));
+    assertTrue(pool.isWarm(source("eclipse/ubuntu_jdk8:latest")));
+    assertTrue(pool.isWarm(source("registry.com:5000/stack/node:6")));
+    assertFalse(pool.isWarm(source("registry.com:5000/stack/node:7")));
+    assertFalse(pool.isWarm(source("eclipse/centos_jdk8")));
+  }
+
+  @Test
+  public void drainsImageWhichFailedToRefresh() throws Exception {
+    pool.refresh();
+    doThrow(new IOException("registry is unavailable"))
+        .when(docker)
+        .pull(argThat(repository("stack/node")), any(ProgressMonitor.class));
+
+    pool.refresh();
+
+    assertTrue(pool.isWarm(source("eclipse/ubuntu_jdk8")));
+    assertFalse(pool.isWarm(source("registry.com:5000/stack/node:6")));
+  }
+
+  private static DockerMachineSource source(String location) throws Exception {
+    return new DockerMachineSource(new MachineSourceImpl("image").setLocation(location));
+  }
+
+  private static ArgumentMatcher<PullParams> repository(String repository) {
+    return new ArgumentMatcher<PullParams>() {
+      @Override
+      public boolean matches(Object argument) {
+        return argument instanceof PullParams
+            && repository.equals(((PullParams) argument).getImage());
+      }
+    };
+  }
+}
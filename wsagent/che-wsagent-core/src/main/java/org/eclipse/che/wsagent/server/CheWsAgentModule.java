@@ -17,6 +17,8 @@ import org.eclipse.che.ApiEndpointAccessibilityChecker;
 import org.eclipse.che.EventBusURLProvider;
 import org.eclipse.che.UriApiEndpointProvider;
 import org.eclipse.che.UserTokenProvider;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.KeepAliveHttpJsonRequestFactory;
 import org.eclipse.che.inject.DynaModule;
 
 /**
@@ -36,6 +38,7 @@ public class CheWsAgentModule extends AbstractModule {
         .toProvider(EventBusURLProvider.class);
     bind(ApiEndpointAccessibilityChecker.class);
     bind(WsAgentAnalyticsAddresser.class);
+    bind(HttpJsonRequestFactory.class).to(KeepAliveHttpJsonRequestFactory.class);
 
     bind(String.class)
         .annotatedWith(Names.named("wsagent.endpoint"))
@@ -25,6 +25,7 @@ import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.core.db.cache.EntityCache;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
 /**
@@ -35,10 +36,12 @@ import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 @Singleton
 public class JpaAccountDao implements AccountDao {
   private final Provider<EntityManager> managerProvider;
+  private final EntityCache entityCache;
 
   @Inject
-  public JpaAccountDao(Provider<EntityManager> managerProvider) {
+  public JpaAccountDao(Provider<EntityManager> managerProvider, EntityCache entityCache) {
     this.managerProvider = managerProvider;
+    this.entityCache = entityCache;
   }
 
   @Override
@@ -63,16 +66,17 @@ public class JpaAccountDao implements AccountDao {
       throw new ConflictException("Account with such name already exists");
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      entityCache.invalidate(AccountImpl.class, account.getId());
     }
   }
 
   @Override
-  @Transactional
   public AccountImpl getById(String id) throws NotFoundException, ServerException {
     requireNonNull(id, "Required non-null account id");
-    final EntityManager manager = managerProvider.get();
     try {
-      AccountImpl account = manager.find(AccountImpl.class, id);
+      final AccountImpl account =
+          entityCache.get(AccountImpl.class, id, this::doGet, AccountImpl::new);
       if (account == null) {
         throw new NotFoundException(format("Account with id '%s' was not found", id));
       }
@@ -106,9 +110,17 @@ public class JpaAccountDao implements AccountDao {
       doRemove(id);
     } catch (RuntimeException e) {
       throw new ServerException(e.getLocalizedMessage(), e);
+    } finally {
+      entityCache.invalidate(AccountImpl.class, id);
     }
   }
 
+  @Transactional
+  protected AccountImpl doGet(String id) {
+    final AccountImpl account = managerProvider.get().find(AccountImpl.class, id);
+    return account == null ? null : new AccountImpl(account);
+  }
+
   @Transactional
   protected void doCreate(AccountImpl account) {
     managerProvider.get().persist(account);
@@ -10,7 +10,9 @@
  */
 package org.eclipse.che.account.spi.tck.jpa;
 
+import com.google.inject.Inject;
 import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
 import org.eclipse.che.account.spi.AccountDao;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.account.spi.jpa.JpaAccountDao;
@@ -21,7 +23,9 @@ import org.eclipse.che.commons.test.tck.TckModule;
 import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
 import org.eclipse.che.commons.test.tck.repository.JpaTckRepository;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
+import org.eclipse.che.commons.test.tck.repository.TckRepositoryException;
 import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.cache.EntityCache;
 import org.eclipse.che.core.db.h2.jpa.eclipselink.H2ExceptionHandler;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
@@ -43,13 +47,29 @@ public class AccountJpaTckModule extends TckModule {
             .setExceptionHandler(H2ExceptionHandler.class)
             .build());
     bind(DBInitializer.class).asEagerSingleton();
+    // run the tests against the cached lookups
+    bindConstant().annotatedWith(Names.named("db.entity_cache.max_size")).to(100L);
     bind(SchemaInitializer.class)
         .toInstance(new FlywaySchemaInitializer(server.getDataSource(), "che-schema"));
     bind(TckResourcesCleaner.class).toInstance(new H2JpaCleaner(server));
 
     bind(new TypeLiteral<TckRepository<AccountImpl>>() {})
-        .toInstance(new JpaTckRepository<>(AccountImpl.class));
+        .toInstance(new AccountRepository());
 
     bind(AccountDao.class).to(JpaAccountDao.class);
   }
+
+  private static class AccountRepository extends JpaTckRepository<AccountImpl> {
+    @Inject private EntityCache entityCache;
+
+    public AccountRepository() {
+      super(AccountImpl.class);
+    }
+
+    @Override
+    public void removeAll() throws TckRepositoryException {
+      super.removeAll();
+      entityCache.invalidateAll();
+    }
+  }
 }
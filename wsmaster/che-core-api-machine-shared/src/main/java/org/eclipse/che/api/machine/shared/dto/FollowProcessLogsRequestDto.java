@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.machine.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/** Describes the request to stream the logs of the process running in machine. */
+@DTO
+public interface FollowProcessLogsRequestDto {
+  String getMachineId();
+
+  void setMachineId(String machineId);
+
+  FollowProcessLogsRequestDto withMachineId(String machineId);
+
+  int getPid();
+
+  void setPid(int pid);
+
+  FollowProcessLogsRequestDto withPid(int pid);
+
+  /** Returns the number of the last lines of the process logs to send before the new lines. */
+  int getTail();
+
+  void setTail(int tail);
+
+  FollowProcessLogsRequestDto withTail(int tail);
+}
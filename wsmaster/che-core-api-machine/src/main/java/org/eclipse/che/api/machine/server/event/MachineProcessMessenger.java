@@ -53,7 +53,7 @@ public class MachineProcessMessenger implements EventSubscriber<MachineProcessEv
 
   @PostConstruct
   private void subscribe() {
-    eventService.subscribe(this);
+    eventService.subscribeAsync(this);
   }
 
   @PreDestroy
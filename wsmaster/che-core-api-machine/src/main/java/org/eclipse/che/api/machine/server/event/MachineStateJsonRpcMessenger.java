@@ -93,7 +93,7 @@ public class MachineStateJsonRpcMessenger implements EventSubscriber<MachineStat
 
   @PostConstruct
   private void subscribe() {
-    eventService.subscribe(this);
+    eventService.subscribeAsync(this);
   }
 
   @PreDestroy
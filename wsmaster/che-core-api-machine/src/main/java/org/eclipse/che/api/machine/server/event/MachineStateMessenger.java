@@ -56,7 +56,7 @@ public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent
 
   @PostConstruct
   private void subscribe() {
-    eventService.subscribe(this);
+    eventService.subscribeAsync(this);
   }
 
   @PreDestroy
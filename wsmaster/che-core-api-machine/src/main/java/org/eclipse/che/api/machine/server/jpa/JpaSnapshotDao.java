@@ -14,6 +14,7 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import javax.inject.Inject;
@@ -91,6 +92,25 @@ public class JpaSnapshotDao implements SnapshotDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<SnapshotImpl> findSnapshotsByWorkspaces(Collection<String> workspaceIds)
+      throws SnapshotException {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    if (workspaceIds.isEmpty()) {
+      return new ArrayList<>();
+    }
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery("Snapshot.findByWorkspaces", SnapshotImpl.class)
+          .setParameter("workspaceIds", workspaceIds)
+          .getResultList();
+    } catch (RuntimeException x) {
+      throw new SnapshotException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   public void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
     requireNonNull(snapshot, "Required non-null snapshot");
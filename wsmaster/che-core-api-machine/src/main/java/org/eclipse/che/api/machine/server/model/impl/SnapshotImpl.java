@@ -45,6 +45,13 @@ import org.eclipse.che.commons.lang.NameGenerator;
     query =
         "SELECT snapshot " + "FROM Snapshot snapshot " + "WHERE snapshot.workspaceId = :workspaceId"
   ),
+  @NamedQuery(
+    name = "Snapshot.findByWorkspaces",
+    query =
+        "SELECT snapshot "
+            + "FROM Snapshot snapshot "
+            + "WHERE snapshot.workspaceId IN :workspaceIds"
+  ),
   @NamedQuery(
     name = "Snapshot.findByWorkspaceAndEnvironment",
     query =
@@ -66,6 +66,18 @@ public interface SnapshotDao {
    */
   List<SnapshotImpl> findSnapshots(String workspaceId) throws SnapshotException;
 
+  /**
+   * Finds snapshots of all the given workspaces with a single lookup.
+   *
+   * @param workspaceIds identifiers of workspaces specified in desired snapshots
+   * @return list of snapshots related to any of the given workspaces, or empty list if no desired
+   *     snapshots found
+   * @throws NullPointerException when {@code workspaceIds} is null
+   * @throws SnapshotException if error occurs
+   */
+  List<SnapshotImpl> findSnapshotsByWorkspaces(Collection<String> workspaceIds)
+      throws SnapshotException;
+
   /**
    * Remove snapshot by id
    *
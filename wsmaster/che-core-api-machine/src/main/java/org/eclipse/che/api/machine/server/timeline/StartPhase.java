@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.machine.server.timeline;
+
+import java.util.Objects;
+
+/**
+ * A single named phase of a workspace start recorded by {@link StartTimelineRecorder}.
+ *
+ * <p>Phases may overlap, e.g. a machine start phase contains the image preparation phase of the
+ * same machine, and machines of the same level are started concurrently.
+ */
+public class StartPhase {
+
+  private final String name;
+  private final String machineName;
+  private final long startOffsetMs;
+  private final long durationMs;
+
+  public StartPhase(String name, String machineName, long startOffsetMs, long durationMs) {
+    this.name = name;
+    this.machineName = machineName;
+    this.startOffsetMs = startOffsetMs;
+    this.durationMs = durationMs;
+  }
+
+  /** Returns the name of the phase, e.g. {@value StartTimelineRecorder#IMAGE_PREPARE}. */
+  public String getName() {
+    return name;
+  }
+
+  /** Returns the name of the machine the phase belongs to or null if it is environment-wide. */
+  public String getMachineName() {
+    return machineName;
+  }
+
+  /** Returns the time in milliseconds passed from the start of the workspace to the phase. */
+  public long getStartOffsetMs() {
+    return startOffsetMs;
+  }
+
+  /** Returns the duration of the phase in milliseconds. */
+  public long getDurationMs() {
+    return durationMs;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof StartPhase)) {
+      return false;
+    }
+    final StartPhase that = (StartPhase) obj;
+    return startOffsetMs == that.startOffsetMs
+        && durationMs == that.durationMs
+        && Objects.equals(name, that.name)
+        && Objects.equals(machineName, that.machineName);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, machineName, startOffsetMs, durationMs);
+  }
+
+  @Override
+  public String toString() {
+    return "StartPhase{"
+        + "name='"
+        + name
+        + '\''
+        + ", machineName='"
+        + machineName
+        + '\''
+        + ", startOffsetMs="
+        + startOffsetMs
+        + ", durationMs="
+        + durationMs
+        + '}';
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.machine.server.timeline;
+
+/**
+ * Duration percentiles of a single kind of workspace start phase, calculated by {@link
+ * StartTimelineRecorder} over the most recent successful starts.
+ */
+public class StartPhaseStatistics {
+
+  private final String phase;
+  private final long count;
+  private final long p50Ms;
+  private final long p90Ms;
+  private final long p99Ms;
+  private final long maxMs;
+
+  StartPhaseStatistics(String phase, long count, long p50Ms, long p90Ms, long p99Ms, long maxMs) {
+    this.phase = phase;
+    this.count = count;
+    this.p50Ms = p50Ms;
+    this.p90Ms = p90Ms;
+    this.p99Ms = p99Ms;
+    this.maxMs = maxMs;
+  }
+
+  /** Returns the name of the phase. */
+  public String getPhase() {
+    return phase;
+  }
+
+  /** Returns the total number of recorded samples, including ones outside of the window. */
+  public long getCount() {
+    return count;
+  }
+
+  /** Returns the median duration in milliseconds. */
+  public long getP50Ms() {
+    return p50Ms;
+  }
+
+  /** Returns the 90th percentile of the duration in milliseconds. */
+  public long getP90Ms() {
+    return p90Ms;
+  }
+
+  /** Returns the 99th percentile of the duration in milliseconds. */
+  public long getP99Ms() {
+    return p99Ms;
+  }
+
+  /** Returns the maximum duration in milliseconds. */
+  public long getMaxMs() {
+    return maxMs;
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.machine.server.timeline;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Records the timeline of named phases of each workspace start and aggregates durations of the
+ * phases of successful starts into percentiles.
+ *
+ * <p>The timeline of a workspace is opened with {@link #begin(String)} and closed with {@link
+ * #complete(String, boolean)}, components participating in the start record their phases with
+ * {@link #phase(String, String, String)}:
+ *
+ * <pre>{@code
+ * try (StartTimelineRecorder.Phase ignored = recorder.phase(workspaceId, IMAGE_PREPARE, machine)) {
+ *   pullImage(...);
+ * }
+ * }</pre>
+ *
+ * Phases recorded for the workspace which is not starting are ignored, so it is safe to record
+ * them for machines started separately from workspaces. The timeline of the last start of the
+ * workspace is kept until the next start, only {@value #MAX_TIMELINES} most recently started
+ * workspaces are kept.
+ *
+ * <p>The percentiles are calculated over the configured number of the most recent samples of each
+ * phase.
+ */
+@Singleton
+public class StartTimelineRecorder {
+
+  /** Parsing and provisioning of the environment, downloading of its recipes. */
+  public static final String ENVIRONMENT_INIT = "environment.init";
+  /** Creation of the network of the environment. */
+  public static final String NETWORK_CREATE = "network.create";
+  /** The whole start of a machine, from the creation of its instance until it is running. */
+  public static final String MACHINE_START = "machine.start";
+  /** Pulling or building of the image of a machine. */
+  public static final String IMAGE_PREPARE = "image.prepare";
+  /** Creation of the container of a machine. */
+  public static final String CONTAINER_CREATE = "container.create";
+  /** Start of the container of a machine including connection to the additional networks. */
+  public static final String CONTAINER_START = "container.start";
+  /** Launching of all the agents of a machine. */
+  public static final String AGENTS_LAUNCH = "agents.launch";
+  /** Prefix of the phase of a single agent launch, followed by the id of the agent. */
+  public static final String AGENT_LAUNCH_PREFIX = "agent.";
+  /** The whole start of the workspace. */
+  public static final String TOTAL = "total";
+
+  static final int MAX_TIMELINES = 1000;
+
+  private static final Phase NOOP_PHASE = new Phase(null, null, null, 0);
+
+  private final int samplesCount;
+  private final ConcurrentMap<String, Timeline> timelines;
+  private final ConcurrentMap<String, SamplesWindow> samples;
+
+  /**
+   * Creates recorder.
+   *
+   * @param samplesCount the number of the most recent durations of each phase the percentiles are
+   *     calculated over
+   */
+  @Inject
+  public StartTimelineRecorder(@Named("che.workspace.start_timeline.samples") int samplesCount) {
+    if (samplesCount <= 0) {
+      throw new IllegalArgumentException("Samples count must be positive, got " + samplesCount);
+    }
+    this.samplesCount = samplesCount;
+    this.timelines =
+        CacheBuilder.newBuilder().maximumSize(MAX_TIMELINES).<String, Timeline>build().asMap();
+    this.samples = new ConcurrentHashMap<>();
+  }
+
+  /** Opens the new timeline of the workspace start, discards the previous one if present. */
+  public void begin(String workspaceId) {
+    timelines.put(workspaceId, new Timeline(System.nanoTime()));
+  }
+
+  /**
+   * Starts the phase of the workspace start, the phase is recorded once it is {@link Phase#close()
+   * closed}.
+   *
+   * @param workspaceId the id of the starting workspace
+   * @param name the name of the phase
+   * @param machineName the name of the machine the phase belongs to or null if the phase is
+   *     environment-wide
+   * @return the started phase
+   */
+  public Phase phase(String workspaceId, String name, String machineName) {
+    final Timeline timeline = timelines.get(workspaceId);
+    if (timeline == null || timeline.completed) {
+      return NOOP_PHASE;
+    }
+    return new Phase(timeline, name, machineName, System.nanoTime());
+  }
+
+  /**
+   * Closes the timeline of the workspace start adding the {@value #TOTAL} phase to it. Durations of
+   * the phases of successful starts are added to the statistics.
+   *
+   * @param workspaceId the id of the started workspace
+   * @param succeeded whether workspace successfully started or not
+   * @return the phases of the start in order of their completion or an empty list if there is no
+   *     open timeline for the workspace
+   */
+  public List<StartPhase> complete(String workspaceId, boolean succeeded) {
+    final Timeline timeline = timelines.get(workspaceId);
+    if (timeline == null || timeline.completed) {
+      return emptyList();
+    }
+    timeline.completed = true;
+    timeline.add(
+        new StartPhase(
+            TOTAL, null, 0, NANOSECONDS.toMillis(System.nanoTime() - timeline.startNanos)));
+    final List<StartPhase> phases = timeline.getPhases();
+    if (succeeded) {
+      for (StartPhase phase : phases) {
+        samples
+            .computeIfAbsent(phase.getName(), name -> new SamplesWindow(samplesCount))
+            .add(phase.getDurationMs());
+      }
+    }
+    return phases;
+  }
+
+  /**
+   * Returns the phases of the last start of the workspace in order of their completion, the
+   * returned list is empty if the workspace wasn't started since this component was created.
+   */
+  public List<StartPhase> getTimeline(String workspaceId) {
+    final Timeline timeline = timelines.get(workspaceId);
+    return timeline == null ? emptyList() : timeline.getPhases();
+  }
+
+  /** Returns the duration percentiles of the phases of successful workspace starts. */
+  public List<StartPhaseStatistics> getStatistics() {
+    final List<StartPhaseStatistics> statistics = new ArrayList<>(samples.size());
+    for (Map.Entry<String, SamplesWindow> entry : samples.entrySet()) {
+      statistics.add(entry.getValue().getStatistics(entry.getKey()));
+    }
+    statistics.sort((s1, s2) -> s1.getPhase().compareTo(s2.getPhase()));
+    return statistics;
+  }
+
+  /** The phase of the workspace start which is recorded when closed. */
+  public static class Phase implements AutoCloseable {
+
+    private final Timeline timeline;
+    private final String name;
+    private final String machineName;
+    private final long startNanos;
+
+    private Phase(Timeline timeline, String name, String machineName, long startNanos) {
+      this.timeline = timeline;
+      this.name = name;
+      this.machineName = machineName;
+      this.startNanos = startNanos;
+    }
+
+    @Override
+    public void close() {
+      if (timeline != null && !timeline.completed) {
+        timeline.add(
+            new StartPhase(
+                name,
+                machineName,
+                NANOSECONDS.toMillis(startNanos - timeline.startNanos),
+                NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+      }
+    }
+  }
+
+  private static class Timeline {
+    final long startNanos;
+    final List<StartPhase> phases;
+
+    volatile boolean completed;
+
+    Timeline(long startNanos) {
+      this.startNanos = startNanos;
+      this.phases = new ArrayList<>();
+    }
+
+    synchronized void add(StartPhase phase) {
+      phases.add(phase);
+    }
+
+    synchronized List<StartPhase> getPhases() {
+      return new ArrayList<>(phases);
+    }
+  }
+
+  /** Keeps the given number of the most recent samples. */
+  private static class SamplesWindow {
+    final long[] window;
+
+    long count;
+
+    SamplesWindow(int size) {
+      this.window = new long[size];
+    }
+
+    synchronized void add(long sample) {
+      window[(int) (count++ % window.length)] = sample;
+    }
+
+    synchronized StartPhaseStatistics getStatistics(String phase) {
+      final long[] sorted = Arrays.copyOf(window, (int) Math.min(count, window.length));
+      Arrays.sort(sorted);
+      return new StartPhaseStatistics(
+          phase,
+          count,
+          percentile(sorted, 50),
+          percentile(sorted, 90),
+          percentile(sorted, 99),
+          sorted[sorted.length - 1]);
+    }
+
+    /** Nearest-rank percentile of the sorted non-empty array. */
+    static long percentile(long[] sorted, int percent) {
+      final int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+      return sorted[Math.max(rank, 1) - 1];
+    }
+  }
+}
@@ -11,8 +11,10 @@
 package org.eclipse.che.api.machine.server.spi.tck;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import com.google.common.collect.Sets;
@@ -151,6 +153,25 @@ public class SnapshotDaoTest {
     snapshotDao.findSnapshots(null);
   }
 
+  @Test
+  public void shouldFindSnapshotsOfSeveralWorkspaces() throws Exception {
+    final List<SnapshotImpl> found =
+        snapshotDao.findSnapshotsByWorkspaces(
+            asList(workspaces[0].getId(), workspaces[1].getId(), "non-existing-workspace"));
+
+    assertEquals(new HashSet<>(found), new HashSet<>(asList(snapshots)));
+  }
+
+  @Test
+  public void shouldReturnEmptyListWhenSearchingSnapshotsOfNoWorkspaces() throws Exception {
+    assertTrue(snapshotDao.findSnapshotsByWorkspaces(emptyList()).isEmpty());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeWhenSearchingSnapshotsByNullWorkspaceIds() throws Exception {
+    snapshotDao.findSnapshotsByWorkspaces(null);
+  }
+
   @Test(dependsOnMethods = "shouldGetSnapshotById")
   public void shouldSaveSnapshot() throws Exception {
     final SnapshotImpl newSnapshot =
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.machine.server.timeline;
+
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.IMAGE_PREPARE;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.TOTAL;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link StartTimelineRecorder}. */
+public class StartTimelineRecorderTest {
+
+  private StartTimelineRecorder recorder;
+
+  @BeforeMethod
+  public void setUp() {
+    recorder = new StartTimelineRecorder(10);
+  }
+
+  @Test
+  public void recordsPhasesOfWorkspaceStart() throws Exception {
+    recorder.begin("ws1");
+    try (StartTimelineRecorder.Phase ignored = recorder.phase("ws1", IMAGE_PREPARE, "dev")) {
+      Thread.sleep(5);
+    }
+
+    List<StartPhase> timeline = recorder.complete("ws1", true);
+
+    assertEquals(names(timeline), Arrays.asList(IMAGE_PREPARE, TOTAL));
+    assertEquals(timeline.get(0).getMachineName(), "dev");
+    assertTrue(timeline.get(0).getDurationMs() >= 5);
+    assertTrue(timeline.get(1).getDurationMs() >= timeline.get(0).getDurationMs());
+    assertEquals(recorder.getTimeline("ws1"), timeline);
+  }
+
+  @Test
+  public void ignoresPhasesOfWorkspaceWhichIsNotStarting() {
+    recorder.phase("ws1", IMAGE_PREPARE, "dev").close();
+    recorder.begin("ws2");
+    recorder.complete("ws2", true);
+    recorder.phase("ws2", IMAGE_PREPARE, "dev").close();
+
+    assertTrue(recorder.getTimeline("ws1").isEmpty());
+    assertEquals(names(recorder.getTimeline("ws2")), Arrays.asList(TOTAL));
+    assertTrue(recorder.complete("ws2", true).isEmpty());
+  }
+
+  @Test
+  public void collectsStatisticsOfSuccessfulStartsOnly() {
+    recorder.begin("ws1");
+    recorder.phase("ws1", IMAGE_PREPARE, "dev").close();
+    recorder.complete("ws1", false);
+    assertTrue(recorder.getStatistics().isEmpty());
+
+    recorder.begin("ws1");
+    recorder.phase("ws1", IMAGE_PREPARE, "dev").close();
+    recorder.complete("ws1", true);
+
+    List<StartPhaseStatistics> statistics = recorder.getStatistics();
+    assertEquals(
+        statistics.stream().map(StartPhaseStatistics::getPhase).collect(toList()),
+        Arrays.asList(IMAGE_PREPARE, TOTAL));
+    assertEquals(statistics.get(0).getCount(), 1);
+  }
+
+  @Test
+  public void calculatesPercentilesOverMostRecentSamples() {
+    // 15 starts with total durations which are not controlled,
+    // so check the invariants of the percentiles only
+    for (int i = 0; i < 15; i++) {
+      recorder.begin("ws" + i);
+      recorder.complete("ws" + i, true);
+    }
+
+    StartPhaseStatistics total = recorder.getStatistics().get(0);
+    assertEquals(total.getPhase(), TOTAL);
+    assertEquals(total.getCount(), 15);
+    assertTrue(total.getP50Ms() <= total.getP90Ms());
+    assertTrue(total.getP90Ms() <= total.getP99Ms());
+    assertTrue(total.getP99Ms() <= total.getMaxMs());
+  }
+
+  private static List<String> names(List<StartPhase> timeline) {
+    return timeline.stream().map(StartPhase::getName).collect(toList());
+  }
+}
@@ -18,6 +18,9 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import javax.inject.Inject;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
@@ -27,6 +30,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.LinkParameter;
+import org.eclipse.che.api.core.util.StatisticsProvider;
 import org.eclipse.che.api.system.shared.dto.SystemStateDto;
 import org.eclipse.che.dto.server.DtoFactory;
 
@@ -40,10 +44,12 @@ import org.eclipse.che.dto.server.DtoFactory;
 public class SystemService extends Service {
 
   private final SystemManager manager;
+  private final Set<StatisticsProvider> statisticsProviders;
 
   @Inject
-  public SystemService(SystemManager manager) {
+  public SystemService(SystemManager manager, Set<StatisticsProvider> statisticsProviders) {
     this.manager = manager;
+    this.statisticsProviders = statisticsProviders;
   }
 
   @POST
@@ -82,4 +88,19 @@ public class SystemService extends Service {
         .withStatus(manager.getSystemStatus())
         .withLinks(singletonList(wsLink));
   }
+
+  @GET
+  @Path("/statistics")
+  @Produces("application/json")
+  @ApiOperation("Gets runtime statistics of system components")
+  @ApiResponses(@ApiResponse(code = 200, message = "The response contains statistics by names"))
+  public Map<String, Long> getStatistics() {
+    final Map<String, Long> statistics = new TreeMap<>();
+    for (StatisticsProvider provider : statisticsProviders) {
+      provider
+          .getStatistics()
+          .forEach((name, value) -> statistics.put(provider.getName() + '.' + name, value));
+    }
+    return statistics;
+  }
 }
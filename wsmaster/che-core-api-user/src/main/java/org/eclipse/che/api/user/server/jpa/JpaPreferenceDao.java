@@ -23,6 +23,7 @@ import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
+import org.eclipse.che.core.db.cache.EntityCache;
 
 /**
  * Implementation of {@link PreferenceDao}.
@@ -33,6 +34,7 @@ import org.eclipse.che.api.user.server.spi.PreferenceDao;
 public class JpaPreferenceDao implements PreferenceDao {
 
   @Inject private Provider<EntityManager> managerProvider;
+  @Inject private EntityCache entityCache;
 
   @Override
   public void setPreferences(String userId, Map<String, String> preferences)
@@ -47,17 +49,17 @@ public class JpaPreferenceDao implements PreferenceDao {
         doSetPreference(prefs);
       } catch (RuntimeException ex) {
         throw new ServerException(ex.getLocalizedMessage(), ex);
+      } finally {
+        entityCache.invalidate(PreferenceEntity.class, userId);
       }
     }
   }
 
   @Override
-  @Transactional
   public Map<String, String> getPreferences(String userId) throws ServerException {
     requireNonNull(userId);
     try {
-      final EntityManager manager = managerProvider.get();
-      final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
+      final PreferenceEntity prefs = find(userId);
       return prefs == null ? new HashMap<>() : prefs.getPreferences();
     } catch (RuntimeException ex) {
       throw new ServerException(ex.getLocalizedMessage(), ex);
@@ -65,13 +67,11 @@ public class JpaPreferenceDao implements PreferenceDao {
   }
 
   @Override
-  @Transactional
   public Map<String, String> getPreferences(String userId, String filter) throws ServerException {
     requireNonNull(userId);
     requireNonNull(filter);
     try {
-      final EntityManager manager = managerProvider.get();
-      final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
+      final PreferenceEntity prefs = find(userId);
       if (prefs == null) {
         return new HashMap<>();
       }
@@ -98,9 +98,22 @@ public class JpaPreferenceDao implements PreferenceDao {
       doRemove(userId);
     } catch (RuntimeException ex) {
       throw new ServerException(ex);
+    } finally {
+      entityCache.invalidate(PreferenceEntity.class, userId);
     }
   }
 
+  /** Returns a copy of the user's preferences or null if the user has no preferences. */
+  private PreferenceEntity find(String userId) {
+    return entityCache.get(PreferenceEntity.class, userId, this::doFind, JpaPreferenceDao::copy);
+  }
+
+  @Transactional
+  protected PreferenceEntity doFind(String userId) {
+    final PreferenceEntity prefs = managerProvider.get().find(PreferenceEntity.class, userId);
+    return prefs == null ? null : copy(prefs);
+  }
+
   @Transactional
   protected void doSetPreference(PreferenceEntity prefs) {
     final EntityManager manager = managerProvider.get();
@@ -122,4 +135,8 @@ public class JpaPreferenceDao implements PreferenceDao {
       manager.flush();
     }
   }
+
+  private static PreferenceEntity copy(PreferenceEntity prefs) {
+    return new PreferenceEntity(prefs.getUserId(), new HashMap<>(prefs.getPreferences()));
+  }
 }
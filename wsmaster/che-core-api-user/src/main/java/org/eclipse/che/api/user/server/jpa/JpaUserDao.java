@@ -29,6 +29,7 @@ import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.core.db.cache.EntityCache;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.security.PasswordEncryptor;
 
@@ -44,6 +45,7 @@ public class JpaUserDao implements UserDao {
 
   @Inject protected Provider<EntityManager> managerProvider;
   @Inject private PasswordEncryptor encryptor;
+  @Inject private EntityCache entityCache;
 
   @Override
   @Transactional
@@ -97,6 +99,8 @@ public class JpaUserDao implements UserDao {
       throw new ConflictException("User with such name/email/alias already exists");
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      entityCache.invalidate(UserImpl.class, update.getId());
     }
   }
 
@@ -107,6 +111,8 @@ public class JpaUserDao implements UserDao {
       doRemove(id);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      entityCache.invalidate(UserImpl.class, id);
     }
   }
 
@@ -128,15 +134,15 @@ public class JpaUserDao implements UserDao {
   }
 
   @Override
-  @Transactional
   public UserImpl getById(String id) throws NotFoundException, ServerException {
     requireNonNull(id, "Required non-null id");
     try {
-      final UserImpl user = managerProvider.get().find(UserImpl.class, id);
+      final UserImpl user =
+          entityCache.get(UserImpl.class, id, this::doGetById, JpaUserDao::erasePassword);
       if (user == null) {
         throw new NotFoundException(format("User with id '%s' doesn't exist", id));
       }
-      return erasePassword(user);
+      return user;
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
     }
@@ -289,6 +295,12 @@ public class JpaUserDao implements UserDao {
     manage.flush();
   }
 
+  @Transactional
+  protected UserImpl doGetById(String id) {
+    final UserImpl user = managerProvider.get().find(UserImpl.class, id);
+    return user == null ? null : erasePassword(user);
+  }
+
   @Transactional
   protected void doUpdate(UserImpl update) throws NotFoundException {
     final EntityManager manager = managerProvider.get();
@@ -12,6 +12,7 @@ package org.eclipse.che.api.user.server.jpa;
 
 import com.google.inject.Singleton;
 import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
 import java.util.Map;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.user.server.model.impl.ProfileImpl;
@@ -50,6 +51,8 @@ public class JpaTckModule extends TckModule {
             .setExceptionHandler(H2ExceptionHandler.class)
             .build());
     bind(DBInitializer.class).asEagerSingleton();
+    // run the tests against the cached lookups
+    bindConstant().annotatedWith(Names.named("db.entity_cache.max_size")).to(100L);
     bind(SchemaInitializer.class)
         .toInstance(new FlywaySchemaInitializer(server.getDataSource(), "che-schema"));
     bind(TckResourcesCleaner.class).toInstance(new H2JpaCleaner(server.getDataSource()));
@@ -19,6 +19,7 @@ import javax.persistence.EntityManager;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
 import org.eclipse.che.commons.test.tck.repository.TckRepositoryException;
+import org.eclipse.che.core.db.cache.EntityCache;
 
 /**
  * Implementation of {@link TckRepository}.
@@ -31,6 +32,8 @@ public class PreferenceJpaTckRepository
 
   @Inject private Provider<EntityManager> managerProvider;
 
+  @Inject private EntityCache entityCache;
+
   @Override
   public void createAll(Collection<? extends Pair<String, Map<String, String>>> entities)
       throws TckRepositoryException {
@@ -47,5 +50,6 @@ public class PreferenceJpaTckRepository
         .createQuery("SELECT prefs FROM Preference prefs", PreferenceEntity.class)
         .getResultList()
         .forEach(manager::remove);
+    entityCache.invalidateAll();
   }
 }
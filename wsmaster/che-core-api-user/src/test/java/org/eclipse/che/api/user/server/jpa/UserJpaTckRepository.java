@@ -18,6 +18,7 @@ import javax.persistence.EntityManager;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
 import org.eclipse.che.commons.test.tck.repository.TckRepositoryException;
+import org.eclipse.che.core.db.cache.EntityCache;
 import org.eclipse.che.security.PasswordEncryptor;
 
 @Transactional
@@ -27,6 +28,8 @@ public class UserJpaTckRepository implements TckRepository<UserImpl> {
 
   @Inject private PasswordEncryptor encryptor;
 
+  @Inject private EntityCache entityCache;
+
   @Override
   public void createAll(Collection<? extends UserImpl> entities) throws TckRepositoryException {
     final EntityManager manager = managerProvider.get();
@@ -50,5 +53,6 @@ public class UserJpaTckRepository implements TckRepository<UserImpl> {
         .createQuery("SELECT u FROM Usr u", UserImpl.class)
         .getResultList()
         .forEach(managerProvider.get()::remove);
+    entityCache.invalidateAll();
   }
 }
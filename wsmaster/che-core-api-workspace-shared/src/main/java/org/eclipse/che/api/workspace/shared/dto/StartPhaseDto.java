@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.dto.shared.DTO;
+
+/** Describes a single phase of the workspace start. */
+@DTO
+public interface StartPhaseDto {
+
+  /** Returns the name of the phase, e.g. {@code image.prepare}. */
+  String getName();
+
+  void setName(String name);
+
+  StartPhaseDto withName(String name);
+
+  /** Returns the name of the machine the phase belongs to or null if it is environment-wide. */
+  @Nullable
+  String getMachineName();
+
+  void setMachineName(String machineName);
+
+  StartPhaseDto withMachineName(String machineName);
+
+  /** Returns the time in milliseconds passed from the start of the workspace to the phase. */
+  long getStartOffsetMs();
+
+  void setStartOffsetMs(long startOffsetMs);
+
+  StartPhaseDto withStartOffsetMs(long startOffsetMs);
+
+  /** Returns the duration of the phase in milliseconds. */
+  long getDurationMs();
+
+  void setDurationMs(long durationMs);
+
+  StartPhaseDto withDurationMs(long durationMs);
+}
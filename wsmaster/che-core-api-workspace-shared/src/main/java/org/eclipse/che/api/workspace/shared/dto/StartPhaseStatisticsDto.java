@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/** Describes duration percentiles of a single kind of the workspace start phase. */
+@DTO
+public interface StartPhaseStatisticsDto {
+
+  /** Returns the name of the phase. */
+  String getPhase();
+
+  void setPhase(String phase);
+
+  StartPhaseStatisticsDto withPhase(String phase);
+
+  /** Returns the total number of the recorded samples. */
+  long getCount();
+
+  void setCount(long count);
+
+  StartPhaseStatisticsDto withCount(long count);
+
+  long getP50Ms();
+
+  void setP50Ms(long p50Ms);
+
+  StartPhaseStatisticsDto withP50Ms(long p50Ms);
+
+  long getP90Ms();
+
+  void setP90Ms(long p90Ms);
+
+  StartPhaseStatisticsDto withP90Ms(long p90Ms);
+
+  long getP99Ms();
+
+  void setP99Ms(long p99Ms);
+
+  StartPhaseStatisticsDto withP99Ms(long p99Ms);
+
+  long getMaxMs();
+
+  void setMaxMs(long maxMs);
+
+  StartPhaseStatisticsDto withMaxMs(long maxMs);
+}
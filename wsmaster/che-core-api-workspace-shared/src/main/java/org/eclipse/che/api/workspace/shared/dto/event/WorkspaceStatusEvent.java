@@ -10,8 +10,10 @@
  */
 package org.eclipse.che.api.workspace.shared.dto.event;
 
+import java.util.List;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.api.workspace.shared.dto.StartPhaseDto;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.dto.shared.DTO;
 
@@ -78,4 +80,16 @@ public interface WorkspaceStatusEvent {
   void setError(String error);
 
   WorkspaceStatusEvent withError(String error);
+
+  /**
+   * Returns the phases of the workspace start if and only if this event completes the start, which
+   * means that its previous status is {@link WorkspaceStatus#STARTING} and its type is either
+   * {@link EventType#RUNNING} or {@link EventType#ERROR}.
+   */
+  @Nullable
+  List<StartPhaseDto> getStartTimeline();
+
+  void setStartTimeline(List<StartPhaseDto> startTimeline);
+
+  WorkspaceStatusEvent withStartTimeline(List<StartPhaseDto> startTimeline);
 }
@@ -12,16 +12,24 @@ package org.eclipse.che.api.environment.server;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparingLong;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.ENVIRONMENT_INIT;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.MACHINE_START;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.NETWORK_CREATE;
 import static org.eclipse.che.api.workspace.shared.Utils.getDevMachineName;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,7 +38,11 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -59,7 +71,8 @@ import org.eclipse.che.api.core.util.AbstractLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentCompositeLineConsumer;
-import org.eclipse.che.api.core.util.lineconsumer.ConcurrentFileLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.LogFilesWorkers;
+import org.eclipse.che.api.core.util.lineconsumer.RotatingFileLineConsumer;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentStartInterruptedException;
@@ -80,6 +93,7 @@ import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
@@ -90,8 +104,10 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.LockStatistics;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 
 /**
@@ -109,6 +125,14 @@ public class CheEnvironmentEngine {
   private final Map<String, EnvironmentHolder> environments;
   private final StripedLocks stripedLocks;
   private final File machineLogsDir;
+  private final long maxLogFileSize;
+  private final int maxRotatedLogFiles;
+  private final long logsFlushIntervalMs;
+  private final long logsRetentionMs;
+  private final long maxLogsTotalSize;
+  private final LogFilesWorkers logFilesWorkers;
+  /** Log files of machines which logs are not removed yet, running machines have them open. */
+  private final Map<String, RotatingFileLineConsumer> machineLogFiles;
   private final MachineInstanceProviders machineInstanceProviders;
   private final long defaultMachineMemorySizeBytes;
   private final SnapshotDao snapshotDao;
@@ -122,6 +146,7 @@ public class CheEnvironmentEngine {
   private final ContainerNameGenerator containerNameGenerator;
   private final AgentRegistry agentRegistry;
   private final WorkspaceSharedPool sharedPool;
+  private final StartTimelineRecorder timelineRecorder;
 
   private volatile boolean isPreDestroyInvoked;
 
@@ -140,7 +165,16 @@ public class CheEnvironmentEngine {
       RecipeDownloader recipeDownloader,
       ContainerNameGenerator containerNameGenerator,
       AgentRegistry agentRegistry,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      StartTimelineRecorder timelineRecorder,
+      @Named("che.workspace.locks.stripes") int lockStripes,
+      @Named("che.workspace.locks.per_workspace") boolean perWorkspaceLocks,
+      @Named("che.workspace.logs.max_file_size_mb") int maxLogFileSizeMB,
+      @Named("che.workspace.logs.max_rotated_files") int maxRotatedLogFiles,
+      @Named("che.workspace.logs.flush_interval_ms") long logsFlushIntervalMs,
+      @Named("che.workspace.logs.retention_hours") int logsRetentionHours,
+      @Named("che.workspace.logs.max_total_size_mb") int maxLogsTotalSizeMB,
+      LogFilesWorkers logFilesWorkers) {
     this.snapshotDao = snapshotDao;
     this.eventService = eventService;
     this.environmentParser = environmentParser;
@@ -150,12 +184,19 @@ public class CheEnvironmentEngine {
     this.recipeDownloader = recipeDownloader;
     this.agentRegistry = agentRegistry;
     this.sharedPool = sharedPool;
+    this.timelineRecorder = timelineRecorder;
     this.environments = new ConcurrentHashMap<>();
     this.machineInstanceProviders = machineInstanceProviders;
     this.machineLogsDir = new File(machineLogsDir);
+    this.maxLogFileSize = Size.parseSize(maxLogFileSizeMB + "MB");
+    this.maxRotatedLogFiles = maxRotatedLogFiles;
+    this.logsFlushIntervalMs = logsFlushIntervalMs;
+    this.logsRetentionMs = TimeUnit.HOURS.toMillis(logsRetentionHours);
+    this.maxLogsTotalSize = Size.parseSize(maxLogsTotalSizeMB + "MB");
+    this.logFilesWorkers = logFilesWorkers;
+    this.machineLogFiles = new ConcurrentHashMap<>();
     this.defaultMachineMemorySizeBytes = Size.parseSize(defaultMachineMemorySizeMB + "MB");
-    // 16 - experimental value for stripes count, it comes from default hash map size
-    this.stripedLocks = new StripedLocks(16);
+    this.stripedLocks = new StripedLocks(lockStripes, perWorkspaceLocks);
     this.recipeApiPattern =
         Pattern.compile(
             "(^https?"
@@ -216,6 +257,15 @@ public class CheEnvironmentEngine {
                         machineId, workspaceId)));
   }
 
+  /**
+   * Returns contention statistics of the locks which synchronize environments operations.
+   *
+   * @see StripedLocks#getStatistics()
+   */
+  public Map<String, LockStatistics> getLockStatistics() {
+    return stripedLocks.getStatistics();
+  }
+
   /**
    * Starts provided environment.
    *
@@ -251,7 +301,12 @@ public class CheEnvironmentEngine {
 
     String ownerName = EnvironmentContext.getCurrent().getSubject().getUserName();
 
-    initializeEnvironment(ownerName, workspaceId, envName, environment, networkId, messageConsumer);
+    try (@SuppressWarnings("unused")
+        StartTimelineRecorder.Phase p =
+            timelineRecorder.phase(workspaceId, ENVIRONMENT_INIT, null)) {
+      initializeEnvironment(
+          ownerName, workspaceId, envName, environment, networkId, messageConsumer);
+    }
 
     String devMachineName = getDevMachineName(environment);
     if (devMachineName == null) {
@@ -318,7 +373,7 @@ public class CheEnvironmentEngine {
     }
 
     // long operation - perform out of lock
-    destroyEnvironment(environmentHolder.networkId, machinesCopy);
+    destroyEnvironment(workspaceId, environmentHolder.networkId, machinesCopy);
 
     try (@SuppressWarnings("unused")
         Unlocker u = stripedLocks.writeLock(workspaceId)) {
@@ -548,7 +603,7 @@ public class CheEnvironmentEngine {
 
     normalize(ownerName, workspaceId, internalEnv);
 
-    List<String> servicesOrder = startStrategy.order(internalEnv);
+    List<List<String>> servicesOrder = startStrategy.orderByLevels(internalEnv);
 
     normalizeNames(internalEnv);
 
@@ -697,7 +752,14 @@ public class CheEnvironmentEngine {
             workspaceId, service.getId(), ownerName, machineName));
   }
 
-  /** Starts all machine from machine queue of environment. */
+  /**
+   * Starts all machines from machine queue of environment.
+   *
+   * <p>Machines are started level by level, all the machines of the same level don't depend on
+   * each other so they are started concurrently using shared pool. Start of the environment fails
+   * as soon as start of any machine fails, in that case the rest machines of the level are
+   * interrupted and all the started machines are destroyed.
+   */
   private void startEnvironmentQueue(
       String ownerName,
       String workspaceId,
@@ -706,9 +768,9 @@ public class CheEnvironmentEngine {
       boolean recover,
       MachineStartedHandler startedHandler)
       throws ServerException, AgentException, EnvironmentException {
-    // Starting all machines in environment one by one by getting configs
+    // Starting all machines in environment level by level by getting names
     // from the corresponding starting queue.
-    // Config will be null only if there are no machines left in the queue
+    // Level will be null only if there are no machines left in the queue
     String envName;
     MessageConsumer<MachineLogMessage> envLogger;
     String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
@@ -723,133 +785,47 @@ public class CheEnvironmentEngine {
     }
 
     try {
-      machineProvider.createNetwork(networkId);
-
-      String machineName = queuePeekOrFail(workspaceId);
-      while (machineName != null) {
-        boolean isDev = devMachineName.equals(machineName);
-        // Environment start is failed when any machine start is failed, so if any error
-        // occurs during machine creation then environment start fail is reported and
-        // start resources such as queue and descriptor must be cleaned up
-
-        CheServiceImpl service;
-        @Nullable ExtendedMachine extendedMachine;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.readLock(workspaceId)) {
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder == null) {
-            throw new EnvironmentStartInterruptedException(workspaceId, envName);
-          }
-          service = environmentHolder.environment.getServices().get(machineName);
-          extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-        }
-        // should not happen
-        if (service == null) {
-          LOG.error(
-              "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-              machineName,
-              workspaceId);
-          throw new ServerException(
-              format(
-                  "Environment of workspace with ID '%s' failed due to internal error",
-                  workspaceId));
-        }
-
-        final String finalMachineName = machineName;
-        // needed to reuse startInstance method and
-        // create machine instances by different implementation-specific providers
-        MachineStarter machineStarter =
-            (machineLogger, machineSource) -> {
-              CheServiceImpl serviceWithNormalizedSource =
-                  normalizeServiceSource(service, machineSource);
-              return machineProvider.startService(
-                  ownerName,
-                  workspaceId,
-                  envName,
-                  finalMachineName,
-                  isDev,
-                  networkId,
-                  serviceWithNormalizedSource,
-                  machineLogger);
-            };
-
-        MachineImpl machine =
-            MachineImpl.builder()
-                .setConfig(
-                    MachineConfigImpl.builder()
-                        .setDev(isDev)
-                        .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
-                        .setType("docker")
-                        .setName(machineName)
-                        .setEnvVariables(service.getEnvironment())
-                        .build())
-                .setId(service.getId())
-                .setWorkspaceId(workspaceId)
-                .setStatus(MachineStatus.CREATING)
-                .setEnvName(envName)
-                .setOwner(creator)
-                .build();
-
-        checkInterruption(workspaceId, envName);
-        Instance instance = startInstance(recover, envLogger, machine, machineStarter);
-        checkInterruption(workspaceId, envName);
-
-        startedHandler.started(instance, extendedMachine);
-        checkInterruption(workspaceId, envName);
-
-        // Machine destroying is an expensive operation which must be
-        // performed outside of the lock, this section checks if
-        // the environment wasn't stopped while it is starting and sets
-        // polled flag to true if the environment wasn't stopped.
-        // Also polls the proceeded machine configuration from the queue
-        boolean queuePolled = false;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.writeLock(workspaceId)) {
-          ensurePreDestroyIsNotExecuted();
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder != null) {
-            final Queue<String> queue = environmentHolder.startQueue;
-            if (queue != null) {
-              queue.poll();
-              queuePolled = true;
-            }
-          }
-        }
+      try (@SuppressWarnings("unused")
+          StartTimelineRecorder.Phase p =
+              timelineRecorder.phase(workspaceId, NETWORK_CREATE, null)) {
+        machineProvider.createNetwork(networkId);
+      }
 
-        // If machine config is not polled from the queue
-        // then environment was stopped and newly created machine
-        // must be destroyed
-        if (!queuePolled) {
-          try {
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-
-            instance.destroy();
-
-            removeMachine(workspaceId, instance.getId());
-
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-          } catch (MachineException e) {
-            LOG.error(e.getLocalizedMessage(), e);
+      List<String> level = queuePeekOrFail(workspaceId);
+      while (level != null) {
+        if (level.size() == 1) {
+          startQueuedMachine(
+              ownerName,
+              workspaceId,
+              envName,
+              envLogger,
+              creator,
+              devMachineName,
+              networkId,
+              recover,
+              startedHandler,
+              level.get(0));
+        } else {
+          LevelStart levelStart = new LevelStart(workspaceId, envName);
+          for (String machineName : level) {
+            levelStart.add(
+                () ->
+                    startQueuedMachine(
+                        ownerName,
+                        workspaceId,
+                        envName,
+                        envLogger,
+                        creator,
+                        devMachineName,
+                        networkId,
+                        recover,
+                        startedHandler,
+                        machineName));
           }
-          throw new ServerException(
-              "Workspace '"
-                  + workspaceId
-                  + "' start interrupted. Workspace stopped before all its machines started");
+          levelStart.run(sharedPool);
         }
 
-        machineName = queuePeekOrFail(workspaceId);
+        level = queuePeekOrFail(workspaceId);
       }
     } catch (Exception e) {
       boolean interrupted = Thread.interrupted();
@@ -860,7 +836,7 @@ public class CheEnvironmentEngine {
       }
 
       try {
-        destroyEnvironment(env.networkId, env.machines);
+        destroyEnvironment(workspaceId, env.networkId, env.machines);
       } catch (Exception remEx) {
         LOG.error(remEx.getLocalizedMessage(), remEx);
       }
@@ -878,6 +854,154 @@ public class CheEnvironmentEngine {
     }
   }
 
+  /**
+   * Starts machine with the given name and removes it from the start queue of environment.
+   *
+   * <p>Environment start is failed when any machine start is failed, so if any error occurs during
+   * machine creation then environment start fail is reported and start resources such as queue and
+   * descriptor must be cleaned up by the caller.
+   */
+  private void startQueuedMachine(
+      String ownerName,
+      String workspaceId,
+      String envName,
+      MessageConsumer<MachineLogMessage> envLogger,
+      String creator,
+      String devMachineName,
+      String networkId,
+      boolean recover,
+      MachineStartedHandler startedHandler,
+      String machineName)
+      throws ServerException, AgentException, EnvironmentException {
+    boolean isDev = devMachineName.equals(machineName);
+
+    CheServiceImpl service;
+    @Nullable ExtendedMachine extendedMachine;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.readLock(workspaceId)) {
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder == null) {
+        throw new EnvironmentStartInterruptedException(workspaceId, envName);
+      }
+      service = environmentHolder.environment.getServices().get(machineName);
+      extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+    }
+    // should not happen
+    if (service == null) {
+      LOG.error(
+          "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+          machineName,
+          workspaceId);
+      throw new ServerException(
+          format(
+              "Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+    }
+
+    // needed to reuse startInstance method and
+    // create machine instances by different implementation-specific providers
+    MachineStarter machineStarter =
+        (machineLogger, machineSource) -> {
+          CheServiceImpl serviceWithNormalizedSource =
+              normalizeServiceSource(service, machineSource);
+          return machineProvider.startService(
+              ownerName,
+              workspaceId,
+              envName,
+              machineName,
+              isDev,
+              networkId,
+              serviceWithNormalizedSource,
+              machineLogger);
+        };
+
+    MachineImpl machine =
+        MachineImpl.builder()
+            .setConfig(
+                MachineConfigImpl.builder()
+                    .setDev(isDev)
+                    .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
+                    .setType("docker")
+                    .setName(machineName)
+                    .setEnvVariables(service.getEnvironment())
+                    .build())
+            .setId(service.getId())
+            .setWorkspaceId(workspaceId)
+            .setStatus(MachineStatus.CREATING)
+            .setEnvName(envName)
+            .setOwner(creator)
+            .build();
+
+    checkInterruption(workspaceId, envName);
+    Instance instance;
+    try (@SuppressWarnings("unused")
+        StartTimelineRecorder.Phase p =
+            timelineRecorder.phase(workspaceId, MACHINE_START, machineName)) {
+      instance = startInstance(recover, envLogger, machine, machineStarter);
+    }
+    checkInterruption(workspaceId, envName);
+
+    startedHandler.started(instance, extendedMachine);
+    checkInterruption(workspaceId, envName);
+
+    // Machine destroying is an expensive operation which must be
+    // performed outside of the lock, this section checks if
+    // the environment wasn't stopped while it is starting and sets
+    // polled flag to true if the environment wasn't stopped.
+    // Also removes the proceeded machine from the queue
+    boolean queuePolled = false;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+      ensurePreDestroyIsNotExecuted();
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder != null) {
+        final Queue<List<String>> queue = environmentHolder.startQueue;
+        if (queue != null) {
+          List<String> level = queue.peek();
+          if (level != null && level.remove(machineName)) {
+            if (level.isEmpty()) {
+              queue.poll();
+            }
+            queuePolled = true;
+          }
+        }
+      }
+    }
+
+    // If machine config is not polled from the queue
+    // then environment was stopped and newly created machine
+    // must be destroyed
+    if (!queuePolled) {
+      try {
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+
+        instance.destroy();
+        releaseMachineLogs(instance.getId());
+
+        removeMachine(workspaceId, instance.getId());
+
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+      } catch (MachineException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+      }
+      throw new ServerException(
+          "Workspace '"
+              + workspaceId
+              + "' start interrupted. Workspace stopped before all its machines started");
+    }
+  }
+
   private void checkInterruption(String workspaceId, String envName)
       throws EnvironmentStartInterruptedException {
     if (Thread.interrupted()) {
@@ -986,6 +1110,7 @@ public class CheEnvironmentEngine {
         } catch (IOException ioEx) {
           LOG.error(ioEx.getLocalizedMessage(), ioEx);
         }
+        releaseMachineLogs(machine.getId());
       }
 
       eventService.publish(
@@ -1008,6 +1133,139 @@ public class CheEnvironmentEngine {
         throws ServerException, NotFoundException, EnvironmentException;
   }
 
+  private interface MachineStartAction {
+    void start() throws ServerException, AgentException, EnvironmentException;
+  }
+
+  /**
+   * Start of the machines of one level. Each machine start is submitted to the shared pool and the
+   * caller thread runs the starts which are not picked up by the pool yet, so the level start never
+   * waits for free threads of the pool. Failure of any machine start interrupts the rest of them.
+   */
+  private static class LevelStart {
+    final String workspaceId;
+    final String envName;
+    final List<MachineStartTask> tasks;
+
+    CountDownLatch completed;
+    volatile boolean aborted;
+    Exception failure;
+
+    LevelStart(String workspaceId, String envName) {
+      this.workspaceId = workspaceId;
+      this.envName = envName;
+      this.tasks = new ArrayList<>();
+    }
+
+    void add(MachineStartAction action) {
+      tasks.add(new MachineStartTask(this, action));
+    }
+
+    /**
+     * Starts all the machines and waits until all of them are started or the start is aborted and
+     * all the machine starts which are already in progress are finished, so all the created
+     * machines are already in the environment when this method throws an exception.
+     */
+    void run(WorkspaceSharedPool sharedPool) throws Exception {
+      completed = new CountDownLatch(tasks.size());
+      try {
+        for (MachineStartTask task : tasks) {
+          sharedPool.submit(
+              () -> {
+                task.run();
+                return null;
+              });
+        }
+      } catch (RuntimeException x) {
+        // the rest of the starts is performed by the caller thread
+        LOG.warn("Concurrent start of machines is not available. Error: {}", x.getMessage());
+      }
+      for (MachineStartTask task : tasks) {
+        task.run();
+      }
+      try {
+        completed.await();
+      } catch (InterruptedException x) {
+        fail(new EnvironmentStartInterruptedException(workspaceId, envName));
+        Uninterruptibles.awaitUninterruptibly(completed);
+        Thread.currentThread().interrupt();
+      }
+      synchronized (this) {
+        if (failure != null) {
+          throw failure;
+        }
+      }
+    }
+
+    void fail(Exception x) {
+      synchronized (this) {
+        if (failure == null) {
+          failure = x;
+        }
+      }
+      aborted = true;
+      tasks.forEach(MachineStartTask::interrupt);
+    }
+  }
+
+  /** Start of a single machine which may be performed by any thread but only once. */
+  private static class MachineStartTask {
+    final LevelStart levelStart;
+    final MachineStartAction action;
+
+    boolean taken;
+    Thread thread;
+
+    MachineStartTask(LevelStart levelStart, MachineStartAction action) {
+      this.levelStart = levelStart;
+      this.action = action;
+    }
+
+    void run() {
+      final boolean aborted;
+      synchronized (this) {
+        if (taken) {
+          return;
+        }
+        taken = true;
+        aborted = levelStart.aborted;
+        if (!aborted) {
+          thread = Thread.currentThread();
+        }
+      }
+      if (aborted) {
+        levelStart.completed.countDown();
+        return;
+      }
+      Exception failure = null;
+      try {
+        action.start();
+      } catch (Exception x) {
+        failure = x;
+      } finally {
+        synchronized (this) {
+          thread = null;
+        }
+        // thread must not stay interrupted, but interruption which is not caused
+        // by failure of other machine start means that the environment start is interrupted
+        if (Thread.interrupted() && !levelStart.aborted) {
+          failure =
+              new EnvironmentStartInterruptedException(levelStart.workspaceId, levelStart.envName);
+        }
+        if (failure != null) {
+          levelStart.fail(failure);
+        }
+        levelStart.completed.countDown();
+      }
+    }
+
+    synchronized void interrupt() {
+      if (thread != null) {
+        thread.interrupt();
+      }
+    }
+  }
+
   private CheServiceImpl normalizeServiceSource(CheServiceImpl service, MachineSource machineSource)
       throws ServerException {
     CheServiceImpl serviceWithNormalizedSource = service;
@@ -1100,6 +1358,7 @@ public class CheEnvironmentEngine {
     // if this area is reachable then environment/machine is not found and machine should be stopped
     try {
       machine.destroy();
+      releaseMachineLogs(machine.getId());
     } catch (MachineException e) {
       LOG.error(e.getLocalizedMessage(), e);
     }
@@ -1111,18 +1370,19 @@ public class CheEnvironmentEngine {
   }
 
   /**
-   * Gets head config from the queue associated with the given {@code workspaceId}.
+   * Gets copy of the head level of machines from the queue associated with the given {@code
+   * workspaceId}.
    *
    * <p>Note that this method won't actually poll the queue.
    *
    * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
    *
-   * @return machine config which is in the queue head, or null if there are no machine configs left
+   * @return names of machines which are in the queue head, or null if there are no machines left
    * @throws ServerException if queue doesn't exist which means that {@link #stop(String)} executed
    *     before all the machines started
    * @throws ServerException if pre destroy has been invoked before peek config retrieved
    */
-  private String queuePeekOrFail(String workspaceId) throws ServerException {
+  private List<String> queuePeekOrFail(String workspaceId) throws ServerException {
     try (@SuppressWarnings("unused")
         Unlocker u = stripedLocks.readLock(workspaceId)) {
       ensurePreDestroyIsNotExecuted();
@@ -1133,28 +1393,63 @@ public class CheEnvironmentEngine {
                 + workspaceId
                 + " start interrupted. Workspace was stopped before all its machines were started");
       }
-      return environmentHolder.startQueue.peek();
+      List<String> level = environmentHolder.startQueue.peek();
+      return level == null ? null : new ArrayList<>(level);
     }
   }
 
-  /** Destroys provided machines and associated network. */
-  private void destroyEnvironment(String networkId, List<Instance> machines) {
+  /**
+   * Destroys provided machines concurrently and then the associated network, which can't be
+   * removed while any machine is still connected to it.
+   *
+   * <p>Each machine destroy is submitted to the shared pool and the caller thread destroys the
+   * machines which are not picked up by the pool yet. Waits for all the destroys even if the caller
+   * thread is interrupted, so no machine of the environment is left behind.
+   */
+  private void destroyEnvironment(String workspaceId, String networkId, List<Instance> machines) {
+    final long startTime = System.currentTimeMillis();
+    final CountDownLatch destroyed = new CountDownLatch(machines.size());
+    final List<Runnable> destroys = new ArrayList<>(machines.size());
     for (Instance machine : machines) {
-      try {
-        destroyMachine(machine);
-      } catch (RuntimeException | MachineException ex) {
-        LOG.error(
-            format(
-                "Could not destroy machine '%s' of workspace '%s'",
-                machine.getId(), machine.getWorkspaceId()),
-            ex);
+      final AtomicBoolean taken = new AtomicBoolean();
+      destroys.add(
+          () -> {
+            if (taken.compareAndSet(false, true)) {
+              try {
+                destroyMachine(machine);
+              } catch (RuntimeException | MachineException ex) {
+                LOG.error(
+                    format(
+                        "Could not destroy machine '%s' of workspace '%s'",
+                        machine.getId(), machine.getWorkspaceId()),
+                    ex);
+              } finally {
+                destroyed.countDown();
+              }
+            }
+          });
+    }
+    try {
+      for (Runnable destroy : destroys) {
+        sharedPool.execute(destroy);
       }
+    } catch (RuntimeException x) {
+      // the rest of the destroys is performed by the caller thread
+      LOG.warn("Concurrent destroy of machines is not available. Error: {}", x.getMessage());
     }
+    destroys.forEach(Runnable::run);
+    Uninterruptibles.awaitUninterruptibly(destroyed);
+
     try {
       machineProvider.destroyNetwork(networkId);
     } catch (RuntimeException | ServerException netExc) {
       LOG.error(netExc.getLocalizedMessage(), netExc);
     }
+    LOG.info(
+        "Environment of workspace '{}' with {} machine(s) destroyed in {} ms",
+        workspaceId,
+        machines.size(),
+        System.currentTimeMillis() - startTime);
   }
 
   private void destroyMachine(Instance machine) throws MachineException {
@@ -1167,6 +1462,7 @@ public class CheEnvironmentEngine {
             .withWorkspaceId(machine.getWorkspaceId()));
 
     machine.destroy();
+    releaseMachineLogs(machine.getId());
 
     eventService.publish(
         newDto(MachineStatusEvent.class)
@@ -1198,6 +1494,12 @@ public class CheEnvironmentEngine {
   @SuppressWarnings("unused")
   void cleanup() {
     isPreDestroyInvoked = true;
+    for (RotatingFileLineConsumer logFile : machineLogFiles.values()) {
+      closeLogFile(logFile);
+      // the directory is removed below, so compression mustn't write to it anymore
+      logFile.awaitCompression(30, TimeUnit.SECONDS);
+    }
+    machineLogFiles.clear();
     final java.io.File[] files = machineLogsDir.listFiles();
     if (files != null && files.length > 0) {
       for (java.io.File f : files) {
@@ -1221,8 +1523,15 @@ public class CheEnvironmentEngine {
           }
         };
     try {
-      return new ConcurrentCompositeLineConsumer(
-          new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)), lineConsumer);
+      final RotatingFileLineConsumer logFile =
+          new RotatingFileLineConsumer(
+              getMachineLogsFile(machineId),
+              maxLogFileSize,
+              maxRotatedLogFiles,
+              logsFlushIntervalMs,
+              logFilesWorkers);
+      machineLogFiles.put(machineId, logFile);
+      return new ConcurrentCompositeLineConsumer(logFile, lineConsumer);
     } catch (IOException e) {
       throw new MachineException(
           format(
@@ -1241,6 +1550,93 @@ public class CheEnvironmentEngine {
     return new File(new File(machineLogsDir, machineId), "machineId.logs");
   }
 
+  /**
+   * Closes the log file of the destroyed machine. Logs of the machine and its processes are kept,
+   * so a failed start or an unexpected stop of the machine can be diagnosed, they are removed by
+   * {@link #removeExpiredMachineLogs()} according to the retention policy.
+   */
+  private void releaseMachineLogs(String machineId) {
+    final RotatingFileLineConsumer logFile = machineLogFiles.get(machineId);
+    if (logFile != null) {
+      closeLogFile(logFile);
+    }
+  }
+
+  private void closeLogFile(RotatingFileLineConsumer logFile) {
+    try {
+      logFile.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close log file '{}'. Error: {}", logFile.getFile(), e.getMessage());
+    }
+  }
+
+  /**
+   * Removes logs of destroyed machines which weren't modified for {@code
+   * che.workspace.logs.retention_hours}, then removes the oldest of the rest while their total size
+   * exceeds {@code che.workspace.logs.max_total_size_mb}. Logs of running machines are kept.
+   */
+  @ScheduleRate(
+    periodParameterName = "che.workspace.logs.cleanup_period_min",
+    initialDelay = 1,
+    unit = TimeUnit.MINUTES
+  )
+  public void removeExpiredMachineLogs() {
+    final File[] dirs = machineLogsDir.listFiles(File::isDirectory);
+    if (dirs == null) {
+      return;
+    }
+    final long expirationTime = System.currentTimeMillis() - logsRetentionMs;
+    final List<MachineLogs> retained = new ArrayList<>();
+    long totalSize = 0;
+    for (File dir : dirs) {
+      final RotatingFileLineConsumer logFile = machineLogFiles.get(dir.getName());
+      if (logFile != null && logFile.isOpen()) {
+        // machine is running
+        continue;
+      }
+      final MachineLogs logs;
+      try {
+        logs = MachineLogs.read(dir);
+      } catch (IOException | UncheckedIOException e) {
+        LOG.warn("Failed to read logs of machine from '{}'. Error: {}", dir, e.getMessage());
+        continue;
+      }
+      if (logs.lastModified < expirationTime) {
+        removeMachineLogs(dir);
+      } else {
+        retained.add(logs);
+        totalSize += logs.size;
+      }
+    }
+    retained.sort(comparingLong(logs -> logs.lastModified));
+    for (MachineLogs logs : retained) {
+      if (totalSize <= maxLogsTotalSize) {
+        break;
+      }
+      if (removeMachineLogs(logs.dir)) {
+        totalSize -= logs.size;
+      }
+    }
+  }
+
+  /** Removes logs of the destroyed machine once its rotated log segments are compressed. */
+  private boolean removeMachineLogs(File dir) {
+    final String machineId = dir.getName();
+    final RotatingFileLineConsumer logFile = machineLogFiles.get(machineId);
+    if (logFile != null && !logFile.awaitCompression(30, TimeUnit.SECONDS)) {
+      LOG.warn("Logs of machine '{}' are still being compressed, they are not removed", machineId);
+      return false;
+    }
+    if (!IoUtil.deleteRecursive(dir)) {
+      LOG.warn("Failed to delete logs of machine '{}' from '{}'", machineId, dir);
+      return false;
+    }
+    if (logFile != null) {
+      machineLogFiles.remove(machineId, logFile);
+    }
+    return true;
+  }
+
   @VisibleForTesting
   String generateMachineId() {
     return NameGenerator.generate("machine", 16);
@@ -1311,7 +1707,7 @@ public class CheEnvironmentEngine {
   }
 
   private static class EnvironmentHolder {
-    final Queue<String> startQueue;
+    final Queue<List<String>> startQueue;
     final CheServicesEnvironmentImpl environment;
     final MessageConsumer<MachineLogMessage> logger;
     final String name;
@@ -1322,14 +1718,17 @@ public class CheEnvironmentEngine {
     EnvStatus status;
 
     EnvironmentHolder(
-        List<String> startQueue,
+        List<List<String>> startQueue,
         CheServicesEnvironmentImpl environment,
         Environment environmentConfig,
         MessageConsumer<MachineLogMessage> envLogger,
         EnvStatus envStatus,
         String name,
         String networkId) {
-      this.startQueue = new ArrayDeque<>(startQueue);
+      this.startQueue = new ArrayDeque<>(startQueue.size());
+      for (List<String> level : startQueue) {
+        this.startQueue.add(new ArrayList<>(level));
+      }
       this.machines = new CopyOnWriteArrayList<>();
       this.logger = envLogger;
       this.status = envStatus;
@@ -1402,6 +1801,7 @@ public class CheEnvironmentEngine {
 
               try {
                 instance.destroy();
+                releaseMachineLogs(machineId);
               } catch (MachineException e) {
                 LOG.warn(
                     "Destroying of machine {} in workspace {} where container was unexpectedly stopped failed. Error: {}, {}",
@@ -1419,4 +1819,32 @@ public class CheEnvironmentEngine {
     @Override
     public void started(Instance machine, ExtendedMachine extendedMachine) throws ServerException {}
   }
+
+  /** Logs of a destroyed machine, their total size and the time of the last modification. */
+  private static class MachineLogs {
+    final File dir;
+    final long size;
+    final long lastModified;
+
+    MachineLogs(File dir, long size, long lastModified) {
+      this.dir = dir;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    static MachineLogs read(File dir) throws IOException {
+      long size = 0;
+      long lastModified = dir.lastModified();
+      try (Stream<Path> paths = Files.walk(dir.toPath())) {
+        for (Path path : (Iterable<Path>) paths::iterator) {
+          final File file = path.toFile();
+          if (file.isFile()) {
+            size += file.length();
+            lastModified = Math.max(lastModified, file.lastModified());
+          }
+        }
+      }
+      return new MachineLogs(dir, size, lastModified);
+    }
+  }
 }
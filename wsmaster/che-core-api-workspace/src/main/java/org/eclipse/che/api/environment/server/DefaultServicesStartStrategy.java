@@ -14,12 +14,14 @@ import static java.lang.String.format;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
@@ -44,6 +46,30 @@ public class DefaultServicesStartStrategy {
     return sortByWeight(weights);
   }
 
+  /**
+   * Resolves levels of machines in an environment. Machines of the same level don't depend on each
+   * other, so they can be started concurrently once all the machines of previous levels are
+   * started.
+   *
+   * @throws IllegalArgumentException if order of machines can not be calculated
+   */
+  public List<List<String>> orderByLevels(CheServicesEnvironmentImpl composeEnvironment)
+      throws IllegalArgumentException {
+
+    Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+
+    return new ArrayList<>(
+        weights
+            .entrySet()
+            .stream()
+            .collect(
+                Collectors.groupingBy(
+                    Map.Entry::getValue,
+                    TreeMap::new,
+                    Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+            .values());
+  }
+
   /**
    * Returns mapping of names of machines to its weights in dependency graph.
    *
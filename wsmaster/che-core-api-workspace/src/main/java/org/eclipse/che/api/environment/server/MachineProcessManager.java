@@ -19,10 +19,19 @@ import java.io.IOException;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -31,6 +40,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
@@ -39,10 +49,14 @@ import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.JsonRpcEndpointIdsHolder;
 import org.eclipse.che.api.core.util.JsonRpcLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.util.LogFileReader;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.eclipse.che.api.machine.shared.dto.FollowProcessLogsRequestDto;
+import org.eclipse.che.api.machine.shared.dto.ProcessLogLineDto;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
@@ -66,6 +80,7 @@ public class MachineProcessManager {
   private final EventService eventService;
   private final RequestTransmitter transmitter;
   private final JsonRpcEndpointIdsHolder endpointIdsHolder;
+  private final ConcurrentMap<String, ProcessLogFollowers> logFollowers;
 
   @VisibleForTesting final ExecutorService executor;
 
@@ -75,12 +90,17 @@ public class MachineProcessManager {
       EventService eventService,
       CheEnvironmentEngine environmentEngine,
       RequestTransmitter transmitter,
-      JsonRpcEndpointIdsHolder endpointIdsHolder) {
+      JsonRpcEndpointIdsHolder endpointIdsHolder,
+      WebSocketSessionRegistry sessionRegistry) {
     this.eventService = eventService;
     this.machineLogsDir = new File(machineLogsDir);
     this.environmentEngine = environmentEngine;
     this.transmitter = transmitter;
     this.endpointIdsHolder = endpointIdsHolder;
+    this.logFollowers = new ConcurrentHashMap<>();
+    // the endpoint can't receive lines anymore once its session is closed
+    sessionRegistry.addRemovalListener(
+        endpointId -> logFollowers.values().forEach(followers -> followers.unfollow(endpointId)));
 
     executor =
         Executors.newCachedThreadPool(
@@ -121,9 +141,11 @@ public class MachineProcessManager {
             "event:ws-agent-output:message",
             () -> endpointIdsHolder.getEndpointIdsByWorkspaceId(workspaceId));
 
-    LineConsumer processLogger =
-        new CompositeLineConsumer(
-            getProcessLogger(machineId, pid, outputChannel), jsonRpcLineConsumer);
+    ProcessLogFollowers followers =
+        new ProcessLogFollowers(getProcessLogger(machineId, pid, outputChannel), machineId, pid);
+    logFollowers.put(followersKey(machineId, pid), followers);
+
+    LineConsumer processLogger = new CompositeLineConsumer(followers, jsonRpcLineConsumer);
 
     executor.execute(
         ThreadLocalPropagateContext.wrap(
@@ -214,19 +236,170 @@ public class MachineProcessManager {
    */
   public Reader getProcessLogReader(String machineId, int pid)
       throws NotFoundException, MachineException {
-    final File processLogsFile = getProcessLogsFile(machineId, pid);
-    if (processLogsFile.isFile()) {
-      try {
-        return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
-      } catch (IOException e) {
-        throw new MachineException(
-            String.format(
-                "Unable read log file for process '%s' of machine '%s'. %s",
-                pid, machineId, e.getMessage()));
+    final File processLogsFile = requireProcessLogsFile(machineId, pid);
+    try {
+      return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
+    } catch (IOException e) {
+      throw logsReadingException(machineId, pid, e);
+    }
+  }
+
+  /**
+   * Reads the range of lines of the process logs.
+   *
+   * @param machineId machine id whose process logs will be read
+   * @param pid process id
+   * @param skip the number of lines to skip from the beginning of the logs
+   * @param limit the maximum number of lines to read
+   * @return the lines of the process logs
+   * @throws NotFoundException if logs of the process are not available
+   * @throws BadRequestException if {@code skip} is negative or {@code limit} is not positive
+   * @throws MachineException if other error occur
+   */
+  public List<String> getProcessLogs(String machineId, int pid, long skip, int limit)
+      throws NotFoundException, BadRequestException, MachineException {
+    if (skip < 0 || limit <= 0) {
+      throw new BadRequestException("Skip must not be negative and limit must be positive");
+    }
+    final File processLogsFile = requireProcessLogsFile(machineId, pid);
+    try {
+      return LogFileReader.readLines(processLogsFile, skip, limit);
+    } catch (IOException e) {
+      throw logsReadingException(machineId, pid, e);
+    }
+  }
+
+  /**
+   * Reads the last lines of the process logs. The logs are read from the end, so the size of the
+   * logs doesn't affect the amount of the read data.
+   *
+   * @param machineId machine id whose process logs will be read
+   * @param pid process id
+   * @param lines the number of lines to read
+   * @return the last lines of the process logs
+   * @throws NotFoundException if logs of the process are not available
+   * @throws BadRequestException if {@code lines} is negative
+   * @throws MachineException if other error occur
+   */
+  public List<String> getProcessLogsTail(String machineId, int pid, int lines)
+      throws NotFoundException, BadRequestException, MachineException {
+    if (lines < 0) {
+      throw new BadRequestException("The number of lines must not be negative");
+    }
+    final File processLogsFile = requireProcessLogsFile(machineId, pid);
+    try {
+      return LogFileReader.tail(processLogsFile, lines);
+    } catch (IOException e) {
+      throw logsReadingException(machineId, pid, e);
+    }
+  }
+
+  /**
+   * Sends the last lines of the process logs to the JSON-RPC endpoint and then keeps sending it
+   * the new lines until the process is finished or the endpoint stops following the logs. Lines
+   * are sent with {@code process-logs:line} method, each line is sent exactly once, so a client
+   * may reconnect without replaying the whole logs.
+   *
+   * @param endpointId the id of the endpoint to send lines to
+   * @param machineId machine id whose process logs will be sent
+   * @param pid process id
+   * @param tail the number of the last lines to send before the new lines
+   * @throws NotFoundException if logs of the process are not available
+   * @throws BadRequestException if {@code tail} is negative
+   * @throws MachineException if other error occur
+   */
+  public void followProcessLogs(String endpointId, String machineId, int pid, int tail)
+      throws NotFoundException, BadRequestException, MachineException {
+    if (tail < 0) {
+      throw new BadRequestException("The number of lines must not be negative");
+    }
+    final ProcessLogFollowers followers = logFollowers.get(followersKey(machineId, pid));
+    if (followers == null) {
+      // the process is finished, so there is nothing to follow
+      for (String line : getProcessLogsTail(machineId, pid, tail)) {
+        sendLogLine(endpointId, machineId, pid, line);
       }
+      return;
+    }
+    try {
+      followers.follow(endpointId, tail);
+    } catch (IOException e) {
+      throw logsReadingException(machineId, pid, e);
     }
-    throw new NotFoundException(
-        String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+  }
+
+  /** Stops sending the new lines of the process logs to the JSON-RPC endpoint. */
+  public void unfollowProcessLogs(String endpointId, String machineId, int pid) {
+    final ProcessLogFollowers followers = logFollowers.get(followersKey(machineId, pid));
+    if (followers != null) {
+      followers.unfollow(endpointId);
+    }
+  }
+
+  @Inject
+  private void configureFollowHandlers(RequestHandlerConfigurator configurator) {
+    configurator
+        .newConfiguration()
+        .methodName("process-logs:follow")
+        .paramsAsDto(FollowProcessLogsRequestDto.class)
+        .noResult()
+        .withBiConsumer(
+            (endpointId, request) -> {
+              try {
+                followProcessLogs(
+                    endpointId, request.getMachineId(), request.getPid(), request.getTail());
+              } catch (NotFoundException | BadRequestException | MachineException x) {
+                LOG.warn(
+                    "Unable to follow logs of process '{}' of machine '{}'. {}",
+                    request.getPid(),
+                    request.getMachineId(),
+                    x.getMessage());
+              }
+            });
+    configurator
+        .newConfiguration()
+        .methodName("process-logs:un-follow")
+        .paramsAsDto(FollowProcessLogsRequestDto.class)
+        .noResult()
+        .withBiConsumer(
+            (endpointId, request) ->
+                unfollowProcessLogs(endpointId, request.getMachineId(), request.getPid()));
+  }
+
+  private File requireProcessLogsFile(String machineId, int pid) throws NotFoundException {
+    final File processLogsFile = getProcessLogsFile(machineId, pid);
+    if (!processLogsFile.isFile()) {
+      throw new NotFoundException(
+          String.format(
+              "Logs for process '%s' of machine '%s' are not available", pid, machineId));
+    }
+    return processLogsFile;
+  }
+
+  private MachineException logsReadingException(String machineId, int pid, IOException e) {
+    return new MachineException(
+        String.format(
+            "Unable read log file for process '%s' of machine '%s'. %s",
+            pid, machineId, e.getMessage()));
+  }
+
+  @VisibleForTesting
+  void sendLogLine(String endpointId, String machineId, int pid, String line) {
+    try {
+      transmitter
+          .newRequest()
+          .endpointId(endpointId)
+          .methodName("process-logs:line")
+          .paramsAsDto(
+              newDto(ProcessLogLineDto.class).withMachineId(machineId).withPid(pid).withText(line))
+          .sendAndSkipResult();
+    } catch (IllegalStateException e) {
+      LOG.debug("Unable to send process logs line to endpoint '{}'", endpointId);
+    }
+  }
+
+  private static String followersKey(String machineId, int pid) {
+    return machineId + '/' + pid;
   }
 
   private File getProcessLogsFile(String machineId, int pid) {
@@ -271,6 +444,91 @@ public class MachineProcessManager {
     }
   }
 
+  /**
+   * Writes the logs of the running process and sends each written line to the endpoints following
+   * the logs. Lines are written and followers are registered under the same lock, so the lines
+   * sent to a new follower from the logs file are never sent to it again.
+   *
+   * <p>Lines are sent outside of the lock, so slow endpoints don't block the process output. The
+   * sends are queued in the order of writes and performed by a single task at a time, so each
+   * endpoint receives the lines in the order they were written.
+   */
+  private class ProcessLogFollowers implements LineConsumer {
+    private final LineConsumer processLogger;
+    private final String machineId;
+    private final int pid;
+    private final Set<String> endpointIds;
+    private final Queue<Runnable> sends;
+    private final AtomicBoolean sending;
+
+    private ProcessLogFollowers(LineConsumer processLogger, String machineId, int pid) {
+      this.processLogger = processLogger;
+      this.machineId = machineId;
+      this.pid = pid;
+      this.endpointIds = new HashSet<>();
+      this.sends = new ConcurrentLinkedQueue<>();
+      this.sending = new AtomicBoolean();
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+      synchronized (this) {
+        processLogger.writeLine(line);
+        if (endpointIds.isEmpty()) {
+          return;
+        }
+        final List<String> receivers = new ArrayList<>(endpointIds);
+        sends.add(() -> receivers.forEach(id -> sendLogLine(id, machineId, pid, line)));
+      }
+      scheduleSends();
+    }
+
+    private void follow(String endpointId, int tail) throws IOException {
+      synchronized (this) {
+        final List<String> lines = LogFileReader.tail(getProcessLogsFile(machineId, pid), tail);
+        endpointIds.add(endpointId);
+        sends.add(() -> lines.forEach(line -> sendLogLine(endpointId, machineId, pid, line)));
+      }
+      scheduleSends();
+    }
+
+    private void scheduleSends() {
+      if (sending.compareAndSet(false, true)) {
+        try {
+          executor.execute(this::performSends);
+        } catch (RejectedExecutionException x) {
+          // the manager is stopping, lines are not sent anymore
+          sending.set(false);
+        }
+      }
+    }
+
+    private void performSends() {
+      do {
+        Runnable send;
+        while ((send = sends.poll()) != null) {
+          try {
+            send.run();
+          } catch (RuntimeException x) {
+            LOG.error("Unable to send logs of process '{}' of machine '{}'", pid, machineId, x);
+          }
+        }
+        sending.set(false);
+      } while (!sends.isEmpty() && sending.compareAndSet(false, true));
+    }
+
+    private synchronized void unfollow(String endpointId) {
+      endpointIds.remove(endpointId);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      logFollowers.remove(followersKey(machineId, pid), this);
+      endpointIds.clear();
+      processLogger.close();
+    }
+  }
+
   @PreDestroy
   private void cleanup() {
     boolean interrupted = false;
@@ -27,6 +27,8 @@ import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceRuntime;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
+import org.eclipse.che.api.machine.server.timeline.StartPhase;
+import org.eclipse.che.api.machine.server.timeline.StartPhaseStatistics;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
@@ -35,6 +37,8 @@ import org.eclipse.che.api.workspace.shared.dto.ExtendedMachineDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.ServerConf2Dto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.api.workspace.shared.dto.StartPhaseDto;
+import org.eclipse.che.api.workspace.shared.dto.StartPhaseStatisticsDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceRuntimeDto;
@@ -237,5 +241,25 @@ public final class DtoConverter {
         .withMachineName(snapshot.getMachineName());
   }
 
+  /** Converts {@link StartPhase} to {@link StartPhaseDto}. */
+  public static StartPhaseDto asDto(StartPhase phase) {
+    return newDto(StartPhaseDto.class)
+        .withName(phase.getName())
+        .withMachineName(phase.getMachineName())
+        .withStartOffsetMs(phase.getStartOffsetMs())
+        .withDurationMs(phase.getDurationMs());
+  }
+
+  /** Converts {@link StartPhaseStatistics} to {@link StartPhaseStatisticsDto}. */
+  public static StartPhaseStatisticsDto asDto(StartPhaseStatistics statistics) {
+    return newDto(StartPhaseStatisticsDto.class)
+        .withPhase(statistics.getPhase())
+        .withCount(statistics.getCount())
+        .withP50Ms(statistics.getP50Ms())
+        .withP90Ms(statistics.getP90Ms())
+        .withP99Ms(statistics.getP99Ms())
+        .withMaxMs(statistics.getMaxMs());
+  }
+
   private DtoConverter() {}
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.util.StatisticsProvider;
+import org.eclipse.che.api.environment.server.CheEnvironmentEngine;
+import org.eclipse.che.commons.lang.concurrent.LockStatistics;
+
+/**
+ * Reports contention statistics of the locks used by {@link WorkspaceRuntimes#getLockStatistics()
+ * workspace runtimes} and {@link CheEnvironmentEngine#getLockStatistics() environment engine},
+ * e.g. {@code runtimes.write.contended} or {@code environments.read.max_wait_ms}.
+ */
+@Singleton
+public class WorkspaceLocksStatisticsProvider implements StatisticsProvider {
+
+  private final WorkspaceRuntimes runtimes;
+  private final CheEnvironmentEngine environmentEngine;
+
+  @Inject
+  public WorkspaceLocksStatisticsProvider(
+      WorkspaceRuntimes runtimes, CheEnvironmentEngine environmentEngine) {
+    this.runtimes = runtimes;
+    this.environmentEngine = environmentEngine;
+  }
+
+  @Override
+  public String getName() {
+    return "workspace_locks";
+  }
+
+  @Override
+  public Map<String, Long> getStatistics() {
+    final Map<String, Long> result = new LinkedHashMap<>();
+    putAll(result, "runtimes.", runtimes.getLockStatistics());
+    putAll(result, "environments.", environmentEngine.getLockStatistics());
+    return result;
+  }
+
+  private static void putAll(
+      Map<String, Long> result, String prefix, Map<String, LockStatistics> statistics) {
+    for (Map.Entry<String, LockStatistics> entry : statistics.entrySet()) {
+      final String operation = prefix + entry.getKey() + '.';
+      final LockStatistics lock = entry.getValue();
+      result.put(operation + "acquired", lock.getAcquired());
+      result.put(operation + "contended", lock.getContended());
+      result.put(operation + "avg_wait_ms", NANOSECONDS.toMillis(lock.getAverageWaitNanos()));
+      result.put(operation + "max_wait_ms", NANOSECONDS.toMillis(lock.getMaxWaitNanos()));
+      result.put(operation + "avg_hold_ms", NANOSECONDS.toMillis(lock.getAverageHoldNanos()));
+      result.put(operation + "max_hold_ms", NANOSECONDS.toMillis(lock.getMaxHoldNanos()));
+    }
+  }
+}
@@ -11,12 +11,14 @@
 package org.eclipse.che.api.workspace.server;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Throwables.getCausalChain;
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
@@ -24,6 +26,7 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_B
 
 import com.google.inject.Inject;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +41,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -249,6 +253,33 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of workspaces which user can read.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param user the id of the user
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @param maxItems the maximum number of workspaces to return
+   * @param skipCount the number of workspaces to skip
+   * @return page of workspaces which user can read
+   * @throws NullPointerException when {@code user} is null
+   * @throws IllegalArgumentException when {@code maxItems} or {@code skipCount} is negative
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getWorkspaces(String, int, long)}
+   */
+  public Page<WorkspaceImpl> getWorkspaces(
+      String user, boolean includeRuntimes, int maxItems, long skipCount) throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
+    final Page<WorkspaceImpl> page = workspaceDao.getWorkspaces(user, maxItems, skipCount);
+    injectRuntimeAndAttributes(page.getItems(), !includeRuntimes);
+    return page;
+  }
+
   /**
    * Gets list of workspaces which has given namespace. Runtimes are included
    *
@@ -286,6 +317,34 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of workspaces which has given namespace.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param namespace the namespace to find workspaces
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @param maxItems the maximum number of workspaces to return
+   * @param skipCount the number of workspaces to skip
+   * @return page of workspaces which has given namespace
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws IllegalArgumentException when {@code maxItems} or {@code skipCount} is negative
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getByNamespace(String, int, long)}
+   */
+  public Page<WorkspaceImpl> getByNamespace(
+      String namespace, boolean includeRuntimes, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
+    final Page<WorkspaceImpl> page = workspaceDao.getByNamespace(namespace, maxItems, skipCount);
+    injectRuntimeAndAttributes(page.getItems(), !includeRuntimes);
+    return page;
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -847,14 +906,13 @@ public class WorkspaceManager {
     if (statusOnly) {
       for (WorkspaceImpl workspace : workspaces) {
         workspace.setStatus(runtimes.getStatus(workspace.getId()));
-        addExtraAttributes(workspace);
       }
     } else {
       for (WorkspaceImpl workspace : workspaces) {
         runtimes.injectRuntime(workspace);
-        addExtraAttributes(workspace);
       }
     }
+    addExtraAttributes(workspaces);
   }
 
   /** Adds attributes that are not originally stored in workspace but should be published. */
@@ -867,4 +925,28 @@ public class WorkspaceManager {
           .put(SNAPSHOTTED_AT_ATTRIBUTE_NAME, Long.toString(snapshots.get(0).getCreationDate()));
     }
   }
+
+  /**
+   * Adds attributes that are not originally stored in workspaces but should be published, the same
+   * as {@link #addExtraAttributes(WorkspaceImpl)} does but fetches snapshots of all the given
+   * workspaces at once.
+   */
+  private void addExtraAttributes(List<WorkspaceImpl> workspaces) throws SnapshotException {
+    if (workspaces.isEmpty()) {
+      return;
+    }
+    // snapshotted_at
+    final Map<String, Long> snapshottedAt = new HashMap<>();
+    for (SnapshotImpl snapshot :
+        snapshotDao.findSnapshotsByWorkspaces(
+            workspaces.stream().map(WorkspaceImpl::getId).collect(toList()))) {
+      snapshottedAt.putIfAbsent(snapshot.getWorkspaceId(), snapshot.getCreationDate());
+    }
+    for (WorkspaceImpl workspace : workspaces) {
+      final Long creationDate = snapshottedAt.get(workspace.getId());
+      if (creationDate != null) {
+        workspace.getAttributes().put(SNAPSHOTTED_AT_ATTRIBUTE_NAME, Long.toString(creationDate));
+      }
+    }
+  }
 }
@@ -16,15 +16,19 @@ import static java.util.Objects.requireNonNull;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.SNAPSHOTTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.AGENTS_LAUNCH;
+import static org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder.AGENT_LAUNCH_PREFIX;
 import static org.eclipse.che.api.machine.shared.Constants.ENVIRONMENT_OUTPUT_CHANNEL_TEMPLATE;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -32,16 +36,21 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -50,6 +59,7 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -71,13 +81,19 @@ import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.machine.server.timeline.StartPhase;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.shared.dto.StartPhaseDto;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.LockStatistics;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
@@ -113,7 +129,15 @@ public class WorkspaceRuntimes {
   private final AgentRegistry agentRegistry;
   private final SnapshotDao snapshotDao;
   private final WorkspaceSharedPool sharedPool;
-
+  private final StartTimelineRecorder timelineRecorder;
+
+  private final ExecutorService agentsLaunchExecutor =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setNameFormat("AgentsLaunchPool-%d")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
   private final AtomicBoolean isStartRefused = new AtomicBoolean(false);
   private final MachineAgentsLauncher machineAgentsLauncher = new MachineAgentsLauncher();
@@ -126,7 +150,10 @@ public class WorkspaceRuntimes {
       AgentLauncherFactory launcherFactory,
       AgentRegistry agentRegistry,
       SnapshotDao snapshotDao,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      StartTimelineRecorder timelineRecorder,
+      @Named("che.workspace.locks.stripes") int lockStripes,
+      @Named("che.workspace.locks.per_workspace") boolean perWorkspaceLocks) {
     this(
         eventsService,
         envEngine,
@@ -135,7 +162,9 @@ public class WorkspaceRuntimes {
         agentRegistry,
         snapshotDao,
         sharedPool,
-        new ConcurrentHashMap<>());
+        timelineRecorder,
+        new ConcurrentHashMap<>(),
+        new StripedLocks(lockStripes, perWorkspaceLocks));
   }
 
   public WorkspaceRuntimes(
@@ -146,16 +175,18 @@ public class WorkspaceRuntimes {
       AgentRegistry agentRegistry,
       SnapshotDao snapshotDao,
       WorkspaceSharedPool sharedPool,
-      ConcurrentMap<String, RuntimeState> states) {
+      StartTimelineRecorder timelineRecorder,
+      ConcurrentMap<String, RuntimeState> states,
+      StripedLocks locks) {
     this.eventsService = eventsService;
     this.envEngine = envEngine;
     this.agentSorter = agentSorter;
     this.launcherFactory = launcherFactory;
     this.agentRegistry = agentRegistry;
     this.snapshotDao = snapshotDao;
-    // 16 - experimental value for stripes count, it comes from default hash map size
-    this.locks = new StripedLocks(16);
+    this.locks = locks;
     this.sharedPool = sharedPool;
+    this.timelineRecorder = timelineRecorder;
     this.states = states;
   }
 
@@ -559,6 +590,15 @@ public class WorkspaceRuntimes {
     return new HashSet<>(states.keySet());
   }
 
+  /**
+   * Returns contention statistics of the locks which synchronize workspaces runtimes operations.
+   *
+   * @see StripedLocks#getStatistics()
+   */
+  public Map<String, LockStatistics> getLockStatistics() {
+    return locks.getStatistics();
+  }
+
   /**
    * Returns true if there is at least one workspace running(it's status is different from {@link
    * WorkspaceStatus#STOPPED}), otherwise returns false.
@@ -607,6 +647,7 @@ public class WorkspaceRuntimes {
 
     if (!idsToStop.isEmpty()) {
       LOG.info("Shutdown running environments, environments to stop: '{}'", idsToStop.size());
+      final long startTime = System.currentTimeMillis();
       ExecutorService executor =
           Executors.newFixedThreadPool(
               2 * Runtime.getRuntime().availableProcessors(),
@@ -629,9 +670,11 @@ public class WorkspaceRuntimes {
 
       executor.shutdown();
       try {
+        // interrupted stop leaves containers behind, so give stops more time before interrupting
         if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
-          executor.shutdownNow();
+          LOG.info("Environments are still being stopped, wait 60s more");
           if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
             LOG.error("Unable to stop runtimes termination pool");
           }
         }
@@ -639,6 +682,17 @@ public class WorkspaceRuntimes {
         executor.shutdownNow();
         Thread.currentThread().interrupt();
       }
+      LOG.info(
+          "Shutdown of running environments took {} ms", System.currentTimeMillis() - startTime);
+    }
+  }
+
+  /** Interrupts agents launches which are still running when the component is destroyed. */
+  @PreDestroy
+  void shutdownAgentsLaunchPool() throws InterruptedException {
+    agentsLaunchExecutor.shutdownNow();
+    if (!agentsLaunchExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("Unable to stop agents launch pool");
     }
   }
 
@@ -669,17 +723,126 @@ public class WorkspaceRuntimes {
     return state;
   }
 
+  /**
+   * Launches agents in the given machine respecting dependencies between them. Agents which don't
+   * depend on each other are launched concurrently, agent is launched only when all the agents it
+   * depends on are launched.
+   */
   protected void launchAgents(Instance instance, List<String> agents)
       throws ServerException, AgentException {
+    try (@SuppressWarnings("unused")
+        StartTimelineRecorder.Phase p =
+            timelineRecorder.phase(
+                instance.getWorkspaceId(), AGENTS_LAUNCH, instance.getConfig().getName())) {
+      launchAgentsByLevels(instance, agents);
+    }
+  }
+
+  private void launchAgentsByLevels(Instance instance, List<String> agents)
+      throws ServerException, AgentException {
+    // group agents by levels of dependency graph,
+    // agents of the same level don't depend on each other
+    List<List<Agent>> levels = new ArrayList<>();
+    Map<String, Integer> agentLevels = new HashMap<>();
     for (AgentKey agentKey : agentSorter.sort(agents)) {
-      if (!Thread.currentThread().isInterrupted()) {
-        LOG.info(
-            "Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-        Agent agent = agentRegistry.getAgent(agentKey);
-        AgentLauncher launcher =
-            launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-        launcher.launch(instance, agent);
+      Agent agent = agentRegistry.getAgent(agentKey);
+      int level = 0;
+      for (String dependency : agent.getDependencies()) {
+        Integer dependencyLevel = agentLevels.get(AgentKeyImpl.parse(dependency).getId());
+        if (dependencyLevel != null) {
+          level = Math.max(level, dependencyLevel + 1);
+        }
+      }
+      agentLevels.put(agentKey.getId(), level);
+      while (levels.size() <= level) {
+        levels.add(new ArrayList<>());
       }
+      levels.get(level).add(agent);
+    }
+
+    for (List<Agent> level : levels) {
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+      if (level.size() == 1) {
+        launchAgent(instance, level.get(0));
+      } else {
+        launchAgentsConcurrently(instance, level);
+      }
+    }
+  }
+
+  private void launchAgent(Instance instance, Agent agent) throws ServerException, AgentException {
+    LOG.info("Launching '{}' agent at workspace {}", agent.getId(), instance.getWorkspaceId());
+    AgentLauncher launcher = launcherFactory.find(agent.getId(), instance.getConfig().getType());
+    try (@SuppressWarnings("unused")
+        StartTimelineRecorder.Phase p =
+            timelineRecorder.phase(
+                instance.getWorkspaceId(),
+                AGENT_LAUNCH_PREFIX + agent.getId(),
+                instance.getConfig().getName())) {
+      launcher.launch(instance, agent);
+    }
+  }
+
+  /**
+   * Launches the given agents concurrently and waits until all of them are launched. If launching
+   * of any agent fails or current thread is interrupted, the rest of launches are interrupted and
+   * this method returns only when all of them are finished.
+   */
+  private void launchAgentsConcurrently(Instance instance, List<Agent> agents)
+      throws ServerException, AgentException {
+    CompletionService<Void> launches = new ExecutorCompletionService<>(agentsLaunchExecutor);
+    List<Future<Void>> futures = new ArrayList<>(agents.size());
+    // a launch is claimed either by its task or by the cancellation, whichever is the first,
+    // the one which claimed the launch counts it down once it is finished
+    List<AtomicBoolean> claims = new ArrayList<>(agents.size());
+    CountDownLatch finished = new CountDownLatch(agents.size());
+    try {
+      for (Agent agent : agents) {
+        AtomicBoolean claim = new AtomicBoolean();
+        claims.add(claim);
+        futures.add(
+            launches.submit(
+                ThreadLocalPropagateContext.wrap(
+                    () -> {
+                      if (claim.compareAndSet(false, true)) {
+                        try {
+                          launchAgent(instance, agent);
+                        } finally {
+                          finished.countDown();
+                        }
+                      }
+                      return null;
+                    })));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        launches.take().get();
+      }
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      throw new ServerException(
+          format(
+              "Launching of agents in workspace '%s' is interrupted", instance.getWorkspaceId()));
+    } catch (ExecutionException x) {
+      Throwable cause = x.getCause();
+      if (cause instanceof ServerException) {
+        throw (ServerException) cause;
+      } else if (cause instanceof AgentException) {
+        throw (AgentException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ServerException(cause.getMessage(), cause);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+      for (int i = 0; i < agents.size(); i++) {
+        if (i >= claims.size() || claims.get(i).compareAndSet(false, true)) {
+          finished.countDown();
+        }
+      }
+      // cancelled launches must not overlap with launches of the next level
+      Uninterruptibles.awaitUninterruptibly(finished);
     }
   }
 
@@ -690,6 +853,7 @@ public class WorkspaceRuntimes {
   private void startEnvironmentAndPublishEvents(
       EnvironmentImpl environment, String workspaceId, String envName, boolean recover)
       throws ServerException, EnvironmentException, ConflictException, AgentException {
+    timelineRecorder.begin(workspaceId);
     try {
       envEngine.start(
           workspaceId,
@@ -702,11 +866,13 @@ public class WorkspaceRuntimes {
       // environment start was interrupted, it's either shutdown or direct stop
       // in the case of shutdown make sure the status is correct,
       // otherwise workspace is already stopping
+      timelineRecorder.complete(workspaceId, false);
       compareAndSetStatus(workspaceId, WorkspaceStatus.STARTING, WorkspaceStatus.STOPPING);
       removeStateAndPublishStopEvents(workspaceId);
       throw x;
     } catch (EnvironmentException | ServerException | ConflictException | AgentException x) {
       // environment can't be started for some reason, STARTING -> STOPPED
+      List<StartPhase> timeline = timelineRecorder.complete(workspaceId, false);
       removeState(workspaceId);
       eventsService.publish(
           DtoFactory.newDto(WorkspaceStatusEvent.class)
@@ -714,8 +880,8 @@ public class WorkspaceRuntimes {
               .withEventType(EventType.ERROR)
               .withPrevStatus(WorkspaceStatus.STARTING)
               .withStatus(WorkspaceStatus.STOPPED)
-              .withError(
-                  "Start of environment '" + envName + "' failed. Error: " + x.getMessage()));
+              .withError("Start of environment '" + envName + "' failed. Error: " + x.getMessage())
+              .withStartTimeline(asDtos(timeline)));
       throw x;
     }
 
@@ -736,6 +902,7 @@ public class WorkspaceRuntimes {
     // either current thread is interrupted right after status update,
     // or stop is called directly, anyway stop the environment
     if (Thread.interrupted() || prevStatus != WorkspaceStatus.STARTING) {
+      timelineRecorder.complete(workspaceId, false);
       try {
         stopEnvironmentAndPublishEvents(workspaceId, WorkspaceStatus.STARTING);
       } catch (Exception x) {
@@ -749,12 +916,18 @@ public class WorkspaceRuntimes {
     }
 
     // normally started, notify clients
+    List<StartPhase> timeline = timelineRecorder.complete(workspaceId, true);
     eventsService.publish(
         DtoFactory.newDto(WorkspaceStatusEvent.class)
             .withWorkspaceId(workspaceId)
             .withStatus(WorkspaceStatus.RUNNING)
             .withEventType(EventType.RUNNING)
-            .withPrevStatus(WorkspaceStatus.STARTING));
+            .withPrevStatus(WorkspaceStatus.STARTING)
+            .withStartTimeline(asDtos(timeline)));
+  }
+
+  private static List<StartPhaseDto> asDtos(List<StartPhase> timeline) {
+    return timeline.stream().map(DtoConverter::asDto).collect(Collectors.toList());
   }
 
   /** STOPPING -> remove runtime -> STOPPED. */
@@ -56,12 +56,14 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
@@ -70,6 +72,8 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.StartPhaseDto;
+import org.eclipse.che.api.workspace.shared.dto.StartPhaseStatisticsDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
@@ -89,6 +93,7 @@ public class WorkspaceService extends Service {
   private final WorkspaceValidator validator;
   private final WsAgentHealthChecker agentHealthChecker;
   private final WorkspaceServiceLinksInjector linksInjector;
+  private final StartTimelineRecorder timelineRecorder;
   private final String apiEndpoint;
   private final boolean cheWorkspaceAutoSnapshot;
   private final boolean cheWorkspaceAutoRestore;
@@ -102,6 +107,7 @@ public class WorkspaceService extends Service {
       WorkspaceValidator validator,
       WsAgentHealthChecker agentHealthChecker,
       WorkspaceServiceLinksInjector workspaceServiceLinksInjector,
+      StartTimelineRecorder timelineRecorder,
       @Named(CHE_WORKSPACE_AUTO_SNAPSHOT) boolean cheWorkspaceAutoSnapshot,
       @Named(CHE_WORKSPACE_AUTO_RESTORE) boolean cheWorkspaceAutoRestore,
       @Named(CHE_WORKSPACE_AUTO_START) boolean cheWorkspaceAutoStart) {
@@ -110,6 +116,7 @@ public class WorkspaceService extends Service {
     this.validator = validator;
     this.agentHealthChecker = agentHealthChecker;
     this.linksInjector = workspaceServiceLinksInjector;
+    this.timelineRecorder = timelineRecorder;
     this.cheWorkspaceAutoSnapshot = cheWorkspaceAutoSnapshot;
     this.cheWorkspaceAutoRestore = cheWorkspaceAutoRestore;
     this.cheWorkspaceAutoStart = cheWorkspaceAutoStart;
@@ -227,22 +234,29 @@ public class WorkspaceService extends Service {
     @ApiResponse(code = 200, message = "The workspaces successfully fetched"),
     @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")
   })
-  public List<WorkspaceDto> getWorkspaces(
+  public Response getWorkspaces(
       @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
           Integer skipCount,
-      @ApiParam("The limit of the items in the response, default is 30")
-          @DefaultValue("30")
+      @ApiParam("The limit of the items in the response, all the items are returned if not set")
           @QueryParam("maxItems")
           Integer maxItems,
       @ApiParam("Workspace status") @QueryParam("status") String status)
       throws ServerException, BadRequestException {
-    //TODO add maxItems & skipCount to manager
-    return workspaceManager
-        .getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
-        .stream()
-        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-        .collect(toList());
+    final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+    if (maxItems == null) {
+      return Response.ok(asDtos(workspaceManager.getWorkspaces(userId, false), status)).build();
+    }
+    checkPaging(maxItems, skipCount);
+    final Page<WorkspaceImpl> page;
+    if (status == null) {
+      page = workspaceManager.getWorkspaces(userId, false, maxItems, skipCount);
+    } else {
+      page = filterPage(workspaceManager.getWorkspaces(userId, false), status, maxItems, skipCount);
+    }
+    return Response.ok()
+        .entity(asDtos(page.getItems(), null))
+        .header("Link", createLinkHeader(page))
+        .build();
   }
 
   @GET
@@ -259,16 +273,32 @@ public class WorkspaceService extends Service {
     @ApiResponse(code = 200, message = "The workspaces successfully fetched"),
     @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")
   })
-  public List<WorkspaceDto> getByNamespace(
+  public Response getByNamespace(
       @ApiParam("Workspace status") @QueryParam("status") String status,
-      @ApiParam("The namespace") @PathParam("namespace") String namespace)
+      @ApiParam("The namespace") @PathParam("namespace") String namespace,
+      @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
+          Integer skipCount,
+      @ApiParam("The limit of the items in the response, all the items are returned if not set")
+          @QueryParam("maxItems")
+          Integer maxItems)
       throws ServerException, BadRequestException {
-    return workspaceManager
-        .getByNamespace(namespace, false)
-        .stream()
-        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-        .collect(toList());
+    if (maxItems == null) {
+      return Response.ok(asDtos(workspaceManager.getByNamespace(namespace, false), status))
+          .build();
+    }
+    checkPaging(maxItems, skipCount);
+    final Page<WorkspaceImpl> page;
+    if (status == null) {
+      page = workspaceManager.getByNamespace(namespace, false, maxItems, skipCount);
+    } else {
+      page =
+          filterPage(
+              workspaceManager.getByNamespace(namespace, false), status, maxItems, skipCount);
+    }
+    return Response.ok()
+        .entity(asDtos(page.getItems(), null))
+        .header("Link", createLinkHeader(page))
+        .build();
   }
 
   @PUT
@@ -785,6 +815,42 @@ public class WorkspaceService extends Service {
     return check;
   }
 
+  @GET
+  @Path("/{id}/start-timeline")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get the phases of the last start of the workspace",
+    notes =
+        "The phases are listed in order of their completion, "
+            + "the list is empty if the workspace wasn't started since the server start",
+    response = StartPhaseDto.class,
+    responseContainer = "List"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The response contains the phases of the start"),
+    @ApiResponse(code = 404, message = "The workspace with specified id does not exist"),
+    @ApiResponse(code = 500, message = "Internal server error occurred")
+  })
+  public List<StartPhaseDto> getStartTimeline(
+      @ApiParam("The workspace id") @PathParam("id") String id)
+      throws NotFoundException, ServerException {
+    workspaceManager.getWorkspace(id);
+    return timelineRecorder.getTimeline(id).stream().map(DtoConverter::asDto).collect(toList());
+  }
+
+  @GET
+  @Path("/start-statistics")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get duration percentiles of the phases of successful workspace starts",
+    response = StartPhaseStatisticsDto.class,
+    responseContainer = "List"
+  )
+  @ApiResponses({@ApiResponse(code = 200, message = "The response contains the statistics")})
+  public List<StartPhaseStatisticsDto> getStartStatistics() {
+    return timelineRecorder.getStatistics().stream().map(DtoConverter::asDto).collect(toList());
+  }
+
   @GET
   @Path("/settings")
   @Produces(APPLICATION_JSON)
@@ -818,6 +884,42 @@ public class WorkspaceService extends Service {
     return res;
   }
 
+  /** Converts workspaces with given status(or all of them if status is null) to DTOs. */
+  private List<WorkspaceDto> asDtos(List<WorkspaceImpl> workspaces, String status) {
+    return workspaces
+        .stream()
+        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+        .collect(toList());
+  }
+
+  /**
+   * Creates a page of workspaces with given status. Workspace status is defined by its runtime
+   * rather than stored, so the status filter can't be applied while fetching workspaces.
+   */
+  private static Page<WorkspaceImpl> filterPage(
+      List<WorkspaceImpl> workspaces, String status, int maxItems, int skipCount) {
+    final List<WorkspaceImpl> filtered =
+        workspaces
+            .stream()
+            .filter(ws -> status.equalsIgnoreCase(ws.getStatus().toString()))
+            .collect(toList());
+    return new Page<>(
+        filtered.stream().skip(skipCount).limit(maxItems).collect(toList()),
+        skipCount,
+        maxItems,
+        filtered.size());
+  }
+
+  private static void checkPaging(int maxItems, int skipCount) throws BadRequestException {
+    if (maxItems <= 0) {
+      throw new BadRequestException("The number of items to return must be positive");
+    }
+    if (skipCount < 0) {
+      throw new BadRequestException("The number of items to skip can't be negative");
+    }
+  }
+
   /**
    * Checks object reference is not {@code null}
    *
@@ -94,7 +94,7 @@ public class WorkspaceJsonRpcMessenger implements EventSubscriber<WorkspaceStatu
 
   @PostConstruct
   private void subscribe() {
-    eventService.subscribe(this);
+    eventService.subscribeAsync(this);
   }
 
   @PreDestroy
@@ -53,7 +53,7 @@ public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent>
 
   @PostConstruct
   private void subscribe() {
-    eventService.subscribe(this);
+    eventService.subscribeAsync(this);
   }
 
   @PreDestroy
@@ -32,6 +32,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.core.db.cache.EntityCache;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
 /**
@@ -46,6 +47,8 @@ public class JpaStackDao implements StackDao {
 
   @Inject private EventService eventService;
 
+  @Inject private EntityCache entityCache;
+
   @Override
   public void create(StackImpl stack) throws ConflictException, ServerException {
     requireNonNull(stack, "Required non-null stack");
@@ -60,15 +63,14 @@ public class JpaStackDao implements StackDao {
   }
 
   @Override
-  @Transactional
   public StackImpl getById(String id) throws NotFoundException, ServerException {
     requireNonNull(id, "Required non-null id");
     try {
-      final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
+      final StackImpl stack = entityCache.get(StackImpl.class, id, this::doGet, StackImpl::new);
       if (stack == null) {
         throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
       }
-      return new StackImpl(stack);
+      return stack;
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
     }
@@ -81,6 +83,8 @@ public class JpaStackDao implements StackDao {
       doRemove(id);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      entityCache.invalidate(StackImpl.class, id);
     }
   }
 
@@ -94,6 +98,8 @@ public class JpaStackDao implements StackDao {
       throw new ConflictException(format("Stack with name '%s' already exists", update.getName()));
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      entityCache.invalidate(StackImpl.class, update.getId());
     }
   }
 
@@ -126,6 +132,12 @@ public class JpaStackDao implements StackDao {
     }
   }
 
+  @Transactional
+  protected StackImpl doGet(String id) {
+    final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
+    return stack == null ? null : new StackImpl(stack);
+  }
+
   @Transactional(rollbackOn = {RuntimeException.class, ApiException.class})
   protected void doCreate(StackImpl stack) throws ConflictException, ServerException {
     if (stack.getWorkspaceConfig() != null) {
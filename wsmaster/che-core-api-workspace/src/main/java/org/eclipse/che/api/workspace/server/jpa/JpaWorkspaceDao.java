@@ -27,8 +27,10 @@ import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
+import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -37,6 +39,7 @@ import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.core.db.cache.EntityCache;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -51,6 +54,15 @@ public class JpaWorkspaceDao implements WorkspaceDao {
   @Inject private EventService eventService;
   @Inject private Provider<EntityManager> managerProvider;
 
+  private EntityCache entityCache;
+
+  @Inject
+  protected void setEntityCache(EntityCache entityCache) {
+    // workspaces are cached along with their accounts
+    entityCache.addDependency(AccountImpl.class, WorkspaceImpl.class);
+    this.entityCache = entityCache;
+  }
+
   @Override
   public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
     requireNonNull(workspace, "Required non-null workspace");
@@ -80,6 +92,8 @@ public class JpaWorkspaceDao implements WorkspaceDao {
               update.getConfig().getName(), update.getNamespace()));
     } catch (RuntimeException x) {
       throw new ServerException(x.getMessage(), x);
+    } finally {
+      entityCache.invalidate(WorkspaceImpl.class, update.getId());
     }
   }
 
@@ -92,19 +106,21 @@ public class JpaWorkspaceDao implements WorkspaceDao {
           workspace -> eventService.publish(new WorkspaceRemovedEvent(workspace)));
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      entityCache.invalidate(WorkspaceImpl.class, id);
     }
   }
 
   @Override
-  @Transactional
   public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
     requireNonNull(id, "Required non-null id");
     try {
-      final WorkspaceImpl workspace = managerProvider.get().find(WorkspaceImpl.class, id);
+      final WorkspaceImpl workspace =
+          entityCache.get(WorkspaceImpl.class, id, this::doGet, WorkspaceImpl::new);
       if (workspace == null) {
         throw new NotFoundException(format("Workspace with id '%s' doesn't exist", id));
       }
-      return new WorkspaceImpl(workspace);
+      return workspace;
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
     }
@@ -150,6 +166,38 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getByNamespace(String namespace, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    checkArgument(
+        skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+        "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceImpl> list =
+          manager
+              .createNamedQuery("Workspace.getByNamespace", WorkspaceImpl.class)
+              .setParameter("namespace", namespace)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList()
+              .stream()
+              .map(WorkspaceImpl::new)
+              .collect(toList());
+      final long count =
+          manager
+              .createNamedQuery("Workspace.getByNamespaceCount", Long.class)
+              .setParameter("namespace", namespace)
+              .getSingleResult();
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
@@ -166,6 +214,33 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount)
+      throws ServerException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    checkArgument(
+        skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+        "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceImpl> list =
+          manager
+              .createNamedQuery("Workspace.getAll", WorkspaceImpl.class)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList()
+              .stream()
+              .map(WorkspaceImpl::new)
+              .collect(toList());
+      final long count =
+          manager.createNamedQuery("Workspace.getAllCount", Long.class).getSingleResult();
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
@@ -190,6 +265,12 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Transactional
+  protected WorkspaceImpl doGet(String id) {
+    final WorkspaceImpl workspace = managerProvider.get().find(WorkspaceImpl.class, id);
+    return workspace == null ? null : new WorkspaceImpl(workspace);
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
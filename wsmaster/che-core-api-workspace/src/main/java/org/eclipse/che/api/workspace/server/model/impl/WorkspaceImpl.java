@@ -54,13 +54,18 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
 @NamedQueries({
   @NamedQuery(
     name = "Workspace.getByNamespace",
-    query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace"
+    query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace ORDER BY w.id"
+  ),
+  @NamedQuery(
+    name = "Workspace.getByNamespaceCount",
+    query = "SELECT COUNT(w) FROM Workspace w WHERE w.account.name = :namespace"
   ),
   @NamedQuery(
     name = "Workspace.getByName",
     query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace AND w.name = :name"
   ),
-  @NamedQuery(name = "Workspace.getAll", query = "SELECT w FROM Workspace w"),
+  @NamedQuery(name = "Workspace.getAll", query = "SELECT w FROM Workspace w ORDER BY w.id"),
+  @NamedQuery(name = "Workspace.getAllCount", query = "SELECT COUNT(w) FROM Workspace w"),
   @NamedQuery(
     name = "Workspace.getByTemporary",
     query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"
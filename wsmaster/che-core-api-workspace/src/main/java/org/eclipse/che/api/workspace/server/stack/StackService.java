@@ -53,8 +53,10 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.ResourceVersions;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
+import org.eclipse.che.api.core.rest.annotations.VersionedResource;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.util.LinksHelper;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
@@ -72,13 +74,19 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 @Path("/stack")
 public class StackService extends Service {
 
+  /** Key of the stacks in {@link ResourceVersions}. */
+  static final String STACKS_RESOURCE = "stacks";
+
   private final StackDao stackDao;
   private final StackValidator stackValidator;
+  private final ResourceVersions resourceVersions;
 
   @Inject
-  public StackService(StackDao stackDao, StackValidator stackValidator) {
+  public StackService(
+      StackDao stackDao, StackValidator stackValidator, ResourceVersions resourceVersions) {
     this.stackDao = stackDao;
     this.stackValidator = stackValidator;
+    this.resourceVersions = resourceVersions;
   }
 
   @POST
@@ -119,6 +127,7 @@ public class StackService extends Service {
             .setComponents(stackDto.getComponents())
             .build();
     stackDao.create(newStack);
+    resourceVersions.invalidate(STACKS_RESOURCE);
 
     return Response.status(CREATED).entity(asStackDto(newStack)).build();
   }
@@ -127,6 +136,7 @@ public class StackService extends Service {
   @Path("/{id}")
   @Produces(APPLICATION_JSON)
   @GenerateLink(rel = LINK_REL_GET_STACK_BY_ID)
+  @VersionedResource(STACKS_RESOURCE)
   @ApiOperation(
     value = "Get the stack by id",
     notes = "This operation can be performed for stack owner, or for predefined stacks"
@@ -184,7 +194,9 @@ public class StackService extends Service {
             .setComponents(updateDto.getComponents())
             .build();
 
-    return asStackDto(stackDao.update(stackForUpdate));
+    final StackImpl updated = stackDao.update(stackForUpdate);
+    resourceVersions.invalidate(STACKS_RESOURCE);
+    return asStackDto(updated);
   }
 
   @DELETE
@@ -200,11 +212,13 @@ public class StackService extends Service {
   public void removeStack(@ApiParam("The stack id") @PathParam("id") final String id)
       throws ApiException {
     stackDao.remove(id);
+    resourceVersions.invalidate(STACKS_RESOURCE);
   }
 
   @GET
   @Produces(APPLICATION_JSON)
   @GenerateLink(rel = LINK_REL_SEARCH_STACKS)
+  @VersionedResource(STACKS_RESOURCE)
   @ApiOperation(
     value = "Get the list stacks with required tags",
     notes = "This operation can be performed only by authorized user",
@@ -245,6 +259,7 @@ public class StackService extends Service {
   @Path("/{id}/icon")
   @Produces("image/*")
   @GenerateLink(rel = LINK_REL_GET_ICON)
+  @VersionedResource(STACKS_RESOURCE)
   @ApiOperation(
     value = "Get icon by stack id",
     notes = "This operation can be performed only by authorized user",
@@ -304,6 +319,7 @@ public class StackService extends Service {
 
       stack.setStackIcon(stackIcon);
       stackDao.update(stack);
+      resourceVersions.invalidate(STACKS_RESOURCE);
     }
     return Response.ok().build();
   }
@@ -337,6 +353,7 @@ public class StackService extends Service {
     StackImpl stack = stackDao.getById(id);
     stack.setStackIcon(null);
     stackDao.update(stack);
+    resourceVersions.invalidate(STACKS_RESOURCE);
   }
 
   private StackDto asStackDto(StackImpl stack) {
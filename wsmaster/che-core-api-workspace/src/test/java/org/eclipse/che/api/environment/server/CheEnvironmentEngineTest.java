@@ -16,11 +16,14 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -33,11 +36,15 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,6 +52,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.shared.model.Agent;
@@ -61,6 +73,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.LogFilesWorkers;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentStartInterruptedException;
 import org.eclipse.che.api.environment.server.model.CheServiceBuildContextImpl;
@@ -79,6 +92,7 @@ import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
@@ -87,6 +101,7 @@ import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.Size;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.mockito.ArgumentCaptor;
@@ -126,15 +141,19 @@ public class CheEnvironmentEngineTest {
   @Captor ArgumentCaptor<EventSubscriber<InstanceStateEvent>> eventServiceSubscriberCaptor;
 
   private CheEnvironmentEngine engine;
+  private File logsDir;
+  private LogFilesWorkers logFilesWorkers;
 
   @BeforeMethod
   public void setUp() throws Exception {
+    logsDir = Files.createTempDirectory("logs").toFile();
+    logFilesWorkers = new LogFilesWorkers();
     engine =
         spy(
             new CheEnvironmentEngine(
                 snapshotDao,
                 machineInstanceProviders,
-                System.getProperty("java.io.tmpdir"),
+                logsDir.getPath(),
                 DEFAULT_MACHINE_MEM_LIMIT_MB,
                 eventService,
                 environmentParser,
@@ -145,7 +164,16 @@ public class CheEnvironmentEngineTest {
                 recipeDownloader,
                 containerNameGenerator,
                 agentRegistry,
-                sharedPool));
+                sharedPool,
+                new StartTimelineRecorder(100),
+                16,
+                false,
+                10,
+                5,
+                1000,
+                24,
+                1,
+                logFilesWorkers));
 
     when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
     when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -157,6 +185,8 @@ public class CheEnvironmentEngineTest {
   @AfterMethod
   public void tearDown() throws Exception {
     EnvironmentContext.reset();
+    logFilesWorkers.shutdown();
+    IoUtil.deleteRecursive(logsDir);
   }
 
   @Test
@@ -258,6 +288,55 @@ public class CheEnvironmentEngineTest {
     }
   }
 
+  @Test
+  public void shouldStartIndependentMachinesConcurrently() throws Exception {
+    // given
+    ExecutorService executor = Executors.newCachedThreadPool();
+    when(sharedPool.submit(any()))
+        .thenAnswer(invocation -> executor.submit((Callable<?>) invocation.getArguments()[0]));
+    EnvironmentImpl env = createEnv();
+    String envName = "env-1";
+    String workspaceId = "wsId";
+    CountDownLatch startingLatch = new CountDownLatch(env.getMachines().size());
+    when(machineProvider.startService(
+            anyString(),
+            eq(workspaceId),
+            eq(envName),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              // each machine waits for the others, so start fails if they are started one by one
+              startingLatch.countDown();
+              if (!startingLatch.await(10, SECONDS)) {
+                throw new ServerException("Machines are not started concurrently");
+              }
+              Object[] arguments = invocationOnMock.getArguments();
+              return spy(
+                  new NoOpMachineInstance(
+                      createMachine(
+                          workspaceId,
+                          envName,
+                          (CheServiceImpl) arguments[6],
+                          (String) arguments[3],
+                          (boolean) arguments[4])));
+            });
+    when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+    try {
+      // when
+      List<Instance> machines = engine.start(workspaceId, envName, env, false, messageConsumer);
+
+      // then
+      assertEquals(machines.size(), env.getMachines().size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void stopsTheEnvironmentWhileStartOfMachineIsInterrupted() throws Exception {
     // given
@@ -876,6 +955,50 @@ public class CheEnvironmentEngineTest {
     verify(machineProvider).destroyNetwork(anyString());
   }
 
+  @Test
+  public void shouldDestroyMachinesConcurrentlyAndNetworkAfterThemOnEnvStop() throws Exception {
+    // given
+    List<Instance> instances = startEnv();
+    ExecutorService executor = Executors.newCachedThreadPool();
+    doAnswer(
+            invocation -> {
+              executor.execute((Runnable) invocation.getArguments()[0]);
+              return null;
+            })
+        .when(sharedPool)
+        .execute(any(Runnable.class));
+    CountDownLatch destroyingLatch = new CountDownLatch(instances.size());
+    AtomicInteger destroyedConcurrently = new AtomicInteger();
+    for (Instance instance : instances) {
+      doAnswer(
+              invocation -> {
+                // each machine waits for the others, so it fails if they are destroyed one by one
+                destroyingLatch.countDown();
+                if (destroyingLatch.await(10, SECONDS)) {
+                  destroyedConcurrently.incrementAndGet();
+                }
+                return null;
+              })
+          .when(instance)
+          .destroy();
+    }
+
+    try {
+      // when
+      engine.stop(instances.get(0).getWorkspaceId());
+
+      // then
+      assertEquals(destroyedConcurrently.get(), instances.size());
+      for (Instance instance : instances) {
+        InOrder inOrder = inOrder(instance, machineProvider);
+        inOrder.verify(instance).destroy();
+        inOrder.verify(machineProvider).destroyNetwork(anyString());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test(
     expectedExceptions = EnvironmentNotRunningException.class,
     expectedExceptionsMessageRegExp =
@@ -1086,6 +1209,72 @@ public class CheEnvironmentEngineTest {
     verify(instance).destroy();
   }
 
+  @Test
+  public void shouldKeepMachineLogsWhenMachineIsStopped() throws Exception {
+    // given
+    List<Instance> instances = startEnv();
+    Optional<Instance> instanceOpt =
+        instances.stream().filter(machine -> !machine.getConfig().isDev()).findAny();
+    assertTrue(instanceOpt.isPresent(), "Required for test non-dev machine is not found");
+    Instance instance = instanceOpt.get();
+    File machineLogsDir = writeMachineLogs(instance.getId(), 4, 0);
+
+    // when
+    engine.stopMachine(instance.getWorkspaceId(), instance.getId());
+    engine.removeExpiredMachineLogs();
+
+    // then
+    assertTrue(machineLogsDir.exists());
+  }
+
+  @Test
+  public void shouldRemoveLogsOfDestroyedMachinesWhenRetentionPeriodExpires() throws Exception {
+    // given
+    File expired = writeMachineLogs("expiredMachine", 4, 25);
+    File recent = writeMachineLogs("recentMachine", 4, 23);
+
+    // when
+    engine.removeExpiredMachineLogs();
+
+    // then
+    assertFalse(expired.exists());
+    assertTrue(recent.exists());
+  }
+
+  @Test
+  public void shouldRemoveOldestLogsOfDestroyedMachinesWhenTheyExceedSizeLimit() throws Exception {
+    // given
+    File oldest = writeMachineLogs("oldestMachine", 600 * 1024, 2);
+    File newest = writeMachineLogs("newestMachine", 600 * 1024, 1);
+
+    // when
+    engine.removeExpiredMachineLogs();
+
+    // then
+    assertFalse(oldest.exists());
+    assertTrue(newest.exists());
+  }
+
+  @Test
+  public void shouldNotRemoveLogsOfRunningMachines() throws Exception {
+    // given
+    List<Instance> instances = startEnv();
+    File[] machineLogsDirs = logsDir.listFiles();
+    assertNotNull(machineLogsDirs);
+    assertEquals(machineLogsDirs.length, instances.size());
+    for (File machineLogsDir : machineLogsDirs) {
+      writeMachineLogs(machineLogsDir.getName(), 4, 25);
+    }
+
+    // when
+    engine.removeExpiredMachineLogs();
+
+    // then
+    for (File machineLogsDir : machineLogsDirs) {
+      assertTrue(machineLogsDir.exists());
+    }
+  }
+
   @Test(
     expectedExceptions = EnvironmentNotRunningException.class,
     expectedExceptionsMessageRegExp = "Environment '.*' is not running"
@@ -1492,6 +1681,20 @@ public class CheEnvironmentEngineTest {
     engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
   }
 
+  /** Writes a log file of the given size into the logs folder of the machine and ages it. */
+  private File writeMachineLogs(String machineId, int size, long ageHours) throws Exception {
+    File machineLogsDir = new File(logsDir, machineId);
+    assertTrue(machineLogsDir.mkdirs() || machineLogsDir.isDirectory());
+    File logsFile = new File(machineLogsDir, "process.logs");
+    Files.write(logsFile.toPath(), new byte[size]);
+    long lastModified = System.currentTimeMillis() - HOURS.toMillis(ageHours);
+    for (File file : machineLogsDir.listFiles()) {
+      assertTrue(file.setLastModified(lastModified));
+    }
+    assertTrue(machineLogsDir.setLastModified(lastModified));
+    return machineLogsDir;
+  }
+
   private List<Instance> startEnv() throws Exception {
     EnvironmentImpl env = createEnv();
     CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
@@ -10,29 +10,51 @@
  */
 package org.eclipse.che.api.environment.server;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.websocket.Session;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.JsonRpcEndpointIdsHolder;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.subject.SubjectImpl;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.AfterMethod;
@@ -65,16 +87,26 @@ public class MachineProcessManagerTest {
   @Mock JsonRpcEndpointIdsHolder endpointIdsHolder;
 
   private MachineProcessManager manager;
+  private String machineLogsDir;
+  private WebSocketSessionRegistry sessionRegistry;
+  private CountDownLatch processFinished;
 
   @BeforeMethod
   public void setUp() throws Exception {
     final EventService eventService = mock(EventService.class);
-    final String machineLogsDir = targetDir().resolve("logs-dir").toString();
+    machineLogsDir = targetDir().resolve("logs-dir").toString();
     IoUtil.deleteRecursive(new File(machineLogsDir));
+    sessionRegistry = new WebSocketSessionRegistry();
+    processFinished = new CountDownLatch(1);
     manager =
         spy(
             new MachineProcessManager(
-                machineLogsDir, eventService, environmentEngine, transmitter, endpointIdsHolder));
+                machineLogsDir,
+                eventService,
+                environmentEngine,
+                transmitter,
+                endpointIdsHolder,
+                sessionRegistry));
 
     EnvironmentContext envCont = new EnvironmentContext();
     envCont.setSubject(CREATOR);
@@ -91,6 +123,7 @@ public class MachineProcessManagerTest {
 
   @AfterMethod
   public void tearDown() throws Exception {
+    processFinished.countDown();
     EnvironmentContext.reset();
   }
 
@@ -117,6 +150,113 @@ public class MachineProcessManagerTest {
     verify(logConsumer).close();
   }
 
+  @Test
+  public void shouldReadRangeOfProcessLogs() throws Exception {
+    writeProcessLogs("line1\nline2\nline3\n");
+
+    assertEquals(manager.getProcessLogs(MACHINE_ID, 111, 1, 1), singletonList("line2"));
+  }
+
+  @Test
+  public void shouldReadLastLinesOfProcessLogs() throws Exception {
+    writeProcessLogs("line1\nline2\nline3\n");
+
+    assertEquals(manager.getProcessLogsTail(MACHINE_ID, 111, 2), asList("line2", "line3"));
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionWhenProcessLogsAreNotAvailable() throws Exception {
+    manager.getProcessLogsTail(MACHINE_ID, 111, 2);
+  }
+
+  @Test(expectedExceptions = BadRequestException.class)
+  public void shouldNotReadProcessLogsWithNonPositiveLimit() throws Exception {
+    writeProcessLogs("line1\n");
+
+    manager.getProcessLogs(MACHINE_ID, 111, 0, 0);
+  }
+
+  @Test
+  public void shouldSendLastLinesAndThenNewLinesToFollower() throws Exception {
+    writeProcessLogs("line1\nline2\n");
+    final LineConsumer output = startProcess();
+
+    manager.followProcessLogs("endpoint", MACHINE_ID, 111, 1);
+    output.writeLine("line3");
+
+    verify(manager, timeout(5000)).sendLogLine("endpoint", MACHINE_ID, 111, "line3");
+    final InOrder inOrder = inOrder(manager);
+    inOrder.verify(manager).sendLogLine("endpoint", MACHINE_ID, 111, "line2");
+    inOrder.verify(manager).sendLogLine("endpoint", MACHINE_ID, 111, "line3");
+    verify(manager, never()).sendLogLine("endpoint", MACHINE_ID, 111, "line1");
+    verify(logConsumer).writeLine("line3");
+  }
+
+  @Test
+  public void shouldNotSendNewLinesToUnfollowedEndpoint() throws Exception {
+    writeProcessLogs("line1\n");
+    final LineConsumer output = startProcess();
+    manager.followProcessLogs("endpoint", MACHINE_ID, 111, 1);
+
+    manager.unfollowProcessLogs("endpoint", MACHINE_ID, 111);
+    output.writeLine("line2");
+
+    verify(manager, timeout(5000)).sendLogLine("endpoint", MACHINE_ID, 111, "line1");
+    verify(manager, never()).sendLogLine("endpoint", MACHINE_ID, 111, "line2");
+  }
+
+  @Test
+  public void shouldNotSendNewLinesToEndpointWhoseSessionIsClosed() throws Exception {
+    writeProcessLogs("line1\n");
+    sessionRegistry.add("endpoint", mock(Session.class));
+    final LineConsumer output = startProcess();
+    manager.followProcessLogs("endpoint", MACHINE_ID, 111, 1);
+
+    sessionRegistry.remove("endpoint");
+    output.writeLine("line2");
+
+    verify(manager, timeout(5000)).sendLogLine("endpoint", MACHINE_ID, 111, "line1");
+    verify(manager, never()).sendLogLine("endpoint", MACHINE_ID, 111, "line2");
+  }
+
+  @Test
+  public void shouldSendLastLinesOfFinishedProcess() throws Exception {
+    writeProcessLogs("line1\nline2\n");
+    doNothing().when(manager).sendLogLine(anyString(), anyString(), anyInt(), anyString());
+
+    manager.followProcessLogs("endpoint", MACHINE_ID, 111, 1);
+
+    verify(manager).sendLogLine("endpoint", MACHINE_ID, 111, "line2");
+    verify(manager, never()).sendLogLine("endpoint", MACHINE_ID, 111, "line1");
+  }
+
+  /** Starts the process which runs until the test is finished and returns its output consumer. */
+  private LineConsumer startProcess() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final AtomicReference<LineConsumer> output = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              output.set((LineConsumer) invocation.getArguments()[0]);
+              started.countDown();
+              processFinished.await();
+              return null;
+            })
+        .when(instanceProcess)
+        .start(any(LineConsumer.class));
+    doNothing().when(manager).sendLogLine(anyString(), anyString(), anyInt(), anyString());
+
+    manager.exec(WORKSPACE_ID, MACHINE_ID, command, "outputChannel");
+
+    assertTrue(started.await(5, SECONDS));
+    return output.get();
+  }
+
+  private void writeProcessLogs(String content) throws Exception {
+    final Path logs = Paths.get(machineLogsDir, MACHINE_ID, "111");
+    Files.createDirectories(logs.getParent());
+    Files.write(logs, content.getBytes(Charset.defaultCharset()));
+  }
+
   private void waitForExecutorIsCompletedTask() throws Exception {
     for (int i = 0;
         ((ThreadPoolExecutor) manager.executor).getCompletedTaskCount() == 0 && i < 10;
@@ -82,6 +82,29 @@ public class DefaultServicesStartStrategyTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  public void shouldGroupIndependentServicesIntoSameLevel() throws Exception {
+    // given
+    CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+    composeEnvironment
+        .getServices()
+        .put("app", new CheServiceImpl().withDependsOn(asList("db", "cache")));
+    composeEnvironment.getServices().put("db", new CheServiceImpl().withDependsOn(emptyList()));
+    composeEnvironment.getServices().put("cache", new CheServiceImpl().withDependsOn(emptyList()));
+    composeEnvironment
+        .getServices()
+        .put("dev-machine", new CheServiceImpl().withDependsOn(singletonList("app")));
+
+    // when
+    List<List<String>> actual = strategy.orderByLevels(composeEnvironment);
+
+    // then
+    assertEquals(actual.size(), 3);
+    assertEqualsNoOrder(actual.get(0).toArray(), new String[] {"db", "cache"});
+    assertEquals(actual.get(1), singletonList("app"));
+    assertEquals(actual.get(2), singletonList("dev-machine"));
+  }
+
   @Test
   public void testOrderingOfServicesWithoutDependencies() throws Exception {
     // given
@@ -53,6 +53,7 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -961,6 +962,40 @@ public class WorkspaceManagerTest {
     assertEquals(workspaces.get(0).getAttributes().get(SNAPSHOTTED_AT_ATTRIBUTE_NAME), "12345");
   }
 
+  @Test
+  public void shouldBeAbleToGetPageOfWorkspacesAvailableForUser() throws Exception {
+    final WorkspaceImpl workspace1 = createAndMockWorkspace(createConfig(), NAMESPACE);
+    final WorkspaceImpl workspace2 = createAndMockWorkspace(createConfig(), NAMESPACE_2);
+    when(workspaceDao.getWorkspaces(USER_ID, 2, 1))
+        .thenReturn(new Page<>(asList(workspace1, workspace2), 1, 2, 5));
+    when(runtimes.getStatus(workspace2.getId())).thenReturn(RUNNING);
+    mockSnapshots(workspace1, 12345);
+
+    final Page<WorkspaceImpl> page = workspaceManager.getWorkspaces(USER_ID, false, 2, 1);
+
+    assertEquals(page.getItems(), asList(workspace1, workspace2));
+    assertEquals(page.getTotalItemsCount(), 5);
+    assertEquals(page.getItems().get(1).getStatus(), RUNNING);
+    assertEquals(
+        page.getItems().get(0).getAttributes().get(SNAPSHOTTED_AT_ATTRIBUTE_NAME), "12345");
+    verify(snapshotDao).findSnapshotsByWorkspaces(asList(workspace1.getId(), workspace2.getId()));
+    verify(snapshotDao, never()).findSnapshots(anyString());
+  }
+
+  @Test
+  public void shouldBeAbleToGetPageOfWorkspacesByNamespace() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    when(workspaceDao.getByNamespace(NAMESPACE, 30, 0))
+        .thenReturn(new Page<>(singletonList(workspace), 0, 30, 1));
+    mockRuntime(workspace, RUNNING);
+
+    final Page<WorkspaceImpl> page = workspaceManager.getByNamespace(NAMESPACE, true, 30, 0);
+
+    assertEquals(page.getItems(), singletonList(workspace));
+    assertEquals(page.getItems().get(0).getStatus(), RUNNING);
+    assertNotNull(page.getItems().get(0).getRuntime());
+  }
+
   @Test
   public void snapshottedAtAttributeIncludedToWorkspaceWhenStartingById() throws Exception {
     WorkspaceImpl workspace = createAndMockWorkspace();
@@ -990,6 +1025,8 @@ public class WorkspaceManagerTest {
         snapshotBuilder.generateId().setDev(false).setMachineName("machine2").build();
     List<SnapshotImpl> snapshots = asList(snapshot1, snapshot2);
     when(snapshotDao.findSnapshots(workspace.getId())).thenReturn(snapshots);
+    when(snapshotDao.findSnapshotsByWorkspaces(singletonList(workspace.getId())))
+        .thenReturn(snapshots);
     return snapshots;
   }
 
@@ -35,6 +35,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.workspace.Environment;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.LogFilesWorkers;
 import org.eclipse.che.api.environment.server.CheEnvironmentEngine;
 import org.eclipse.che.api.environment.server.ContainerNameGenerator;
 import org.eclipse.che.api.environment.server.DefaultServicesStartStrategy;
@@ -47,6 +48,7 @@ import org.eclipse.che.api.machine.server.MachineInstanceProviders;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
@@ -88,10 +90,13 @@ public class WorkspaceRuntimeIntegrationTest {
   @Captor private ArgumentCaptor<Callable<WorkspaceRuntimeImpl>> taskCaptor;
 
   private ExecutorService executor;
+  private LogFilesWorkers logFilesWorkers;
   private WorkspaceRuntimes runtimes;
 
   @BeforeMethod
   public void setUp() throws Exception {
+    logFilesWorkers = new LogFilesWorkers();
+    StartTimelineRecorder timelineRecorder = new StartTimelineRecorder(100);
     CheEnvironmentEngine environmentEngine =
         new CheEnvironmentEngine(
             snapshotDao,
@@ -107,7 +112,16 @@ public class WorkspaceRuntimeIntegrationTest {
             recipeDownloader,
             containerNameGenerator,
             agentRegistry,
-            sharedPool);
+            sharedPool,
+            timelineRecorder,
+            16,
+            false,
+            10,
+            5,
+            1000,
+            24,
+            1024,
+            logFilesWorkers);
 
     runtimes =
         new WorkspaceRuntimes(
@@ -117,7 +131,10 @@ public class WorkspaceRuntimeIntegrationTest {
             launcherFactory,
             agentRegistry,
             snapshotDao,
-            sharedPool);
+            sharedPool,
+            timelineRecorder,
+            16,
+            false);
 
     executor =
         Executors.newFixedThreadPool(
@@ -130,6 +147,7 @@ public class WorkspaceRuntimeIntegrationTest {
   @AfterMethod
   public void tearDown() throws Exception {
     executor.shutdownNow();
+    logFilesWorkers.shutdown();
 
     EnvironmentContext.reset();
   }
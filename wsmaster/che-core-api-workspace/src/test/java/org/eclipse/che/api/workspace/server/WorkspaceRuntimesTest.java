@@ -11,12 +11,15 @@
 package org.eclipse.che.api.workspace.server;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -33,6 +36,7 @@ import static org.testng.Assert.fail;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -52,9 +56,15 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.che.api.agent.server.AgentRegistry;
+import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -79,14 +89,17 @@ import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes.RuntimeState;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.shared.dto.StartPhaseDto;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
@@ -121,6 +134,7 @@ public class WorkspaceRuntimesTest {
 
   private WorkspaceRuntimes runtimes;
   private ConcurrentMap<String, RuntimeState> runtimeStates;
+  private StartTimelineRecorder timelineRecorder;
 
   @BeforeMethod
   public void setUp() throws Exception {
@@ -134,7 +148,9 @@ public class WorkspaceRuntimesTest {
             agentRegistry,
             snapshotDao,
             sharedPool,
-            runtimeStates = new ConcurrentHashMap<>());
+            timelineRecorder = new StartTimelineRecorder(100),
+            runtimeStates = new ConcurrentHashMap<>(),
+            new StripedLocks(16));
   }
 
   @Test(dataProvider = "allStatuses")
@@ -242,6 +258,25 @@ public class WorkspaceRuntimesTest {
             null));
   }
 
+  @Test
+  public void publishesStartTimelineWhenWorkspaceIsStarted() throws Exception {
+    WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+    List<Instance> machines = allowEnvironmentStart(workspace, "env-name");
+    prepareMachines(workspace.getId(), machines);
+
+    runtimes.startAsync(workspace, "env-name", false);
+    captureAsyncTaskAndExecuteSynchronously();
+
+    List<WorkspaceStatusEvent> events = captureEvents();
+    WorkspaceStatusEvent runningEvent = events.get(events.size() - 1);
+    assertEquals(runningEvent.getEventType(), EventType.RUNNING);
+    List<String> phases =
+        runningEvent.getStartTimeline().stream().map(StartPhaseDto::getName).collect(toList());
+    assertEquals(phases, singletonList(StartTimelineRecorder.TOTAL));
+    assertEquals(timelineRecorder.getTimeline(workspace.getId()).size(), 1);
+    assertEquals(timelineRecorder.getStatistics().get(0).getCount(), 1);
+  }
+
   @Test(
     expectedExceptions = ConflictException.class,
     expectedExceptionsMessageRegExp =
@@ -886,6 +921,151 @@ public class WorkspaceRuntimesTest {
     runtimes.startAsync(newWorkspace("workspace1", "env-name"), "env-name", false);
   }
 
+  @Test
+  public void launchesIndependentAgentsConcurrently() throws Exception {
+    // given
+    Instance machine = mock(Instance.class);
+    MachineConfig machineConfig = mock(MachineConfig.class);
+    when(machine.getConfig()).thenReturn(machineConfig);
+    when(machineConfig.getType()).thenReturn("docker");
+    Map<String, Agent> agents =
+        ImmutableMap.of(
+            "exec", mockAgent("exec"),
+            "terminal", mockAgent("terminal"),
+            "ws-agent", mockAgent("ws-agent", "exec"));
+    when(agentSorter.sort(any()))
+        .thenReturn(
+            asList(
+                AgentKeyImpl.parse("exec"),
+                AgentKeyImpl.parse("terminal"),
+                AgentKeyImpl.parse("ws-agent")));
+    when(agentRegistry.getAgent(any(AgentKey.class)))
+        .thenAnswer(inv -> agents.get(((AgentKey) inv.getArguments()[0]).getId()));
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+    CountDownLatch independentAgentsLatch = new CountDownLatch(2);
+    List<String> launched = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(
+            inv -> {
+              Agent agent = (Agent) inv.getArguments()[1];
+              if (agent.getDependencies().isEmpty()) {
+                // each independent agent waits for the other one
+                independentAgentsLatch.countDown();
+                if (!independentAgentsLatch.await(10, TimeUnit.SECONDS)) {
+                  throw new ServerException("Agents are not launched concurrently");
+                }
+              }
+              launched.add(agent.getId());
+              return null;
+            })
+        .when(launcher)
+        .launch(any(Instance.class), any(Agent.class));
+
+    // when
+    runtimes.launchAgents(machine, asList("exec", "terminal", "ws-agent"));
+
+    // then
+    assertEquals(launched.size(), 3);
+    assertEquals(launched.get(2), "ws-agent");
+  }
+
+  @Test
+  public void launchesAgentAfterDependencyWithVersion() throws Exception {
+    // given
+    Map<String, Agent> agents =
+        ImmutableMap.of(
+            "exec", mockAgent("exec"),
+            "terminal", mockAgent("terminal"),
+            "ws-agent", mockAgent("ws-agent", "exec:1.0.0"));
+    AgentLauncher launcher = mockAgentsLaunch(agents);
+    List<String> launched = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(
+            inv -> {
+              Agent agent = (Agent) inv.getArguments()[1];
+              if (agent.getId().equals("exec")) {
+                Thread.sleep(200);
+              }
+              launched.add(agent.getId());
+              return null;
+            })
+        .when(launcher)
+        .launch(any(Instance.class), any(Agent.class));
+
+    // when
+    runtimes.launchAgents(mockDockerMachine(), asList("exec", "terminal", "ws-agent:1.0.0"));
+
+    // then
+    assertEquals(launched.size(), 3);
+    assertEquals(launched.get(2), "ws-agent");
+  }
+
+  @Test
+  public void waitsForInterruptedLaunchesWhenAgentLaunchFails() throws Exception {
+    // given
+    Map<String, Agent> agents =
+        ImmutableMap.of("exec", mockAgent("exec"), "terminal", mockAgent("terminal"));
+    AgentLauncher launcher = mockAgentsLaunch(agents);
+    CountDownLatch terminalLaunchStarted = new CountDownLatch(1);
+    AtomicBoolean terminalLaunchFinished = new AtomicBoolean();
+    doAnswer(
+            inv -> {
+              Agent agent = (Agent) inv.getArguments()[1];
+              if (agent.getId().equals("exec")) {
+                terminalLaunchStarted.await();
+                throw new AgentStartException("exec failed");
+              }
+              terminalLaunchStarted.countDown();
+              try {
+                Thread.sleep(10_000);
+              } catch (InterruptedException x) {
+                // the launch takes some time to react on interruption
+                Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS);
+                terminalLaunchFinished.set(true);
+              }
+              return null;
+            })
+        .when(launcher)
+        .launch(any(Instance.class), any(Agent.class));
+
+    // when
+    try {
+      runtimes.launchAgents(mockDockerMachine(), asList("exec", "terminal"));
+      fail("AgentStartException expected");
+    } catch (AgentStartException expected) {
+    }
+
+    // then
+    assertTrue(terminalLaunchFinished.get());
+  }
+
+  private Instance mockDockerMachine() {
+    Instance machine = mock(Instance.class);
+    MachineConfig machineConfig = mock(MachineConfig.class);
+    when(machine.getConfig()).thenReturn(machineConfig);
+    when(machineConfig.getType()).thenReturn("docker");
+    return machine;
+  }
+
+  private AgentLauncher mockAgentsLaunch(Map<String, Agent> agents) throws Exception {
+    List<AgentKey> keys = new ArrayList<>();
+    for (String id : agents.keySet()) {
+      keys.add(AgentKeyImpl.parse(id));
+    }
+    when(agentSorter.sort(any())).thenReturn(keys);
+    when(agentRegistry.getAgent(any(AgentKey.class)))
+        .thenAnswer(inv -> agents.get(((AgentKey) inv.getArguments()[0]).getId()));
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+    return launcher;
+  }
+
+  private static Agent mockAgent(String id, String... dependencies) {
+    Agent agent = mock(Agent.class);
+    when(agent.getId()).thenReturn(id);
+    when(agent.getDependencies()).thenReturn(asList(dependencies));
+    return agent;
+  }
+
   private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
     verify(sharedPool).submit(taskCaptor.capture());
     taskCaptor.getValue().call();
@@ -942,7 +1122,8 @@ public class WorkspaceRuntimesTest {
                 cur.getPrevStatus(),
                 cur.getStatus()));
       }
-      assertEquals(cur, expEvent);
+      // start timeline contains actual durations, it is checked separately
+      assertEquals(cur.withStartTimeline(null), expEvent.withStartTimeline(null));
     }
     if (it.hasNext()) {
       WorkspaceStatusEvent next = it.next();
@@ -69,6 +69,7 @@ import java.util.stream.Collectors;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -76,6 +77,7 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.api.core.util.PagingUtil;
 import org.eclipse.che.api.environment.server.MachineLinksInjector;
 import org.eclipse.che.api.environment.server.MachineProcessManager;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -87,6 +89,8 @@ import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerPropertiesImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
+import org.eclipse.che.api.machine.server.timeline.StartPhase;
+import org.eclipse.che.api.machine.server.timeline.StartTimelineRecorder;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
@@ -98,6 +102,7 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.api.workspace.shared.dto.StartPhaseDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
@@ -138,6 +143,7 @@ public class WorkspaceServiceTest {
   @Mock private MachineProcessManager machineProcessManager;
   @Mock private WorkspaceValidator validator;
   @Mock private WsAgentHealthChecker wsAgentHealthChecker;
+  @Mock private StartTimelineRecorder timelineRecorder;
 
   private WorkspaceService service;
 
@@ -150,6 +156,7 @@ public class WorkspaceServiceTest {
             validator,
             wsAgentHealthChecker,
             new WorkspaceServiceLinksInjector(new MachineLinksInjector()),
+            timelineRecorder,
             true,
             false,
             true);
@@ -442,6 +449,92 @@ public class WorkspaceServiceTest {
         singletonList(workspace2));
   }
 
+  @Test
+  public void shouldGetPageOfWorkspaces() throws Exception {
+    final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
+    final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
+    when(wsManager.getWorkspaces(USER_ID, false, 2, 2))
+        .thenReturn(new Page<>(asList(workspace1, workspace2), 2, 2, 5));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?skipCount=2&maxItems=2");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        asList(workspace1, workspace2));
+    assertEquals(
+        PagingUtil.parseLinkHeader(response.getHeader("Link")).keySet(),
+        Sets.newHashSet("first", "last", "prev", "next"));
+    verify(wsManager, never()).getWorkspaces(USER_ID, false);
+  }
+
+  @Test
+  public void shouldGetPageOfWorkspacesByStatus() throws Exception {
+    final WorkspaceImpl workspace1 = createWorkspace(createConfigDto(), STARTING);
+    final WorkspaceImpl workspace2 = createWorkspace(createConfigDto());
+    final WorkspaceImpl workspace3 = createWorkspace(createConfigDto(), STARTING);
+    when(wsManager.getWorkspaces(USER_ID, false))
+        .thenReturn(asList(workspace1, workspace2, workspace3));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?status=starting&skipCount=1&maxItems=1");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        singletonList(workspace3));
+  }
+
+  @Test
+  public void shouldGetPageOfWorkspacesByNamespace() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getByNamespace(NAMESPACE, false, 1, 0))
+        .thenReturn(new Page<>(singletonList(workspace), 0, 1, 3));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/namespace/" + NAMESPACE + "?maxItems=1");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        singletonList(workspace));
+    assertTrue(PagingUtil.parseLinkHeader(response.getHeader("Link")).containsKey("next"));
+  }
+
+  @Test
+  public void shouldNotGetWorkspacesWhenMaxItemsIsNotPositive() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?maxItems=0");
+
+    assertEquals(response.getStatusCode(), 400);
+  }
+
   @Test
   public void shouldUpdateTheWorkspace() throws Exception {
     final WorkspaceImpl workspace = createWorkspace(createConfigDto());
@@ -1157,6 +1250,32 @@ public class WorkspaceServiceTest {
     verify(wsManager).getSnapshot(workspaceId);
   }
 
+  @Test
+  public void shouldGetStartTimelineOfWorkspace() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+    when(timelineRecorder.getTimeline(workspace.getId()))
+        .thenReturn(
+            asList(
+                new StartPhase("image.prepare", "dev-machine", 10, 100),
+                new StartPhase("total", null, 0, 200)));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/" + workspace.getId() + "/start-timeline");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, StartPhaseDto.class)
+            .stream()
+            .map(phase -> phase.getName() + ':' + phase.getDurationMs())
+            .collect(toList()),
+        asList("image.prepare:100", "total:200"));
+  }
+
   @Test
   public void shouldBeAbleToGetSettings() throws Exception {
     final Response response =
@@ -10,7 +10,9 @@
  */
 package org.eclipse.che.api.workspace.server.jpa;
 
+import com.google.inject.Inject;
 import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
 import java.util.Collection;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -36,6 +38,7 @@ import org.eclipse.che.commons.test.tck.repository.JpaTckRepository;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
 import org.eclipse.che.commons.test.tck.repository.TckRepositoryException;
 import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.cache.EntityCache;
 import org.eclipse.che.core.db.h2.jpa.eclipselink.H2ExceptionHandler;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
@@ -70,12 +73,14 @@ public class WorkspaceTckModule extends TckModule {
             .setExceptionHandler(H2ExceptionHandler.class)
             .build());
     bind(DBInitializer.class).asEagerSingleton();
+    // run the tests against the cached lookups
+    bindConstant().annotatedWith(Names.named("db.entity_cache.max_size")).to(100L);
     bind(SchemaInitializer.class)
         .toInstance(new FlywaySchemaInitializer(server.getDataSource(), "che-schema"));
     bind(TckResourcesCleaner.class).toInstance(new H2JpaCleaner(server));
 
     bind(new TypeLiteral<TckRepository<AccountImpl>>() {})
-        .toInstance(new JpaTckRepository<>(AccountImpl.class));
+        .toInstance(new CachedEntityRepository<>(AccountImpl.class));
     bind(new TypeLiteral<TckRepository<WorkspaceImpl>>() {}).toInstance(new WorkspaceRepository());
     bind(new TypeLiteral<TckRepository<StackImpl>>() {}).toInstance(new StackRepository());
 
@@ -83,7 +88,22 @@ public class WorkspaceTckModule extends TckModule {
     bind(StackDao.class).to(JpaStackDao.class);
   }
 
-  private static class WorkspaceRepository extends JpaTckRepository<WorkspaceImpl> {
+  /** Drops the entities cached by the DAOs along with the removed entities. */
+  private static class CachedEntityRepository<T> extends JpaTckRepository<T> {
+    @Inject private EntityCache entityCache;
+
+    public CachedEntityRepository(Class<? extends T> entityClass) {
+      super(entityClass);
+    }
+
+    @Override
+    public void removeAll() throws TckRepositoryException {
+      super.removeAll();
+      entityCache.invalidateAll();
+    }
+  }
+
+  private static class WorkspaceRepository extends CachedEntityRepository<WorkspaceImpl> {
     public WorkspaceRepository() {
       super(WorkspaceImpl.class);
     }
@@ -98,7 +118,7 @@ public class WorkspaceTckModule extends TckModule {
     }
   }
 
-  private static class StackRepository extends JpaTckRepository<StackImpl> {
+  private static class StackRepository extends CachedEntityRepository<StackImpl> {
     public StackRepository() {
       super(StackImpl.class);
     }
@@ -36,6 +36,7 @@ import javax.inject.Inject;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -146,6 +147,42 @@ public class WorkspaceDaoTest {
     workspaceDao.getByNamespace(null);
   }
 
+  @Test
+  public void shouldGetPageOfWorkspacesByNamespace() throws Exception {
+    final WorkspaceImpl workspace1 = workspaces[0];
+    final WorkspaceImpl workspace2 = workspaces[1];
+
+    final Page<WorkspaceImpl> first = workspaceDao.getByNamespace(workspace1.getNamespace(), 1, 0);
+    final Page<WorkspaceImpl> second = workspaceDao.getByNamespace(workspace1.getNamespace(), 1, 1);
+
+    assertEquals(first.getTotalItemsCount(), 2);
+    assertEquals(first.getItemsCount(), 1);
+    assertEquals(second.getItemsCount(), 1);
+    // pages are ordered by workspace id
+    assertEquals(first.getItems().get(0), workspace1);
+    assertEquals(second.getItems().get(0), workspace2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingPageByNamespaceWithNegativeSkipCount()
+      throws Exception {
+    workspaceDao.getByNamespace(workspaces[0].getNamespace(), 1, -1);
+  }
+
+  @Test
+  public void shouldGetPageOfWorkspaces() throws Exception {
+    final Page<WorkspaceImpl> page = workspaceDao.getWorkspaces("user-id", 3, 1);
+
+    assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+    assertEquals(page.getItems(), asList(workspaces[1], workspaces[2], workspaces[3]));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingPageWithNegativeMaxItems()
+      throws Exception {
+    workspaceDao.getWorkspaces("user-id", -1, 0);
+  }
+
   @Test
   public void shouldGetWorkspaceByNameAndNamespace() throws Exception {
     final WorkspaceImpl workspace = workspaces[0];
@@ -41,6 +41,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.api.core.rest.ResourceVersions;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
@@ -134,6 +135,8 @@ public class StackServiceTest {
 
   @Mock StackValidator validator;
 
+  @Mock ResourceVersions resourceVersions;
+
   @InjectMocks StackService service;
 
   @BeforeMethod
@@ -220,6 +223,7 @@ public class StackServiceTest {
     assertEquals(response.getStatusCode(), 201);
 
     verify(stackDao).create(any(StackImpl.class));
+    verify(resourceVersions).invalidate(StackService.STACKS_RESOURCE);
 
     final StackDto stackDtoDescriptor = unwrapDto(response, StackDto.class);
 
@@ -417,6 +421,7 @@ public class StackServiceTest {
             .delete(SECURE_PATH + "/stack/" + STACK_ID);
 
     verify(stackDao).remove(eq(STACK_ID));
+    verify(resourceVersions).invalidate(StackService.STACKS_RESOURCE);
     assertEquals(response.getStatusCode(), 204);
   }
 